@@ -0,0 +1,24 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.dcb-entity-cache")
+public class DcbEntityCacheProperties {
+
+  /**
+   * Defines if DCB umbrella entities verified at runtime are cached per tenant.
+   *
+   * <p>Has effect only if runtime verification of DCB entities is enabled.</p>
+   */
+  private boolean enabled = false;
+
+  /**
+   * Time after which a cached DCB entity is verified again.
+   */
+  private Duration ttl = Duration.ofHours(1);
+}
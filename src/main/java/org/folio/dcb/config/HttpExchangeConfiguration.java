@@ -3,6 +3,7 @@ package org.folio.dcb.config;
 import lombok.extern.log4j.Log4j2;
 import org.folio.dcb.integration.calendar.CalendarClient;
 import org.folio.dcb.integration.circitem.CirculationItemClient;
+import org.folio.dcb.integration.circstorage.CachingCirculationLoanPolicyStorageClient;
 import org.folio.dcb.integration.circstorage.CancellationReasonClient;
 import org.folio.dcb.integration.circstorage.CirculationLoanPolicyStorageClient;
 import org.folio.dcb.integration.circstorage.CirculationRequestClient;
@@ -19,6 +20,7 @@ import org.folio.dcb.integration.invstorage.MaterialTypeClient;
 import org.folio.dcb.integration.invstorage.ServicePointClient;
 import org.folio.dcb.integration.users.GroupClient;
 import org.folio.dcb.integration.users.UsersClient;
+import org.folio.dcb.service.impl.ReferenceDataCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
@@ -182,14 +184,18 @@ public class HttpExchangeConfiguration {
   }
 
   /**
-   * Creates a {@link CirculationLoanPolicyStorageClient} bean.
+   * Creates a {@link CirculationLoanPolicyStorageClient} bean, that serves loan policies from the reference data
+   * cache.
    *
    * @param factory the {@link HttpServiceProxyFactory} bean
+   * @param referenceDataCache the {@link ReferenceDataCache} bean
    * @return the {@link CirculationLoanPolicyStorageClient} instance
    */
   @Bean
-  public CirculationLoanPolicyStorageClient circulationLoanPolicyStorageClient(HttpServiceProxyFactory factory) {
-    return factory.createClient(CirculationLoanPolicyStorageClient.class);
+  public CirculationLoanPolicyStorageClient circulationLoanPolicyStorageClient(HttpServiceProxyFactory factory,
+    ReferenceDataCache referenceDataCache) {
+    return new CachingCirculationLoanPolicyStorageClient(
+      factory.createClient(CirculationLoanPolicyStorageClient.class), referenceDataCache);
   }
 
   /**
@@ -0,0 +1,32 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.processed-event-ledger")
+public class ProcessedEventLedgerProperties {
+
+  /**
+   * Defines if processed circulation events are recorded, so re-delivered events are skipped.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Time a processed event is kept in the ledger, re-deliveries after that are not detected.
+   */
+  private Duration ttl = Duration.ofDays(7);
+
+  /**
+   * Interval between removals of expired ledger records of a tenant.
+   */
+  private Duration cleanupInterval = Duration.ofHours(1);
+
+  /**
+   * Maximum number of recently processed events per tenant kept in memory in front of the ledger table.
+   */
+  private int cacheSize = 10_000;
+}
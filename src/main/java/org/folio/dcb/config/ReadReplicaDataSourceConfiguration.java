@@ -0,0 +1,64 @@
+package org.folio.dcb.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfiguration {
+
+  private static final String HIKARI_PROPERTIES_PREFIX = "spring.datasource.hikari";
+
+  /**
+   * Creates the data source, that opens connections of read-only transactions of the module on the read replica and
+   * all other connections on the primary database configured by {@code spring.datasource} properties. Both
+   * connection pools are configured by {@code spring.datasource.hikari} properties.
+   *
+   * @param dataSourceProperties - the {@link DataSourceProperties} bean
+   * @param properties - the {@link ReadReplicaProperties} bean
+   * @param meterRegistry - the {@link MeterRegistry} bean
+   * @param environment - the {@link Environment} bean
+   * @return the {@link ReadReplicaRoutingDataSource} instance
+   */
+  @Bean
+  @Primary
+  public ReadReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+    ReadReplicaProperties properties, MeterRegistry meterRegistry, Environment environment) {
+    var primaryDataSource = dataSourceProperties.initializeDataSourceBuilder()
+      .type(HikariDataSource.class)
+      .build();
+    var replicaDataSource = DataSourceBuilder.create()
+      .type(HikariDataSource.class)
+      .driverClassName(dataSourceProperties.determineDriverClassName())
+      .url(properties.getUrl())
+      .username(properties.getUsername())
+      .password(properties.getPassword())
+      .build();
+    var binder = Binder.get(environment);
+    binder.bind(HIKARI_PROPERTIES_PREFIX, Bindable.ofInstance(primaryDataSource));
+    binder.bind(HIKARI_PROPERTIES_PREFIX, Bindable.ofInstance(replicaDataSource));
+    primaryDataSource.setPoolName("dcb-primary");
+    replicaDataSource.setPoolName("dcb-read-replica");
+    replicaDataSource.setReadOnly(true);
+    return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, properties, meterRegistry);
+  }
+
+  /**
+   * Creates the transaction listener, that routes read-only transactions of the module to the read replica.
+   *
+   * @return the {@link ReadReplicaRoutingDataSource.ReadOnlyTransactionListener} instance
+   */
+  @Bean
+  public ReadReplicaRoutingDataSource.ReadOnlyTransactionListener readOnlyTransactionListener() {
+    return new ReadReplicaRoutingDataSource.ReadOnlyTransactionListener();
+  }
+}
@@ -0,0 +1,43 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.datasource.read-replica")
+public class ReadReplicaProperties {
+
+  /**
+   * Defines if read-only transactions of the module are executed on the read replica instead of the primary database.
+   */
+  private boolean enabled = false;
+
+  /**
+   * JDBC URL of the read replica.
+   */
+  private String url;
+
+  /**
+   * Database user of the read replica.
+   */
+  private String username;
+
+  /**
+   * Database password of the read replica.
+   */
+  private String password;
+
+  /**
+   * Maximum replication lag of the read replica, read-only transactions are executed on the primary database while
+   * the lag is greater.
+   */
+  private Duration maxLag = Duration.ofSeconds(5);
+
+  /**
+   * Interval after which the replication lag of the read replica is checked again.
+   */
+  private Duration lagCheckInterval = Duration.ofSeconds(10);
+}
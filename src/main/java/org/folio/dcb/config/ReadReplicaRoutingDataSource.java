@@ -0,0 +1,158 @@
+package org.folio.dcb.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Data source, that opens connections of read-only transactions of the module on the read replica and all other
+ * connections on the primary database.
+ *
+ * <p>A connection is opened on the replica only while {@link ReadOnlyTransactionListener} marks the beginning of a
+ * read-only transaction, declared by a {@code @Transactional(readOnly = true)} method or a read-only transaction
+ * template named after a method of the module, as the transaction manager opens the connection of a read-only
+ * transaction on its beginning. Transactions of Spring Data
+ * repositories are read-only by default, but write paths of the module read the state they update with them, so these
+ * transactions are kept on the primary database.</p>
+ *
+ * <p>The replication lag is checked at most once per {@code lag-check-interval}. While the lag is greater than
+ * {@code max-lag}, the lag is unknown, or the replica does not accept connections, read-only transactions are executed
+ * on the primary database.</p>
+ */
+@Log4j2
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private static final String MODULE_PACKAGE = "org.folio.dcb.";
+  private static final String CONNECTIONS_METRIC = "dcb.datasource.read-only.connections";
+  private static final String LAG_METRIC = "dcb.datasource.read-replica.lag";
+  private static final String LAG_QUERY = """
+    SELECT CASE
+      WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+      ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+    END::float8""";
+  private static final ThreadLocal<Boolean> READ_ONLY_TRANSACTION_BEGIN = new ThreadLocal<>();
+
+  private final DataSource primaryDataSource;
+  private final DataSource replicaDataSource;
+  private final ReadReplicaProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final AtomicLong nextLagCheckTime = new AtomicLong(System.nanoTime());
+  private volatile boolean replicaAvailable;
+  private volatile double replicaLagMillis = Double.NaN;
+
+  public ReadReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+    ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+    this.primaryDataSource = primaryDataSource;
+    this.replicaDataSource = replicaDataSource;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(LAG_METRIC, this, dataSource -> dataSource.replicaLagMillis).baseUnit("milliseconds")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!Boolean.TRUE.equals(READ_ONLY_TRANSACTION_BEGIN.get())) {
+      return primaryDataSource.getConnection();
+    }
+
+    if (isReplicaAvailable()) {
+      try {
+        var connection = replicaDataSource.getConnection();
+        meterRegistry.counter(CONNECTIONS_METRIC, "target", "replica").increment();
+        return connection;
+      } catch (SQLException e) {
+        log.warn("getConnection:: Read replica does not accept connections, primary database is used", e);
+        replicaAvailable = false;
+      }
+    }
+
+    meterRegistry.counter(CONNECTIONS_METRIC, "target", "primary").increment();
+    return primaryDataSource.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primaryDataSource.getConnection(username, password);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return iface.isInstance(primaryDataSource) ? iface.cast(primaryDataSource) : super.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(primaryDataSource) || super.isWrapperFor(iface);
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (replicaDataSource instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+    if (primaryDataSource instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  private boolean isReplicaAvailable() {
+    var lagCheckTime = nextLagCheckTime.get();
+    var now = System.nanoTime();
+    if (now - lagCheckTime >= 0
+      && nextLagCheckTime.compareAndSet(lagCheckTime, now + properties.getLagCheckInterval().toNanos())) {
+      checkReplicaLag();
+    }
+    return replicaAvailable;
+  }
+
+  private void checkReplicaLag() {
+    try (var connection = replicaDataSource.getConnection();
+         var statement = connection.createStatement();
+         var resultSet = statement.executeQuery(LAG_QUERY)) {
+      var lag = Double.NaN;
+      if (resultSet.next()) {
+        lag = resultSet.getDouble(1);
+        lag = resultSet.wasNull() ? Double.NaN : lag;
+      }
+      replicaLagMillis = lag;
+    } catch (SQLException e) {
+      log.warn("checkReplicaLag:: Failed to check replication lag of read replica", e);
+      replicaLagMillis = Double.NaN;
+    }
+
+    var available = replicaLagMillis <= properties.getMaxLag().toMillis();
+    if (available != replicaAvailable) {
+      log.info("checkReplicaLag:: Read replica is {}, replication lag: {} ms",
+        available ? "used for read-only transactions" : "not used", replicaLagMillis);
+    }
+    replicaAvailable = available;
+  }
+
+  /**
+   * Marks the beginning of read-only transactions declared by the module, so their connections are opened on the read
+   * replica.
+   */
+  public static class ReadOnlyTransactionListener implements TransactionExecutionListener {
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+      var transactionName = transaction.getTransactionName();
+      if (transaction.isReadOnly() && transactionName != null && transactionName.startsWith(MODULE_PACKAGE)) {
+        READ_ONLY_TRANSACTION_BEGIN.set(Boolean.TRUE);
+      }
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+      READ_ONLY_TRANSACTION_BEGIN.remove();
+    }
+  }
+}
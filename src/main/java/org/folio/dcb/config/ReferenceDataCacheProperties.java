@@ -0,0 +1,33 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.reference-data-cache")
+public class ReferenceDataCacheProperties {
+
+  /**
+   * Defines if reference data (material types, patron groups and loan policies) fetched from other modules is cached
+   * per tenant.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Time after which a cached reference data record is fetched again.
+   */
+  private Duration ttl = Duration.ofMinutes(10);
+
+  /**
+   * Time after which a reference data record, that was not found, is looked up again.
+   */
+  private Duration negativeTtl = Duration.ofMinutes(1);
+
+  /**
+   * Maximum number of records kept in each reference data cache for all tenants.
+   */
+  private long maxSize = 1_000;
+}
@@ -0,0 +1,37 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.shadow-location-cache")
+public class ShadowLocationCacheProperties {
+
+  /**
+   * Defines if shadow location ids resolved for DCB items by location code and lending library code are cached per
+   * tenant.
+   *
+   * <p>Has effect only if flexible circulation rules are enabled.</p>
+   */
+  private boolean enabled = false;
+
+  /**
+   * Number of records requested per page, when shadow locations and libraries of a tenant are loaded.
+   */
+  private int pageSize = 500;
+
+  /**
+   * Time after which shadow locations and libraries of a tenant, as well as resolved codes, are loaded again. Bounds
+   * the time a module instance, that has not run the shadow location refresh, uses outdated shadow locations.
+   */
+  private Duration ttl = Duration.ofMinutes(10);
+
+  /**
+   * Maximum number of location codes and maximum number of library codes cached per tenant, including the codes
+   * resolved to no location.
+   */
+  private long maxSize = 10_000;
+}
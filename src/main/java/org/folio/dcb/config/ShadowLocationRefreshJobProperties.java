@@ -0,0 +1,29 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.shadow-location-refresh-job")
+public class ShadowLocationRefreshJobProperties {
+
+  /**
+   * Period without heartbeat, after which a running shadow location refresh job is considered interrupted and is
+   * resumed by the resume timer. Must be several times longer than the heartbeat interval.
+   */
+  private Duration staleTimeout = Duration.ofMinutes(15);
+
+  /**
+   * Interval, at which the module instance running a shadow location refresh job updates the heartbeat of the job.
+   */
+  private Duration heartbeatInterval = Duration.ofMinutes(1);
+
+  /**
+   * Maximum number of shadow location refresh jobs run in parallel by a module instance, other jobs wait for a free
+   * thread.
+   */
+  private int concurrency = 2;
+}
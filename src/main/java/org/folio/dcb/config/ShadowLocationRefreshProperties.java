@@ -0,0 +1,27 @@
+package org.folio.dcb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.shadow-location-refresh")
+public class ShadowLocationRefreshProperties {
+
+  /**
+   * Defines if existing shadow location units and locations are loaded with paged queries at the beginning of a
+   * refresh, so only entries missing from them are searched and created one by one.
+   */
+  private boolean prefetchEnabled = false;
+
+  /**
+   * Number of records requested per page, when existing shadow location units and locations are loaded.
+   */
+  private int pageSize = 500;
+
+  /**
+   * Maximum number of agencies, whose location units and locations are created in parallel during a refresh.
+   */
+  private int concurrency = 1;
+}
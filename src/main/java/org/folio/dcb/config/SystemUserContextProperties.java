@@ -0,0 +1,32 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.system-user-context")
+public class SystemUserContextProperties {
+
+  /**
+   * Defines if prepared system user execution contexts are cached per tenant for circulation event processing.
+   */
+  private boolean cacheEnabled = false;
+
+  /**
+   * Time before the system user token expiration, when the cached context is refreshed in the background.
+   */
+  private Duration refreshAhead = Duration.ofMinutes(1);
+
+  /**
+   * Maximum age of a cached context, if the expiration time cannot be read from the system user token.
+   */
+  private Duration maxAge = Duration.ofMinutes(10);
+
+  /**
+   * Cached contexts of tenants without events for this time are not refreshed anymore and removed.
+   */
+  private Duration idleTimeout = Duration.ofMinutes(30);
+}
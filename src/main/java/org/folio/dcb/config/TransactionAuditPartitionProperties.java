@@ -0,0 +1,29 @@
+package org.folio.dcb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.transactions-audit-partitions")
+public class TransactionAuditPartitionProperties {
+
+  /**
+   * Number of monthly partitions of the transaction audit table created ahead of the current month.
+   */
+  private int premakeMonths = 3;
+
+  /**
+   * Number of full months the transaction audit records are kept in the audit table, older monthly partitions are
+   * archived and detached, the legacy partition is kept. Zero disables the retention.
+   */
+  private int retentionMonths = 0;
+
+  /**
+   * Directory the expired partitions are exported to as gzip-compressed JSON lines files before they are detached,
+   * should be a durable volume shared by module instances. Detached partitions are kept in the database as standalone
+   * tables in any case.
+   */
+  private String archiveDirectory;
+}
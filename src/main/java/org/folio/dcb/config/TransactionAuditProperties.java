@@ -0,0 +1,28 @@
+package org.folio.dcb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.transactions-audit")
+public class TransactionAuditProperties {
+
+  /**
+   * Defines if transaction updates are audited as a patch of the changed fields to the previous audit record instead
+   * of the full states before and after the update.
+   */
+  private boolean deltaEnabled = false;
+
+  /**
+   * Defines if audit records are appended to the outbox table in the transaction write path and moved to the audit
+   * table in batches by a background relay, instead of being inserted into the audit table directly.
+   */
+  private boolean asyncEnabled = false;
+
+  /**
+   * Maximum number of audit records moved from the outbox table to the audit table by one statement.
+   */
+  private int relayBatchSize = 500;
+}
@@ -0,0 +1,31 @@
+package org.folio.dcb.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "application.transaction-index")
+public class TransactionIndexProperties {
+
+  /**
+   * Defines if circulation events are checked against the in-memory index of open transactions before the
+   * transaction lookup in the database.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Interval after which the index of a tenant is fully reloaded from the database, so entries that are no longer
+   * needed are dropped.
+   */
+  private Duration refreshInterval = Duration.ofMinutes(5);
+
+  /**
+   * Overlap of the catch-up, which reads transactions written by other module instances on an index miss. Transactions
+   * updated less than this duration before the previous synchronization are read again, so writes committed later
+   * than their update date and clock differences between instances are covered.
+   */
+  private Duration catchUpOverlap = Duration.ofMinutes(1);
+}
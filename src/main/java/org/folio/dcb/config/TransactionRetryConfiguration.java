@@ -0,0 +1,17 @@
+package org.folio.dcb.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("application.retry.transaction")
+public class TransactionRetryConfiguration {
+
+  /**
+   * The maximum number of attempts to apply a status transition again after its write conflicted with a concurrent
+   * change of the transaction.
+   */
+  private int maxRetries = 3;
+}
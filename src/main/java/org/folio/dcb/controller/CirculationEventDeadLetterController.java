@@ -0,0 +1,23 @@
+package org.folio.dcb.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.dto.DeadLetterReplayResponse;
+import org.folio.dcb.integration.kafka.CirculationEventDeadLetterService;
+import org.folio.dcb.rest.resource.CirculationEventDeadLettersApi;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@Log4j2
+@RestController
+@RequiredArgsConstructor
+public class CirculationEventDeadLetterController implements CirculationEventDeadLettersApi {
+
+  private final CirculationEventDeadLetterService circulationEventDeadLetterService;
+
+  @Override
+  public ResponseEntity<DeadLetterReplayResponse> replayCirculationEventDeadLetters(Integer batchSize) {
+    log.info("replayCirculationEventDeadLetters:: replaying dead letters with batchSize {}", batchSize);
+    return ResponseEntity.ok(circulationEventDeadLetterService.replay(batchSize));
+  }
+}
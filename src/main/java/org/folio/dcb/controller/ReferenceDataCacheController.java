@@ -0,0 +1,23 @@
+package org.folio.dcb.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.rest.resource.ReferenceDataCacheApi;
+import org.folio.dcb.service.impl.ReferenceDataCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@Log4j2
+@RestController
+@RequiredArgsConstructor
+public class ReferenceDataCacheController implements ReferenceDataCacheApi {
+
+  private final ReferenceDataCache referenceDataCache;
+
+  @Override
+  public ResponseEntity<Void> invalidateReferenceDataCache() {
+    log.info("invalidateReferenceDataCache:: invalidating reference data cache");
+    referenceDataCache.invalidate();
+    return ResponseEntity.noContent().build();
+  }
+}
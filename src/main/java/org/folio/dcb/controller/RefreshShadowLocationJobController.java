@@ -0,0 +1,49 @@
+package org.folio.dcb.controller;
+
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshBody;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJob;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJobStatusCollection;
+import org.folio.dcb.rest.resource.RefreshShadowLocationJobsApi;
+import org.folio.dcb.service.ShadowLocationRefreshJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@Log4j2
+@RestController
+@RequiredArgsConstructor
+public class RefreshShadowLocationJobController implements RefreshShadowLocationJobsApi {
+
+  private final ShadowLocationRefreshJobService shadowLocationRefreshJobService;
+
+  @Override
+  public ResponseEntity<ShadowLocationRefreshJob> startShadowLocationRefreshJob(
+    ShadowLocationRefreshBody requestBody) {
+    var job = shadowLocationRefreshJobService.startJob(requestBody);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+  }
+
+  @Override
+  public ResponseEntity<ShadowLocationRefreshJob> getShadowLocationRefreshJob(UUID id) {
+    return ResponseEntity.ok(shadowLocationRefreshJobService.getJobById(id));
+  }
+
+  @Override
+  public ResponseEntity<ShadowLocationRefreshJobStatusCollection> getShadowLocationRefreshJobStatuses(UUID id,
+    Integer limit, Integer offset) {
+    var statuses = shadowLocationRefreshJobService.getJobStatuses(id, limit, offset);
+    return ResponseEntity.ok(new ShadowLocationRefreshJobStatusCollection()
+      .items(statuses.getResult())
+      .totalRecords(statuses.getTotalRecords()));
+  }
+
+  @Override
+  public ResponseEntity<Void> resumeShadowLocationRefreshJobs() {
+    var resumedJobs = shadowLocationRefreshJobService.resumeStaleJobs();
+    log.debug("resumeShadowLocationRefreshJobs:: resumed shadow location refresh jobs: {}", resumedJobs);
+    return ResponseEntity.noContent().build();
+  }
+}
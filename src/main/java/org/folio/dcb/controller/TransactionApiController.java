@@ -66,12 +66,13 @@ public class TransactionApiController implements TransactionsApi {
   }
 
   @Override
-  public ResponseEntity<TransactionStatusResponseCollection> getTransactionStatusList(
-    OffsetDateTime fromDate, OffsetDateTime toDate, Integer pageNumber, Integer pageSize) {
+  public ResponseEntity<TransactionStatusResponseCollection> getTransactionStatusList(OffsetDateTime fromDate,
+    OffsetDateTime toDate, Integer pageNumber, Integer pageSize, String cursor, Boolean includeTotalRecords) {
 
     log.debug("getTransactionStatusList:: fetching transaction lists with fromDate {}, toDate {},"
-      + " pageNumber {}, pageSize {}", fromDate, toDate, pageNumber, pageSize);
-    var transactionStatusList = transactionsService.getTransactionStatusList(fromDate, toDate, pageNumber, pageSize);
+      + " pageNumber {}, pageSize {}, cursor {}", fromDate, toDate, pageNumber, pageSize, cursor);
+    var transactionStatusList = transactionsService.getTransactionStatusList(fromDate, toDate, pageNumber, pageSize,
+      cursor, includeTotalRecords);
     return ResponseEntity.status(HttpStatus.OK).body(transactionStatusList);
   }
 
@@ -0,0 +1,23 @@
+package org.folio.dcb.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.dto.TransactionAuditPartitionMaintenanceResponse;
+import org.folio.dcb.rest.resource.TransactionsAuditPartitionsApi;
+import org.folio.dcb.service.TransactionAuditPartitionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@Log4j2
+@RestController
+@RequiredArgsConstructor
+public class TransactionAuditPartitionController implements TransactionsAuditPartitionsApi {
+
+  private final TransactionAuditPartitionService transactionAuditPartitionService;
+
+  @Override
+  public ResponseEntity<TransactionAuditPartitionMaintenanceResponse> maintainTransactionAuditPartitions() {
+    log.info("maintainTransactionAuditPartitions:: maintaining transaction audit partitions");
+    return ResponseEntity.ok(transactionAuditPartitionService.maintainPartitions());
+  }
+}
@@ -0,0 +1,20 @@
+package org.folio.dcb.domain;
+
+import java.util.List;
+import org.folio.dcb.domain.dto.RefreshLocationStatus;
+
+/**
+ * Statuses of location units and locations of an agency, processed by a shadow location refresh.
+ *
+ * @param agencyIndex - index of the agency in the order of its first occurrence in the refresh request
+ * @param institutionStatus - status of the agency institution
+ * @param campusStatus - status of the agency campus
+ * @param libraryStatus - status of the agency library
+ * @param locationStatuses - statuses of the agency locations
+ */
+public record ShadowLocationAgencyResult(
+  int agencyIndex,
+  RefreshLocationStatus institutionStatus,
+  RefreshLocationStatus campusStatus,
+  RefreshLocationStatus libraryStatus,
+  List<RefreshLocationStatus> locationStatuses) {}
@@ -0,0 +1,52 @@
+package org.folio.dcb.domain;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import org.folio.dcb.domain.entity.TransactionAuditEntity;
+
+/**
+ * Position of a transaction audit record in the {@code (created_date, id)} order, used as an opaque continuation
+ * token for keyset pagination of the transaction status list. The creation date is kept as an instant, so the token
+ * does not depend on the time zone of the module instance, that encoded it.
+ *
+ * @param createdDate - creation date of the last returned audit record
+ * @param id - identifier of the last returned audit record
+ */
+public record TransactionAuditCursor(Instant createdDate, UUID id) {
+
+  private static final String SEPARATOR = "|";
+
+  public static TransactionAuditCursor of(TransactionAuditEntity transactionAuditEntity) {
+    // audit creation dates are read from the timestamptz column in the time zone of the JVM
+    var createdDate = transactionAuditEntity.getCreatedDate().atZone(ZoneId.systemDefault()).toInstant();
+    return new TransactionAuditCursor(createdDate, transactionAuditEntity.getId());
+  }
+
+  /**
+   * Decodes continuation token.
+   *
+   * @param token - continuation token
+   * @return decoded cursor
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static TransactionAuditCursor decode(String token) {
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+      var separatorIndex = value.indexOf(SEPARATOR);
+      return new TransactionAuditCursor(Instant.parse(value.substring(0, separatorIndex)),
+        UUID.fromString(value.substring(separatorIndex + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token, e);
+    }
+  }
+
+  public String encode() {
+    var value = createdDate + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+  }
+}
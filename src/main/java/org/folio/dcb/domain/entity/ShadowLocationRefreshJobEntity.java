@@ -0,0 +1,56 @@
+package org.folio.dcb.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.folio.dcb.domain.dto.RefreshJobStatusType;
+
+/**
+ * Shadow location refresh job, running in the background.
+ *
+ * <p>
+ * The job keeps the refresh request body, so a job interrupted by an instance restart is resumed with the agencies,
+ * that have no statuses recorded yet. Progress counters are incremented with the statuses of each completed agency.
+ * The run owning the job keeps the heartbeat date current, so the job is resumed only after the heartbeat stops.
+ * </p>
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "shadow_location_refresh_job")
+public class ShadowLocationRefreshJobEntity {
+
+  @Id
+  private UUID id;
+
+  @Enumerated(EnumType.STRING)
+  private RefreshJobStatusType status;
+
+  @ToString.Exclude
+  private String requestBody;
+
+  private int agenciesTotal;
+  private int agenciesCompleted;
+  private int locationsCreated;
+  private int locationsSkipped;
+  private int locationsFailed;
+  private String errorMessage;
+  private UUID ownerId;
+  private OffsetDateTime heartbeatDate;
+  private OffsetDateTime createdDate;
+  private OffsetDateTime updatedDate;
+}
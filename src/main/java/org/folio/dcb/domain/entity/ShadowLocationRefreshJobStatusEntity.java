@@ -0,0 +1,49 @@
+package org.folio.dcb.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.folio.dcb.domain.dto.RefreshLocationEntityType;
+import org.folio.dcb.domain.dto.RefreshLocationStatusType;
+
+/**
+ * Status of a location unit or location processed by a shadow location refresh job.
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "shadow_location_refresh_job_status")
+public class ShadowLocationRefreshJobStatusEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long sequenceId;
+
+  private UUID jobId;
+  private int agencyIndex;
+
+  @Enumerated(EnumType.STRING)
+  private RefreshLocationEntityType type;
+
+  private String code;
+
+  @Enumerated(EnumType.STRING)
+  private RefreshLocationStatusType status;
+
+  private String cause;
+}
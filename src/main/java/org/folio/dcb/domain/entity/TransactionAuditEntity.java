@@ -66,6 +66,24 @@ public class TransactionAuditEntity extends TransactionAuditableEntity {
   @Column(columnDefinition = "jsonb")
   private String after;
 
+  /**
+   * Fields of the transaction changed by the action, as a JSON merge patch (RFC 7386) to the state after the previous
+   * audit record.
+   *
+   * <p>
+   * Set instead of the full "before" and "after" states for updates audited in the delta mode, see
+   * {@code TransactionAuditStateResolver} for the reconstruction of the full state.
+   * </p>
+   */
+  @ColumnTransformer(write = "?::jsonb")
+  @Column(columnDefinition = "jsonb")
+  private String patch;
+
+  /**
+   * Identifier of the previous audit record of the transaction, the patch is applied to.
+   */
+  private UUID previousAuditId;
+
   /**
    * Error message if the action failed during processing.
    *
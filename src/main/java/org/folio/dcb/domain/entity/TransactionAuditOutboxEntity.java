@@ -0,0 +1,62 @@
+package org.folio.dcb.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.folio.dcb.domain.entity.base.TransactionAuditableEntity;
+
+/**
+ * Transaction audit record waiting in the outbox to be moved to the audit table, used by the asynchronous audit mode.
+ *
+ * <p>
+ * The record keeps the identifier it gets in the audit table, so the latest audit pointer of the transaction and the
+ * previous audit identifier of delta records stay valid after the move. JSON states are stored as text and converted
+ * to JSONB by the move.
+ * </p>
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "transactions_audit_outbox")
+public class TransactionAuditOutboxEntity extends TransactionAuditableEntity {
+
+  @Id
+  private UUID id;
+  private String action;
+  private String before;
+  private String after;
+  private String patch;
+  private UUID previousAuditId;
+  private String errorMessage;
+  private String transactionId;
+
+  /**
+   * Creates an outbox record with a new identifier from the audit record.
+   *
+   * @param transactionAuditEntity - audit record to write
+   * @return outbox record
+   */
+  public static TransactionAuditOutboxEntity of(TransactionAuditEntity transactionAuditEntity) {
+    return TransactionAuditOutboxEntity.builder()
+      .id(UUID.randomUUID())
+      .action(transactionAuditEntity.getAction())
+      .before(transactionAuditEntity.getBefore())
+      .after(transactionAuditEntity.getAfter())
+      .patch(transactionAuditEntity.getPatch())
+      .previousAuditId(transactionAuditEntity.getPreviousAuditId())
+      .errorMessage(transactionAuditEntity.getErrorMessage())
+      .transactionId(transactionAuditEntity.getTransactionId())
+      .build();
+  }
+}
@@ -1,5 +1,6 @@
 package org.folio.dcb.domain.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -8,7 +9,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +25,7 @@ import org.folio.dcb.domain.converter.UuidConverter;
 import org.folio.dcb.domain.dto.DcbTransaction;
 import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
 import org.folio.dcb.domain.entity.base.AuditableEntity;
+import org.folio.dcb.repository.listener.OpenTransactionIndexEntityListener;
 import org.folio.dcb.repository.listener.TransactionAuditEntityListener;
 
 @Entity
@@ -30,16 +36,26 @@ import org.folio.dcb.repository.listener.TransactionAuditEntityListener;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "transactions")
-@EntityListeners(TransactionAuditEntityListener.class)
+@EntityListeners({TransactionAuditEntityListener.class, OpenTransactionIndexEntityListener.class})
 public class TransactionEntity extends AuditableEntity implements Serializable {
 
   /**
    * The saved state of this transaction entity used for tracking changes. This field is not persisted and is used
-   * internally for audit purposes.
+   * internally for audit purposes: it is set from the Hibernate loaded state right before the entity is updated.
    */
   @Transient
   protected TransactionEntity savedState;
 
+  /**
+   * Statuses the transaction passed through since it was loaded or written last time, in the order they were set. A
+   * chain of status transitions is written with a single update, and {@link TransactionAuditEntityListener} writes an
+   * audit record for each of these statuses before the record of the final state. This field is not persisted.
+   */
+  @Transient
+  @JsonIgnore
+  @Builder.Default
+  private List<StatusEnum> intermediateStatuses = new ArrayList<>();
+
   /**
    * The unique identifier for the transaction.
    */
@@ -130,4 +146,27 @@ public class TransactionEntity extends AuditableEntity implements Serializable {
    * The location code where the item is physically located or should be located.
    */
   private String itemLocationCode;
+
+  /**
+   * The identifier of the latest create or update audit record of this transaction, maintained by
+   * {@link TransactionAuditEntityListener}. It is not a part of the audited state.
+   */
+  @JsonIgnore
+  private UUID latestAuditId;
+
+  /**
+   * The creation date of the audit record referenced by {@link #latestAuditId}, which is a part of the primary key of
+   * the partitioned audit table. It is not a part of the audited state.
+   */
+  @JsonIgnore
+  private LocalDateTime latestAuditCreatedDate;
+
+  /**
+   * The version of the transaction used for the optimistic locking: a write of a transaction changed concurrently
+   * after it was loaded fails with {@link org.springframework.dao.OptimisticLockingFailureException}. It is not a part
+   * of the audited state.
+   */
+  @Version
+  @JsonIgnore
+  private Long version;
 }
@@ -0,0 +1,144 @@
+package org.folio.dcb.domain.mapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.entity.TransactionAuditEntity;
+import org.folio.dcb.repository.TransactionAuditRepository;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Creates patches of transaction states for the delta audit mode and reconstructs the full transaction state after
+ * an audit record.
+ *
+ * <p>A delta audit record keeps only the changed fields as a JSON merge patch (RFC 7386) and the identifier of the
+ * previous audit record. The state after such a record is the "after" state of the nearest previous record with the
+ * full state, with the patches of the following records applied in order. The previous records of a page of audit
+ * records are loaded together, one query per step back in the chain.</p>
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class TransactionAuditStateResolver {
+
+  private static final String SAVED_STATE_PROPERTY = "savedState";
+
+  private final TransactionAuditRepository transactionAuditRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates a JSON merge patch, that turns the state before into the state after.
+   *
+   * @param before - transaction state before the update
+   * @param after - transaction state after the update
+   * @return patch with the changed fields, and null values for the removed ones
+   */
+  public static ObjectNode createPatch(ObjectNode before, ObjectNode after) {
+    var patch = JsonNodeFactory.instance.objectNode();
+    for (var property : after.properties()) {
+      var name = property.getKey();
+      if (!SAVED_STATE_PROPERTY.equals(name) && !property.getValue().equals(before.get(name))) {
+        patch.set(name, property.getValue());
+      }
+    }
+    for (var property : before.properties()) {
+      if (!SAVED_STATE_PROPERTY.equals(property.getKey()) && !after.has(property.getKey())) {
+        patch.putNull(property.getKey());
+      }
+    }
+    return patch;
+  }
+
+  /**
+   * Resolves the full transaction state after each of the given audit records.
+   *
+   * @param transactionAuditEntities - audit records
+   * @return JSON of the transaction state after each audit record, in the order of the given records
+   */
+  public List<String> resolveAfterStates(List<TransactionAuditEntity> transactionAuditEntities) {
+    var auditsById = new HashMap<UUID, TransactionAuditEntity>();
+    transactionAuditEntities.forEach(audit -> auditsById.put(audit.getId(), audit));
+    loadPreviousAudits(auditsById);
+
+    var states = new HashMap<UUID, ObjectNode>();
+    return transactionAuditEntities.stream()
+      .map(audit -> audit.getAfter() != null ? audit.getAfter() : resolveState(audit, auditsById, states).toString())
+      .toList();
+  }
+
+  private void loadPreviousAudits(Map<UUID, TransactionAuditEntity> auditsById) {
+    var missingIds = getMissingPreviousIds(auditsById.values(), auditsById);
+    while (!missingIds.isEmpty()) {
+      log.debug("loadPreviousAudits:: loading {} previous audit records", missingIds.size());
+      var previousAudits = transactionAuditRepository.findAllByIdIn(missingIds);
+      previousAudits.forEach(audit -> auditsById.put(audit.getId(), audit));
+      missingIds = getMissingPreviousIds(previousAudits, auditsById);
+    }
+  }
+
+  private ObjectNode resolveState(TransactionAuditEntity audit, Map<UUID, TransactionAuditEntity> auditsById,
+    Map<UUID, ObjectNode> states) {
+    var chain = new ArrayList<TransactionAuditEntity>();
+    ObjectNode state = null;
+    for (var current = audit; current != null; current = auditsById.get(current.getPreviousAuditId())) {
+      state = states.get(current.getId());
+      if (state != null) {
+        break;
+      }
+      if (current.getAfter() != null) {
+        state = (ObjectNode) objectMapper.readTree(current.getAfter());
+        break;
+      }
+      chain.add(current);
+      if (current.getPreviousAuditId() == null) {
+        break;
+      }
+    }
+
+    if (state == null) {
+      log.warn("resolveState:: Full state is not found for audit record: {}, transaction: {}",
+        audit.getId(), audit.getTransactionId());
+      state = objectMapper.createObjectNode();
+    }
+
+    for (var index = chain.size() - 1; index >= 0; index--) {
+      var current = chain.get(index);
+      state = applyPatch(state.deepCopy(), objectMapper.readTree(current.getPatch()));
+      states.put(current.getId(), state);
+    }
+    return state;
+  }
+
+  private static ObjectNode applyPatch(ObjectNode state, JsonNode patch) {
+    for (var property : patch.properties()) {
+      if (property.getValue().isNull()) {
+        state.remove(property.getKey());
+      } else {
+        state.set(property.getKey(), property.getValue());
+      }
+    }
+    return state;
+  }
+
+  private static Set<UUID> getMissingPreviousIds(Iterable<TransactionAuditEntity> audits,
+    Map<UUID, TransactionAuditEntity> auditsById) {
+    var missingIds = new HashSet<UUID>();
+    for (var audit : audits) {
+      if (audit.getAfter() == null && audit.getPreviousAuditId() != null
+        && !auditsById.containsKey(audit.getPreviousAuditId())) {
+        missingIds.add(audit.getPreviousAuditId());
+      }
+    }
+    return missingIds;
+  }
+}
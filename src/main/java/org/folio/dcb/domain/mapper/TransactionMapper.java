@@ -1,6 +1,7 @@
 package org.folio.dcb.domain.mapper;
 
 import java.util.List;
+import lombok.RequiredArgsConstructor;
 import org.folio.dcb.domain.dto.DcbItem;
 import org.folio.dcb.domain.dto.DcbPatron;
 import org.folio.dcb.domain.dto.DcbPickup;
@@ -10,12 +11,15 @@ import org.folio.dcb.domain.dto.TransactionStatusResponseList;
 import org.folio.dcb.domain.entity.TransactionAuditEntity;
 import org.folio.dcb.domain.entity.TransactionEntity;
 import org.folio.dcb.utils.JsonUtils;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class TransactionMapper {
 
+  private final TransactionAuditStateResolver transactionAuditStateResolver;
+
   public TransactionEntity mapToEntity(String transactionId, DcbTransaction dcbTransaction) {
     if (dcbTransaction == null
       || dcbTransaction.getItem() == null
@@ -47,11 +51,14 @@ public class TransactionMapper {
       .build();
   }
 
-  public List<TransactionStatusResponseList> mapToDto(Page<TransactionAuditEntity> transactionAuditEntityPage) {
-    var transactionList = transactionAuditEntityPage.getContent();
-    return transactionList
+  public List<TransactionStatusResponseList> mapToDto(Slice<TransactionAuditEntity> transactionAuditEntityPage) {
+    return mapToDto(transactionAuditEntityPage.getContent());
+  }
+
+  public List<TransactionStatusResponseList> mapToDto(List<TransactionAuditEntity> transactionAuditEntities) {
+    return transactionAuditStateResolver.resolveAfterStates(transactionAuditEntities)
       .stream()
-      .map(transactionAuditEntity -> JsonUtils.jsonToObject(transactionAuditEntity.getAfter(), TransactionEntity.class))
+      .map(afterState -> JsonUtils.jsonToObject(afterState, TransactionEntity.class))
       .map(transactionEntity -> TransactionStatusResponseList
         .builder()
         .id(transactionEntity.getId())
@@ -0,0 +1,33 @@
+package org.folio.dcb.integration.circstorage;
+
+import static org.folio.dcb.service.impl.ReferenceDataCache.LOAN_POLICIES;
+
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.folio.dcb.domain.dto.LoanPolicy;
+import org.folio.dcb.domain.dto.LoanPolicyCollection;
+import org.folio.dcb.service.impl.ReferenceDataCache;
+
+/**
+ * {@link CirculationLoanPolicyStorageClient} serving loan policies from the tenant reference data cache. Failed
+ * requests, including not found loan policies, are not cached.
+ */
+@RequiredArgsConstructor
+public class CachingCirculationLoanPolicyStorageClient implements CirculationLoanPolicyStorageClient {
+
+  private final CirculationLoanPolicyStorageClient delegate;
+  private final ReferenceDataCache referenceDataCache;
+
+  @Override
+  public LoanPolicyCollection findByQuery(String query) {
+    return referenceDataCache.get(LOAN_POLICIES, "query:" + query,
+        () -> Optional.ofNullable(delegate.findByQuery(query)))
+      .orElse(null);
+  }
+
+  @Override
+  public LoanPolicy getById(String id) {
+    return referenceDataCache.get(LOAN_POLICIES, "id:" + id, () -> Optional.ofNullable(delegate.getById(id)))
+      .orElse(null);
+  }
+}
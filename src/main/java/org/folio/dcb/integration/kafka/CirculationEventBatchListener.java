@@ -0,0 +1,341 @@
+package org.folio.dcb.integration.kafka;
+
+import static java.util.stream.Collectors.toCollection;
+import static org.apache.commons.collections4.CollectionUtils.isEmpty;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.CHECK_IN_EVENT;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.CHECK_IN_LISTENER_ID;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.CHECK_OUT_LOAN_LISTENER_ID;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.LOAN_EVENT;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.REQUEST_EVENT;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.REQUEST_LISTENER_ID;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.RETRY_LISTENER_ID;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.awaitCompletion;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.resolveListenerName;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.toMessageHeaders;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_FILTERED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_MATCHED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_RECEIVED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_TRANSITIONED;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.ORIGINAL_TOPIC_HEADER;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.RETRY_DUE_AT_HEADER;
+import static org.folio.dcb.integration.kafka.TransactionHelper.getHeaderValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.integration.kafka.CirculationEventRetryHandler.SourceEvent;
+import org.folio.dcb.integration.kafka.model.EventData;
+import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.service.impl.BaseLibraryService;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.service.impl.ProcessedEventLedger;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Batch counterpart of {@link CirculationEventListener}, enabled with {@code folio.kafka.batch.enabled=true}.
+ *
+ * <p>Consumes a whole poll of circulation events at once, groups them by tenant and resolves each group with one
+ * bulk transaction lookup and one batch write. Events already recorded in the {@link ProcessedEventLedger} are
+ * skipped, and the batch write is committed in one database transaction with the ledger records of its events, so
+ * a failed group leaves no transition applied. The events of a failed group are then re-processed one by one, the
+ * same way as in per-record mode: a single bad event is passed to the {@link CirculationEventRetryHandler} and does
+ * not block the rest of the group.</p>
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "folio.kafka.batch", name = "enabled", havingValue = "true")
+public class CirculationEventBatchListener {
+
+  private static final Set<StatusEnum> DCB_LOAN_EXCLUDED_STATUSES = EnumSet.of(
+    StatusEnum.CLOSED, StatusEnum.CANCELLED, StatusEnum.ERROR, StatusEnum.CREATED, StatusEnum.OPEN);
+  private static final Set<StatusEnum> NON_DCB_LOAN_EXCLUDED_STATUSES = EnumSet.of(
+    StatusEnum.CLOSED, StatusEnum.CANCELLED, StatusEnum.ERROR);
+
+  private final TransactionRepository transactionRepository;
+  private final CirculationEventExecutor circulationEventExecutor;
+  private final BaseLibraryService baseLibraryService;
+  private final OpenTransactionIndex openTransactionIndex;
+  private final CirculationEventRetryHandler circulationEventRetryHandler;
+  private final FolioKafkaProperties folioKafkaProperties;
+  private final ProcessedEventLedger processedEventLedger;
+  private final CirculationEventMetrics circulationEventMetrics;
+  private final TransactionTemplate transactionTemplate;
+
+  @KafkaListener(
+    id = CHECK_OUT_LOAN_LISTENER_ID,
+    topicPattern = "#{folioKafkaProperties.listener['loan'].topicPattern}",
+    concurrency = "#{folioKafkaProperties.listener['loan'].concurrency}",
+    batch = "true")
+  public void handleLoanEvents(List<ConsumerRecord<String, String>> records) {
+    processRecords(CHECK_OUT_LOAN_LISTENER_ID, LOAN_EVENT, records, TransactionHelper::parseLoanEvent,
+      (tenantId, event) -> event.getType() != null && openTransactionIndex.mayContainItem(tenantId, event.getItemId()),
+      this::processLoanEvents);
+  }
+
+  @KafkaListener(
+    id = REQUEST_LISTENER_ID,
+    topicPattern = "#{folioKafkaProperties.listener['request'].topicPattern}",
+    concurrency = "#{folioKafkaProperties.listener['request'].concurrency}",
+    batch = "true")
+  public void handleRequestEvents(List<ConsumerRecord<String, String>> records) {
+    processRecords(REQUEST_LISTENER_ID, REQUEST_EVENT, records, TransactionHelper::parseRequestEvent,
+      (tenantId, event) -> event.getRequestId() != null && event.getType() != null
+        && openTransactionIndex.mayContainRequest(tenantId, event.getRequestId()),
+      this::processRequestEvents);
+  }
+
+  @KafkaListener(
+    id = CHECK_IN_LISTENER_ID,
+    topicPattern = "#{folioKafkaProperties.listener['check-in'].topicPattern}",
+    concurrency = "#{folioKafkaProperties.listener['check-in'].concurrency}",
+    batch = "true")
+  public void handleCheckInEvents(List<ConsumerRecord<String, String>> records) {
+    processRecords(CHECK_IN_LISTENER_ID, CHECK_IN_EVENT, records, TransactionHelper::parseCheckInEvent,
+      (tenantId, event) -> event.getCheckInServicePointId() != null && event.getItemId() != null
+        && openTransactionIndex.mayContainItem(tenantId, event.getItemId()),
+      this::processCheckInEvents);
+  }
+
+  /**
+   * Handles circulation events re-delivered through the retry topics, see {@link CirculationEventRetryHandler}.
+   * Events that are not due yet are re-delivered after their remaining delay.
+   */
+  @KafkaListener(
+    id = RETRY_LISTENER_ID,
+    topics = "#{circulationEventRetryHandler.retryTopics}",
+    containerFactory = "circulationEventRetryListenerContainerFactory",
+    autoStartup = "#{folioKafkaProperties.retry.enabled}")
+  public void handleRetryEvent(ConsumerRecord<String, String> consumerRecord, Acknowledgment acknowledgment) {
+    var dueAt = getHeaderValue(consumerRecord.headers(), RETRY_DUE_AT_HEADER, "0").getFirst();
+    var remainingDelay = Long.parseLong(dueAt) - System.currentTimeMillis();
+    if (remainingDelay > 0) {
+      acknowledgment.nack(Duration.ofMillis(remainingDelay));
+      return;
+    }
+
+    var originalTopic = getHeaderValue(consumerRecord.headers(), ORIGINAL_TOPIC_HEADER, "").getFirst();
+    switch (resolveListenerName(folioKafkaProperties, originalTopic)) {
+      case LOAN_EVENT -> handleLoanEvents(List.of(consumerRecord));
+      case REQUEST_EVENT -> handleRequestEvents(List.of(consumerRecord));
+      case CHECK_IN_EVENT -> handleCheckInEvents(List.of(consumerRecord));
+      default -> log.warn("handleRetryEvent:: Unknown original topic: {}, skipping event", originalTopic);
+    }
+    acknowledgment.acknowledge();
+  }
+
+  /**
+   * Parses consumed records, skips events without an open transaction and submits the rest of the events grouped by
+   * tenant, preserving the order of records within a tenant. Returns when the events of all tenants are processed,
+   * so the poll is acknowledged only after that, and rethrows the first failure of a tenant group.
+   *
+   * @param listenerId - identifier of the listener container that consumed the records
+   * @param type - event type
+   * @param records - consumed kafka records
+   * @param eventDataParser - parser for record payloads
+   * @param eventFilter - filter of the events to process
+   * @param processor - bulk processor of the events of a single tenant
+   */
+  private void processRecords(String listenerId, String type, List<ConsumerRecord<String, String>> records,
+    Function<String, EventData> eventDataParser, BiPredicate<String, EventData> eventFilter,
+    BiConsumer<String, List<EventData>> processor) {
+    log.debug("processRecords:: Processing {} {} record(s)", records.size(), type);
+    var eventsByTenant = new LinkedHashMap<String, List<BatchEvent>>();
+    for (var consumerRecord : records) {
+      var tenantHeaders = getHeaderValue(consumerRecord.headers(), XOkapiHeaders.TENANT, null);
+      if (isEmpty(tenantHeaders)) {
+        log.warn("processRecords:: tenantId is null, skipping processing: {}", type);
+        continue;
+      }
+
+      var tenantId = tenantHeaders.getFirst();
+      circulationEventMetrics.count(tenantId, type, STAGE_RECEIVED);
+      var eventData = circulationEventMetrics.recordParse(type, () -> eventDataParser.apply(consumerRecord.value()));
+      if (eventData == null || !eventFilter.test(tenantId, eventData)) {
+        log.debug("processRecords:: event is not supported or has no open transaction, skipping it: {}", type);
+        circulationEventMetrics.count(tenantId, type, STAGE_FILTERED);
+        continue;
+      }
+
+      var sourceEvent = new SourceEvent(consumerRecord.value(), toMessageHeaders(consumerRecord));
+      eventsByTenant.computeIfAbsent(tenantId, id -> new ArrayList<>())
+        .add(new BatchEvent(sourceEvent, eventData, ProcessedEventLedger.getEventKey(sourceEvent.headers())));
+    }
+
+    var completions = eventsByTenant.entrySet().stream()
+      .map(tenantEvents -> circulationEventExecutor.execute(listenerId, null, tenantEvents.getKey(), null,
+        () -> processTenantEvents(tenantEvents.getKey(), type, tenantEvents.getValue(), processor)))
+      .toArray(CompletableFuture[]::new);
+    awaitCompletion(CompletableFuture.allOf(completions));
+  }
+
+  private void processTenantEvents(String tenantId, String type, List<BatchEvent> events,
+    BiConsumer<String, List<EventData>> processor) {
+    var pendingEvents = events.stream().filter(event -> !isProcessed(tenantId, event)).toList();
+    if (pendingEvents.isEmpty()) {
+      log.debug("processTenantEvents:: all {} event(s) are already processed for tenant {}", events.size(), tenantId);
+      return;
+    }
+
+    List<BatchEvent> processedEvents;
+    try {
+      processedEvents = transactionTemplate.execute(transactionStatus -> {
+        var newEvents = pendingEvents.stream().filter(event -> markProcessed(tenantId, event)).toList();
+        if (!newEvents.isEmpty()) {
+          processor.accept(tenantId, newEvents.stream().map(BatchEvent::data).toList());
+        }
+        return newEvents;
+      });
+    } catch (RuntimeException e) {
+      log.warn("processTenantEvents:: Bulk processing of {} event(s) failed for tenant {}, "
+        + "falling back to per-record processing", pendingEvents.size(), tenantId, e);
+      processSingleEvents(tenantId, type, pendingEvents, processor);
+      return;
+    }
+
+    if (processedEventLedger.isEnabled()) {
+      processedEventLedger.cleanupIfNeeded(tenantId);
+    }
+    processedEvents.forEach(event -> circulationEventMetrics.recordEndToEnd(tenantId, type, event.source().headers()));
+  }
+
+  /**
+   * Processes events of a failed group one by one. Failed events are passed to the retry topics, if the retry is
+   * disabled, the first failure is rethrown after all events are processed.
+   */
+  private void processSingleEvents(String tenantId, String type, List<BatchEvent> events,
+    BiConsumer<String, List<EventData>> processor) {
+    RuntimeException failure = null;
+    for (var event : events) {
+      Runnable action = () -> {
+        processor.accept(tenantId, List.of(event.data()));
+        circulationEventMetrics.recordEndToEnd(tenantId, type, event.source().headers());
+      };
+
+      try {
+        circulationEventRetryHandler.withRetry(event.source(), tenantId,
+          processedEventLedger.skipProcessed(tenantId, event.eventKey(), action)).run();
+      } catch (RuntimeException e) {
+        log.error("processSingleEvents:: Failed to process event {} for tenant {}", event.data(), tenantId, e);
+        failure = Objects.requireNonNullElse(failure, e);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private boolean isProcessed(String tenantId, BatchEvent event) {
+    return processedEventLedger.isEnabled() && event.eventKey() != null
+      && processedEventLedger.isProcessed(tenantId, event.eventKey());
+  }
+
+  private boolean markProcessed(String tenantId, BatchEvent event) {
+    return !processedEventLedger.isEnabled() || event.eventKey() == null
+      || processedEventLedger.markProcessed(tenantId, event.eventKey());
+  }
+
+  private void processLoanEvents(String tenantId, List<EventData> events) {
+    var dcbItemIds = collectIds(events, EventData::isDcb, EventData::getItemId);
+    var nonDcbItemIds = collectIds(events, event -> !event.isDcb(), EventData::getItemId);
+
+    var batch = new TransactionStatusBatch(baseLibraryService);
+    var dcbTransactions = batch.register(dcbItemIds.isEmpty() ? List.of()
+      : circulationEventMetrics.recordLookup(tenantId, LOAN_EVENT,
+        () -> transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(dcbItemIds)),
+      TransactionEntity::getItemId);
+    var nonDcbTransactions = batch.register(nonDcbItemIds.isEmpty() ? List.of()
+      : circulationEventMetrics.recordLookup(tenantId, LOAN_EVENT,
+        () -> transactionRepository.findSingleTransactionsByItemIdsAndStatusNotInClosed(nonDcbItemIds)),
+      TransactionEntity::getItemId);
+
+    for (var event : events) {
+      if (event.isDcb()) {
+        batch.findSingle(dcbTransactions, event.getItemId(), status -> !DCB_LOAN_EXCLUDED_STATUSES.contains(status))
+          .ifPresent(entity -> updateTransactionStatus(tenantId, LOAN_EVENT, batch, entity,
+            CirculationEventStatusResolver.resolveDcbLoanStatus(event, entity)));
+      } else {
+        batch.findSingle(nonDcbTransactions, event.getItemId(),
+            status -> !NON_DCB_LOAN_EXCLUDED_STATUSES.contains(status))
+          .ifPresent(entity -> updateTransactionStatus(tenantId, LOAN_EVENT, batch, entity,
+            CirculationEventStatusResolver.resolveNonDcbLoanStatus(event, entity)));
+      }
+    }
+
+    batch.flush();
+  }
+
+  private void processRequestEvents(String tenantId, List<EventData> events) {
+    var requestIds = collectIds(events, event -> true, EventData::getRequestId);
+    var batch = new TransactionStatusBatch(baseLibraryService);
+    var transactions = batch.register(circulationEventMetrics.recordLookup(tenantId, REQUEST_EVENT,
+        () -> transactionRepository.findTransactionsByRequestIdsAndStatusNotInClosed(requestIds)),
+      entity -> String.valueOf(entity.getRequestId()));
+
+    events.forEach(event -> batch.findSingle(transactions, event.getRequestId(), status -> status != StatusEnum.CLOSED)
+      .ifPresent(entity -> updateTransactionStatus(tenantId, REQUEST_EVENT, batch, entity,
+        CirculationEventStatusResolver.resolveRequestStatus(event, entity))));
+
+    batch.flush();
+  }
+
+  private void processCheckInEvents(String tenantId, List<EventData> events) {
+    var itemIds = collectIds(events, event -> true, EventData::getItemId);
+    var batch = new TransactionStatusBatch(baseLibraryService);
+    var transactions = batch.register(circulationEventMetrics.recordLookup(tenantId, CHECK_IN_EVENT,
+      () -> transactionRepository.findExpiredTransactionsByItemIds(itemIds)), TransactionEntity::getItemId);
+
+    events.forEach(event -> batch.find(transactions, event.getItemId(), status -> status == StatusEnum.EXPIRED)
+      .forEach(entity -> updateTransactionStatus(tenantId, CHECK_IN_EVENT, batch, entity,
+        Optional.of(StatusEnum.CLOSED))));
+
+    batch.flush();
+  }
+
+  private void updateTransactionStatus(String tenantId, String type, TransactionStatusBatch batch,
+    TransactionEntity entity, Optional<StatusEnum> status) {
+    circulationEventMetrics.count(tenantId, type, entity, STAGE_MATCHED);
+    status.ifPresent(newStatus -> {
+      batch.update(entity, newStatus);
+      circulationEventMetrics.count(tenantId, type, entity, STAGE_TRANSITIONED);
+    });
+  }
+
+  private static Set<UUID> collectIds(List<EventData> events, Predicate<EventData> eventFilter,
+    Function<EventData, String> idExtractor) {
+    return events.stream()
+      .filter(eventFilter)
+      .map(idExtractor)
+      .filter(Objects::nonNull)
+      .map(UUID::fromString)
+      .collect(toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Consumed event with its parsed data and the ledger key.
+   */
+  private record BatchEvent(SourceEvent source, EventData data, String eventKey) {}
+}
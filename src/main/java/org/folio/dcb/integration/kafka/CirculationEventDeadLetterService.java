@@ -0,0 +1,135 @@
+package org.folio.dcb.integration.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.folio.dcb.domain.dto.DeadLetterReplayResponse;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays circulation events from the dead letter topic: events are sent back to the first retry topic in batches,
+ * the position of the replay is stored as the committed offset of a dedicated consumer group.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CirculationEventDeadLetterService {
+
+  private static final String REPLAY_GROUP_ID = "mod-dcb-dead-letter-replay";
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+  private static final Duration REPLAY_TIMEOUT = Duration.ofSeconds(30);
+
+  private final CirculationEventRetryHandler circulationEventRetryHandler;
+  private final ConsumerFactory<String, String> consumerFactory;
+
+  /**
+   * Sends a batch of events from the dead letter topic back to the retry topics.
+   *
+   * @param batchSize - maximum number of events to replay
+   * @return number of replayed events and number of events left in the dead letter topic
+   */
+  public synchronized DeadLetterReplayResponse replay(int batchSize) {
+    if (!circulationEventRetryHandler.isEnabled()) {
+      throw new IllegalArgumentException("Retry of circulation events is disabled");
+    }
+
+    var topic = circulationEventRetryHandler.getDeadLetterTopic();
+    log.info("replay:: Replaying circulation events from the dead letter topic: {}, batchSize: {}", topic, batchSize);
+    try (var consumer = createConsumer(batchSize)) {
+      var partitions = consumer.partitionsFor(topic).stream()
+        .map(partitionInfo -> new TopicPartition(topic, partitionInfo.partition()))
+        .toList();
+      consumer.assign(partitions);
+      var endOffsets = consumer.endOffsets(partitions);
+
+      var deadLetters = pollDeadLetters(consumer, endOffsets, batchSize);
+      var offsets = replayDeadLetters(deadLetters);
+      consumer.commitSync(offsets);
+
+      var remaining = countRemaining(consumer, partitions, endOffsets);
+      log.info("replay:: Replayed {} circulation event(s), {} event(s) remaining", deadLetters.size(), remaining);
+      return new DeadLetterReplayResponse()
+        .replayed(deadLetters.size())
+        .remaining((int) remaining);
+    }
+  }
+
+  private Consumer<String, String> createConsumer(int batchSize) {
+    var properties = new Properties();
+    properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+    properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    return consumerFactory.createConsumer(REPLAY_GROUP_ID, null, "-replay", properties);
+  }
+
+  private static List<ConsumerRecord<String, String>> pollDeadLetters(Consumer<String, String> consumer,
+    Map<TopicPartition, Long> endOffsets, int batchSize) {
+    var deadLetters = new ArrayList<ConsumerRecord<String, String>>();
+    var deadline = System.nanoTime() + REPLAY_TIMEOUT.toNanos();
+    while (deadLetters.size() < batchSize && System.nanoTime() < deadline && !isAtEnd(consumer, endOffsets)) {
+      for (var consumerRecord : consumer.poll(POLL_TIMEOUT)) {
+        if (deadLetters.size() < batchSize) {
+          deadLetters.add(consumerRecord);
+        }
+      }
+    }
+    return deadLetters;
+  }
+
+  private Map<TopicPartition, OffsetAndMetadata> replayDeadLetters(List<ConsumerRecord<String, String>> deadLetters) {
+    var offsets = new HashMap<TopicPartition, OffsetAndMetadata>();
+    var futures = new ArrayList<CompletableFuture<?>>();
+    for (var deadLetter : deadLetters) {
+      futures.add(circulationEventRetryHandler.replay(deadLetter.value(), deadLetter.key(), deadLetter.headers()));
+      offsets.put(new TopicPartition(deadLetter.topic(), deadLetter.partition()),
+        new OffsetAndMetadata(deadLetter.offset() + 1));
+    }
+
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .get(REPLAY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Replay of circulation events was interrupted", e);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Failed to replay circulation events from the dead letter topic", e);
+    }
+    return offsets;
+  }
+
+  private static boolean isAtEnd(Consumer<String, String> consumer, Map<TopicPartition, Long> endOffsets) {
+    return endOffsets.entrySet().stream().allMatch(entry -> consumer.position(entry.getKey()) >= entry.getValue());
+  }
+
+  private static long countRemaining(Consumer<String, String> consumer, List<TopicPartition> partitions,
+    Map<TopicPartition, Long> endOffsets) {
+    var committedOffsets = consumer.committed(new HashSet<>(partitions));
+    var beginningOffsets = consumer.beginningOffsets(partitions);
+    return partitions.stream()
+      .mapToLong(partition -> {
+        var committedOffset = committedOffsets.get(partition);
+        var offset = committedOffset != null ? committedOffset.offset() : beginningOffsets.get(partition);
+        return Math.max(0, endOffsets.get(partition) - offset);
+      })
+      .sum();
+  }
+}
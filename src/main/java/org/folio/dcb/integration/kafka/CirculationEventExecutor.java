@@ -0,0 +1,350 @@
+package org.folio.dcb.integration.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.common.TopicPartition;
+import org.folio.dcb.integration.kafka.FolioKafkaProperties.KafkaExecutorProperties;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes circulation event processing in the system user scope of the event tenant.
+ *
+ * <p>If {@code folio.kafka.executor.enabled} is set, events are processed by a dedicated pool of workers with a
+ * bounded queue. Events are dispatched to ordered lanes by a hash of their ordering key (item id or request id):
+ * events of one lane are processed one by one in the order of submission, while different lanes are processed in
+ * parallel. Ready lanes are grouped by tenant and workers take them round-robin, so a burst of events from one
+ * tenant does not delay the events of others.</p>
+ *
+ * <p>When the queue is full, the partition of the submitted event is paused in the listener container and the
+ * listener thread waits for a free slot; paused partitions are resumed when the queue is drained to a half of its
+ * capacity. On shutdown, workers process the queued events until the shutdown timeout, events that are still queued
+ * after it are failed.</p>
+ *
+ * <p>Otherwise, events are processed in the listener thread, in the order of consumption, with the cached system
+ * user context if {@code application.system-user-context.cache-enabled} is set, or with
+ * {@code SystemUserScopedExecutionService.executeSystemUserScoped}.</p>
+ *
+ * <p>In both modes, the returned future completes when the event is processed, so the listener acknowledges the
+ * event only after that, and completes exceptionally if the processing fails.</p>
+ *
+ * @see SystemUserContextCache
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CirculationEventExecutor {
+
+  private static final String METRIC_PREFIX = "dcb.kafka.executor.";
+
+  private final FolioKafkaProperties folioKafkaProperties;
+  private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+  private final SystemUserContextCache systemUserContextCache;
+  private final MeterRegistry meterRegistry;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private final Map<LaneKey, Lane> lanes = new HashMap<>();
+  private final Map<String, Queue<Lane>> readyLanesByTenant = new HashMap<>();
+  private final Queue<String> readyTenants = new ArrayDeque<>();
+  private final Set<PausedPartition> pausedPartitions = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger queuedTasks = new AtomicInteger();
+  private final AtomicInteger activeTasks = new AtomicInteger();
+
+  private ExecutorService workers;
+  private Timer waitTimer;
+  private Timer processingTimer;
+  private Counter saturationCounter;
+  private volatile boolean running;
+
+  @PostConstruct
+  public void start() {
+    var properties = getProperties();
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    log.info("start:: Starting circulation event executor [poolSize: {}, queueCapacity: {}, lanes: {}, "
+      + "virtualThreads: {}]", properties.getPoolSize(), properties.getQueueCapacity(), properties.getLanes(),
+      properties.isVirtualThreads());
+    Gauge.builder(METRIC_PREFIX + "queue.size", queuedTasks, AtomicInteger::get).register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "active", activeTasks, AtomicInteger::get).register(meterRegistry);
+    waitTimer = Timer.builder(METRIC_PREFIX + "task.wait").register(meterRegistry);
+    processingTimer = Timer.builder(METRIC_PREFIX + "task.duration").register(meterRegistry);
+    saturationCounter = Counter.builder(METRIC_PREFIX + "saturated").register(meterRegistry);
+
+    var threadBuilder = properties.isVirtualThreads() ? Thread.ofVirtual() : Thread.ofPlatform();
+    workers = Executors.newFixedThreadPool(properties.getPoolSize(),
+      threadBuilder.name("dcb-event-worker-", 0).factory());
+    running = true;
+    for (int i = 0; i < properties.getPoolSize(); i++) {
+      workers.execute(this::processTasks);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (workers == null) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      running = false;
+      notEmpty.signalAll();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(getProperties().getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("stop:: Circulation event executor is stopped with {} queued task(s), they are not acknowledged "
+          + "and will be consumed again", queuedTasks.get());
+        failQueuedTasks();
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failQueuedTasks();
+      workers.shutdownNow();
+    }
+  }
+
+  /**
+   * Executes event processing in the system user scope of the given tenant.
+   *
+   * @param listenerId - identifier of the listener container that consumed the event
+   * @param partition - partition of the consumed event, paused when the queue is full, if null - the caller waits
+   *                  for a free slot without pausing
+   * @param tenantId - tenant identifier
+   * @param orderingKey - key of events that must be processed in order (item id, request id), if null - the event
+   *                    is ordered with all other events of the tenant without a key
+   * @param action - event processing action
+   * @return future, completed when the event is processed
+   */
+  public CompletableFuture<Void> execute(String listenerId, TopicPartition partition, String tenantId,
+    String orderingKey, Runnable action) {
+    if (!running) {
+      try {
+        systemUserContextCache.execute(tenantId, action);
+        return CompletableFuture.completedFuture(null);
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    var laneKey = new LaneKey(tenantId, orderingKey == null ? -1 : Math.floorMod(orderingKey.hashCode(),
+      getProperties().getLanes()));
+    var task = new EventTask(laneKey, action, System.nanoTime(), new CompletableFuture<>());
+    enqueue(new PausedPartition(listenerId, partition), task);
+    return task.completion();
+  }
+
+  private void enqueue(PausedPartition source, EventTask task) {
+    var capacity = getProperties().getQueueCapacity();
+    lock.lock();
+    try {
+      if (queuedTasks.get() >= capacity) {
+        saturationCounter.increment();
+        pausePartition(source);
+        awaitFreeSlot(capacity);
+      }
+
+      var lane = lanes.computeIfAbsent(task.laneKey(), Lane::new);
+      lane.tasks.add(task);
+      queuedTasks.incrementAndGet();
+      if (!lane.busy && lane.tasks.size() == 1) {
+        markReady(lane);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until the queue has a free slot. If the slot is not freed within the submit timeout, the event is queued
+   * beyond the capacity: it cannot be processed in the listener thread without breaking the order of its lane, and
+   * its partition is already paused, so the overflow is limited by the records of the current poll.
+   */
+  private void awaitFreeSlot(int capacity) {
+    try {
+      var remainingNanos = getProperties().getSubmitTimeout().toNanos();
+      while (queuedTasks.get() >= capacity && running && remainingNanos > 0) {
+        remainingNanos = notFull.awaitNanos(remainingNanos);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (queuedTasks.get() >= capacity) {
+      log.warn("awaitFreeSlot:: Event queue is still full, queueing event beyond the capacity [queued: {}]",
+        queuedTasks.get());
+    }
+  }
+
+  private void markReady(Lane lane) {
+    var tenantLanes = readyLanesByTenant.computeIfAbsent(lane.key.tenantId(), tenantId -> new ArrayDeque<>());
+    if (tenantLanes.isEmpty()) {
+      readyTenants.add(lane.key.tenantId());
+    }
+    tenantLanes.add(lane);
+    notEmpty.signal();
+  }
+
+  private void processTasks() {
+    EventTask task;
+    while ((task = takeTask()) != null) {
+      runTask(task);
+      completeTask(task);
+    }
+  }
+
+  private EventTask takeTask() {
+    lock.lock();
+    try {
+      while (readyTenants.isEmpty()) {
+        if (!running && queuedTasks.get() == 0) {
+          return null;
+        }
+        notEmpty.await();
+      }
+
+      var tenantId = readyTenants.remove();
+      var tenantLanes = readyLanesByTenant.get(tenantId);
+      var lane = tenantLanes.remove();
+      if (tenantLanes.isEmpty()) {
+        readyLanesByTenant.remove(tenantId);
+      } else {
+        readyTenants.add(tenantId);
+      }
+
+      lane.busy = true;
+      queuedTasks.decrementAndGet();
+      notFull.signal();
+      resumeListenersIfDrained();
+      return lane.tasks.remove();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void completeTask(EventTask task) {
+    lock.lock();
+    try {
+      var lane = lanes.get(task.laneKey());
+      lane.busy = false;
+      if (lane.tasks.isEmpty()) {
+        lanes.remove(task.laneKey());
+      } else {
+        markReady(lane);
+      }
+
+      if (!running) {
+        notEmpty.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void runTask(EventTask task) {
+    var startTime = System.nanoTime();
+    waitTimer.record(startTime - task.submittedAt(), TimeUnit.NANOSECONDS);
+    activeTasks.incrementAndGet();
+    try {
+      systemUserContextCache.execute(task.laneKey().tenantId(), task.action());
+      task.completion().complete(null);
+    } catch (Exception e) {
+      log.warn("runTask:: Failed to process event for tenant: {}", task.laneKey().tenantId(), e);
+      task.completion().completeExceptionally(e);
+    } finally {
+      activeTasks.decrementAndGet();
+      processingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void failQueuedTasks() {
+    lock.lock();
+    try {
+      var failure = new IllegalStateException("Circulation event executor is stopped");
+      lanes.values().forEach(lane -> lane.tasks.forEach(task -> task.completion().completeExceptionally(failure)));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void pausePartition(PausedPartition source) {
+    if (source.partition() == null) {
+      return;
+    }
+
+    var container = kafkaListenerEndpointRegistry.getListenerContainer(source.listenerId());
+    if (container != null && pausedPartitions.add(source)) {
+      log.info("pausePartition:: Event queue is full, pausing partition [listener: {}, partition: {}]",
+        source.listenerId(), source.partition());
+      container.pausePartition(source.partition());
+    }
+  }
+
+  private void resumeListenersIfDrained() {
+    if (pausedPartitions.isEmpty() || queuedTasks.get() > getProperties().getQueueCapacity() / 2) {
+      return;
+    }
+
+    for (var pausedPartition : pausedPartitions) {
+      var container = kafkaListenerEndpointRegistry.getListenerContainer(pausedPartition.listenerId());
+      if (container != null) {
+        log.info("resumeListenersIfDrained:: Resuming partition [listener: {}, partition: {}]",
+          pausedPartition.listenerId(), pausedPartition.partition());
+        container.resumePartition(pausedPartition.partition());
+      }
+      pausedPartitions.remove(pausedPartition);
+    }
+  }
+
+  private KafkaExecutorProperties getProperties() {
+    return folioKafkaProperties.getExecutor();
+  }
+
+  private record LaneKey(String tenantId, int stripe) {}
+
+  private record EventTask(LaneKey laneKey, Runnable action, long submittedAt, CompletableFuture<Void> completion) {}
+
+  private record PausedPartition(String listenerId, TopicPartition partition) {}
+
+  private static final class Lane {
+
+    private final LaneKey key;
+    private final Queue<EventTask> tasks = new ArrayDeque<>();
+    private boolean busy;
+
+    private Lane(LaneKey key) {
+      this.key = key;
+    }
+  }
+}
@@ -1,56 +1,96 @@
 package org.folio.dcb.integration.kafka;
 
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
-import static org.apache.commons.lang3.BooleanUtils.isTrue;
-import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.BORROWING_PICKUP;
-import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.LENDER;
-import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.PICKUP;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_FILTERED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_MATCHED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_RECEIVED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_TRANSITIONED;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.ORIGINAL_TOPIC_HEADER;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.RETRY_DUE_AT_HEADER;
 import static org.folio.dcb.integration.kafka.TransactionHelper.getHeaderValue;
-import static org.folio.dcb.utils.DcbConstants.CLOSED_LOAN_STATUS;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.function.BiConsumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.folio.dcb.domain.dto.TransactionStatus;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
 import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.integration.kafka.CirculationEventRetryHandler.SourceEvent;
 import org.folio.dcb.integration.kafka.model.EventData;
 import org.folio.dcb.repository.TransactionRepository;
 import org.folio.dcb.service.impl.BaseLibraryService;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.service.impl.ProcessedEventLedger;
 import org.folio.spring.integration.XOkapiHeaders;
-import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.stereotype.Component;
 
+/**
+ * Consumes circulation events one by one.
+ *
+ * <p>Listener methods return the future of the event processing, so the container acknowledges an event only when
+ * it is processed, committing offsets out of order once all previous events of the partition are acknowledged, and
+ * passes a failed event to the container error handler.</p>
+ */
 @Log4j2
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "folio.kafka.batch", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class CirculationEventListener {
 
   public static final String CHECK_IN_LISTENER_ID = "mod-dcb-check-in-listener-id";
   public static final String CHECK_OUT_LOAN_LISTENER_ID = "mod-dcb-loan-listener-id";
   public static final String REQUEST_LISTENER_ID = "mod-dcb-request-listener-id";
-  private static final String LOAN_EVENT_STATUS_UPDATE_MESSAGE =
-    "{}:: status for event {} can not be updated with itemId {}";
+  public static final String RETRY_LISTENER_ID = "mod-dcb-retry-listener-id";
+  static final String LOAN_EVENT = "loan";
+  static final String REQUEST_EVENT = "request";
+  static final String CHECK_IN_EVENT = "check-in";
+  private static final Map<String, String> LISTENER_IDS = Map.of(
+    LOAN_EVENT, CHECK_OUT_LOAN_LISTENER_ID,
+    REQUEST_EVENT, REQUEST_LISTENER_ID,
+    CHECK_IN_EVENT, CHECK_IN_LISTENER_ID);
   private final TransactionRepository transactionRepository;
-  private final SystemUserScopedExecutionService systemUserScopedExecutionService;
+  private final CirculationEventExecutor circulationEventExecutor;
   private final BaseLibraryService baseLibraryService;
+  private final OpenTransactionIndex openTransactionIndex;
+  private final CirculationEventRetryHandler circulationEventRetryHandler;
+  private final FolioKafkaProperties folioKafkaProperties;
+  private final ProcessedEventLedger processedEventLedger;
+  private final CirculationEventMetrics circulationEventMetrics;
 
   @KafkaListener(
     id = CHECK_OUT_LOAN_LISTENER_ID,
     topicPattern = "#{folioKafkaProperties.listener['loan'].topicPattern}",
     concurrency = "#{folioKafkaProperties.listener['loan'].concurrency}")
-  public void handleLoanEvent(String data, MessageHeaders messageHeaders) {
-    processMessage(data, messageHeaders, "circulation loan",
+  public CompletableFuture<Void> handleLoanEvent(String data, MessageHeaders messageHeaders) {
+    var sourceEvent = new SourceEvent(data, messageHeaders);
+    return processMessage(data, messageHeaders, LOAN_EVENT,
       TransactionHelper::parseLoanEvent,
       (tenantId, eventData) -> {
-        if (eventData.isDcb()) {
-          handleDcbLoanEvent(eventData, tenantId);
-        } else {
-          handleNonDcbLoanEvent(eventData, tenantId);
+        if (eventData.getType() == null) {
+          log.debug("handleLoanEvent:: loan action is not supported, skipping event for itemId {}",
+            eventData.getItemId());
+          circulationEventMetrics.count(tenantId, LOAN_EVENT, STAGE_FILTERED);
+          return CompletableFuture.completedFuture(null);
         }
+        return eventData.isDcb()
+          ? handleDcbLoanEvent(sourceEvent, eventData, tenantId)
+          : handleNonDcbLoanEvent(sourceEvent, eventData, tenantId);
       });
   }
 
@@ -58,136 +98,246 @@ public class CirculationEventListener {
     id = REQUEST_LISTENER_ID,
     topicPattern = "#{folioKafkaProperties.listener['request'].topicPattern}",
     concurrency = "#{folioKafkaProperties.listener['request'].concurrency}")
-  public void handleRequestEvent(String data, MessageHeaders messageHeaders) {
-    processMessage(data, messageHeaders, "request",
-      TransactionHelper::parseRequestEvent, this::handleCirculationRequestEvent);
+  public CompletableFuture<Void> handleRequestEvent(String data, MessageHeaders messageHeaders) {
+    var sourceEvent = new SourceEvent(data, messageHeaders);
+    return processMessage(data, messageHeaders, REQUEST_EVENT, TransactionHelper::parseRequestEvent,
+      (tenantId, eventData) -> handleCirculationRequestEvent(sourceEvent, tenantId, eventData));
   }
 
   @KafkaListener(
     id = CHECK_IN_LISTENER_ID,
     topicPattern = "#{folioKafkaProperties.listener['check-in'].topicPattern}",
     concurrency = "#{folioKafkaProperties.listener['check-in'].concurrency}")
-  public void handleCheckInEvent(String data, MessageHeaders messageHeaders) {
-    processMessage(data, messageHeaders, "check-in",
-      TransactionHelper::parseCheckInEvent,
-      this::handleCirculationCheckInEvent);
+  public CompletableFuture<Void> handleCheckInEvent(String data, MessageHeaders messageHeaders) {
+    var sourceEvent = new SourceEvent(data, messageHeaders);
+    return processMessage(data, messageHeaders, CHECK_IN_EVENT, TransactionHelper::parseCheckInEvent,
+      (tenantId, eventData) -> handleCirculationCheckInEvent(sourceEvent, tenantId, eventData));
   }
 
-  public static void processMessage(String data, MessageHeaders messageHeaders, String type,
-    Function<String, EventData> eventDataParser, BiConsumer<String, EventData> eventHandler) {
+  /**
+   * Handles circulation events re-delivered through the retry topics, see {@link CirculationEventRetryHandler}.
+   * Events that are not due yet are re-delivered after their remaining delay, due events are acknowledged after they
+   * are processed.
+   */
+  @KafkaListener(
+    id = RETRY_LISTENER_ID,
+    topics = "#{circulationEventRetryHandler.retryTopics}",
+    containerFactory = "circulationEventRetryListenerContainerFactory",
+    autoStartup = "#{folioKafkaProperties.retry.enabled}")
+  public void handleRetryEvent(ConsumerRecord<String, String> consumerRecord, Acknowledgment acknowledgment) {
+    var dueAt = getHeaderValue(consumerRecord.headers(), RETRY_DUE_AT_HEADER, "0").getFirst();
+    var remainingDelay = Long.parseLong(dueAt) - System.currentTimeMillis();
+    if (remainingDelay > 0) {
+      acknowledgment.nack(Duration.ofMillis(remainingDelay));
+      return;
+    }
+
+    var originalTopic = getHeaderValue(consumerRecord.headers(), ORIGINAL_TOPIC_HEADER, "").getFirst();
+    var messageHeaders = toMessageHeaders(consumerRecord);
+    var completion = switch (resolveListenerName(folioKafkaProperties, originalTopic)) {
+      case LOAN_EVENT -> handleLoanEvent(consumerRecord.value(), messageHeaders);
+      case REQUEST_EVENT -> handleRequestEvent(consumerRecord.value(), messageHeaders);
+      case CHECK_IN_EVENT -> handleCheckInEvent(consumerRecord.value(), messageHeaders);
+      default -> {
+        log.warn("handleRetryEvent:: Unknown original topic: {}, skipping event", originalTopic);
+        yield CompletableFuture.<Void>completedFuture(null);
+      }
+    };
+    awaitCompletion(completion);
+    acknowledgment.acknowledge();
+  }
+
+  public CompletableFuture<Void> processMessage(String data, MessageHeaders messageHeaders, String type,
+    Function<String, EventData> eventDataParser,
+    BiFunction<String, EventData, CompletableFuture<Void>> eventHandler) {
 
     var tenantHeaders = getHeaderValue(messageHeaders, XOkapiHeaders.TENANT, null);
     if (isEmpty(tenantHeaders)) {
       log.warn("processMessage:: tenantId is null, skipping processing: {}", type);
-      return;
+      return CompletableFuture.completedFuture(null);
     }
 
-    var eventData = eventDataParser.apply(data);
+    var tenantId = tenantHeaders.getFirst();
+    circulationEventMetrics.count(tenantId, type, STAGE_RECEIVED);
+    var eventData = circulationEventMetrics.recordParse(type, () -> eventDataParser.apply(data));
     if (eventData == null) {
       log.warn("processMessage:: parsed event data is null, skipping processing: {}", type);
-      return;
+      circulationEventMetrics.count(tenantId, type, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
     }
 
-    eventHandler.accept(tenantHeaders.getFirst(), eventData);
+    return eventHandler.apply(tenantId, eventData);
   }
 
-  private void handleDcbLoanEvent(EventData eventData, String tenantId) {
+  /**
+   * Waits for the event processing to complete in the listener thread and rethrows its failure.
+   *
+   * @param completion - future of the event processing
+   */
+  static void awaitCompletion(CompletableFuture<Void> completion) {
+    try {
+      completion.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private CompletableFuture<Void> handleDcbLoanEvent(SourceEvent sourceEvent, EventData eventData, String tenantId) {
     log.debug("handleDcbLoanEvent:: eventType={}, itemId={}", eventData.getType(), eventData.getItemId());
     String itemId = eventData.getItemId();
-    systemUserScopedExecutionService.executeAsyncSystemUserScoped(tenantId, () ->
-      transactionRepository.findTransactionByItemIdAndStatusNotInClosed(UUID.fromString(itemId))
-        .ifPresent(transactionEntity -> processDcbTransactionEntity(eventData, transactionEntity))
+    if (!openTransactionIndex.mayContainItem(tenantId, itemId)) {
+      log.debug("handleDcbLoanEvent:: no open transaction found for itemId {}, skipping event", itemId);
+      circulationEventMetrics.count(tenantId, LOAN_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    return execute(LOAN_EVENT, sourceEvent, tenantId, itemId, () ->
+      circulationEventMetrics.recordLookup(tenantId, LOAN_EVENT,
+          () -> transactionRepository.findTransactionByItemIdAndStatusNotInClosed(UUID.fromString(itemId)))
+        .ifPresent(entity -> updateTransactionStatus(tenantId, LOAN_EVENT, entity, eventData,
+          CirculationEventStatusResolver::resolveDcbLoanStatus))
     );
   }
 
-  private void handleCirculationRequestEvent(String tenantId, EventData eventData) {
+  private CompletableFuture<Void> handleCirculationRequestEvent(SourceEvent sourceEvent, String tenantId,
+    EventData eventData) {
     log.debug("handleCirculationRequestEvent:: dcb flow for a request event");
     String requestId = eventData.getRequestId();
     if (requestId == null) {
       log.debug("handleCirculationRequestEvent:: requestId is null");
-      return;
+      circulationEventMetrics.count(tenantId, REQUEST_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    if (eventData.getType() == null) {
+      log.debug("handleCirculationRequestEvent:: request status is not supported, skipping event {}", requestId);
+      circulationEventMetrics.count(tenantId, REQUEST_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
     }
 
-    systemUserScopedExecutionService.executeAsyncSystemUserScoped(tenantId, () ->
-      transactionRepository.findTransactionByRequestIdAndStatusNotInClosed(UUID.fromString(requestId))
-        .ifPresent(transactionEntity -> processRequestEvent(transactionEntity, eventData))
+    if (!openTransactionIndex.mayContainRequest(tenantId, requestId)) {
+      log.debug("handleCirculationRequestEvent:: no open transaction found for requestId {}, skipping event",
+        requestId);
+      circulationEventMetrics.count(tenantId, REQUEST_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // request events are ordered with loan events of the same item, if the item is known
+    var orderingKey = Objects.requireNonNullElse(eventData.getItemId(), requestId);
+
+    return execute(REQUEST_EVENT, sourceEvent, tenantId, orderingKey, () ->
+      circulationEventMetrics.recordLookup(tenantId, REQUEST_EVENT,
+          () -> transactionRepository.findTransactionByRequestIdAndStatusNotInClosed(UUID.fromString(requestId)))
+        .ifPresent(entity -> updateTransactionStatus(tenantId, REQUEST_EVENT, entity, eventData,
+          CirculationEventStatusResolver::resolveRequestStatus))
     );
   }
 
-  private void handleCirculationCheckInEvent(String tenantId, EventData eventData) {
+  private CompletableFuture<Void> handleCirculationCheckInEvent(SourceEvent sourceEvent, String tenantId,
+    EventData eventData) {
     if (eventData.getCheckInServicePointId() == null) {
-      return;
+      circulationEventMetrics.count(tenantId, CHECK_IN_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    if (!openTransactionIndex.mayContainItem(tenantId, eventData.getItemId())) {
+      log.debug("handleCirculationCheckInEvent:: no open transaction found for itemId {}, skipping event",
+        eventData.getItemId());
+      circulationEventMetrics.count(tenantId, CHECK_IN_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
     }
 
-    systemUserScopedExecutionService.executeAsyncSystemUserScoped(tenantId, () -> {
+    return execute(CHECK_IN_EVENT, sourceEvent, tenantId, eventData.getItemId(), () -> {
       var itemUuid = UUID.fromString(eventData.getItemId());
-      transactionRepository.findExpiredTransactionsByItemId(itemUuid).forEach(entity ->
-        baseLibraryService.updateTransactionEntity(entity, TransactionStatus.StatusEnum.CLOSED));
+      circulationEventMetrics.recordLookup(tenantId, CHECK_IN_EVENT,
+          () -> transactionRepository.findExpiredTransactionsByItemId(itemUuid))
+        .forEach(entity -> {
+          circulationEventMetrics.count(tenantId, CHECK_IN_EVENT, entity, STAGE_MATCHED);
+          baseLibraryService.updateTransactionEntity(entity, StatusEnum.CLOSED);
+          circulationEventMetrics.count(tenantId, CHECK_IN_EVENT, entity, STAGE_TRANSITIONED);
+        });
     });
   }
 
-  private void processDcbTransactionEntity(EventData event, TransactionEntity transactionEntity) {
-    if (event.getType() == EventData.EventType.CHECK_OUT) {
-      if (transactionEntity.getRole() == BORROWING_PICKUP || transactionEntity.getRole() == PICKUP) {
-        baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.ITEM_CHECKED_OUT);
-      }
-    } else if (event.getType() == EventData.EventType.CHECK_IN) {
-      if (transactionEntity.getRole() == LENDER) {
-        baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.CLOSED);
-      } else if (transactionEntity.getRole() == BORROWING_PICKUP || transactionEntity.getRole() == PICKUP) {
-        baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.ITEM_CHECKED_IN);
-      }
-    } else {
-      logUnprocessedEvent("processDcbTransactionEntity", event);
+  private CompletableFuture<Void> handleNonDcbLoanEvent(SourceEvent sourceEvent, EventData eventData, String tenantId) {
+    log.debug("handleNonDcbLoanEvent:: eventType={}, itemId={}", eventData.getType(), eventData.getItemId());
+    String itemId = eventData.getItemId();
+    if (!openTransactionIndex.mayContainItem(tenantId, itemId)) {
+      log.debug("handleNonDcbLoanEvent:: no open transaction found for itemId {}, skipping event", itemId);
+      circulationEventMetrics.count(tenantId, LOAN_EVENT, STAGE_FILTERED);
+      return CompletableFuture.completedFuture(null);
     }
-  }
 
-  private void processRequestEvent(TransactionEntity transactionEntity, EventData eventData) {
-    var type = eventData.getType();
-    var role = transactionEntity.getRole();
-    if (type == EventData.EventType.CANCEL && !eventData.isDcbReRequestCancellation()) {
-      baseLibraryService.cancelTransactionEntity(transactionEntity);
-    } else if (type == EventData.EventType.IN_TRANSIT && role == LENDER) {
-      baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.OPEN);
-    } else if (type == EventData.EventType.AWAITING_PICKUP && (role == BORROWING_PICKUP || role == PICKUP)) {
-      baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.AWAITING_PICKUP);
-    } else if (type == EventData.EventType.EXPIRED) {
-      baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.EXPIRED);
-    } else {
-      log.info("processRequestEvent:: status for event {} can not be updated", eventData);
-    }
+    return execute(LOAN_EVENT, sourceEvent, tenantId, itemId, () ->
+      circulationEventMetrics.recordLookup(tenantId, LOAN_EVENT,
+          () -> transactionRepository.findSingleTransactionsByItemIdAndStatusNotInClosed(UUID.fromString(itemId)))
+        .ifPresent(entity -> updateTransactionStatus(tenantId, LOAN_EVENT, entity, eventData,
+          CirculationEventStatusResolver::resolveNonDcbLoanStatus))
+    );
   }
 
-  private void handleNonDcbLoanEvent(EventData eventData, String tenantId) {
-    log.debug("handleNonDcbLoanEvent:: eventType={}, itemId={}", eventData.getType(), eventData.getItemId());
-    String itemId = eventData.getItemId();
-    systemUserScopedExecutionService.executeAsyncSystemUserScoped(tenantId, () ->
-      transactionRepository.findSingleTransactionsByItemIdAndStatusNotInClosed(UUID.fromString(itemId))
-        .ifPresent(transactionEntity -> processNonDcbTransactionEntity(eventData, transactionEntity))
-    );
+  /**
+   * Submits event processing to the executor: re-delivered events that are already processed are skipped, failed
+   * events are passed to the retry topics.
+   */
+  private CompletableFuture<Void> execute(String type, SourceEvent sourceEvent, String tenantId, String orderingKey,
+    Runnable action) {
+    var eventKey = ProcessedEventLedger.getEventKey(sourceEvent.headers());
+    Runnable measuredAction = () -> {
+      action.run();
+      circulationEventMetrics.recordEndToEnd(tenantId, type, sourceEvent.headers());
+    };
+    return circulationEventExecutor.execute(LISTENER_IDS.get(type), getTopicPartition(sourceEvent.headers()),
+      tenantId, orderingKey, circulationEventRetryHandler.withRetry(sourceEvent, tenantId,
+        processedEventLedger.skipProcessed(tenantId, eventKey, measuredAction)));
   }
 
-  private void processNonDcbTransactionEntity(EventData event, TransactionEntity entity) {
-    if (event.getType() == EventData.EventType.CHECK_OUT && isSelfBorrowingPickup(entity)) {
-      baseLibraryService.updateTransactionEntity(entity, TransactionStatus.StatusEnum.ITEM_CHECKED_OUT);
-    } else if (event.getType() == EventData.EventType.CHECK_IN && isSelfBorrowingPickupAndClosedLoan(entity, event)) {
-      baseLibraryService.updateTransactionEntity(entity, TransactionStatus.StatusEnum.CLOSED);
-    } else {
-      logUnprocessedEvent("processNonDcbTransactionEntity", event);
-    }
+  /**
+   * Resolves the name of the listener (loan, request, check-in), which topic pattern matches the given topic.
+   */
+  static String resolveListenerName(FolioKafkaProperties folioKafkaProperties, String topic) {
+    return folioKafkaProperties.getListener().entrySet().stream()
+      .filter(entry -> entry.getValue().getTopicPattern() != null)
+      .filter(entry -> Pattern.matches(entry.getValue().getTopicPattern(), topic))
+      .map(Map.Entry::getKey)
+      .findFirst()
+      .orElse("");
   }
 
-  private static boolean isSelfBorrowingPickup(TransactionEntity entity) {
-    return entity.getRole() == BORROWING_PICKUP && isTrue(entity.getSelfBorrowing());
+  /**
+   * Resolves the partition of a consumed event.
+   *
+   * @param messageHeaders - headers of the consumed event
+   * @return topic partition, or null if the event position is unknown
+   */
+  static TopicPartition getTopicPartition(MessageHeaders messageHeaders) {
+    var topic = messageHeaders.get(KafkaHeaders.RECEIVED_TOPIC, String.class);
+    var partition = messageHeaders.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+    return topic == null || partition == null ? null : new TopicPartition(topic, partition);
   }
 
-  private static boolean isSelfBorrowingPickupAndClosedLoan(TransactionEntity entity, EventData event) {
-    return entity.getRole() == BORROWING_PICKUP
-      && isTrue(entity.getSelfBorrowing())
-      && CLOSED_LOAN_STATUS.equals(event.getLoanStatus());
+  static MessageHeaders toMessageHeaders(ConsumerRecord<String, String> consumerRecord) {
+    var headers = new HashMap<String, Object>();
+    consumerRecord.headers().forEach(header -> headers.put(header.key(), header.value()));
+    headers.put(KafkaHeaders.RECEIVED_TOPIC, consumerRecord.topic());
+    headers.put(KafkaHeaders.RECEIVED_PARTITION, consumerRecord.partition());
+    headers.put(KafkaHeaders.OFFSET, consumerRecord.offset());
+    headers.put(KafkaHeaders.RECEIVED_TIMESTAMP, consumerRecord.timestamp());
+    if (consumerRecord.key() != null) {
+      headers.put(KafkaHeaders.RECEIVED_KEY, consumerRecord.key());
+    }
+    return new MessageHeaders(headers);
   }
 
-  private static void logUnprocessedEvent(String methodName, EventData event) {
-    log.info(LOAN_EVENT_STATUS_UPDATE_MESSAGE, methodName, event.getType(), event.getItemId());
+  private void updateTransactionStatus(String tenantId, String type, TransactionEntity entity, EventData eventData,
+    BiFunction<EventData, TransactionEntity, Optional<StatusEnum>> statusResolver) {
+    circulationEventMetrics.count(tenantId, type, entity, STAGE_MATCHED);
+    statusResolver.apply(eventData, entity).ifPresent(status -> {
+      baseLibraryService.updateTransactionEntity(entity, status);
+      circulationEventMetrics.count(tenantId, type, entity, STAGE_TRANSITIONED);
+    });
   }
 }
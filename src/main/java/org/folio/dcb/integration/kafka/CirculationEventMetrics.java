@@ -0,0 +1,102 @@
+package org.folio.dcb.integration.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer instrumentation of circulation event processing.
+ *
+ * <ul>
+ *   <li>{@code dcb.circulation.events} - number of events by {@code tenant}, {@code type} (loan, request, check-in),
+ *   {@code role} of the matched transaction and processing {@code stage}: received, filtered (skipped without a
+ *   transaction lookup), matched (an open transaction is found) and transitioned (a status update is resolved)</li>
+ *   <li>{@code dcb.circulation.events.parse} - time to parse the event payload</li>
+ *   <li>{@code dcb.circulation.events.lookup} - time to load the transactions of the event from the database</li>
+ *   <li>{@code dcb.circulation.events.end-to-end} - time from the event timestamp to the completion of its
+ *   processing</li>
+ * </ul>
+ *
+ * <p>Kafka consumer lag is published by the Kafka client metrics as {@code kafka.consumer.fetch.manager.records.lag}
+ * per topic, and so per tenant.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CirculationEventMetrics {
+
+  public static final String STAGE_RECEIVED = "received";
+  public static final String STAGE_FILTERED = "filtered";
+  public static final String STAGE_MATCHED = "matched";
+  public static final String STAGE_TRANSITIONED = "transitioned";
+
+  private static final String METRIC_PREFIX = "dcb.circulation.events";
+  private static final String NO_ROLE = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Counts the event at the given processing stage before a transaction is matched.
+   *
+   * @param tenantId - tenant identifier
+   * @param type - event type
+   * @param stage - processing stage
+   */
+  public void count(String tenantId, String type, String stage) {
+    meterRegistry.counter(METRIC_PREFIX, "tenant", tenantId, "type", type, "role", NO_ROLE, "stage", stage)
+      .increment();
+  }
+
+  /**
+   * Counts the event at the given processing stage for the matched transaction.
+   *
+   * @param tenantId - tenant identifier
+   * @param type - event type
+   * @param transaction - matched transaction
+   * @param stage - processing stage
+   */
+  public void count(String tenantId, String type, TransactionEntity transaction, String stage) {
+    var role = transaction.getRole() != null ? transaction.getRole().getValue() : NO_ROLE;
+    meterRegistry.counter(METRIC_PREFIX, "tenant", tenantId, "type", type, "role", role, "stage", stage)
+      .increment();
+  }
+
+  public <T> T recordParse(String type, Supplier<T> parser) {
+    return Timer.builder(METRIC_PREFIX + ".parse")
+      .tag("type", type)
+      .register(meterRegistry)
+      .record(parser);
+  }
+
+  public <T> T recordLookup(String tenantId, String type, Supplier<T> lookup) {
+    return Timer.builder(METRIC_PREFIX + ".lookup")
+      .tag("tenant", tenantId)
+      .tag("type", type)
+      .register(meterRegistry)
+      .record(lookup);
+  }
+
+  /**
+   * Records time from the event timestamp to now, if the timestamp is known.
+   *
+   * @param tenantId - tenant identifier
+   * @param type - event type
+   * @param messageHeaders - headers of the consumed event
+   */
+  public void recordEndToEnd(String tenantId, String type, MessageHeaders messageHeaders) {
+    if (!(messageHeaders.get(KafkaHeaders.RECEIVED_TIMESTAMP) instanceof Long timestamp)) {
+      return;
+    }
+
+    Timer.builder(METRIC_PREFIX + ".end-to-end")
+      .tag("tenant", tenantId)
+      .tag("type", type)
+      .register(meterRegistry)
+      .record(Math.max(0, System.currentTimeMillis() - timestamp), TimeUnit.MILLISECONDS);
+  }
+}
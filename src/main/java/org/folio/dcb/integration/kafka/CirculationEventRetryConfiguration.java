@@ -0,0 +1,53 @@
+package org.folio.dcb.integration.kafka;
+
+import java.util.ArrayList;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.kafka.autoconfigure.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+
+@Configuration
+public class CirculationEventRetryConfiguration {
+
+  /**
+   * Creates a listener container factory for the retry topics: records are acknowledged manually, so an event that
+   * is not due yet can be re-delivered after its delay with {@code Acknowledgment.nack(Duration)}.
+   *
+   * @param configurer - the {@link ConcurrentKafkaListenerContainerFactoryConfigurer} bean
+   * @param consumerFactory - the {@link ConsumerFactory} bean
+   * @return the {@link ConcurrentKafkaListenerContainerFactory} instance
+   */
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<Object, Object> circulationEventRetryListenerContainerFactory(
+    ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory) {
+    var factory = new ConcurrentKafkaListenerContainerFactory<>();
+    configurer.configure(factory, consumerFactory);
+    factory.getContainerProperties().setAckMode(AckMode.MANUAL);
+    return factory;
+  }
+
+  /**
+   * Creates the retry topics and the dead letter topic for circulation events.
+   *
+   * @param retryHandler - the {@link CirculationEventRetryHandler} bean
+   * @param folioKafkaProperties - the {@link FolioKafkaProperties} bean
+   * @return the {@link KafkaAdmin.NewTopics} instance
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "folio.kafka.retry", name = "enabled", havingValue = "true")
+  public KafkaAdmin.NewTopics circulationEventRetryTopics(CirculationEventRetryHandler retryHandler,
+    FolioKafkaProperties folioKafkaProperties) {
+    var topicNames = new ArrayList<>(retryHandler.getRetryTopics());
+    topicNames.add(retryHandler.getDeadLetterTopic());
+    var topics = topicNames.stream()
+      .map(topicName -> new NewTopic(topicName, folioKafkaProperties.getNumberOfPartitions(),
+        (short) folioKafkaProperties.getReplicationFactor()))
+      .toArray(NewTopic[]::new);
+    return new KafkaAdmin.NewTopics(topics);
+  }
+}
@@ -0,0 +1,199 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.apache.commons.lang3.StringUtils.truncate;
+import static org.folio.dcb.integration.kafka.TransactionHelper.getHeaderValue;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.folio.dcb.integration.kafka.FolioKafkaProperties.KafkaRetryProperties;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-delivers circulation events that failed during processing.
+ *
+ * <p>If {@code folio.kafka.retry.enabled} is set, a failed event is published to the next topic of the retry chain
+ * ({@code <topic>.retry-1} ... {@code <topic>.retry-<attempts>}) with an exponentially growing delay, and to the dead
+ * letter topic ({@code <topic>.dlt}) when all attempts are exhausted. Every published event carries the tenant, the
+ * original topic, the exception class and the retry attempt in its headers. The failed event is handled only when it
+ * is acknowledged by the broker, otherwise the publishing failure is propagated to the caller, so the consumed event
+ * is not committed and is redelivered.</p>
+ *
+ * <p>Otherwise, the failure is propagated to the caller, as before.</p>
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CirculationEventRetryHandler {
+
+  public static final String ORIGINAL_TOPIC_HEADER = "x-dcb-original-topic";
+  public static final String EXCEPTION_CLASS_HEADER = "x-dcb-exception-class";
+  public static final String EXCEPTION_MESSAGE_HEADER = "x-dcb-exception-message";
+  public static final String RETRY_ATTEMPT_HEADER = "x-dcb-retry-attempt";
+  public static final String RETRY_DUE_AT_HEADER = "x-dcb-retry-due-at";
+  private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1000;
+
+  private final FolioKafkaProperties folioKafkaProperties;
+  private final ProducerFactory<String, String> producerFactory;
+  private KafkaTemplate<String, String> kafkaTemplate;
+
+  @PostConstruct
+  public void init() {
+    // events are re-published as is, regardless of the serializers configured for the application producer
+    kafkaTemplate = new KafkaTemplate<>(producerFactory, Map.of(
+      ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+      ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class));
+  }
+
+  public boolean isEnabled() {
+    return getProperties().isEnabled();
+  }
+
+  public List<String> getRetryTopics() {
+    return IntStream.rangeClosed(1, getProperties().getAttempts()).mapToObj(this::getRetryTopic).toList();
+  }
+
+  public String getRetryTopic(int attempt) {
+    return getProperties().getTopic() + ".retry-" + attempt;
+  }
+
+  public String getDeadLetterTopic() {
+    return getProperties().getTopic() + ".dlt";
+  }
+
+  /**
+   * Wraps event processing action: if the action fails, the event is published to the next retry topic or to the
+   * dead letter topic.
+   *
+   * @param event - consumed event
+   * @param tenantId - tenant identifier
+   * @param action - event processing action
+   * @return action with the failure handling
+   */
+  public Runnable withRetry(SourceEvent event, String tenantId, Runnable action) {
+    return () -> {
+      try {
+        action.run();
+      } catch (RuntimeException e) {
+        if (!isEnabled()) {
+          throw e;
+        }
+        handleFailure(event, tenantId, e);
+      }
+    };
+  }
+
+  /**
+   * Publishes the failed event to the next retry topic, or to the dead letter topic if all attempts are exhausted,
+   * and waits for the broker acknowledgement.
+   *
+   * @param event - consumed event
+   * @param tenantId - tenant identifier
+   * @param exception - processing failure
+   * @throws IllegalStateException if the event cannot be published, with the processing failure suppressed
+   */
+  public void handleFailure(SourceEvent event, String tenantId, Exception exception) {
+    var attempt = getRetryAttempt(event.headers()) + 1;
+    var originalTopic = getHeaderValue(event.headers(), ORIGINAL_TOPIC_HEADER,
+      event.headers().get(KafkaHeaders.RECEIVED_TOPIC, String.class)).stream().findFirst().orElse(null);
+
+    var exhausted = attempt > getProperties().getAttempts();
+    var topic = exhausted ? getDeadLetterTopic() : getRetryTopic(attempt);
+    var dueAt = exhausted ? 0L : System.currentTimeMillis() + getDelay(attempt).toMillis();
+    log.warn("handleFailure:: Failed to process event from topic: {}, tenant: {}, publishing it to: {}",
+      originalTopic, tenantId, topic, exception);
+
+    var headers = new RecordHeaders();
+    addHeader(headers, XOkapiHeaders.TENANT, tenantId);
+    addHeader(headers, ORIGINAL_TOPIC_HEADER, originalTopic);
+    addHeader(headers, EXCEPTION_CLASS_HEADER, exception.getClass().getName());
+    addHeader(headers, EXCEPTION_MESSAGE_HEADER, truncate(exception.getMessage(), MAX_EXCEPTION_MESSAGE_LENGTH));
+    addHeader(headers, RETRY_ATTEMPT_HEADER, String.valueOf(attempt));
+    addHeader(headers, RETRY_DUE_AT_HEADER, String.valueOf(dueAt));
+
+    var key = event.headers().get(KafkaHeaders.RECEIVED_KEY, String.class);
+    send(new ProducerRecord<>(topic, null, key, event.payload(), headers), exception);
+  }
+
+  /**
+   * Publishes a dead letter event to the first retry topic, so it is processed again with the full retry chain.
+   *
+   * @param payload - event payload
+   * @param key - event key
+   * @param deadLetterHeaders - headers of the dead letter event
+   * @return result of the publishing
+   */
+  public CompletableFuture<SendResult<String, String>> replay(String payload, String key, Headers deadLetterHeaders) {
+    var headers = new RecordHeaders();
+    for (var header : deadLetterHeaders) {
+      if (!RETRY_ATTEMPT_HEADER.equals(header.key()) && !RETRY_DUE_AT_HEADER.equals(header.key())) {
+        headers.add(header);
+      }
+    }
+    addHeader(headers, RETRY_ATTEMPT_HEADER, "1");
+    addHeader(headers, RETRY_DUE_AT_HEADER, "0");
+    return kafkaTemplate.send(new ProducerRecord<>(getRetryTopic(1), null, key, payload, headers));
+  }
+
+  /**
+   * Returns delay before the given retry attempt: {@code initialDelay * multiplier^(attempt - 1)}, limited by the
+   * maximum delay.
+   */
+  Duration getDelay(int attempt) {
+    var properties = getProperties();
+    var delayMillis = properties.getInitialDelay().toMillis() * Math.pow(properties.getMultiplier(), attempt - 1.0);
+    return Duration.ofMillis((long) Math.min(delayMillis, properties.getMaxDelay().toMillis()));
+  }
+
+  private void send(ProducerRecord<String, String> producerRecord, Exception processingFailure) {
+    try {
+      kafkaTemplate.send(producerRecord).join();
+    } catch (RuntimeException e) {
+      var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      log.error("send:: Failed to publish event to topic: {}, the event will be redelivered", producerRecord.topic(),
+        cause);
+      var publishingFailure = new IllegalStateException(
+        "Failed to publish event to topic: " + producerRecord.topic(), cause);
+      publishingFailure.addSuppressed(processingFailure);
+      throw publishingFailure;
+    }
+  }
+
+  private static int getRetryAttempt(MessageHeaders headers) {
+    return getHeaderValue(headers, RETRY_ATTEMPT_HEADER, "0").stream()
+      .findFirst().map(Integer::parseInt).orElse(0);
+  }
+
+  private static void addHeader(Headers headers, String name, String value) {
+    if (value != null) {
+      headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private KafkaRetryProperties getProperties() {
+    return folioKafkaProperties.getRetry();
+  }
+
+  /**
+   * Consumed event: raw payload and headers.
+   */
+  public record SourceEvent(String payload, MessageHeaders headers) {}
+}
@@ -0,0 +1,85 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.apache.commons.lang3.BooleanUtils.isTrue;
+import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.BORROWING_PICKUP;
+import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.LENDER;
+import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.PICKUP;
+import static org.folio.dcb.utils.DcbConstants.CLOSED_LOAN_STATUS;
+
+import java.util.Optional;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.integration.kafka.model.EventData;
+
+/**
+ * Resolves the transaction status a circulation event moves a DCB transaction to.
+ *
+ * <p>Shared by the per-record and the batch circulation event listeners, so both modes apply exactly the same
+ * status transitions.</p>
+ */
+@Log4j2
+final class CirculationEventStatusResolver {
+
+  private static final String LOAN_EVENT_STATUS_UPDATE_MESSAGE =
+    "{}:: status for event {} can not be updated with itemId {}";
+
+  private CirculationEventStatusResolver() {}
+
+  static Optional<StatusEnum> resolveDcbLoanStatus(EventData event, TransactionEntity transactionEntity) {
+    var role = transactionEntity.getRole();
+    if (event.getType() == EventData.EventType.CHECK_OUT) {
+      if (role == BORROWING_PICKUP || role == PICKUP) {
+        return Optional.of(StatusEnum.ITEM_CHECKED_OUT);
+      }
+    } else if (event.getType() == EventData.EventType.CHECK_IN) {
+      if (role == LENDER) {
+        return Optional.of(StatusEnum.CLOSED);
+      } else if (role == BORROWING_PICKUP || role == PICKUP) {
+        return Optional.of(StatusEnum.ITEM_CHECKED_IN);
+      }
+    } else {
+      logUnprocessedEvent("resolveDcbLoanStatus", event);
+    }
+    return Optional.empty();
+  }
+
+  static Optional<StatusEnum> resolveNonDcbLoanStatus(EventData event, TransactionEntity entity) {
+    if (event.getType() == EventData.EventType.CHECK_OUT && isSelfBorrowingPickup(entity)) {
+      return Optional.of(StatusEnum.ITEM_CHECKED_OUT);
+    } else if (event.getType() == EventData.EventType.CHECK_IN && isSelfBorrowingPickupAndClosedLoan(entity, event)) {
+      return Optional.of(StatusEnum.CLOSED);
+    }
+    logUnprocessedEvent("resolveNonDcbLoanStatus", event);
+    return Optional.empty();
+  }
+
+  static Optional<StatusEnum> resolveRequestStatus(EventData eventData, TransactionEntity transactionEntity) {
+    var type = eventData.getType();
+    var role = transactionEntity.getRole();
+    if (type == EventData.EventType.CANCEL && !eventData.isDcbReRequestCancellation()) {
+      log.info("resolveRequestStatus:: Transaction {} cancelled.", transactionEntity.getId());
+      return Optional.of(StatusEnum.CANCELLED);
+    } else if (type == EventData.EventType.IN_TRANSIT && role == LENDER) {
+      return Optional.of(StatusEnum.OPEN);
+    } else if (type == EventData.EventType.AWAITING_PICKUP && (role == BORROWING_PICKUP || role == PICKUP)) {
+      return Optional.of(StatusEnum.AWAITING_PICKUP);
+    } else if (type == EventData.EventType.EXPIRED) {
+      return Optional.of(StatusEnum.EXPIRED);
+    }
+    log.info("resolveRequestStatus:: status for event {} can not be updated", eventData);
+    return Optional.empty();
+  }
+
+  private static boolean isSelfBorrowingPickup(TransactionEntity entity) {
+    return entity.getRole() == BORROWING_PICKUP && isTrue(entity.getSelfBorrowing());
+  }
+
+  private static boolean isSelfBorrowingPickupAndClosedLoan(TransactionEntity entity, EventData event) {
+    return isSelfBorrowingPickup(entity) && CLOSED_LOAN_STATUS.equals(event.getLoanStatus());
+  }
+
+  private static void logUnprocessedEvent(String methodName, EventData event) {
+    log.info(LOAN_EVENT_STATUS_UPDATE_MESSAGE, methodName, event.getType(), event.getItemId());
+  }
+}
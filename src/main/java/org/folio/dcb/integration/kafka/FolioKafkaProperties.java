@@ -1,5 +1,6 @@
 package org.folio.dcb.integration.kafka;
 
+import java.time.Duration;
 import java.util.Map;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -16,6 +17,12 @@ public class FolioKafkaProperties {
 
   private Map<String, KafkaListenerProperties> listener;
 
+  private KafkaBatchProperties batch = new KafkaBatchProperties();
+
+  private KafkaExecutorProperties executor = new KafkaExecutorProperties();
+
+  private KafkaRetryProperties retry = new KafkaRetryProperties();
+
   @Data
   public static class KafkaListenerProperties {
 
@@ -25,4 +32,87 @@ public class FolioKafkaProperties {
 
     private String groupId;
   }
+
+  @Data
+  public static class KafkaBatchProperties {
+
+    /**
+     * Enables batch consumption of circulation events: one bulk lookup and one batch write per tenant and poll.
+     */
+    private boolean enabled = false;
+  }
+
+  @Data
+  public static class KafkaExecutorProperties {
+
+    /**
+     * Enables the dedicated executor for circulation event processing, otherwise events are processed with
+     * {@code SystemUserScopedExecutionService.executeAsyncSystemUserScoped}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of worker threads processing circulation events.
+     */
+    private int poolSize = 5;
+
+    /**
+     * Maximum number of queued events (for all tenants), consumption is paused when the queue is full.
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * Number of ordered processing lanes per tenant, events with the same item id (request id) share a lane.
+     */
+    private int lanes = 64;
+
+    /**
+     * Defines if worker threads are virtual threads.
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Maximum time a listener waits for a free queue slot, the event is queued beyond the capacity after that.
+     */
+    private Duration submitTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum time to wait for queued events to be processed on shutdown.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+  }
+
+  @Data
+  public static class KafkaRetryProperties {
+
+    /**
+     * Enables re-delivery of circulation events failed during processing through the retry topics.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Base name of the retry topics ({@code <topic>.retry-<n>}) and the dead letter topic ({@code <topic>.dlt}).
+     */
+    private String topic;
+
+    /**
+     * Number of retry attempts (retry topics), failed events are sent to the dead letter topic after that.
+     */
+    private int attempts = 3;
+
+    /**
+     * Delay before the first retry attempt.
+     */
+    private Duration initialDelay = Duration.ofSeconds(30);
+
+    /**
+     * Multiplier of the delay for every next retry attempt.
+     */
+    private double multiplier = 4.0;
+
+    /**
+     * Maximum delay before a retry attempt.
+     */
+    private Duration maxDelay = Duration.ofMinutes(30);
+  }
 }
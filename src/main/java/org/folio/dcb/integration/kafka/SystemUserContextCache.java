@@ -0,0 +1,311 @@
+package org.folio.dcb.integration.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.dcb.config.SystemUserContextProperties;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.FolioModuleMetadata;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Per-tenant cache of prepared system user execution contexts for circulation event processing.
+ *
+ * <p>A context is prepared once with {@link SystemUserScopedExecutionService} (which performs the system user login
+ * if needed) and then reused for all events of the tenant. Cached contexts are refreshed in the background
+ * {@code application.system-user-context.refresh-ahead} before the system user token expires, so event processing
+ * in the steady state does not wait for the authentication. A refresh that returns the token with the same
+ * expiration (the system user service still holds it) keeps the cached context and is retried with a growing
+ * delay, until the token is renewed or expires.</p>
+ *
+ * <p>If the cache is disabled, every event is executed with
+ * {@link SystemUserScopedExecutionService#executeSystemUserScoped(String, java.util.concurrent.Callable)}.</p>
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class SystemUserContextCache {
+
+  private static final String ACQUISITION_METRIC = "dcb.system-user.context.acquisition";
+  private static final Duration REFRESH_RETRY_DELAY = Duration.ofSeconds(10);
+  private static final int MAX_REFRESH_BACKOFF_EXPONENT = 6;
+
+  private final SystemUserContextProperties properties;
+  private final SystemUserScopedExecutionService systemUserScopedExecutionService;
+  private final FolioExecutionContext folioExecutionContext;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, CachedContext> contexts = new ConcurrentHashMap<>();
+  private final Map<String, Object> tenantLocks = new ConcurrentHashMap<>();
+  private final Map<String, Timer> acquisitionTimers = new ConcurrentHashMap<>();
+  private ScheduledExecutorService refreshScheduler;
+
+  @PostConstruct
+  public void start() {
+    if (isEnabled()) {
+      refreshScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("dcb-system-user-context-refresh").daemon().factory());
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (refreshScheduler != null) {
+      refreshScheduler.shutdownNow();
+    }
+  }
+
+  public boolean isEnabled() {
+    return properties.isCacheEnabled();
+  }
+
+  /**
+   * Executes the action in the system user execution context of the given tenant.
+   *
+   * @param tenantId - tenant identifier
+   * @param action - action to execute
+   */
+  public void execute(String tenantId, Runnable action) {
+    if (!isEnabled()) {
+      systemUserScopedExecutionService.executeSystemUserScoped(tenantId, () -> {
+        action.run();
+        return null;
+      });
+      return;
+    }
+
+    try (var ignored = new FolioExecutionContextSetter(getContext(tenantId))) {
+      action.run();
+    }
+  }
+
+  /**
+   * Removes the cached context of the tenant, e.g. when the system user credentials are changed.
+   *
+   * @param tenantId - tenant identifier
+   */
+  public void evict(String tenantId) {
+    contexts.remove(tenantId);
+  }
+
+  private FolioExecutionContext getContext(String tenantId) {
+    var startTime = System.nanoTime();
+    var cachedContext = contexts.get(tenantId);
+    if (cachedContext != null && cachedContext.isValid()) {
+      cachedContext.touch();
+      recordAcquisition(startTime, "cache");
+      return cachedContext.context();
+    }
+
+    synchronized (tenantLocks.computeIfAbsent(tenantId, id -> new Object())) {
+      cachedContext = contexts.get(tenantId);
+      if (cachedContext == null || !cachedContext.isValid()) {
+        cachedContext = prepareContext(tenantId);
+      }
+    }
+
+    cachedContext.touch();
+    recordAcquisition(startTime, "prepare");
+    return cachedContext.context();
+  }
+
+  private CachedContext prepareContext(String tenantId) {
+    log.debug("prepareContext:: Preparing system user execution context for tenant: {}", tenantId);
+    var context = systemUserScopedExecutionService.executeSystemUserScoped(tenantId, this::copyCurrentContext);
+    return cacheContext(tenantId, context, resolveExpiration(context.getToken()));
+  }
+
+  private CachedContext cacheContext(String tenantId, FolioExecutionContext context, Instant expiresAt) {
+    var cachedContext = new CachedContext(context, expiresAt);
+    contexts.put(tenantId, cachedContext);
+    scheduleRefresh(tenantId, cachedContext, resolveRefreshTime(expiresAt));
+    return cachedContext;
+  }
+
+  /**
+   * Resolves the time of the proactive refresh, a token that lives shorter than the refresh-ahead interval is
+   * refreshed in the middle of its lifetime.
+   */
+  private Instant resolveRefreshTime(Instant expiresAt) {
+    var now = Instant.now();
+    var refreshAt = expiresAt.minus(properties.getRefreshAhead());
+    return refreshAt.isAfter(now) ? refreshAt : now.plus(Duration.between(now, expiresAt).dividedBy(2));
+  }
+
+  private void scheduleRefresh(String tenantId, CachedContext cachedContext, Instant refreshAt) {
+    var delay = Math.max(0, Duration.between(Instant.now(), refreshAt).toMillis());
+    refreshScheduler.schedule(() -> refresh(tenantId, cachedContext), delay, TimeUnit.MILLISECONDS);
+  }
+
+  private void refresh(String tenantId, CachedContext cachedContext) {
+    if (contexts.get(tenantId) != cachedContext) {
+      return;
+    }
+
+    if (!cachedContext.isValid()) {
+      contexts.remove(tenantId, cachedContext);
+      return;
+    }
+
+    if (cachedContext.lastAccess().plus(properties.getIdleTimeout()).isBefore(Instant.now())) {
+      log.debug("refresh:: Removing idle system user execution context for tenant: {}", tenantId);
+      contexts.remove(tenantId, cachedContext);
+      return;
+    }
+
+    try {
+      synchronized (tenantLocks.computeIfAbsent(tenantId, id -> new Object())) {
+        var context = systemUserScopedExecutionService.executeSystemUserScoped(tenantId, this::copyCurrentContext);
+        var expiresAt = resolveExpiration(context.getToken());
+        if (expiresAt.isAfter(cachedContext.expiresAt())) {
+          cacheContext(tenantId, context, expiresAt);
+        } else {
+          backOffRefresh(tenantId, cachedContext);
+        }
+      }
+    } catch (Exception e) {
+      log.warn("refresh:: Failed to refresh system user execution context for tenant: {}", tenantId, e);
+      if (cachedContext.isValid()) {
+        scheduleRefresh(tenantId, cachedContext, Instant.now().plus(REFRESH_RETRY_DELAY));
+      }
+    }
+  }
+
+  /**
+   * Schedules the next refresh of a context, which token is not renewed yet, with an exponentially growing delay,
+   * but not later than the token expiration.
+   */
+  private void backOffRefresh(String tenantId, CachedContext cachedContext) {
+    var exponent = Math.min(cachedContext.unchangedRefreshes++, MAX_REFRESH_BACKOFF_EXPONENT);
+    var refreshAt = Instant.now().plus(REFRESH_RETRY_DELAY.multipliedBy(1L << exponent));
+    log.debug("backOffRefresh:: System user token is not renewed yet for tenant: {}, next refresh at: {}",
+      tenantId, refreshAt);
+    scheduleRefresh(tenantId, cachedContext,
+      refreshAt.isBefore(cachedContext.expiresAt()) ? refreshAt : cachedContext.expiresAt());
+  }
+
+  private FolioExecutionContext copyCurrentContext() {
+    return new SystemUserExecutionContext(folioExecutionContext.getTenantId(), folioExecutionContext.getOkapiUrl(),
+      folioExecutionContext.getToken(), folioExecutionContext.getUserId(), folioExecutionContext.getAllHeaders(),
+      folioExecutionContext.getOkapiHeaders(), folioExecutionContext.getFolioModuleMetadata());
+  }
+
+  /**
+   * Reads the expiration time of the system user access token (JWT {@code exp} claim), the configured maximum age
+   * is used if the token has no expiration.
+   */
+  private Instant resolveExpiration(String token) {
+    var maxAgeExpiration = Instant.now().plus(properties.getMaxAge());
+    var tokenParts = StringUtils.split(token, '.');
+    if (tokenParts == null || tokenParts.length < 2) {
+      return maxAgeExpiration;
+    }
+
+    try {
+      var payload = new String(Base64.getUrlDecoder().decode(tokenParts[1]), StandardCharsets.UTF_8);
+      var expiration = objectMapper.readTree(payload).path("exp");
+      return expiration.isNumber() ? Instant.ofEpochSecond(expiration.asLong()) : maxAgeExpiration;
+    } catch (Exception e) {
+      log.debug("resolveExpiration:: Failed to read system user token expiration", e);
+      return maxAgeExpiration;
+    }
+  }
+
+  private void recordAcquisition(long startTime, String source) {
+    acquisitionTimers.computeIfAbsent(source,
+        key -> Timer.builder(ACQUISITION_METRIC).tag("source", key).register(meterRegistry))
+      .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+  }
+
+  private static final class CachedContext {
+
+    private final FolioExecutionContext context;
+    private final Instant expiresAt;
+    private volatile Instant lastAccess = Instant.now();
+    private int unchangedRefreshes;
+
+    private CachedContext(FolioExecutionContext context, Instant expiresAt) {
+      this.context = context;
+      this.expiresAt = expiresAt;
+    }
+
+    FolioExecutionContext context() {
+      return context;
+    }
+
+    Instant lastAccess() {
+      return lastAccess;
+    }
+
+    Instant expiresAt() {
+      return expiresAt;
+    }
+
+    boolean isValid() {
+      return Instant.now().isBefore(expiresAt);
+    }
+
+    void touch() {
+      lastAccess = Instant.now();
+    }
+  }
+
+  private record SystemUserExecutionContext(String tenantId, String okapiUrl, String token, UUID userId,
+    Map<String, Collection<String>> allHeaders, Map<String, Collection<String>> okapiHeaders,
+    FolioModuleMetadata folioModuleMetadata) implements FolioExecutionContext {
+
+    @Override
+    public String getTenantId() {
+      return tenantId;
+    }
+
+    @Override
+    public String getOkapiUrl() {
+      return okapiUrl;
+    }
+
+    @Override
+    public String getToken() {
+      return token;
+    }
+
+    @Override
+    public UUID getUserId() {
+      return userId;
+    }
+
+    @Override
+    public Map<String, Collection<String>> getAllHeaders() {
+      return allHeaders;
+    }
+
+    @Override
+    public Map<String, Collection<String>> getOkapiHeaders() {
+      return okapiHeaders;
+    }
+
+    @Override
+    public FolioModuleMetadata getFolioModuleMetadata() {
+      return folioModuleMetadata;
+    }
+  }
+}
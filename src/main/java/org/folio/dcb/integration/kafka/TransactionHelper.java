@@ -1,26 +1,21 @@
 package org.folio.dcb.integration.kafka;
 
 import static org.apache.commons.lang3.StringUtils.trimToNull;
-import static org.folio.dcb.integration.kafka.model.KafkaEvent.ACTION;
-import static org.folio.dcb.integration.kafka.model.KafkaEvent.STATUS;
-import static org.folio.dcb.integration.kafka.model.KafkaEvent.STATUS_NAME;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import lombok.extern.log4j.Log4j2;
+import org.apache.kafka.common.header.Headers;
 import org.folio.dcb.integration.circulation.model.RequestStatus;
+import org.folio.dcb.integration.kafka.model.CirculationEventPayload;
 import org.folio.dcb.integration.kafka.model.EventData;
-import org.folio.dcb.integration.kafka.model.KafkaEvent;
 import org.springframework.messaging.MessageHeaders;
 
 @Log4j2
 public final class TransactionHelper {
 
-  private static final String IS_DCB = "isDcb";
-  private static final String INSTANCE = "instance";
-  private static final String TITLE = "title";
   private static final String DCB_INSTANCE_TITLE = "DCB_INSTANCE";
   private static final String LOAN_ACTION_CHECKED_OUT = "checkedout";
   private static final String LOAN_ACTION_CHECKED_IN = "checkedin";
@@ -37,46 +32,48 @@ public final class TransactionHelper {
     return value == null ? Collections.emptyList() : Collections.singletonList(value);
   }
 
+  public static List<String> getHeaderValue(Headers headers, String headerName, String defaultValue) {
+    var header = headers.lastHeader(headerName);
+    var value = header == null ? defaultValue : new String(header.value(), StandardCharsets.UTF_8);
+    return value == null ? Collections.emptyList() : Collections.singletonList(value);
+  }
+
   public static EventData parseLoanEvent(String eventPayload) {
-    var event = new KafkaEvent(eventPayload);
-    if (event.hasNewNode() && event.getNewNode().has("itemId")) {
+    var event = CirculationEventPayload.parse(eventPayload);
+    if (event != null && event.isItemIdPresent()) {
       var eventData = new EventData();
-      eventData.setItemId(event.getNewNode().get("itemId").asString());
-
-      if (event.getNewNode().has(ACTION)) {
-        var action = event.getNewNode().get(ACTION).asString();
-        if (LOAN_ACTION_CHECKED_OUT.equals(action)) {
-          eventData.setType(EventData.EventType.CHECK_OUT);
-        } else if (LOAN_ACTION_CHECKED_IN.equals(action)) {
-          eventData.setType(EventData.EventType.CHECK_IN);
-        } else if (LOAN_ACTION_CHECKED_IN_FOUND_BY_LIBRARY.equals(action)) {
-          eventData.setType(EventData.EventType.CHECK_IN);
-          eventData.setClaimedReturnedResolution(CLAIMED_RETURNED_RESOLUTION_FOUND_BY_LIBRARY);
-        } else if (LOAN_ACTION_CHECKED_IN_RETURNED_BY_PATRON.equals(action)) {
-          eventData.setType(EventData.EventType.CHECK_IN);
-          eventData.setClaimedReturnedResolution(CLAIMED_RETURNED_RESOLUTION_RETURNED_BY_PATRON);
-        }
-      }
-
-      eventData.setDcb(!event.getNewNode().has(IS_DCB) || event.getNewNode().get(IS_DCB).asBoolean());
-
-      if (event.getNewNode().has(STATUS) && event.getNewNode().get(STATUS).has(STATUS_NAME)) {
-        eventData.setLoanStatus(event.getNewNode().get(STATUS).get(STATUS_NAME).asString());
+      eventData.setItemId(event.getItemId());
+
+      var action = event.getAction();
+      if (LOAN_ACTION_CHECKED_OUT.equals(action)) {
+        eventData.setType(EventData.EventType.CHECK_OUT);
+      } else if (LOAN_ACTION_CHECKED_IN.equals(action)) {
+        eventData.setType(EventData.EventType.CHECK_IN);
+      } else if (LOAN_ACTION_CHECKED_IN_FOUND_BY_LIBRARY.equals(action)) {
+        eventData.setType(EventData.EventType.CHECK_IN);
+        eventData.setClaimedReturnedResolution(CLAIMED_RETURNED_RESOLUTION_FOUND_BY_LIBRARY);
+      } else if (LOAN_ACTION_CHECKED_IN_RETURNED_BY_PATRON.equals(action)) {
+        eventData.setType(EventData.EventType.CHECK_IN);
+        eventData.setClaimedReturnedResolution(CLAIMED_RETURNED_RESOLUTION_RETURNED_BY_PATRON);
       }
 
+      eventData.setDcb(event.getDcb() == null || event.getDcb());
+      eventData.setLoanStatus(event.getStatusName());
       return eventData;
     }
     return null;
   }
 
   public static EventData parseRequestEvent(String eventPayload) {
-    var event = new KafkaEvent(eventPayload);
-    if (event.getEventType() == KafkaEvent.EventType.UPDATED && event.hasNewNode() && event.getNewNode().has(STATUS)) {
+    var event = CirculationEventPayload.parse(eventPayload);
+    if (event != null && event.getEventType() == CirculationEventPayload.EventType.UPDATED
+      && event.isNewNodePresent() && event.isStatusPresent()) {
       var eventData = new EventData();
-      eventData.setRequestId(event.getNewNode().get("id").asString());
-      eventData.setDcbReRequestCancellation(getNodeAsBooleanOrDefault(event, "dcbReRequestCancellation", false));
+      eventData.setRequestId(event.getId());
+      eventData.setItemId(trimToNull(event.getItemId()));
+      eventData.setDcbReRequestCancellation(Objects.requireNonNullElse(event.getDcbReRequestCancellation(), false));
 
-      var requestStatus = RequestStatus.from(event.getNewNode().get(STATUS).asString());
+      var requestStatus = RequestStatus.from(event.getStatus());
       switch (requestStatus) {
         case OPEN_IN_TRANSIT -> eventData.setType(EventData.EventType.IN_TRANSIT);
         case OPEN_AWAITING_PICKUP, OPEN_AWAITING_DELIVERY -> eventData.setType(EventData.EventType.AWAITING_PICKUP);
@@ -92,28 +89,19 @@ public final class TransactionHelper {
   }
 
   public static EventData parseCheckInEvent(String eventPayload) {
-    var kafkaEvent = new KafkaEvent(eventPayload);
-    if (kafkaEvent.getEventType() == KafkaEvent.EventType.CREATED && kafkaEvent.hasNewNode()) {
+    var event = CirculationEventPayload.parse(eventPayload);
+    if (event != null && event.getEventType() == CirculationEventPayload.EventType.CREATED
+      && event.isNewNodePresent()) {
       var eventData = new EventData();
-      var newNode = kafkaEvent.getNewNode();
-      eventData.setItemId(trimToNull(newNode.path("itemId").asString(null)));
-      eventData.setCheckInServicePointId(trimToNull(newNode.path("servicePointId").asString(null)));
+      eventData.setItemId(trimToNull(event.getItemId()));
+      eventData.setCheckInServicePointId(trimToNull(event.getServicePointId()));
       return eventData;
     }
 
     return null;
   }
 
-  @SuppressWarnings("SameParameterValue")
-  private static boolean getNodeAsBooleanOrDefault(KafkaEvent kafkaEvent, String name, boolean defaultValue) {
-    var booleanNode = kafkaEvent.getNewNode().get(name);
-    return Objects.nonNull(booleanNode) ? booleanNode.asBoolean() : defaultValue;
-  }
-
-  private static boolean checkDcbRequest(KafkaEvent kafkaEvent) {
-    var newNode = kafkaEvent.getNewNode();
-    return newNode.has(INSTANCE)
-      && newNode.get(INSTANCE).has(TITLE)
-      && Objects.equals(DCB_INSTANCE_TITLE, newNode.get(INSTANCE).get(TITLE).asString());
+  private static boolean checkDcbRequest(CirculationEventPayload event) {
+    return Objects.equals(DCB_INSTANCE_TITLE, event.getInstanceTitle());
   }
 }
@@ -0,0 +1,120 @@
+package org.folio.dcb.integration.kafka;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.service.impl.BaseLibraryService;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+/**
+ * Collects status transitions of transactions loaded by a bulk lookup and writes them with a single saveAll.
+ *
+ * <p>Transitions are applied in the order of the consumed events. If a transaction receives a second transition
+ * within the same batch, pending transitions are flushed first, so every transition still produces its own audit
+ * record.</p>
+ */
+@Log4j2
+@RequiredArgsConstructor
+final class TransactionStatusBatch {
+
+  private final BaseLibraryService baseLibraryService;
+  private final Map<String, TransactionEntity> transactionsById = new HashMap<>();
+  private final Map<String, StatusEnum> pendingStatuses = new LinkedHashMap<>();
+
+  /**
+   * Registers loaded transactions and indexes their identifiers by the given lookup key.
+   *
+   * @param transactions - transactions loaded by a bulk lookup
+   * @param keyExtractor - function to extract the lookup key (item id, request id) from a transaction
+   * @return transaction identifiers grouped by lookup key
+   */
+  Map<String, List<String>> register(Collection<TransactionEntity> transactions,
+    Function<TransactionEntity, String> keyExtractor) {
+    var transactionIdsByKey = new HashMap<String, List<String>>();
+    for (var transaction : transactions) {
+      transactionsById.putIfAbsent(transaction.getId(), transaction);
+      transactionIdsByKey.computeIfAbsent(normalizeKey(keyExtractor.apply(transaction)), key -> new ArrayList<>())
+        .add(transaction.getId());
+    }
+    return transactionIdsByKey;
+  }
+
+  /**
+   * Finds the current state of registered transactions by lookup key, that still match the lookup criteria.
+   *
+   * @param index - transaction identifiers grouped by lookup key
+   * @param key - lookup key
+   * @param statusCriteria - lookup criteria, re-checked against statuses changed by previous events in the batch
+   * @return list with matching transactions
+   */
+  List<TransactionEntity> find(Map<String, List<String>> index, String key, Predicate<StatusEnum> statusCriteria) {
+    return index.getOrDefault(normalizeKey(key), List.of()).stream()
+      .filter(transactionId -> statusCriteria.test(getCurrentStatus(transactionId)))
+      .map(transactionsById::get)
+      .toList();
+  }
+
+  /**
+   * Finds a single registered transaction by lookup key, mirroring the single-result lookup of per-record mode.
+   *
+   * @throws IncorrectResultSizeDataAccessException if more than one transaction matches
+   */
+  Optional<TransactionEntity> findSingle(Map<String, List<String>> index, String key,
+    Predicate<StatusEnum> statusCriteria) {
+    var transactions = find(index, key, statusCriteria);
+    if (transactions.size() > 1) {
+      throw new IncorrectResultSizeDataAccessException(1, transactions.size());
+    }
+    return transactions.stream().findFirst();
+  }
+
+  /**
+   * Schedules a status transition for the given transaction.
+   *
+   * @param transaction - registered transaction
+   * @param status - status to move the transaction to
+   */
+  void update(TransactionEntity transaction, StatusEnum status) {
+    var transactionId = transaction.getId();
+    if (pendingStatuses.containsKey(transactionId)) {
+      flush();
+    }
+    pendingStatuses.put(transactionId, status);
+  }
+
+  /**
+   * Stores all pending transitions with a single batch write.
+   */
+  void flush() {
+    if (pendingStatuses.isEmpty()) {
+      return;
+    }
+
+    log.debug("flush:: Saving {} transaction status update(s)", pendingStatuses.size());
+    var statusesByTransaction = new LinkedHashMap<TransactionEntity, StatusEnum>();
+    pendingStatuses.forEach((id, status) -> statusesByTransaction.put(transactionsById.get(id), status));
+    pendingStatuses.clear();
+    baseLibraryService.updateTransactionEntities(statusesByTransaction)
+      .forEach(savedTransaction -> transactionsById.put(savedTransaction.getId(), savedTransaction));
+  }
+
+  private StatusEnum getCurrentStatus(String transactionId) {
+    var pendingStatus = pendingStatuses.get(transactionId);
+    return pendingStatus != null ? pendingStatus : transactionsById.get(transactionId).getStatus();
+  }
+
+  private static String normalizeKey(String key) {
+    return UUID.fromString(key).toString();
+  }
+}
@@ -0,0 +1,137 @@
+package org.folio.dcb.integration.kafka.model;
+
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Fields of a circulation event payload, which are used to process loan, request and check-in events.
+ *
+ * <p>The fields are extracted with a single streaming pass over the payload: only {@code type} and the
+ * {@code data.new} object are read, all other values (including {@code data.old}) are skipped without building
+ * a JSON tree.</p>
+ */
+@Log4j2
+@Getter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CirculationEventPayload {
+
+  private static final String ACTION = "action";
+  private static final String STATUS = "status";
+  private static final String STATUS_NAME = "name";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private EventType eventType;
+  private boolean newNodePresent;
+  private String id;
+  private boolean itemIdPresent;
+  private String itemId;
+  private String action;
+  private Boolean dcb;
+  private boolean statusPresent;
+  private String status;
+  private String statusName;
+  private String servicePointId;
+  private String instanceTitle;
+  private Boolean dcbReRequestCancellation;
+
+  /**
+   * Extracts circulation event fields from the given payload.
+   *
+   * @param eventPayload - kafka event payload
+   * @return extracted fields or null if the payload is not a valid circulation event
+   */
+  public static CirculationEventPayload parse(String eventPayload) {
+    try (var parser = OBJECT_MAPPER.createParser(eventPayload)) {
+      var payload = new CirculationEventPayload();
+      parser.nextToken();
+      readObject(parser, name -> {
+        switch (name) {
+          case "type" -> payload.eventType = EventType.valueOf(parser.getValueAsString());
+          case "data" -> readObject(parser, dataName -> readDataProperty(parser, payload, dataName));
+          default -> parser.skipChildren();
+        }
+      });
+      if (payload.eventType == null) {
+        throw new IllegalArgumentException("Event type is not defined");
+      }
+      return payload;
+    } catch (Exception e) {
+      log.error("Could not parse input payload for processing event", e);
+      return null;
+    }
+  }
+
+  private static void readDataProperty(JsonParser parser, CirculationEventPayload payload, String name) {
+    if (!"new".equals(name) || parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return;
+    }
+
+    payload.newNodePresent = true;
+    readObject(parser, newName -> {
+      switch (newName) {
+        case "id" -> payload.id = parser.getValueAsString();
+        case "itemId" -> {
+          payload.itemIdPresent = true;
+          payload.itemId = parser.getValueAsString();
+        }
+        case ACTION -> payload.action = parser.getValueAsString();
+        case "isDcb" -> payload.dcb = parser.getValueAsBoolean();
+        case "dcbReRequestCancellation" -> payload.dcbReRequestCancellation = parser.getValueAsBoolean();
+        case "servicePointId" -> payload.servicePointId = parser.getValueAsString();
+        case STATUS -> readStatus(parser, payload);
+        case "instance" -> readObject(parser, instanceName -> {
+          if ("title".equals(instanceName)) {
+            payload.instanceTitle = parser.getValueAsString();
+          } else {
+            parser.skipChildren();
+          }
+        });
+        default -> parser.skipChildren();
+      }
+    });
+  }
+
+  private static void readStatus(JsonParser parser, CirculationEventPayload payload) {
+    payload.statusPresent = true;
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      payload.status = parser.getValueAsString();
+      return;
+    }
+
+    readObject(parser, statusName -> {
+      if (STATUS_NAME.equals(statusName)) {
+        payload.statusName = parser.getValueAsString();
+      } else {
+        parser.skipChildren();
+      }
+    });
+  }
+
+  /**
+   * Iterates over the properties of the object the parser currently points to. For each property the parser is
+   * moved to its value before the property reader is called, the reader must consume the whole value.
+   */
+  private static void readObject(JsonParser parser, Consumer<String> propertyReader) {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return;
+    }
+
+    while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+      var name = parser.currentName();
+      parser.nextToken();
+      propertyReader.accept(name);
+    }
+  }
+
+  public enum EventType {
+    UPDATED, CREATED
+  }
+}
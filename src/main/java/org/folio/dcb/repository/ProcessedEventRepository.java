@@ -0,0 +1,39 @@
+package org.folio.dcb.repository;
+
+import java.time.OffsetDateTime;
+import org.folio.dcb.domain.entity.ProcessedEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEventEntity, String> {
+
+  /**
+   * Records the processed event, if it is not recorded yet.
+   *
+   * @param eventKey - event key
+   * @param processedDate - processing date
+   * @return number of inserted records
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    INSERT INTO processed_event (event_key, processed_date) VALUES (:eventKey, :processedDate)
+    ON CONFLICT (event_key) DO NOTHING""")
+  int insertIfAbsent(@Param("eventKey") String eventKey, @Param("processedDate") OffsetDateTime processedDate);
+
+  /**
+   * Removes events processed before the given date.
+   *
+   * @param processedDate - processing date
+   * @return number of removed records
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = "DELETE FROM processed_event WHERE processed_date < :processedDate")
+  int deleteProcessedBefore(@Param("processedDate") OffsetDateTime processedDate);
+}
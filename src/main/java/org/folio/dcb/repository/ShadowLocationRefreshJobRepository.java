@@ -0,0 +1,123 @@
+package org.folio.dcb.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.folio.dcb.domain.entity.ShadowLocationRefreshJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ShadowLocationRefreshJobRepository extends JpaRepository<ShadowLocationRefreshJobEntity, UUID> {
+
+  /**
+   * Finds identifiers of jobs in progress, whose heartbeat has stopped since the given date.
+   *
+   * @param heartbeatDate - date of the last heartbeat
+   * @return identifiers of stale jobs
+   */
+  @Query(nativeQuery = true, value = """
+    SELECT id FROM shadow_location_refresh_job
+    WHERE status = 'IN_PROGRESS' AND heartbeat_date < :heartbeatDate
+    ORDER BY created_date""")
+  List<UUID> findStaleJobIds(@Param("heartbeatDate") OffsetDateTime heartbeatDate);
+
+  /**
+   * Claims the stale job for the given owner, if it is not claimed by another module instance yet.
+   *
+   * @param id - job identifier
+   * @param ownerId - identifier of the job run claiming the job
+   * @param heartbeatDate - date of the last heartbeat
+   * @return number of claimed jobs
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    UPDATE shadow_location_refresh_job SET owner_id = :ownerId, heartbeat_date = now(), updated_date = now()
+    WHERE id = :id AND status = 'IN_PROGRESS' AND heartbeat_date < :heartbeatDate""")
+  int claimStaleJob(@Param("id") UUID id, @Param("ownerId") UUID ownerId,
+    @Param("heartbeatDate") OffsetDateTime heartbeatDate);
+
+  /**
+   * Updates the heartbeat of the job, if it is in progress and owned by the given owner.
+   *
+   * @param id - job identifier
+   * @param ownerId - identifier of the job run owning the job
+   * @return number of updated jobs
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    UPDATE shadow_location_refresh_job SET heartbeat_date = now()
+    WHERE id = :id AND owner_id = :ownerId AND status = 'IN_PROGRESS'""")
+  int updateHeartbeat(@Param("id") UUID id, @Param("ownerId") UUID ownerId);
+
+  /**
+   * Checks if the job is owned by the given owner.
+   *
+   * @param id - job identifier
+   * @param ownerId - identifier of the job run
+   * @return true if the job is owned by the given owner, false otherwise
+   */
+  boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
+
+  /**
+   * Records the completed agency of the job, if it is not recorded yet.
+   *
+   * @param id - job identifier
+   * @param agencyIndex - index of the completed agency
+   * @return number of recorded agencies
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    INSERT INTO shadow_location_refresh_job_agency (job_id, agency_index) VALUES (:id, :agencyIndex)
+    ON CONFLICT DO NOTHING""")
+  int insertCompletedAgency(@Param("id") UUID id, @Param("agencyIndex") int agencyIndex);
+
+  /**
+   * Adds the results of a completed agency to the job progress counters, if the job is owned by the given owner.
+   *
+   * @param id - job identifier
+   * @param ownerId - identifier of the job run owning the job
+   * @param locationsCreated - number of created locations
+   * @param locationsSkipped - number of skipped locations
+   * @param locationsFailed - number of failed locations
+   * @return number of updated jobs
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    UPDATE shadow_location_refresh_job
+    SET agencies_completed = agencies_completed + 1,
+      locations_created = locations_created + :locationsCreated,
+      locations_skipped = locations_skipped + :locationsSkipped,
+      locations_failed = locations_failed + :locationsFailed,
+      heartbeat_date = now(),
+      updated_date = now()
+    WHERE id = :id AND owner_id = :ownerId""")
+  int incrementProgress(@Param("id") UUID id, @Param("ownerId") UUID ownerId,
+    @Param("locationsCreated") int locationsCreated, @Param("locationsSkipped") int locationsSkipped,
+    @Param("locationsFailed") int locationsFailed);
+
+  /**
+   * Completes the job with the given status, if the job is owned by the given owner.
+   *
+   * @param id - job identifier
+   * @param ownerId - identifier of the job run owning the job
+   * @param status - final job status
+   * @param errorMessage - cause of the job failure
+   * @return number of updated jobs
+   */
+  @Modifying
+  @Transactional
+  @Query(nativeQuery = true, value = """
+    UPDATE shadow_location_refresh_job SET status = :status, error_message = :errorMessage, updated_date = now()
+    WHERE id = :id AND owner_id = :ownerId""")
+  int updateStatus(@Param("id") UUID id, @Param("ownerId") UUID ownerId, @Param("status") String status,
+    @Param("errorMessage") String errorMessage);
+}
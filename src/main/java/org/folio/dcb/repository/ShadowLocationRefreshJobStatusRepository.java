@@ -0,0 +1,35 @@
+package org.folio.dcb.repository;
+
+import java.util.List;
+import java.util.UUID;
+import org.folio.dcb.domain.entity.ShadowLocationRefreshJobStatusEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShadowLocationRefreshJobStatusRepository
+  extends JpaRepository<ShadowLocationRefreshJobStatusEntity, Long> {
+
+  /**
+   * Finds statuses of the job in the order they were recorded.
+   *
+   * @param jobId - job identifier
+   * @param pageable - {@link Pageable} object for pagination
+   * @return {@link Page} containing {@link ShadowLocationRefreshJobStatusEntity} records
+   */
+  Page<ShadowLocationRefreshJobStatusEntity> findByJobIdOrderBySequenceId(UUID jobId, Pageable pageable);
+
+  /**
+   * Finds indexes of the job agencies, whose statuses are recorded.
+   *
+   * @param jobId - job identifier
+   * @return indexes of completed agencies
+   */
+  @Query(nativeQuery = true, value = """
+    SELECT agency_index FROM shadow_location_refresh_job_agency WHERE job_id = :jobId""")
+  List<Integer> findCompletedAgencyIndexes(@Param("jobId") UUID jobId);
+}
@@ -1,10 +1,14 @@
 package org.folio.dcb.repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.folio.dcb.domain.entity.TransactionAuditEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,17 +17,51 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TransactionAuditRepository extends JpaRepository<TransactionAuditEntity, String> {
 
+  /**
+   * Finds the latest audit record of the transaction, using the {@code (transaction_id, created_date DESC)} index.
+   */
   @Query(nativeQuery = true,
     value = """
       SELECT * FROM transactions_audit
       WHERE transaction_id = :trnId
-        AND created_date = (
-          SELECT MAX(created_date) FROM transactions_audit
-          WHERE transaction_id = :trnId
-        )
+      ORDER BY created_date DESC
+      LIMIT 1
       """)
   Optional<TransactionAuditEntity> findLatestTransactionAuditEntityByDcbTransactionId(@Param("trnId") String trnId);
 
+  /**
+   * Finds the latest create or update audit record of the transaction by the {@code latest_audit_id} and
+   * {@code latest_audit_created_date} pointer of the transaction: the transaction primary key lookup is followed by
+   * the audit primary key lookup in the single partition of the record. Returns empty result if the transaction does
+   * not exist, was not changed since the pointer was introduced, or the pointed record is not moved from the outbox
+   * yet. Error records are not referenced by the pointer, they repeat the state of the record they follow.
+   */
+  @Query(nativeQuery = true,
+    value = """
+      SELECT a.* FROM transactions t
+      JOIN transactions_audit a ON a.id = t.latest_audit_id AND a.created_date = t.latest_audit_created_date
+      WHERE t.id = :trnId
+      """)
+  Optional<TransactionAuditEntity> findLatestTransactionAuditEntityByLatestAuditId(@Param("trnId") String trnId);
+
+  /**
+   * Finds the latest audit record of the transaction in the outbox of the asynchronous audit mode, that is not moved
+   * to the audit table yet.
+   */
+  @Query(nativeQuery = true,
+    value = """
+      SELECT id, action, transaction_id, before, after, patch, previous_audit_id, error_message, created_by,
+        created_date
+      FROM transactions_audit_outbox
+      WHERE transaction_id = :trnId
+      ORDER BY sequence_id DESC
+      LIMIT 1
+      """)
+  Optional<TransactionAuditEntity> findLatestOutboxTransactionAuditEntityByDcbTransactionId(
+    @Param("trnId") String trnId);
+
+  List<TransactionAuditEntity> findAllByIdIn(Collection<UUID> ids);
+
   @Query(nativeQuery = true,
     value = """
       SELECT * FROM transactions_audit t
@@ -39,4 +77,40 @@ public interface TransactionAuditRepository extends JpaRepository<TransactionAud
       """)
   Page<TransactionAuditEntity> findUpdatedTransactionsByDateRange(OffsetDateTime fromDate, OffsetDateTime toDate,
     Pageable pageable);
+
+  @Query(nativeQuery = true,
+    value = """
+      SELECT * FROM transactions_audit t
+      WHERE t.created_date >= :fromDate
+        AND t.created_date <= :toDate
+        AND t.action = 'UPDATE'
+      """)
+  Slice<TransactionAuditEntity> findUpdatedTransactionSliceByDateRange(OffsetDateTime fromDate,
+    OffsetDateTime toDate, Pageable pageable);
+
+  @Query(nativeQuery = true,
+    value = """
+      SELECT COUNT(*) FROM transactions_audit t
+      WHERE t.created_date >= :fromDate
+        AND t.created_date <= :toDate
+        AND t.action = 'UPDATE'
+      """)
+  long countUpdatedTransactionsByDateRange(OffsetDateTime fromDate, OffsetDateTime toDate);
+
+  /**
+   * Finds the updates of transactions in the date range, that follow the given position in the
+   * {@code (created_date, id)} order, using the {@code (action, created_date, id)} index.
+   */
+  @Query(nativeQuery = true,
+    value = """
+      SELECT * FROM transactions_audit t
+      WHERE t.action = 'UPDATE'
+        AND t.created_date <= :toDate
+        AND (t.created_date, t.id) > (:afterDate, :afterId)
+        AND t.created_date >= :fromDate
+      ORDER BY t.created_date, t.id
+      LIMIT :limit
+      """)
+  List<TransactionAuditEntity> findUpdatedTransactionsByDateRangeAfter(OffsetDateTime fromDate,
+    OffsetDateTime toDate, OffsetDateTime afterDate, UUID afterId, int limit);
 }
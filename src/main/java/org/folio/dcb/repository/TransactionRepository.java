@@ -1,5 +1,7 @@
 package org.folio.dcb.repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,4 +36,56 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
 
   @Query(nativeQuery = true, value = "SELECT * FROM transactions WHERE request_id = :requestId AND status != 'CLOSED'")
   Optional<TransactionEntity> findTransactionByRequestIdAndStatusNotInClosed(@Param("requestId") UUID itemId);
+
+  @Query(nativeQuery = true, value = """
+    SELECT * FROM transactions
+    WHERE item_id IN (:itemIds)
+      AND status NOT IN ('CLOSED', 'CANCELLED', 'ERROR', 'CREATED', 'OPEN')
+    """)
+  List<TransactionEntity> findTransactionsByItemIdsAndStatusNotInClosed(@Param("itemIds") Collection<UUID> itemIds);
+
+  @Query(nativeQuery = true, value = "SELECT * FROM transactions WHERE item_id IN (:itemIds) AND status = 'EXPIRED'")
+  List<TransactionEntity> findExpiredTransactionsByItemIds(@Param("itemIds") Collection<UUID> itemIds);
+
+  @Query(nativeQuery = true, value =
+    "SELECT * FROM transactions WHERE item_id IN (:itemIds) AND status NOT IN ('CLOSED', 'CANCELLED', 'ERROR')")
+  List<TransactionEntity> findSingleTransactionsByItemIdsAndStatusNotInClosed(
+    @Param("itemIds") Collection<UUID> itemIds);
+
+  @Query(nativeQuery = true, value =
+    "SELECT * FROM transactions WHERE request_id IN (:requestIds) AND status != 'CLOSED'")
+  List<TransactionEntity> findTransactionsByRequestIdsAndStatusNotInClosed(
+    @Param("requestIds") Collection<UUID> requestIds);
+
+  @Query(nativeQuery = true, value = """
+    SELECT id, CAST(item_id AS varchar) AS "itemId", CAST(request_id AS varchar) AS "requestId", true AS "open"
+    FROM transactions
+    WHERE status NOT IN ('CLOSED', 'CANCELLED', 'ERROR')
+    """)
+  List<TransactionKeys> findOpenTransactionKeys();
+
+  @Query(nativeQuery = true, value = """
+    SELECT id, CAST(item_id AS varchar) AS "itemId", CAST(request_id AS varchar) AS "requestId",
+      status NOT IN ('CLOSED', 'CANCELLED', 'ERROR') AS "open"
+    FROM transactions
+    WHERE updated_date >= :updatedSince
+    """)
+  List<TransactionKeys> findTransactionKeysUpdatedSince(@Param("updatedSince") OffsetDateTime updatedSince);
+
+  /**
+   * Identifiers of a transaction, which are used to match circulation events.
+   */
+  interface TransactionKeys {
+
+    String getId();
+
+    String getItemId();
+
+    String getRequestId();
+
+    /**
+     * Returns false if the transaction is in a terminal status (closed, cancelled or failed).
+     */
+    Boolean getOpen();
+  }
 }
@@ -0,0 +1,46 @@
+package org.folio.dcb.repository.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.utils.BeanUtil;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link OpenTransactionIndex} current with every stored transaction, regardless of the service that stores
+ * it. The index is updated after the commit, so a rolled back write never changes it.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class OpenTransactionIndexEntityListener {
+
+  private final BeanUtil beanUtil;
+
+  @PostPersist
+  @PostUpdate
+  public void onTransactionSaved(TransactionEntity transactionEntity) {
+    var openTransactionIndex = beanUtil.getBean(OpenTransactionIndex.class);
+    if (openTransactionIndex.isEnabled()) {
+      var tenantId = beanUtil.getBean(FolioExecutionContext.class).getTenantId();
+      log.debug("onTransactionSaved:: tracking transaction {} for tenant {}", transactionEntity.getId(), tenantId);
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        openTransactionIndex.track(tenantId, transactionEntity);
+        return;
+      }
+
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          openTransactionIndex.track(tenantId, transactionEntity);
+        }
+      });
+    }
+  }
+}
@@ -1,18 +1,27 @@
 package org.folio.dcb.repository.listener;
 
+import static java.time.ZoneOffset.UTC;
+
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import java.time.YearMonth;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.folio.dcb.config.TransactionAuditProperties;
 import org.folio.dcb.domain.entity.TransactionAuditEntity;
+import org.folio.dcb.domain.entity.TransactionAuditOutboxEntity;
 import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.domain.mapper.TransactionAuditStateResolver;
+import org.folio.dcb.service.impl.TransactionAuditOutboxRelay;
 import org.folio.dcb.utils.BeanUtil;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.springframework.stereotype.Component;
 import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
 
 @Log4j2
 @Component
@@ -21,9 +30,11 @@ public class TransactionAuditEntityListener {
 
   private static final String CREATE_ACTION = "CREATE";
   private static final String UPDATE_ACTION = "UPDATE";
+  private static final String STATUS_PROPERTY = "status";
 
   private final BeanUtil beanUtil;
   private final ObjectMapper objectMapper;
+  private final TransactionAuditProperties transactionAuditProperties;
 
   @PrePersist
   public void onPrePersist(Object entity) throws JacksonException {
@@ -36,34 +47,111 @@ public class TransactionAuditEntityListener {
     transactionAuditEntity.setAfter(objectMapper.writeValueAsString(txEntity));
 
     log.info("onPrePersist:: creating transaction audit record {} with action {}", txEntity.getId(), CREATE_ACTION);
-    getEntityManager().persist(transactionAuditEntity);
+    saveAuditRecord(txEntity, transactionAuditEntity);
   }
 
   @PreUpdate
   public void onPreUpdate(Object entity) throws JacksonException {
     log.debug("onPreUpdate:: creating transaction audit record");
     var txEntity = (TransactionEntity) entity;
+    txEntity.setSavedState(getLoadedState(txEntity));
+    var deltaApplicable = isDeltaApplicable(txEntity);
+    JsonNode before = objectMapper.valueToTree(txEntity.getSavedState());
+    ObjectNode after = objectMapper.valueToTree(txEntity);
+    for (var intermediateStatus : txEntity.getIntermediateStatuses()) {
+      ObjectNode intermediateState = after.deepCopy();
+      intermediateState.set(STATUS_PROPERTY, objectMapper.valueToTree(intermediateStatus));
+      createUpdateAuditRecord(txEntity, before, intermediateState, deltaApplicable);
+      before = intermediateState;
+    }
+    txEntity.getIntermediateStatuses().clear();
+    createUpdateAuditRecord(txEntity, before, after, deltaApplicable);
+  }
+
+  private void createUpdateAuditRecord(TransactionEntity txEntity, JsonNode before, ObjectNode after,
+    boolean deltaApplicable) throws JacksonException {
     var transactionAuditEntity = new TransactionAuditEntity();
-    transactionAuditEntity.setBefore(objectMapper.writeValueAsString(txEntity.getSavedState()));
-    transactionAuditEntity.setAfter(objectMapper.writeValueAsString(txEntity));
+    if (deltaApplicable) {
+      var patch = TransactionAuditStateResolver.createPatch((ObjectNode) before, after);
+      transactionAuditEntity.setPatch(objectMapper.writeValueAsString(patch));
+      transactionAuditEntity.setPreviousAuditId(txEntity.getLatestAuditId());
+    } else {
+      transactionAuditEntity.setBefore(objectMapper.writeValueAsString(before));
+      transactionAuditEntity.setAfter(objectMapper.writeValueAsString(after));
+    }
     transactionAuditEntity.setTransactionId(txEntity.getId());
     transactionAuditEntity.setAction(UPDATE_ACTION);
 
-    log.info("onPreUpdate:: creating transaction audit record {} with action {}", txEntity.getId(), UPDATE_ACTION);
-    getEntityManager().persist(transactionAuditEntity);
+    log.info("createUpdateAuditRecord:: creating transaction audit record {} with action {}",
+      txEntity.getId(), UPDATE_ACTION);
+    saveAuditRecord(txEntity, transactionAuditEntity);
   }
 
   /**
-   * Saves entity state.
+   * Saves the audit record in the current flush and points the transaction to it.
    *
-   * <p>This method will be invoked when the transactionEntity is loaded and the transactionEntity is stored in a
-   * transient field. The stored value will be used in onPreUpdate method's setBefore method.</p>
+   * <p>In the asynchronous audit mode the record is appended to the outbox table and moved to the audit table by
+   * {@link TransactionAuditOutboxRelay} after the commit.</p>
    *
-   * @param transactionEntity the transaction entity being loaded
+   * @param transactionEntity the audited transaction entity
+   * @param transactionAuditEntity the audit record
    */
-  @PostLoad
-  public void saveState(TransactionEntity transactionEntity) {
-    transactionEntity.setSavedState(SerializationUtils.clone(transactionEntity));
+  private void saveAuditRecord(TransactionEntity transactionEntity, TransactionAuditEntity transactionAuditEntity) {
+    if (!transactionAuditProperties.isAsyncEnabled()) {
+      getEntityManager().persist(transactionAuditEntity);
+      transactionEntity.setLatestAuditId(transactionAuditEntity.getId());
+      transactionEntity.setLatestAuditCreatedDate(transactionAuditEntity.getCreatedDate());
+      return;
+    }
+
+    var outboxEntity = TransactionAuditOutboxEntity.of(transactionAuditEntity);
+    getEntityManager().persist(outboxEntity);
+    transactionEntity.setLatestAuditId(outboxEntity.getId());
+    transactionEntity.setLatestAuditCreatedDate(outboxEntity.getCreatedDate());
+    beanUtil.getBean(TransactionAuditOutboxRelay.class).scheduleRelay();
+  }
+
+  /**
+   * Gets the state of the transaction entity as it was loaded from the database or written by the last flush.
+   *
+   * <p>The state is built from the loaded state, that Hibernate keeps for dirty checking, so nothing is copied on
+   * entity load, and the copy is made only for the entity that is about to be updated.</p>
+   *
+   * @param transactionEntity the transaction entity being updated
+   * @return loaded state of the entity, or the state stored in the entity if Hibernate does not track it
+   */
+  private TransactionEntity getLoadedState(TransactionEntity transactionEntity) {
+    var session = getEntityManager().unwrap(SessionImplementor.class);
+    var entityEntry = session.getPersistenceContextInternal().getEntry(transactionEntity);
+    if (entityEntry == null || entityEntry.getLoadedState() == null) {
+      return transactionEntity.getSavedState();
+    }
+
+    var loadedState = new TransactionEntity();
+    entityEntry.getPersister().setValues(loadedState, entityEntry.getLoadedState());
+    loadedState.setId(transactionEntity.getId());
+    return loadedState;
+  }
+
+  /**
+   * Checks if the update can be audited as a patch to the previous audit record.
+   *
+   * <p>The previous audit record must be known and written in the current month, so the chain of patches never
+   * crosses a monthly partition of the audit table and stays resolvable after old partitions are archived.</p>
+   *
+   * @param transactionEntity the transaction entity being updated
+   * @return true if the update is audited as a patch
+   */
+  private boolean isDeltaApplicable(TransactionEntity transactionEntity) {
+    var savedState = transactionEntity.getSavedState();
+    if (!transactionAuditProperties.isDeltaEnabled() || savedState == null
+      || transactionEntity.getLatestAuditId() == null) {
+      return false;
+    }
+
+    var lastWriteDate = ObjectUtils.firstNonNull(savedState.getUpdatedDate(), savedState.getCreatedDate());
+    return lastWriteDate != null
+      && YearMonth.from(lastWriteDate.atZoneSameInstant(UTC)).equals(YearMonth.now(UTC));
   }
 
   /**
@@ -7,4 +7,14 @@ public interface CirculationRequestService {
   CirculationRequest getCancellationRequestIfOpenOrNull(String requestId);
 
   CirculationRequest fetchRequestById(String requestId);
+
+  /**
+   * Sets the verified DCB cancellation reason to the cancellation request, if the cached one is referenced by the
+   * error response of the request update.
+   *
+   * @param request - the cancellation request
+   * @param errorResponse - body of the 404 or 422 error response of the request update
+   * @return true if the cancellation reason is verified again, false otherwise
+   */
+  boolean reverifyCancellationReason(CirculationRequest request, String errorResponse);
 }
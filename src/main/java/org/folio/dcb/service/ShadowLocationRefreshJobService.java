@@ -0,0 +1,47 @@
+package org.folio.dcb.service;
+
+import java.util.UUID;
+import org.folio.dcb.domain.ResultList;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshBody;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJob;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJobStatus;
+import org.folio.spring.exception.NotFoundException;
+
+public interface ShadowLocationRefreshJobService {
+
+  /**
+   * Creates a shadow location refresh job of the current tenant and starts it in the background.
+   *
+   * @param requestBody the request body containing shadow location refresh details
+   * @return the created job
+   */
+  ShadowLocationRefreshJob startJob(ShadowLocationRefreshBody requestBody);
+
+  /**
+   * Retrieves a shadow location refresh job with its progress counters.
+   *
+   * @param id job identifier
+   * @return the job
+   * @throws NotFoundException when no job with the given id exists
+   */
+  ShadowLocationRefreshJob getJobById(UUID id);
+
+  /**
+   * Retrieves statuses of location units and locations processed by the job, in the order they were recorded.
+   *
+   * @param id job identifier
+   * @param limit maximum number of statuses to return
+   * @param offset zero-based offset into the statuses
+   * @return statuses and total number of statuses of the job
+   * @throws NotFoundException when no job with the given id exists
+   */
+  ResultList<ShadowLocationRefreshJobStatus> getJobStatuses(UUID id, int limit, int offset);
+
+  /**
+   * Resumes jobs of the current tenant, that are in progress, but have not progressed within the stale timeout, e.g.
+   * because the module instance running them was stopped.
+   *
+   * @return number of resumed jobs
+   */
+  int resumeStaleJobs();
+}
@@ -1,5 +1,8 @@
 package org.folio.dcb.service;
 
+import java.util.Set;
+import java.util.function.Consumer;
+import org.folio.dcb.domain.ShadowLocationAgencyResult;
 import org.folio.dcb.domain.dto.RefreshShadowLocationResponse;
 import org.folio.dcb.domain.dto.ShadowLocationRefreshBody;
 
@@ -11,4 +14,24 @@ public interface ShadowLocationService {
    * @return a response containing the result of the shadow location creation
    */
   RefreshShadowLocationResponse createShadowLocations(ShadowLocationRefreshBody requestBody);
+
+  /**
+   * Creates shadow locations of the agencies, that are not completed yet, and passes the result of each agency to the
+   * listener as soon as the agency is processed. Agencies are indexed in the order of their first occurrence in the
+   * request body, so indexes are the same for the same request body.
+   *
+   * @param requestBody the request body containing shadow location refresh details
+   * @param completedAgencies indexes of the agencies to skip
+   * @param agencyListener listener of agency results, called concurrently if agencies are processed in parallel
+   */
+  void createShadowLocations(ShadowLocationRefreshBody requestBody, Set<Integer> completedAgencies,
+    Consumer<ShadowLocationAgencyResult> agencyListener);
+
+  /**
+   * Counts agencies of shadow locations in the provided request body.
+   *
+   * @param requestBody the request body containing shadow location refresh details
+   * @return number of agencies
+   */
+  int countAgencies(ShadowLocationRefreshBody requestBody);
 }
@@ -0,0 +1,23 @@
+package org.folio.dcb.service;
+
+import java.util.List;
+import org.folio.dcb.domain.dto.TransactionAuditPartitionMaintenanceResponse;
+
+public interface TransactionAuditPartitionService {
+
+  /**
+   * Creates the monthly partitions of the transaction audit table for the current month and the configured number of
+   * months ahead, if they do not exist yet.
+   *
+   * @return names of the created partitions
+   */
+  List<String> createPartitions();
+
+  /**
+   * Creates the upcoming partitions and archives the partitions older than the retention period of the current
+   * tenant.
+   *
+   * @return created and archived partitions
+   */
+  TransactionAuditPartitionMaintenanceResponse maintainPartitions();
+}
@@ -22,8 +22,25 @@ public interface TransactionsService {
 
   TransactionStatusResponse getTransactionStatusById(String dcbTransactionId);
 
+  default TransactionStatusResponseCollection getTransactionStatusList(OffsetDateTime fromDate,
+    OffsetDateTime toDate, Integer pageNumber, Integer pageSize) {
+    return getTransactionStatusList(fromDate, toDate, pageNumber, pageSize, null, true);
+  }
+
+  /**
+   * Retrieves updates of transactions in the date range, ordered by the update date.
+   *
+   * @param fromDate - start of the date range
+   * @param toDate - end of the date range
+   * @param pageNumber - page number, ignored if the cursor is set
+   * @param pageSize - page size
+   * @param cursor - continuation token of the previous page, if set - the page is resolved with keyset pagination
+   * @param includeTotalRecords - defines if the total number of records in the date range is calculated, if null -
+   *                            it is calculated only for the first page, that is requested without the cursor
+   * @return page of the transaction statuses with the continuation token of the next page
+   */
   TransactionStatusResponseCollection getTransactionStatusList(OffsetDateTime fromDate, OffsetDateTime toDate,
-    Integer pageNumber, Integer pageSize);
+    Integer pageNumber, Integer pageSize, String cursor, Boolean includeTotalRecords);
 
   void updateTransactionDetails(String dcbTransactionId, DcbUpdateTransaction dcbUpdateTransaction);
 
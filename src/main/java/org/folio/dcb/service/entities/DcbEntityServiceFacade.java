@@ -1,19 +1,25 @@
 package org.folio.dcb.service.entities;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.dcb.config.DcbEntityCacheProperties;
 import org.folio.dcb.config.DcbFeatureProperties;
 import org.folio.dcb.domain.dto.ServicePointRequest;
 import org.folio.dcb.integration.circstorage.CancellationReasonClient.CancellationReason;
 import org.folio.dcb.integration.circstorage.model.LoanType;
 import org.folio.dcb.integration.invstorage.model.InventoryHolding;
 import org.folio.dcb.integration.invstorage.model.Location;
+import org.folio.spring.FolioExecutionContext;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DcbEntityServiceFacade {
 
   private final DcbHoldingService dcbHoldingService;
@@ -23,6 +29,28 @@ public class DcbEntityServiceFacade {
   private final DcbFeatureProperties dcbFeatureProperties;
   private final DcbServicePointService dcbServicePointService;
   private final DcbCancellationReasonService dcbCancellationReasonService;
+  private final DcbEntityCacheProperties dcbEntityCacheProperties;
+  private final FolioExecutionContext folioExecutionContext;
+  private final Cache<CacheKey, VerifiedEntity> verifiedEntities;
+
+  public DcbEntityServiceFacade(DcbHoldingService dcbHoldingService, DcbLoanTypeService dcbLoanTypeService,
+    DcbCalendarService dcbCalendarService, DcbLocationService dcbLocationService,
+    DcbFeatureProperties dcbFeatureProperties, DcbServicePointService dcbServicePointService,
+    DcbCancellationReasonService dcbCancellationReasonService, DcbEntityCacheProperties dcbEntityCacheProperties,
+    FolioExecutionContext folioExecutionContext) {
+    this.dcbHoldingService = dcbHoldingService;
+    this.dcbLoanTypeService = dcbLoanTypeService;
+    this.dcbCalendarService = dcbCalendarService;
+    this.dcbLocationService = dcbLocationService;
+    this.dcbFeatureProperties = dcbFeatureProperties;
+    this.dcbServicePointService = dcbServicePointService;
+    this.dcbCancellationReasonService = dcbCancellationReasonService;
+    this.dcbEntityCacheProperties = dcbEntityCacheProperties;
+    this.folioExecutionContext = folioExecutionContext;
+    this.verifiedEntities = Caffeine.newBuilder()
+      .expireAfterWrite(dcbEntityCacheProperties.getTtl())
+      .build();
+  }
 
   /**
    * Creates all DCB umbrella entities if they do not already exist.
@@ -41,6 +69,7 @@ public class DcbEntityServiceFacade {
    */
   public void createAll() {
     log.debug("createAll:: creating DCB umbrella entities if not exist");
+    invalidateVerifiedEntities();
     dcbLocationService.findOrCreateEntity();
     dcbHoldingService.findOrCreateEntity();
     dcbCancellationReasonService.findOrCreateEntity();
@@ -56,7 +85,9 @@ public class DcbEntityServiceFacade {
    */
   public InventoryHolding findOrCreateHolding() {
     return getOrCreateEntity(
+      "holding",
       dcbHoldingService::findOrCreateEntity,
+      InventoryHolding::getId,
       dcbHoldingService::getDefaultValue
     );
   }
@@ -68,7 +99,9 @@ public class DcbEntityServiceFacade {
    */
   public Location findOrCreateLocation() {
     return getOrCreateEntity(
+      "location",
       dcbLocationService::findOrCreateEntity,
+      Location::getId,
       dcbLocationService::getDefaultValue
     );
   }
@@ -80,7 +113,9 @@ public class DcbEntityServiceFacade {
    */
   public CancellationReason findOrCreateCancellationReason() {
     return getOrCreateEntity(
+      "cancellation-reason",
       dcbCancellationReasonService::findOrCreateEntity,
+      CancellationReason::getId,
       dcbCancellationReasonService::getDefaultValue
     );
   }
@@ -92,7 +127,9 @@ public class DcbEntityServiceFacade {
    */
   public LoanType findOrCreateLoanType() {
     return getOrCreateEntity(
+      "loan-type",
       dcbLoanTypeService::findOrCreateEntity,
+      LoanType::getId,
       dcbLoanTypeService::getDefaultValue
     );
   }
@@ -104,24 +141,80 @@ public class DcbEntityServiceFacade {
    */
   public ServicePointRequest findOrCreateServicePoint() {
     return getOrCreateEntity(
+      "service-point",
       dcbServicePointService::findOrCreateEntity,
+      ServicePointRequest::getId,
       dcbServicePointService::getDefaultValue
     );
   }
 
+  /**
+   * Removes DCB entities of the current tenant verified at runtime from the cache, so they are verified again on the
+   * next use.
+   *
+   * @return true if the tenant had verified entities in the cache, false otherwise
+   */
+  public boolean invalidateVerifiedEntities() {
+    return invalidateVerifiedEntities(entity -> true);
+  }
+
+  /**
+   * Removes DCB entities of the current tenant verified at runtime, whose identifiers are referenced by the error
+   * response, from the cache, so they are verified again on the next use. Callers invoke it when a request
+   * referencing DCB entities fails with 404 or 422, as the referenced entities may have been deleted.
+   *
+   * @param errorResponse - body of the error response
+   * @return true if the tenant had referenced entities in the cache, false otherwise
+   */
+  public boolean invalidateReferencedEntities(String errorResponse) {
+    if (StringUtils.isEmpty(errorResponse)) {
+      return false;
+    }
+    return invalidateVerifiedEntities(entity -> entity.id() != null && errorResponse.contains(entity.id()));
+  }
+
+  private boolean invalidateVerifiedEntities(Predicate<VerifiedEntity> entityFilter) {
+    var tenantId = folioExecutionContext.getTenantId();
+    var removed = verifiedEntities.asMap().entrySet().removeIf(entry ->
+      Objects.equals(entry.getKey().tenantId(), tenantId) && entityFilter.test(entry.getValue()));
+    if (removed) {
+      log.info("invalidateVerifiedEntities:: verified DCB entities of tenant {} will be verified again", tenantId);
+    }
+    return removed;
+  }
+
   /**
    * Generic method to retrieve or create an entity based on runtime verification settings.
    *
+   * <p>If the DCB entity cache is enabled, the verified entity is kept per tenant and verified again after the
+   * configured TTL.</p>
+   *
    * @param <T> - the type of entity to retrieve or create
+   * @param entityType - the type of entity, used as a cache key
    * @param valueSupplier - supplier that provides the actual entity
+   * @param idExtractor - function that provides the identifier of the entity
    * @param defaultValueSupplier - supplier that provides a default entity value
    * @return the entity from the - appropriate supplier based on runtime verification configuration
    */
-  private <T> T getOrCreateEntity(Supplier<T> valueSupplier, Supplier<T> defaultValueSupplier) {
-    if (dcbFeatureProperties.isDcbEntitiesRuntimeVerificationEnabled()) {
+  @SuppressWarnings("unchecked")
+  private <T> T getOrCreateEntity(String entityType, Supplier<T> valueSupplier, Function<T, String> idExtractor,
+    Supplier<T> defaultValueSupplier) {
+    if (!dcbFeatureProperties.isDcbEntitiesRuntimeVerificationEnabled()) {
+      return defaultValueSupplier.get();
+    }
+
+    if (!dcbEntityCacheProperties.isEnabled()) {
       return valueSupplier.get();
     }
 
-    return defaultValueSupplier.get();
+    var cacheKey = new CacheKey(folioExecutionContext.getTenantId(), entityType);
+    return (T) verifiedEntities.get(cacheKey, key -> {
+      var entity = valueSupplier.get();
+      return new VerifiedEntity(entity, idExtractor.apply(entity));
+    }).entity();
   }
+
+  private record CacheKey(String tenantId, String entityType) {}
+
+  private record VerifiedEntity(Object entity, String id) {}
 }
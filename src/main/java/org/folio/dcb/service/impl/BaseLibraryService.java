@@ -7,12 +7,18 @@ import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.ITEM_CHECKED
 import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.OPEN;
 import static org.folio.dcb.utils.DcbConstants.DCB_TYPE;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.BooleanUtils;
+import org.folio.dcb.config.TransactionRetryConfiguration;
 import org.folio.dcb.domain.dto.CirculationItem;
 import org.folio.dcb.domain.dto.CirculationRequest;
 import org.folio.dcb.domain.dto.DcbItem;
@@ -31,13 +37,19 @@ import org.folio.dcb.service.CirculationService;
 import org.folio.dcb.service.ItemService;
 import org.folio.dcb.service.RequestService;
 import org.folio.dcb.service.UserService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
 @Log4j2
 public class BaseLibraryService {
 
+  private static final String SUPPRESSED_TRANSITIONS_METRIC = "dcb.transaction.status.transitions.suppressed";
+  private static final String WRITE_CONFLICTS_METRIC = "dcb.transaction.write.conflicts";
+  private static final ThreadLocal<Boolean> DEFERRED_WRITES = ThreadLocal.withInitial(() -> false);
+
   private final TransactionRepository transactionRepository;
   private final CirculationService circulationService;
   private final CirculationItemService circulationItemService;
@@ -45,6 +57,8 @@ public class BaseLibraryService {
   private final RequestService requestService;
   private final TransactionMapper transactionMapper;
   private final ItemService itemService;
+  private final MeterRegistry meterRegistry;
+  private final TransactionRetryConfiguration transactionRetryConfiguration;
 
   public TransactionStatusResponse createBorrowingLibraryTransaction(String dcbTransactionId,
       DcbTransaction dcbTransaction, String pickupServicePointId) {
@@ -131,11 +145,6 @@ public class BaseLibraryService {
     }
   }
 
-  public void cancelTransactionEntity(TransactionEntity transactionEntity) {
-    log.info("cancelTransactionEntity:: Transaction {} cancelled.", transactionEntity.getId());
-    updateTransactionEntity(transactionEntity, CANCELLED);
-  }
-
   public void checkItemExistsInInventoryAndThrow(String itemBarcode) {
     if (itemService.fetchItemByBarcode(itemBarcode).getTotalRecords() != 0) {
       throw new ResourceAlreadyExistException("Unable to create item because it already exists in inventory.");
@@ -149,12 +158,142 @@ public class BaseLibraryService {
     }
   }
 
+  /**
+   * Executes the action with deferred transaction writes: status transitions of {@link #updateTransactionEntity} made
+   * by the action on the current thread are applied to the entities in memory only, and the caller writes them.
+   *
+   * @param action - action to execute
+   * @return result of the action
+   */
+  public <T> T executeWithDeferredWrites(Supplier<T> action) {
+    DEFERRED_WRITES.set(true);
+    try {
+      return action.get();
+    } finally {
+      DEFERRED_WRITES.remove();
+    }
+  }
+
+  /**
+   * Moves the transaction to the given status. If the transaction is already in this status, the transition is
+   * suppressed: neither the transaction nor its audit record is written. A write conflicting with a concurrent change
+   * of the transaction is retried with {@link #retryStatusTransition}, unless it is a part of an outer database
+   * transaction, which conflicts are detected on commit. Within {@link #executeWithDeferredWrites} only the status of
+   * the entity is changed.
+   *
+   * @param transactionEntity - transaction to update
+   * @param transactionStatusEnum - status to move the transaction to
+   */
   public void updateTransactionEntity(TransactionEntity transactionEntity,
       TransactionStatus.StatusEnum transactionStatusEnum) {
+    if (isNoOpTransition(transactionEntity, transactionStatusEnum)) {
+      return;
+    }
+
     log.debug("updateTransactionEntity:: updating transaction entity from {} to {}",
       transactionEntity.getStatus(), transactionStatusEnum);
+    var fromStatus = transactionEntity.getStatus();
     transactionEntity.setStatus(transactionStatusEnum);
-    transactionRepository.save(transactionEntity);
+    if (Boolean.TRUE.equals(DEFERRED_WRITES.get())) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      transactionRepository.save(transactionEntity);
+      return;
+    }
+
+    try {
+      transactionRepository.save(transactionEntity);
+    } catch (OptimisticLockingFailureException e) {
+      retryStatusTransition(transactionEntity.getId(), fromStatus, transactionStatusEnum, List.of(), e);
+    }
+  }
+
+  /**
+   * Applies a status transition, which write conflicted with a concurrent change of the transaction, to the current
+   * state of the transaction.
+   *
+   * <p>The transition is applied again only if the concurrent change kept the status the transition started from, and
+   * it is skipped if the transaction is already in the target status. Otherwise, or if the transition conflicts again
+   * more than {@code application.retry.transaction.max-retries} times, the conflict is rethrown.</p>
+   *
+   * @param transactionId - transaction identifier
+   * @param fromStatus - status the transition started from
+   * @param toStatus - status the transaction is moved to
+   * @param intermediateStatuses - statuses passed through by the transition, audited before the target one
+   * @param conflict - conflict of the transition write
+   */
+  public void retryStatusTransition(String transactionId, TransactionStatus.StatusEnum fromStatus,
+      TransactionStatus.StatusEnum toStatus, List<TransactionStatus.StatusEnum> intermediateStatuses,
+      OptimisticLockingFailureException conflict) {
+    var lastConflict = conflict;
+    for (var attempt = 1; attempt <= transactionRetryConfiguration.getMaxRetries(); attempt++) {
+      var transactionEntity = transactionRepository.findById(transactionId).orElseThrow(() -> conflict);
+      if (transactionEntity.getStatus() == toStatus) {
+        log.info("retryStatusTransition:: transaction {} is already moved to {} concurrently", transactionId, toStatus);
+        recordConflict("skipped");
+        return;
+      }
+      if (transactionEntity.getStatus() != fromStatus) {
+        log.warn("retryStatusTransition:: transaction {} is moved concurrently from {} to {}, transition to {} failed",
+          transactionId, fromStatus, transactionEntity.getStatus(), toStatus);
+        recordConflict("failed");
+        throw conflict;
+      }
+
+      log.info("retryStatusTransition:: applying transition of transaction {} from {} to {} again, attempt: {}",
+        transactionId, fromStatus, toStatus, attempt);
+      transactionEntity.setStatus(toStatus);
+      transactionEntity.getIntermediateStatuses().addAll(intermediateStatuses);
+      try {
+        transactionRepository.save(transactionEntity);
+        recordConflict("retried");
+        return;
+      } catch (OptimisticLockingFailureException e) {
+        lastConflict = e;
+      }
+    }
+
+    recordConflict("failed");
+    throw lastConflict;
+  }
+
+  private void recordConflict(String result) {
+    meterRegistry.counter(WRITE_CONFLICTS_METRIC, "result", result).increment();
+  }
+
+  /**
+   * Applies the given status transitions and stores all affected transactions in a single batch.
+   *
+   * @param statusesByTransaction - transactions with the statuses they are moved to, in the order of application
+   * @return saved transaction entities
+   */
+  public List<TransactionEntity> updateTransactionEntities(
+      Map<TransactionEntity, TransactionStatus.StatusEnum> statusesByTransaction) {
+    var changedTransactions = new ArrayList<TransactionEntity>();
+    statusesByTransaction.forEach((transactionEntity, status) -> {
+      if (!isNoOpTransition(transactionEntity, status)) {
+        transactionEntity.setStatus(status);
+        changedTransactions.add(transactionEntity);
+      }
+    });
+
+    if (changedTransactions.isEmpty()) {
+      return List.of();
+    }
+    log.debug("updateTransactionEntities:: updating {} transaction entities", changedTransactions.size());
+    return transactionRepository.saveAll(changedTransactions);
+  }
+
+  private boolean isNoOpTransition(TransactionEntity transactionEntity, TransactionStatus.StatusEnum status) {
+    if (transactionEntity.getStatus() != status) {
+      return false;
+    }
+
+    log.debug("isNoOpTransition:: transaction {} is already in status {}, skipping update",
+      transactionEntity.getId(), status);
+    meterRegistry.counter(SUPPRESSED_TRANSITIONS_METRIC, "status", String.valueOf(status)).increment();
+    return true;
   }
 
   public void updateTransactionDetails(TransactionEntity transactionEntity, DcbUpdateItem dcbUpdateItem) {
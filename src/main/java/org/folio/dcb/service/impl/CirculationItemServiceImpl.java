@@ -25,6 +25,7 @@ import org.folio.dcb.service.ItemService;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
 import org.folio.dcb.utils.CqlQuery;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 
 @Service
 @Log4j2
@@ -37,6 +38,7 @@ public class CirculationItemServiceImpl implements CirculationItemService {
   private final LocationUnitClient locationUnitClient;
   private final DcbFeatureProperties dcbFeatureProperties;
   private final DcbEntityServiceFacade dcbEntityService;
+  private final ShadowLocationCache shadowLocationCache;
 
   @Override
   public CirculationItem checkIfItemExistsAndCreate(DcbItem dcbItem, String pickupServicePointId) {
@@ -97,6 +99,20 @@ public class CirculationItemServiceImpl implements CirculationItemService {
   }
 
   private CirculationItem createCirculationItem(DcbItem item, String pickupServicePointId, String effectiveLocationId) {
+    try {
+      return createCirculationItemWithDcbEntities(item, pickupServicePointId, effectiveLocationId);
+    } catch (HttpClientErrorException.NotFound | HttpClientErrorException.UnprocessableContent e) {
+      if (!dcbEntityService.invalidateReferencedEntities(e.getResponseBodyAsString())) {
+        throw e;
+      }
+      log.warn("createCirculationItem:: Circulation item creation failed with cached DCB entities, "
+        + "retrying with verified ones: {}", e.getMessage());
+      return createCirculationItemWithDcbEntities(item, pickupServicePointId, fetchShadowLocationForItem(item));
+    }
+  }
+
+  private CirculationItem createCirculationItemWithDcbEntities(DcbItem item, String pickupServicePointId,
+    String effectiveLocationId) {
     var materialType = isBlank(item.getMaterialType()) ? MATERIAL_TYPE_NAME_BOOK : item.getMaterialType();
     var materialTypeId = itemService.fetchItemMaterialTypeIdByMaterialTypeName(materialType);
     var dcbHolding = dcbEntityService.findOrCreateHolding();
@@ -124,16 +140,20 @@ public class CirculationItemServiceImpl implements CirculationItemService {
       return Optional.empty();
     }
 
-    log.debug("tryFetchLocationIdByLocationCode:: Fetching shadow location id by location code: {}", locationCode);
+    return shadowLocationCache.findLocationIdByCode(locationCode, () -> fetchLocationIdByLocationCode(locationCode));
+  }
+
+  private Optional<String> fetchLocationIdByLocationCode(String locationCode) {
+    log.debug("fetchLocationIdByLocationCode:: Fetching shadow location id by location code: {}", locationCode);
     var query = CqlQuery.exactMatchByCode(locationCode).getQuery();
     var locationDtoResult = locationsClient.findLocationByQuery(query, true, 1, 0);
     if (locationDtoResult.getResult().isEmpty()) {
-      log.debug("tryFetchLocationIdByLocationCode:: No shadow location found for code: {}.", locationCode);
+      log.debug("fetchLocationIdByLocationCode:: No shadow location found for code: {}.", locationCode);
       return Optional.empty();
     }
 
     var locationDto = locationDtoResult.getResult().getFirst();
-    log.debug("tryFetchLocationIdByLocationCode:: "
+    log.debug("fetchLocationIdByLocationCode:: "
         + "Shadow location lookup is enabled. Found location for code: {} with id: {}",
       locationCode, locationDto.getId());
     return Optional.ofNullable(locationDto.getId());
@@ -147,8 +167,8 @@ public class CirculationItemServiceImpl implements CirculationItemService {
       return Optional.empty();
     }
 
-    return findLibraryLocationId(lendingLibraryCode)
-      .flatMap(this::findLocationCodeByLibraryId);
+    return shadowLocationCache.findLocationIdByLibraryCode(lendingLibraryCode,
+      () -> findLibraryLocationId(lendingLibraryCode).flatMap(this::findLocationCodeByLibraryId));
   }
 
   private Optional<String> findLibraryLocationId(String lendingLibraryCode) {
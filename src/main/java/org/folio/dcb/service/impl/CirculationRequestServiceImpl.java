@@ -46,4 +46,22 @@ public class CirculationRequestServiceImpl implements CirculationRequestService
     }
     return null;
   }
+
+  @Override
+  public boolean reverifyCancellationReason(CirculationRequest request, String errorResponse) {
+    if (!dcbEntityServiceFacade.invalidateReferencedEntities(errorResponse)) {
+      return false;
+    }
+
+    var cancellationReason = dcbEntityServiceFacade.findOrCreateCancellationReason();
+    var cancellationReasonId = UUID.fromString(cancellationReason.getId());
+    if (cancellationReasonId.equals(request.getCancellationReasonId())) {
+      return false;
+    }
+
+    log.info("reverifyCancellationReason:: cancellation reason of request {} is verified again: {}",
+      request.getId(), cancellationReasonId);
+    request.setCancellationReasonId(cancellationReasonId);
+    return true;
+  }
 }
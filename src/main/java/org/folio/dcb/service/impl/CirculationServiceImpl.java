@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.folio.dcb.domain.dto.CheckInRequest;
 import org.folio.dcb.domain.dto.CheckOutRequest;
+import org.folio.dcb.domain.dto.CirculationRequest;
 import org.folio.dcb.domain.dto.ClaimedReturnedResolution;
 import org.folio.dcb.domain.entity.TransactionEntity;
 import org.folio.dcb.exception.CirculationRequestException;
@@ -62,7 +63,7 @@ public class CirculationServiceImpl implements CirculationService {
         if (isItemUnavailableCancellation) {
           request.setIsDcbReRequestCancellation(true);
         }
-        circulationClient.updateRequest(request.getId(), request);
+        updateCancellationRequest(request);
       } catch (HttpClientErrorException e) {
         log.warn("cancelRequest:: error cancelling request using request id {} ", requestId, e);
         throw new CirculationRequestException(String.format("Error cancelling request using request id %s", requestId));
@@ -70,6 +71,19 @@ public class CirculationServiceImpl implements CirculationService {
     }
   }
 
+  private void updateCancellationRequest(CirculationRequest request) {
+    try {
+      circulationClient.updateRequest(request.getId(), request);
+    } catch (HttpClientErrorException.NotFound | HttpClientErrorException.UnprocessableContent e) {
+      if (!circulationStorageService.reverifyCancellationReason(request, e.getResponseBodyAsString())) {
+        throw e;
+      }
+      log.warn("updateCancellationRequest:: Request cancellation failed with cached DCB cancellation reason, "
+        + "retrying with verified one: {}", e.getMessage());
+      circulationClient.updateRequest(request.getId(), request);
+    }
+  }
+
   private CheckInRequest createCheckInRequest(String itemBarcode, String servicePointId) {
     return createCheckInRequest(itemBarcode, servicePointId, null);
   }
@@ -2,6 +2,8 @@ package org.folio.dcb.service.impl;
 
 import lombok.extern.log4j.Log4j2;
 import org.folio.dcb.integration.kafka.KafkaService;
+import org.folio.dcb.service.ShadowLocationRefreshJobService;
+import org.folio.dcb.service.TransactionAuditPartitionService;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
 import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.liquibase.FolioSpringLiquibase;
@@ -22,16 +24,27 @@ public class CustomTenantService extends TenantService {
   private final KafkaService kafkaService;
   private final DcbEntityServiceFacade dcbEntityServiceFacade;
   private final PrepareSystemUserService prepareSystemUserService;
+  private final OpenTransactionIndex openTransactionIndex;
+  private final TransactionAuditPartitionService transactionAuditPartitionService;
+  private final TransactionAuditOutboxRelay transactionAuditOutboxRelay;
+  private final ShadowLocationRefreshJobService shadowLocationRefreshJobService;
 
   public CustomTenantService(JdbcTemplate jdbcTemplate, FolioExecutionContext context,
     FolioSpringLiquibase folioSpringLiquibase, PrepareSystemUserService prepareSystemUserService,
-    KafkaService kafkaService, DcbEntityServiceFacade dcbEntityServiceFacade) {
+    KafkaService kafkaService, DcbEntityServiceFacade dcbEntityServiceFacade,
+    OpenTransactionIndex openTransactionIndex, TransactionAuditPartitionService transactionAuditPartitionService,
+    TransactionAuditOutboxRelay transactionAuditOutboxRelay,
+    ShadowLocationRefreshJobService shadowLocationRefreshJobService) {
 
     super(jdbcTemplate, context, folioSpringLiquibase);
 
     this.prepareSystemUserService = prepareSystemUserService;
     this.kafkaService = kafkaService;
     this.dcbEntityServiceFacade = dcbEntityServiceFacade;
+    this.openTransactionIndex = openTransactionIndex;
+    this.transactionAuditPartitionService = transactionAuditPartitionService;
+    this.transactionAuditOutboxRelay = transactionAuditOutboxRelay;
+    this.shadowLocationRefreshJobService = shadowLocationRefreshJobService;
   }
 
   @Override
@@ -40,5 +53,48 @@ public class CustomTenantService extends TenantService {
     prepareSystemUserService.setupSystemUser();
     kafkaService.restartEventListeners();
     dcbEntityServiceFacade.createAll();
+    loadOpenTransactionIndex();
+    createTransactionAuditPartitions();
+    relayTransactionAuditOutbox();
+    resumeShadowLocationRefreshJobs();
+  }
+
+  private void loadOpenTransactionIndex() {
+    if (!openTransactionIndex.isEnabled()) {
+      return;
+    }
+
+    try {
+      openTransactionIndex.load(context.getTenantId());
+    } catch (Exception e) {
+      log.warn("loadOpenTransactionIndex:: Failed to load open transaction index, it will be loaded on demand", e);
+    }
+  }
+
+  private void createTransactionAuditPartitions() {
+    try {
+      transactionAuditPartitionService.createPartitions();
+    } catch (Exception e) {
+      log.warn("createTransactionAuditPartitions:: Failed to create transaction audit partitions, "
+        + "they will be created by the maintenance timer", e);
+    }
+  }
+
+  private void relayTransactionAuditOutbox() {
+    try {
+      transactionAuditOutboxRelay.relay();
+    } catch (Exception e) {
+      log.warn("relayTransactionAuditOutbox:: Failed to move transaction audit records from outbox, "
+        + "they will be moved by the next audited write", e);
+    }
+  }
+
+  private void resumeShadowLocationRefreshJobs() {
+    try {
+      shadowLocationRefreshJobService.resumeStaleJobs();
+    } catch (Exception e) {
+      log.warn("resumeShadowLocationRefreshJobs:: Failed to resume shadow location refresh jobs, "
+        + "they will be resumed by the resume timer", e);
+    }
   }
 }
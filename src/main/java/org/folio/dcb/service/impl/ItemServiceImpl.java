@@ -1,5 +1,6 @@
 package org.folio.dcb.service.impl;
 
+import static org.folio.dcb.service.impl.ReferenceDataCache.MATERIAL_TYPES;
 import static org.folio.dcb.utils.CqlQuery.exactMatchById;
 import static org.folio.dcb.utils.CqlQuery.exactMatchByName;
 
@@ -28,15 +29,17 @@ public class ItemServiceImpl implements ItemService {
 
   private final InventoryItemStorageClient inventoryItemStorageClient;
   private final MaterialTypeClient materialTypeClient;
+  private final ReferenceDataCache referenceDataCache;
 
   @Override
   public String fetchItemMaterialTypeIdByMaterialTypeName(String name) {
     log.debug("fetchItemMaterialTypeIdByMaterialTypeName:: Fetching ItemMaterialTypeId by: {}", name);
-    return materialTypeClient.fetchMaterialTypeByQuery(exactMatchByName(name).getQuery())
-      .getMtypes()
-      .stream()
-      .findFirst()
-      .map(MaterialType::getId)
+    return referenceDataCache.get(MATERIAL_TYPES, name, () ->
+        materialTypeClient.fetchMaterialTypeByQuery(exactMatchByName(name).getQuery())
+          .getMtypes()
+          .stream()
+          .findFirst()
+          .map(MaterialType::getId))
       .orElseThrow(() -> new NotFoundException(String.format("MaterialType not found with name %s ", name)));
   }
 
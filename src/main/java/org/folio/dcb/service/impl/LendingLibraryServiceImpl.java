@@ -13,7 +13,6 @@ import org.folio.dcb.domain.dto.DcbTransaction;
 import org.folio.dcb.domain.dto.TransactionStatus;
 import org.folio.dcb.domain.dto.TransactionStatusResponse;
 import org.folio.dcb.domain.entity.TransactionEntity;
-import org.folio.dcb.repository.TransactionRepository;
 import org.folio.dcb.service.CirculationService;
 import org.folio.dcb.service.LibraryService;
 import org.folio.dcb.service.RequestService;
@@ -28,7 +27,6 @@ public class LendingLibraryServiceImpl implements LibraryService {
 
   private final UserService userService;
   private final RequestService requestService;
-  private final TransactionRepository transactionRepository;
   private final CirculationService circulationService;
   private final BaseLibraryService baseLibraryService;
   private final ServicePointService servicePointService;
@@ -62,17 +60,17 @@ public class LendingLibraryServiceImpl implements LibraryService {
     var currentStatus = dcbTransaction.getStatus();
     var requestedStatus = transactionStatus.getStatus();
     if (CREATED == currentStatus && OPEN == requestedStatus) {
-      updateTransactionEntity(dcbTransaction, requestedStatus);
+      baseLibraryService.updateTransactionEntity(dcbTransaction, requestedStatus);
     } else if (OPEN == currentStatus && AWAITING_PICKUP == requestedStatus) {
       log.info("updateTransactionStatus:: Checking in item for transaction {}.", dcbTransaction.getId());
       circulationService.checkInByBarcode(dcbTransaction);
-      updateTransactionEntity(dcbTransaction, requestedStatus);
+      baseLibraryService.updateTransactionEntity(dcbTransaction, requestedStatus);
     } else if (AWAITING_PICKUP == currentStatus && ITEM_CHECKED_OUT == requestedStatus) {
       log.info("updateTransactionStatus:: Checking out item for transaction {}.", dcbTransaction.getId());
       circulationService.checkOutByBarcode(dcbTransaction);
-      updateTransactionEntity(dcbTransaction, requestedStatus);
+      baseLibraryService.updateTransactionEntity(dcbTransaction, requestedStatus);
     } else if (ITEM_CHECKED_OUT == currentStatus && ITEM_CHECKED_IN == requestedStatus) {
-      updateTransactionEntity(dcbTransaction, requestedStatus);
+      baseLibraryService.updateTransactionEntity(dcbTransaction, requestedStatus);
     } else if (CANCELLED == requestedStatus) {
       log.info("updateTransactionStatus:: Cancelling transaction with id: {} for Lender role", dcbTransaction.getId());
       baseLibraryService.cancelTransactionRequest(dcbTransaction);
@@ -83,10 +81,4 @@ public class LendingLibraryServiceImpl implements LibraryService {
       throw new IllegalArgumentException(errorMessage);
     }
   }
-
-  private void updateTransactionEntity(TransactionEntity entity, TransactionStatus.StatusEnum status) {
-    log.info("updateTransactionEntity:: updating transaction entity from {} to {}", entity.getStatus(), status);
-    entity.setStatus(status);
-    transactionRepository.save(entity);
-  }
 }
@@ -0,0 +1,372 @@
+package org.folio.dcb.service.impl;
+
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.CANCELLED;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.CLOSED;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.ERROR;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.TransactionIndexProperties;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.repository.TransactionRepository.TransactionKeys;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-tenant in-memory index of item and request identifiers that belong to transactions in a non-terminal status.
+ *
+ * <p>Circulation events are checked against the index before the transaction lookup, so events for items and
+ * requests that never took part in DCB are skipped without a database round trip and a system user context switch.
+ * The index of a tenant is loaded on tenant initialization, kept current by committed transaction writes of this
+ * module instance and fully reloaded after {@code application.transaction-index.refresh-interval}. Lookups never wait
+ * for a load: the index is loaded on a background thread, and lookups of a tenant without a loaded index report a
+ * possible match.</p>
+ *
+ * <p>The index may contain identifiers of already closed transactions (e.g. item id replaced by a transaction
+ * update), but never misses an open one known to the instance. Transactions written by other instances are picked up
+ * by a catch-up on a miss: only transactions updated since the last synchronization (minus
+ * {@code application.transaction-index.catch-up-overlap} for writes committed later than their update date) are read
+ * from the database, and a miss is reported only if the index was synchronized after the lookup started. Concurrent
+ * misses of a tenant share a single catch-up.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class OpenTransactionIndex {
+
+  private static final String LOOKUPS_METRIC = "dcb.transaction.index.lookups";
+  private static final String SIZE_METRIC = "dcb.transaction.index.size";
+  private static final String ITEM_KEY = "item";
+  private static final String REQUEST_KEY = "request";
+  private static final Set<StatusEnum> TERMINAL_STATUSES = EnumSet.of(CLOSED, CANCELLED, ERROR);
+
+  private final TransactionIndexProperties properties;
+  private final TransactionRepository transactionRepository;
+  private final SystemUserScopedExecutionService systemUserScopedExecutionService;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, TenantIndexHolder> tenantIndexes = new ConcurrentHashMap<>();
+  private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor(
+    Thread.ofPlatform().name("dcb-transaction-index-loader").daemon().factory());
+
+  @PreDestroy
+  public void stop() {
+    loadExecutor.shutdownNow();
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Loads the index of open transactions for a tenant. Must be called within the tenant execution context.
+   *
+   * @param tenantId - tenant identifier
+   */
+  public void load(String tenantId) {
+    if (isEnabled()) {
+      reload(tenantId, getHolder(tenantId));
+    }
+  }
+
+  /**
+   * Checks if an open transaction may exist for the given item.
+   *
+   * @param tenantId - tenant identifier
+   * @param itemId - item identifier
+   * @return false if there is definitely no open transaction for the item, true otherwise
+   */
+  public boolean mayContainItem(String tenantId, String itemId) {
+    return mayContain(tenantId, itemId, ITEM_KEY, TenantIndex::itemTransactions);
+  }
+
+  /**
+   * Checks if an open transaction may exist for the given request.
+   *
+   * @param tenantId - tenant identifier
+   * @param requestId - circulation request identifier
+   * @return false if there is definitely no open transaction for the request, true otherwise
+   */
+  public boolean mayContainRequest(String tenantId, String requestId) {
+    return mayContain(tenantId, requestId, REQUEST_KEY, TenantIndex::requestTransactions);
+  }
+
+  /**
+   * Applies the saved state of a transaction to the index of the tenant.
+   *
+   * @param tenantId - tenant identifier
+   * @param transaction - saved transaction entity
+   */
+  public void track(String tenantId, TransactionEntity transaction) {
+    if (!isEnabled() || tenantId == null || transaction == null || transaction.getId() == null) {
+      return;
+    }
+
+    var trackedTransaction = new TrackedTransaction(transaction.getId(), toUuid(transaction.getItemId()),
+      toUuid(Objects.toString(transaction.getRequestId(), null)), isOpen(transaction.getStatus()));
+    tenantIndexes.computeIfAbsent(tenantId, this::createHolder).track(trackedTransaction);
+  }
+
+  private boolean mayContain(String tenantId, String id, String key,
+    Function<TenantIndex, Map<UUID, Set<String>>> indexExtractor) {
+    if (!isEnabled() || tenantId == null) {
+      return true;
+    }
+
+    var lookupStartedAt = Instant.now();
+    var uuid = toUuid(id);
+    var index = uuid != null ? getIndex(tenantId) : null;
+    if (index == null) {
+      return true;
+    }
+
+    var result = indexExtractor.apply(index).containsKey(uuid);
+    if (!result) {
+      var holder = getHolder(tenantId);
+      if (!catchUp(tenantId, holder, lookupStartedAt)) {
+        return true;
+      }
+      result = indexExtractor.apply(holder.index).containsKey(uuid);
+    }
+
+    meterRegistry.counter(LOOKUPS_METRIC, "tenant", tenantId, "key", key, "result", result ? "hit" : "miss")
+      .increment();
+    return result;
+  }
+
+  /**
+   * Reads transactions written since the last synchronization of the index, unless the index was already
+   * synchronized after the lookup started (e.g. by the catch-up of a concurrent miss).
+   *
+   * @return true if the index contains all transactions committed before the lookup started, false otherwise
+   */
+  private boolean catchUp(String tenantId, TenantIndexHolder holder, Instant lookupStartedAt) {
+    if (holder.isSyncedAfter(lookupStartedAt)) {
+      return true;
+    }
+
+    synchronized (holder.catchUpLock) {
+      if (holder.isSyncedAfter(lookupStartedAt)) {
+        return true;
+      }
+
+      try {
+        var syncStartedAt = Instant.now();
+        var updatedSince = holder.syncedAt.minus(properties.getCatchUpOverlap());
+        var transactionKeys = systemUserScopedExecutionService.executeSystemUserScoped(tenantId,
+          () -> transactionRepository.findTransactionKeysUpdatedSince(
+            OffsetDateTime.ofInstant(updatedSince, ZoneOffset.UTC)));
+        transactionKeys.forEach(keys -> holder.track(toTrackedTransaction(keys)));
+        holder.synced(syncStartedAt);
+        log.debug("catchUp:: Open transaction index caught up for tenant: {}, transactions: {}",
+          tenantId, transactionKeys.size());
+        return true;
+      } catch (Exception e) {
+        log.warn("catchUp:: Failed to catch up open transaction index for tenant: {}", tenantId, e);
+        return false;
+      }
+    }
+  }
+
+  private TenantIndex getIndex(String tenantId) {
+    var holder = getHolder(tenantId);
+    var index = holder.index;
+    if (index == null || index.loadedAt().plus(properties.getRefreshInterval()).isBefore(Instant.now())) {
+      scheduleReload(tenantId, holder);
+    }
+    return index;
+  }
+
+  private void scheduleReload(String tenantId, TenantIndexHolder holder) {
+    if (!holder.reloadScheduled.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      loadExecutor.execute(() -> {
+        try {
+          systemUserScopedExecutionService.executeSystemUserScoped(tenantId, () -> reload(tenantId, holder));
+        } catch (Exception e) {
+          log.warn("scheduleReload:: Failed to load open transaction index for tenant: {}", tenantId, e);
+        } finally {
+          holder.reloadScheduled.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      holder.reloadScheduled.set(false);
+      log.debug("scheduleReload:: Open transaction index loader is stopped, tenant: {}", tenantId);
+    }
+  }
+
+  private TenantIndex reload(String tenantId, TenantIndexHolder holder) {
+    if (!holder.reloading.compareAndSet(false, true)) {
+      log.debug("reload:: Open transaction index is being reloaded for tenant: {}", tenantId);
+      return holder.index;
+    }
+
+    try {
+      holder.startReload();
+      var loadedAt = Instant.now();
+      var transactionKeys = transactionRepository.findOpenTransactionKeys();
+      var index = holder.completeReload(transactionKeys, loadedAt);
+      log.info("reload:: Open transaction index loaded for tenant: {}, transactions: {}",
+        tenantId, transactionKeys.size());
+      return index;
+    } catch (RuntimeException e) {
+      holder.cancelReload();
+      throw e;
+    } finally {
+      holder.reloading.set(false);
+    }
+  }
+
+  private TenantIndexHolder getHolder(String tenantId) {
+    return tenantIndexes.computeIfAbsent(tenantId, this::createHolder);
+  }
+
+  private TenantIndexHolder createHolder(String tenantId) {
+    var holder = new TenantIndexHolder();
+    Gauge.builder(SIZE_METRIC, holder, value -> value.size(TenantIndex::itemTransactions))
+      .tag("tenant", tenantId).tag("key", ITEM_KEY).register(meterRegistry);
+    Gauge.builder(SIZE_METRIC, holder, value -> value.size(TenantIndex::requestTransactions))
+      .tag("tenant", tenantId).tag("key", REQUEST_KEY).register(meterRegistry);
+    return holder;
+  }
+
+  private static boolean isOpen(StatusEnum status) {
+    return !TERMINAL_STATUSES.contains(status);
+  }
+
+  private static TrackedTransaction toTrackedTransaction(TransactionKeys keys) {
+    return new TrackedTransaction(keys.getId(), toUuid(keys.getItemId()), toUuid(keys.getRequestId()),
+      !Boolean.FALSE.equals(keys.getOpen()));
+  }
+
+  private static UUID toUuid(String value) {
+    try {
+      return value != null ? UUID.fromString(value) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Holds the current index of a tenant. Transactions tracked before the first load or while the index is being
+   * reloaded are replayed on top of the loaded snapshot, so writes that are not committed yet are not lost.
+   */
+  private static final class TenantIndexHolder {
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    private final Object catchUpLock = new Object();
+    private volatile TenantIndex index;
+    private volatile Instant syncedAt;
+    private List<TrackedTransaction> trackedDuringReload = new ArrayList<>();
+
+    synchronized void track(TrackedTransaction transaction) {
+      if (index != null) {
+        index.apply(transaction);
+      }
+      if (trackedDuringReload != null) {
+        trackedDuringReload.add(transaction);
+      }
+    }
+
+    synchronized void startReload() {
+      if (trackedDuringReload == null) {
+        trackedDuringReload = new ArrayList<>();
+      }
+    }
+
+    synchronized void cancelReload() {
+      if (index != null) {
+        trackedDuringReload = null;
+      }
+    }
+
+    synchronized TenantIndex completeReload(List<TransactionKeys> transactionKeys, Instant loadedAt) {
+      var loadedIndex = new TenantIndex(loadedAt);
+      transactionKeys.forEach(keys -> loadedIndex.apply(toTrackedTransaction(keys)));
+      trackedDuringReload.forEach(loadedIndex::apply);
+      trackedDuringReload = null;
+      index = loadedIndex;
+      synced(loadedAt);
+      return loadedIndex;
+    }
+
+    synchronized void synced(Instant syncStartedAt) {
+      if (syncedAt == null || syncStartedAt.isAfter(syncedAt)) {
+        syncedAt = syncStartedAt;
+      }
+    }
+
+    boolean isSyncedAfter(Instant instant) {
+      var currentSyncedAt = syncedAt;
+      return currentSyncedAt != null && currentSyncedAt.isAfter(instant);
+    }
+
+    double size(Function<TenantIndex, Map<UUID, Set<String>>> indexExtractor) {
+      var currentIndex = index;
+      return currentIndex != null ? indexExtractor.apply(currentIndex).size() : 0;
+    }
+  }
+
+  private record TenantIndex(Instant loadedAt, Map<String, TrackedTransaction> transactions,
+    Map<UUID, Set<String>> itemTransactions, Map<UUID, Set<String>> requestTransactions) {
+
+    TenantIndex(Instant loadedAt) {
+      this(loadedAt, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    void apply(TrackedTransaction transaction) {
+      var previous = transaction.open()
+        ? transactions.put(transaction.id(), transaction)
+        : transactions.remove(transaction.id());
+      if (previous != null) {
+        remove(itemTransactions, previous.itemId(), previous.id());
+        remove(requestTransactions, previous.requestId(), previous.id());
+      }
+      if (transaction.open()) {
+        add(itemTransactions, transaction.itemId(), transaction.id());
+        add(requestTransactions, transaction.requestId(), transaction.id());
+      }
+    }
+
+    private static void add(Map<UUID, Set<String>> index, UUID key, String transactionId) {
+      if (key != null) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(transactionId);
+      }
+    }
+
+    private static void remove(Map<UUID, Set<String>> index, UUID key, String transactionId) {
+      if (key != null) {
+        index.computeIfPresent(key, (k, transactionIds) -> {
+          transactionIds.remove(transactionId);
+          return transactionIds.isEmpty() ? null : transactionIds;
+        });
+      }
+    }
+  }
+
+  private record TrackedTransaction(String id, UUID itemId, UUID requestId, boolean open) {}
+}
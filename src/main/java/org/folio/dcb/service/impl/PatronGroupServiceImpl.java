@@ -1,5 +1,6 @@
 package org.folio.dcb.service.impl;
 
+import static org.folio.dcb.service.impl.ReferenceDataCache.PATRON_GROUPS;
 import static org.folio.dcb.utils.CqlQuery.exactMatch;
 
 import java.util.Objects;
@@ -17,16 +18,18 @@ import org.springframework.stereotype.Service;
 public class PatronGroupServiceImpl implements PatronGroupService {
 
   private final GroupClient groupClient;
+  private final ReferenceDataCache referenceDataCache;
 
   @Override
   public String fetchPatronGroupIdByName(String groupName) {
     log.debug("fetchPatronGroupIdByName:: Fetching patron group details with groupName {} ", groupName);
-    return groupClient.fetchGroupByName(exactMatch("group", groupName).getQuery())
-      .getUsergroups()
-      .stream()
-      .filter(group -> Objects.equals(group.getGroup(), groupName))
-      .findFirst()
-      .map(UserGroup::getId)
+    return referenceDataCache.get(PATRON_GROUPS, groupName, () ->
+        groupClient.fetchGroupByName(exactMatch("group", groupName).getQuery())
+          .getUsergroups()
+          .stream()
+          .filter(group -> Objects.equals(group.getGroup(), groupName))
+          .findFirst()
+          .map(UserGroup::getId))
       .orElseThrow(() -> new NotFoundException(String.format("Patron group not found with name %s ", groupName)));
   }
 }
@@ -0,0 +1,174 @@
+package org.folio.dcb.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.ProcessedEventLedgerProperties;
+import org.folio.dcb.repository.ProcessedEventRepository;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-tenant ledger of processed circulation events, used to skip events re-delivered by Kafka (e.g. after a
+ * consumer group rebalance) before the transaction is loaded and updated again.
+ *
+ * <p>Events are identified by their topic, partition and offset. An event is recorded in the {@code processed_event}
+ * table of the tenant with {@code INSERT ... ON CONFLICT DO NOTHING} in the same database transaction as its
+ * processing, so the record and the status update are committed or rolled back together, and a duplicate is detected
+ * by the insert itself without a separate lookup. Committed events are also kept in a bounded in-memory LRU set, so a
+ * recent duplicate is skipped without a database round trip. Records older than
+ * {@code application.processed-event-ledger.ttl} are removed periodically.</p>
+ *
+ * <p>Must be called within the tenant execution context.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ProcessedEventLedger {
+
+  private static final String LOOKUPS_METRIC = "dcb.processed-event.ledger.lookups";
+
+  private final ProcessedEventLedgerProperties properties;
+  private final ProcessedEventRepository processedEventRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Set<String>> recentEvents = new ConcurrentHashMap<>();
+  private final Map<String, Instant> lastCleanups = new ConcurrentHashMap<>();
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /**
+   * Resolves the ledger key of a consumed event.
+   *
+   * @param messageHeaders - headers of the consumed event
+   * @return event key as {@code <topic>-<partition>-<offset>}, or null if the event position is unknown
+   */
+  public static String getEventKey(MessageHeaders messageHeaders) {
+    var topic = messageHeaders.get(KafkaHeaders.RECEIVED_TOPIC);
+    var partition = messageHeaders.get(KafkaHeaders.RECEIVED_PARTITION);
+    var offset = messageHeaders.get(KafkaHeaders.OFFSET);
+    return topic == null || partition == null || offset == null ? null : topic + "-" + partition + "-" + offset;
+  }
+
+  /**
+   * Wraps event processing action: the action is skipped if the event is already processed, otherwise the event is
+   * recorded as processed and the action is executed in one database transaction.
+   *
+   * @param tenantId - tenant identifier
+   * @param eventKey - event key, if null - the event is processed without deduplication
+   * @param action - event processing action
+   * @return action with the deduplication
+   */
+  public Runnable skipProcessed(String tenantId, String eventKey, Runnable action) {
+    if (!isEnabled() || tenantId == null || eventKey == null) {
+      return action;
+    }
+
+    return () -> {
+      if (isProcessed(tenantId, eventKey)) {
+        log.info("skipProcessed:: Event is already processed, skipping it [tenant: {}, key: {}]", tenantId, eventKey);
+        return;
+      }
+
+      transactionTemplate.executeWithoutResult(transactionStatus -> {
+        if (markProcessed(tenantId, eventKey)) {
+          action.run();
+        } else {
+          log.info("skipProcessed:: Event is already recorded, skipping it [tenant: {}, key: {}]", tenantId, eventKey);
+        }
+      });
+      cleanupIfNeeded(tenantId);
+    };
+  }
+
+  /**
+   * Checks if the event is recently processed by this module instance, without a database lookup.
+   *
+   * @param tenantId - tenant identifier
+   * @param eventKey - event key
+   * @return true if the event is found in the in-memory set of processed events
+   */
+  public boolean isProcessed(String tenantId, String eventKey) {
+    if (getRecentEvents(tenantId).contains(eventKey)) {
+      countLookup(tenantId, "cache");
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Records the event as processed, if it is not recorded yet. Must be called in the database transaction of the
+   * event processing, the event is added to the in-memory set after the transaction is committed.
+   *
+   * @param tenantId - tenant identifier
+   * @param eventKey - event key
+   * @return true if the event is recorded, false if it is already processed
+   */
+  public boolean markProcessed(String tenantId, String eventKey) {
+    var processedDate = OffsetDateTime.now(ZoneOffset.UTC);
+    if (processedEventRepository.insertIfAbsent(eventKey, processedDate) == 0) {
+      countLookup(tenantId, "database");
+      return false;
+    }
+
+    countLookup(tenantId, "miss");
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          getRecentEvents(tenantId).add(eventKey);
+        }
+      });
+    } else {
+      getRecentEvents(tenantId).add(eventKey);
+    }
+    return true;
+  }
+
+  /**
+   * Removes expired records of the tenant, if the cleanup interval has passed since the previous removal. Must be
+   * called outside the event processing transaction.
+   *
+   * @param tenantId - tenant identifier
+   */
+  public void cleanupIfNeeded(String tenantId) {
+    var now = Instant.now();
+    var lastCleanup = lastCleanups.putIfAbsent(tenantId, now);
+    if (lastCleanup == null || lastCleanup.plus(properties.getCleanupInterval()).isAfter(now)
+      || !lastCleanups.replace(tenantId, lastCleanup, now)) {
+      return;
+    }
+
+    var expirationDate = OffsetDateTime.ofInstant(now.minus(properties.getTtl()), ZoneOffset.UTC);
+    var removedEvents = processedEventRepository.deleteProcessedBefore(expirationDate);
+    log.debug("cleanupIfNeeded:: Removed {} expired processed event(s) for tenant: {}", removedEvents, tenantId);
+  }
+
+  private Set<String> getRecentEvents(String tenantId) {
+    return recentEvents.computeIfAbsent(tenantId, id -> Collections.synchronizedSet(
+      Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+          return size() > properties.getCacheSize();
+        }
+      })));
+  }
+
+  private void countLookup(String tenantId, String result) {
+    meterRegistry.counter(LOOKUPS_METRIC, "tenant", tenantId, "result", result).increment();
+  }
+}
@@ -0,0 +1,86 @@
+package org.folio.dcb.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.ReferenceDataCacheProperties;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-tenant cache of reference data fetched from other modules: material types, patron groups and loan policies.
+ *
+ * <p>A record is fetched again after {@code application.reference-data-cache.ttl}, a record that was not found after
+ * {@code negative-ttl}. Concurrent lookups of the same missing record wait for a single fetch. Caches are bounded by
+ * {@code max-size} records for all tenants and are invalidated per tenant by the admin API, in this module instance
+ * only.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+  public static final String MATERIAL_TYPES = "material-types";
+  public static final String PATRON_GROUPS = "patron-groups";
+  public static final String LOAN_POLICIES = "loan-policies";
+
+  private static final String LOOKUPS_METRIC = "dcb.reference-data.cache.lookups";
+
+  private final ReferenceDataCacheProperties properties;
+  private final FolioExecutionContext folioExecutionContext;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Cache<CacheKey, Optional<Object>>> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Gets a reference data record of the current tenant from the cache, or fetches it with the given loader.
+   *
+   * @param cacheName - name of the reference data cache
+   * @param key - key of the record, e.g. name or identifier
+   * @param loader - fetches the record, returns empty result if the record does not exist
+   * @return the cached or fetched record, empty if the record does not exist
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> get(String cacheName, String key, Supplier<Optional<T>> loader) {
+    if (!properties.isEnabled()) {
+      return loader.get();
+    }
+
+    var tenantId = folioExecutionContext.getTenantId();
+    var loaded = new boolean[1];
+    var value = getCache(cacheName).get(new CacheKey(tenantId, key), cacheKey -> {
+      loaded[0] = true;
+      return (Optional<Object>) loader.get();
+    });
+    meterRegistry.counter(LOOKUPS_METRIC, "cache", cacheName, "tenant", String.valueOf(tenantId),
+      "result", loaded[0] ? "miss" : "hit").increment();
+    return (Optional<T>) value;
+  }
+
+  /**
+   * Removes all cached reference data records of the current tenant.
+   */
+  public void invalidate() {
+    var tenantId = folioExecutionContext.getTenantId();
+    log.info("invalidate:: invalidating reference data caches of tenant: {}", tenantId);
+    caches.values().forEach(cache ->
+      cache.asMap().keySet().removeIf(key -> Objects.equals(key.tenantId(), tenantId)));
+  }
+
+  private Cache<CacheKey, Optional<Object>> getCache(String cacheName) {
+    return caches.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
+      .maximumSize(properties.getMaxSize())
+      .expireAfter(Expiry.<CacheKey, Optional<Object>>writing((key, value) ->
+        value.isPresent() ? properties.getTtl() : properties.getNegativeTtl()))
+      .build());
+  }
+
+  private record CacheKey(String tenantId, String key) {}
+}
@@ -22,6 +22,7 @@ import org.folio.dcb.service.ItemService;
 import org.folio.dcb.service.RequestService;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 
 @Service
 @Log4j2
@@ -59,9 +60,16 @@ public class RequestServiceImpl implements RequestService {
   @Override
   public CirculationRequest createHoldItemRequest(User user, DcbItem item, String pickupSpId) {
     log.debug("createHoldItemRequest:: creating a new hold request.");
-    var holding = dcbEntityServiceFacade.findOrCreateHolding();
-    var circulationRequest = createCirculationRequest(HOLD, user, item, holding.getId(), INSTANCE_ID, pickupSpId);
-    return circulationClient.createRequest(circulationRequest);
+    try {
+      return createHoldItemRequestWithDcbHolding(user, item, pickupSpId);
+    } catch (HttpClientErrorException.NotFound | HttpClientErrorException.UnprocessableContent e) {
+      if (!dcbEntityServiceFacade.invalidateReferencedEntities(e.getResponseBodyAsString())) {
+        throw e;
+      }
+      log.warn("createHoldItemRequest:: Hold request creation failed with cached DCB holding, "
+        + "retrying with verified one: {}", e.getMessage());
+      return createHoldItemRequestWithDcbHolding(user, item, pickupSpId);
+    }
   }
 
   @Override
@@ -70,6 +78,12 @@ public class RequestServiceImpl implements RequestService {
     circulationClient.updateRequest(circulationRequest.getId(), circulationRequest);
   }
 
+  private CirculationRequest createHoldItemRequestWithDcbHolding(User user, DcbItem item, String pickupSpId) {
+    var holding = dcbEntityServiceFacade.findOrCreateHolding();
+    var circulationRequest = createCirculationRequest(HOLD, user, item, holding.getId(), INSTANCE_ID, pickupSpId);
+    return circulationClient.createRequest(circulationRequest);
+  }
+
   private CirculationRequest createCirculationRequest(CirculationRequest.RequestTypeEnum type, User user, DcbItem item,
     String holdingsId, String instanceId, String pickupServicePointId) {
     return CirculationRequest.builder()
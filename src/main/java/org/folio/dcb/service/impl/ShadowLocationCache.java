@@ -0,0 +1,171 @@
+package org.folio.dcb.service.impl;
+
+import static org.folio.dcb.utils.PagingUtil.fetchAllPages;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.ShadowLocationCacheProperties;
+import org.folio.dcb.integration.invstorage.LocationUnitClient;
+import org.folio.dcb.integration.invstorage.LocationsClient;
+import org.folio.dcb.utils.CqlQuery;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-tenant cache of shadow location ids resolved for DCB items by location code and by lending library code.
+ *
+ * <p>Shadow locations and libraries of a tenant are loaded with paged queries on the first lookup. Codes, that are not
+ * shadow locations or libraries, are resolved with the given lookup and the result is cached as well. The shadow
+ * location refresh reloads the cache of the tenant on the module instance running it, other module instances load
+ * shadow locations again when the cached ones expire after the configured TTL. The number of cached codes per tenant
+ * is bounded by the configured maximum size.</p>
+ *
+ * <p>Shadow locations are loaded outside of cache computations, so concurrent first lookups may load them more than
+ * once, but do not block lookups of other tenants.</p>
+ */
+@Log4j2
+@Service
+public class ShadowLocationCache {
+
+  static final String SHADOW_QUERY = CqlQuery.exactMatch("isShadow", "true").getQuery();
+
+  private final LocationsClient locationsClient;
+  private final LocationUnitClient locationUnitClient;
+  private final ShadowLocationCacheProperties properties;
+  private final FolioExecutionContext folioExecutionContext;
+  private final Cache<String, ShadowLocationIndex> tenantIndexes;
+
+  public ShadowLocationCache(LocationsClient locationsClient, LocationUnitClient locationUnitClient,
+    ShadowLocationCacheProperties properties, FolioExecutionContext folioExecutionContext) {
+    this.locationsClient = locationsClient;
+    this.locationUnitClient = locationUnitClient;
+    this.properties = properties;
+    this.folioExecutionContext = folioExecutionContext;
+    this.tenantIndexes = Caffeine.newBuilder()
+      .expireAfterWrite(properties.getTtl())
+      .build();
+  }
+
+  /**
+   * Finds the id of the location with the given code.
+   *
+   * @param locationCode - the location code
+   * @param lookup - resolves the location id, if the code is not a cached one
+   * @return the location id, empty if the location does not exist
+   */
+  public Optional<String> findLocationIdByCode(String locationCode, Supplier<Optional<String>> lookup) {
+    if (!properties.isEnabled()) {
+      return lookup.get();
+    }
+
+    return getTenantIndex()
+      .map(index -> find(index.locationIdsByCode(), locationCode, lookup))
+      .orElseGet(lookup);
+  }
+
+  /**
+   * Finds the id of a location of the library with the given code.
+   *
+   * @param libraryCode - the library code
+   * @param lookup - resolves the location id, if the code is not a cached one
+   * @return the location id, empty if the library or its location does not exist
+   */
+  public Optional<String> findLocationIdByLibraryCode(String libraryCode, Supplier<Optional<String>> lookup) {
+    if (!properties.isEnabled()) {
+      return lookup.get();
+    }
+
+    return getTenantIndex()
+      .map(index -> find(index.locationIdsByLibraryCode(), libraryCode, lookup))
+      .orElseGet(lookup);
+  }
+
+  /**
+   * Reloads shadow locations and libraries of the current tenant, if the cache is enabled.
+   */
+  public void reload() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+
+    var tenantId = folioExecutionContext.getTenantId();
+    tenantIndexes.invalidate(tenantId);
+    try {
+      tenantIndexes.put(tenantId, loadIndex(tenantId));
+    } catch (Exception e) {
+      log.warn("reload:: Failed to reload shadow locations of tenant {}, they are loaded on next lookup", tenantId, e);
+    }
+  }
+
+  private Optional<ShadowLocationIndex> getTenantIndex() {
+    var tenantId = folioExecutionContext.getTenantId();
+    var tenantIndex = tenantIndexes.getIfPresent(tenantId);
+    if (tenantIndex != null) {
+      return Optional.of(tenantIndex);
+    }
+
+    try {
+      var loadedIndex = loadIndex(tenantId);
+      return Optional.of(tenantIndexes.asMap().merge(tenantId, loadedIndex, (current, loaded) -> current));
+    } catch (Exception e) {
+      log.warn("getTenantIndex:: Failed to load shadow locations, resolving location without cache", e);
+      return Optional.empty();
+    }
+  }
+
+  private ShadowLocationIndex loadIndex(String tenantId) {
+    var pageSize = properties.getPageSize();
+    var locations = fetchAllPages(pageSize,
+      (limit, offset) -> locationsClient.findLocationByQuery(SHADOW_QUERY, true, limit, offset));
+    var libraries = fetchAllPages(pageSize,
+      (limit, offset) -> locationUnitClient.findLibrariesByQuery(SHADOW_QUERY, true, limit, offset));
+
+    var locationIdsByCode = newCodeCache();
+    var locationIdsByLibraryId = new HashMap<String, String>();
+    for (var location : locations) {
+      if (location.getCode() != null && location.getId() != null) {
+        locationIdsByCode.asMap().putIfAbsent(location.getCode(), Optional.of(location.getId()));
+      }
+      if (location.getLibraryId() != null && location.getId() != null) {
+        locationIdsByLibraryId.putIfAbsent(location.getLibraryId(), location.getId());
+      }
+    }
+
+    var locationIdsByLibraryCode = newCodeCache();
+    for (var library : libraries) {
+      if (library.getCode() != null && library.getId() != null) {
+        locationIdsByLibraryCode.asMap().putIfAbsent(library.getCode(),
+          Optional.ofNullable(locationIdsByLibraryId.get(library.getId())));
+      }
+    }
+
+    log.info("loadIndex:: Loaded shadow locations of tenant {}: locations: {}, libraries: {}",
+      tenantId, locations.size(), libraries.size());
+    return new ShadowLocationIndex(locationIdsByCode, locationIdsByLibraryCode);
+  }
+
+  private Cache<String, Optional<String>> newCodeCache() {
+    return Caffeine.newBuilder()
+      .maximumSize(properties.getMaxSize())
+      .build();
+  }
+
+  private static Optional<String> find(Cache<String, Optional<String>> locationIds, String code,
+    Supplier<Optional<String>> lookup) {
+    var locationId = locationIds.getIfPresent(code);
+    if (locationId != null) {
+      return locationId;
+    }
+
+    var resolvedLocationId = lookup.get();
+    locationIds.asMap().putIfAbsent(code, resolvedLocationId);
+    return resolvedLocationId;
+  }
+
+  private record ShadowLocationIndex(Cache<String, Optional<String>> locationIdsByCode,
+    Cache<String, Optional<String>> locationIdsByLibraryCode) {}
+}
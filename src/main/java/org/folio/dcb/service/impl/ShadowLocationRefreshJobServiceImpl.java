@@ -0,0 +1,319 @@
+package org.folio.dcb.service.impl;
+
+import static org.folio.dcb.domain.dto.RefreshJobStatusType.COMPLETED;
+import static org.folio.dcb.domain.dto.RefreshJobStatusType.FAILED;
+import static org.folio.dcb.domain.dto.RefreshJobStatusType.IN_PROGRESS;
+
+import jakarta.annotation.PreDestroy;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.ShadowLocationRefreshJobProperties;
+import org.folio.dcb.domain.ResultList;
+import org.folio.dcb.domain.ShadowLocationAgencyResult;
+import org.folio.dcb.domain.dto.RefreshLocationEntityType;
+import org.folio.dcb.domain.dto.RefreshLocationStatus;
+import org.folio.dcb.domain.dto.RefreshLocationStatusType;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshBody;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJob;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJobStatus;
+import org.folio.dcb.domain.entity.ShadowLocationRefreshJobEntity;
+import org.folio.dcb.domain.entity.ShadowLocationRefreshJobStatusEntity;
+import org.folio.dcb.repository.ShadowLocationRefreshJobRepository;
+import org.folio.dcb.repository.ShadowLocationRefreshJobStatusRepository;
+import org.folio.dcb.service.ShadowLocationRefreshJobService;
+import org.folio.dcb.service.ShadowLocationService;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.data.OffsetRequest;
+import org.folio.spring.exception.NotFoundException;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Runs shadow location refreshes as background jobs.
+ *
+ * <p>A job is persisted with the refresh request body and runs on a bounded pool of background threads with the system
+ * user of the tenant. Each run of a job has its own owner identifier, stored with the job, and updates the heartbeat
+ * of the job at a fixed interval while the job is running or waiting for a thread. The statuses of each completed
+ * agency are recorded together with the agency and the job progress counters in one transaction, only if the job is
+ * still owned by the run. A job, whose heartbeat has stopped within the stale timeout, e.g. because the module instance
+ * running it was stopped, is claimed with a new owner by the resume timer or the tenant initialization of any module
+ * instance and continues with the agencies, that are not recorded yet.</p>
+ */
+@Log4j2
+@Service
+public class ShadowLocationRefreshJobServiceImpl implements ShadowLocationRefreshJobService {
+
+  private static final String INTERRUPTED_JOB_MESSAGE = "Shadow location refresh job is interrupted by module shutdown";
+  private static final String CLAIMED_JOB_MESSAGE = "Shadow location refresh job is claimed by another run";
+
+  private final ShadowLocationService shadowLocationService;
+  private final ShadowLocationRefreshJobRepository jobRepository;
+  private final ShadowLocationRefreshJobStatusRepository jobStatusRepository;
+  private final ShadowLocationRefreshJobProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final FolioExecutionContext folioExecutionContext;
+  private final SystemUserScopedExecutionService systemUserScopedExecutionService;
+  private final ObjectMapper objectMapper;
+
+  private final Map<UUID, RunningJob> runningJobs = new ConcurrentHashMap<>();
+  private final ExecutorService jobExecutor;
+  private final ScheduledExecutorService heartbeatExecutor;
+
+  public ShadowLocationRefreshJobServiceImpl(ShadowLocationService shadowLocationService,
+    ShadowLocationRefreshJobRepository jobRepository, ShadowLocationRefreshJobStatusRepository jobStatusRepository,
+    ShadowLocationRefreshJobProperties properties, TransactionTemplate transactionTemplate,
+    FolioExecutionContext folioExecutionContext, SystemUserScopedExecutionService systemUserScopedExecutionService,
+    ObjectMapper objectMapper) {
+    this.shadowLocationService = shadowLocationService;
+    this.jobRepository = jobRepository;
+    this.jobStatusRepository = jobStatusRepository;
+    this.properties = properties;
+    this.transactionTemplate = transactionTemplate;
+    this.folioExecutionContext = folioExecutionContext;
+    this.systemUserScopedExecutionService = systemUserScopedExecutionService;
+    this.objectMapper = objectMapper;
+    this.jobExecutor = Executors.newFixedThreadPool(properties.getConcurrency(),
+      Thread.ofPlatform().name("dcb-shadow-location-refresh-job-", 0).daemon().factory());
+    this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("dcb-shadow-location-refresh-job-heartbeat").daemon().factory());
+    var heartbeatInterval = properties.getHeartbeatInterval().toMillis();
+    heartbeatExecutor.scheduleWithFixedDelay(this::updateHeartbeats, heartbeatInterval, heartbeatInterval,
+      TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    heartbeatExecutor.shutdownNow();
+    jobExecutor.shutdownNow();
+  }
+
+  @Override
+  public ShadowLocationRefreshJob startJob(ShadowLocationRefreshBody requestBody) {
+    var now = OffsetDateTime.now();
+    var ownerId = UUID.randomUUID();
+    var job = ShadowLocationRefreshJobEntity.builder()
+      .id(UUID.randomUUID())
+      .status(IN_PROGRESS)
+      .requestBody(objectMapper.writeValueAsString(requestBody))
+      .agenciesTotal(shadowLocationService.countAgencies(requestBody))
+      .ownerId(ownerId)
+      .heartbeatDate(now)
+      .createdDate(now)
+      .updatedDate(now)
+      .build();
+
+    jobRepository.save(job);
+    log.info("startJob:: Shadow location refresh job created: {}, agencies: {}", job.getId(), job.getAgenciesTotal());
+    submitJob(folioExecutionContext.getTenantId(), job.getId(), ownerId);
+    return toJob(job);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ShadowLocationRefreshJob getJobById(UUID id) {
+    return jobRepository.findById(id)
+      .map(ShadowLocationRefreshJobServiceImpl::toJob)
+      .orElseThrow(() -> new NotFoundException("Shadow location refresh job not found by id: " + id));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ResultList<ShadowLocationRefreshJobStatus> getJobStatuses(UUID id, int limit, int offset) {
+    if (!jobRepository.existsById(id)) {
+      throw new NotFoundException("Shadow location refresh job not found by id: " + id);
+    }
+
+    var statuses = jobStatusRepository.findByJobIdOrderBySequenceId(id, OffsetRequest.of(offset, limit))
+      .map(ShadowLocationRefreshJobServiceImpl::toJobStatus);
+    return ResultList.of((int) statuses.getTotalElements(), statuses.getContent());
+  }
+
+  @Override
+  public int resumeStaleJobs() {
+    var tenantId = folioExecutionContext.getTenantId();
+    var staleDate = OffsetDateTime.now().minus(properties.getStaleTimeout());
+    var resumedJobs = 0;
+    for (var jobId : jobRepository.findStaleJobIds(staleDate)) {
+      var ownerId = UUID.randomUUID();
+      if (jobRepository.claimStaleJob(jobId, ownerId, staleDate) > 0) {
+        log.info("resumeStaleJobs:: Resuming shadow location refresh job: {}", jobId);
+        submitJob(tenantId, jobId, ownerId);
+        resumedJobs++;
+      }
+    }
+    return resumedJobs;
+  }
+
+  private void submitJob(String tenantId, UUID jobId, UUID ownerId) {
+    var runningJob = new RunningJob(ownerId, (FolioExecutionContext) folioExecutionContext.getInstance());
+    runningJobs.put(jobId, runningJob);
+    try {
+      jobExecutor.execute(() -> runJob(tenantId, jobId, runningJob));
+    } catch (RejectedExecutionException e) {
+      runningJobs.remove(jobId, runningJob);
+      log.warn("submitJob:: Shadow location refresh job executor is stopped, job {} will be resumed by the timer",
+        jobId);
+    }
+  }
+
+  private void runJob(String tenantId, UUID jobId, RunningJob runningJob) {
+    try {
+      systemUserScopedExecutionService.executeSystemUserScoped(tenantId, () -> {
+        executeJob(jobId, runningJob.ownerId());
+        return null;
+      });
+    } catch (Exception e) {
+      log.warn("runJob:: Failed to run shadow location refresh job {} of tenant {}, it will be resumed by the timer",
+        jobId, tenantId, e);
+    } finally {
+      runningJobs.remove(jobId, runningJob);
+    }
+  }
+
+  private void updateHeartbeats() {
+    runningJobs.forEach((jobId, runningJob) -> {
+      try (var ignored = new FolioExecutionContextSetter(runningJob.context())) {
+        if (jobRepository.updateHeartbeat(jobId, runningJob.ownerId()) == 0) {
+          log.info("updateHeartbeats:: Shadow location refresh job {} is not owned by the run anymore", jobId);
+        }
+      } catch (Exception e) {
+        log.warn("updateHeartbeats:: Failed to update heartbeat of shadow location refresh job: {}", jobId, e);
+      }
+    });
+  }
+
+  private void executeJob(UUID jobId, UUID ownerId) {
+    var job = jobRepository.findById(jobId).orElse(null);
+    if (job == null || job.getStatus() != IN_PROGRESS || !ownerId.equals(job.getOwnerId())) {
+      log.info("executeJob:: Shadow location refresh job is not in progress or claimed by another run: {}", jobId);
+      return;
+    }
+
+    var completedAgencies = Set.copyOf(jobStatusRepository.findCompletedAgencyIndexes(jobId));
+    log.info("executeJob:: Running shadow location refresh job: {}, completed agencies: {} of {}",
+      jobId, completedAgencies.size(), job.getAgenciesTotal());
+
+    try {
+      var requestBody = objectMapper.readValue(job.getRequestBody(), ShadowLocationRefreshBody.class);
+      shadowLocationService.createShadowLocations(requestBody, completedAgencies,
+        agencyResult -> saveAgencyResult(jobId, ownerId, agencyResult));
+      if (jobRepository.updateStatus(jobId, ownerId, COMPLETED.getValue(), null) == 0) {
+        log.info("executeJob:: Shadow location refresh job {} is claimed by another run", jobId);
+        return;
+      }
+      log.info("executeJob:: Shadow location refresh job completed: {}", jobId);
+    } catch (Exception e) {
+      if (jobExecutor.isShutdown()) {
+        log.info("executeJob:: Shadow location refresh job {} is interrupted, it will be resumed by the timer", jobId);
+        return;
+      }
+
+      if (!jobRepository.existsByIdAndOwnerId(jobId, ownerId)) {
+        log.info("executeJob:: Shadow location refresh job {} is claimed by another run, it is stopped", jobId);
+        return;
+      }
+
+      log.warn("executeJob:: Shadow location refresh job failed: {}", jobId, e);
+      var cause = Optional.ofNullable(e.getCause()).orElse(e);
+      jobRepository.updateStatus(jobId, ownerId, FAILED.getValue(), cause.getMessage());
+    }
+  }
+
+  private void saveAgencyResult(UUID jobId, UUID ownerId, ShadowLocationAgencyResult agencyResult) {
+    if (jobExecutor.isShutdown()) {
+      throw new IllegalStateException(INTERRUPTED_JOB_MESSAGE);
+    }
+
+    var locationStatuses = agencyResult.locationStatuses();
+    transactionTemplate.executeWithoutResult(transactionStatus -> {
+      var updatedJobs = jobRepository.incrementProgress(jobId, ownerId,
+        countLocations(locationStatuses, RefreshLocationStatusType.SUCCESS),
+        countLocations(locationStatuses, RefreshLocationStatusType.SKIPPED),
+        countLocations(locationStatuses, RefreshLocationStatusType.ERROR));
+      if (updatedJobs == 0) {
+        throw new IllegalStateException(CLAIMED_JOB_MESSAGE);
+      }
+
+      if (jobRepository.insertCompletedAgency(jobId, agencyResult.agencyIndex()) == 0) {
+        log.info("saveAgencyResult:: Agency {} of shadow location refresh job {} is already recorded",
+          agencyResult.agencyIndex(), jobId);
+        transactionStatus.setRollbackOnly();
+        return;
+      }
+      jobStatusRepository.saveAll(toStatusEntities(jobId, agencyResult));
+    });
+  }
+
+  private static List<ShadowLocationRefreshJobStatusEntity> toStatusEntities(UUID jobId,
+    ShadowLocationAgencyResult agencyResult) {
+    var statusEntities = new ArrayList<ShadowLocationRefreshJobStatusEntity>();
+    statusEntities.add(toStatusEntity(jobId, agencyResult, RefreshLocationEntityType.INSTITUTION,
+      agencyResult.institutionStatus()));
+    statusEntities.add(toStatusEntity(jobId, agencyResult, RefreshLocationEntityType.CAMPUS,
+      agencyResult.campusStatus()));
+    statusEntities.add(toStatusEntity(jobId, agencyResult, RefreshLocationEntityType.LIBRARY,
+      agencyResult.libraryStatus()));
+    agencyResult.locationStatuses().forEach(locationStatus ->
+      statusEntities.add(toStatusEntity(jobId, agencyResult, RefreshLocationEntityType.LOCATION, locationStatus)));
+    return statusEntities;
+  }
+
+  private static ShadowLocationRefreshJobStatusEntity toStatusEntity(UUID jobId,
+    ShadowLocationAgencyResult agencyResult, RefreshLocationEntityType type, RefreshLocationStatus status) {
+    return ShadowLocationRefreshJobStatusEntity.builder()
+      .jobId(jobId)
+      .agencyIndex(agencyResult.agencyIndex())
+      .type(type)
+      .code(status.getCode())
+      .status(status.getStatus())
+      .cause(status.getCause())
+      .build();
+  }
+
+  private static int countLocations(List<RefreshLocationStatus> locationStatuses,
+    RefreshLocationStatusType statusType) {
+    return (int) locationStatuses.stream()
+      .filter(locationStatus -> locationStatus.getStatus() == statusType)
+      .count();
+  }
+
+  private static ShadowLocationRefreshJob toJob(ShadowLocationRefreshJobEntity job) {
+    return new ShadowLocationRefreshJob()
+      .id(job.getId())
+      .status(job.getStatus())
+      .agenciesTotal(job.getAgenciesTotal())
+      .agenciesCompleted(job.getAgenciesCompleted())
+      .locationsCreated(job.getLocationsCreated())
+      .locationsSkipped(job.getLocationsSkipped())
+      .locationsFailed(job.getLocationsFailed())
+      .errorMessage(job.getErrorMessage())
+      .createdDate(job.getCreatedDate())
+      .updatedDate(job.getUpdatedDate());
+  }
+
+  private static ShadowLocationRefreshJobStatus toJobStatus(ShadowLocationRefreshJobStatusEntity status) {
+    return new ShadowLocationRefreshJobStatus()
+      .type(status.getType())
+      .code(status.getCode())
+      .status(status.getStatus())
+      .cause(status.getCause());
+  }
+
+  private record RunningJob(UUID ownerId, FolioExecutionContext context) {}
+}
@@ -3,7 +3,9 @@ package org.folio.dcb.service.impl;
 import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.ObjectUtils.anyNull;
 import static org.folio.dcb.utils.CqlQuery.exactMatchByNameAndCode;
+import static org.folio.dcb.service.impl.ShadowLocationCache.SHADOW_QUERY;
 import static org.folio.dcb.utils.DcbHubLocationsGroupingUtil.groupByAgency;
+import static org.folio.dcb.utils.PagingUtil.fetchAllPages;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -12,11 +14,20 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
 import org.folio.dcb.config.DcbFeatureProperties;
+import org.folio.dcb.config.ShadowLocationRefreshProperties;
 import org.folio.dcb.domain.DcbAgencyKey;
+import org.folio.dcb.domain.ResultList;
+import org.folio.dcb.domain.ShadowLocationAgencyResult;
 import org.folio.dcb.domain.dto.DcbLocation;
 import org.folio.dcb.domain.dto.RefreshLocationStatus;
 import org.folio.dcb.domain.dto.RefreshLocationStatusType;
@@ -31,7 +42,10 @@ import org.folio.dcb.integration.invstorage.model.Location;
 import org.folio.dcb.integration.invstorage.model.LocationUnit;
 import org.folio.dcb.service.ShadowLocationService;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.scope.FolioExecutionContextSetter;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 
 @Service
 @Log4j2
@@ -45,13 +59,14 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
   private final LocationUnitClient locationUnitClient;
   private final DcbFeatureProperties dcbFeatureProperties;
   private final DcbEntityServiceFacade dcbEntityServiceFacade;
+  private final ShadowLocationCache shadowLocationCache;
+  private final ShadowLocationRefreshProperties refreshProperties;
+  private final FolioExecutionContext folioExecutionContext;
 
+  @Override
   public RefreshShadowLocationResponse createShadowLocations(ShadowLocationRefreshBody requestBody) {
     log.debug("createShadowLocations:: creating shadow locations");
-    if (!dcbFeatureProperties.isFlexibleCirculationRulesEnabled()) {
-      log.info("createShadowLocations:: {}", INACTIVE_FEATURE_MESSAGE);
-      throw new ServiceException(INACTIVE_FEATURE_MESSAGE);
-    }
+    checkFeatureEnabled();
 
     try {
       var servicePointRequest = dcbEntityServiceFacade.findOrCreateServicePoint();
@@ -61,59 +76,170 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
         return new RefreshShadowLocationResponse();
       }
 
-      return createShadowLocations(servicePointRequest, locationList);
+      var agencyResults = refreshAgencies(groupByAgency(locationList), Set.of(),
+        new AtomicReference<>(servicePointRequest), result -> {});
+      shadowLocationCache.reload();
+      return toResponse(agencyResults);
     } catch (Exception e) {
       log.error("createShadowLocations:: FeignException while fetching locations from DCB Hub", e);
       throw new ServiceException("Failed to create shadow locations", e);
     }
   }
 
-  private RefreshShadowLocationResponse createShadowLocations(
-    ServicePointRequest servicePointRequest, List<DcbLocation> locations) {
+  @Override
+  public void createShadowLocations(ShadowLocationRefreshBody requestBody, Set<Integer> completedAgencies,
+    Consumer<ShadowLocationAgencyResult> agencyListener) {
+    log.debug("createShadowLocations:: creating shadow locations, completed agencies: {}", completedAgencies.size());
+    checkFeatureEnabled();
 
-    var locationsGroupedByAgency = groupByAgency(locations);
+    try {
+      var servicePointRequest = dcbEntityServiceFacade.findOrCreateServicePoint();
+      var locationsGroupedByAgency = groupByAgency(prepareLocationsFromRequest(requestBody));
+      refreshAgencies(locationsGroupedByAgency, completedAgencies, new AtomicReference<>(servicePointRequest),
+        agencyListener);
+      shadowLocationCache.reload();
+    } catch (Exception e) {
+      log.error("createShadowLocations:: Failed to create shadow locations", e);
+      throw new ServiceException("Failed to create shadow locations", e);
+    }
+  }
 
-    var locationUnitsResult = createLocationUnits(locationsGroupedByAgency.keySet());
-    var locationStatuses = createShadowLocationEntries(locationsGroupedByAgency,
-      locationUnitsResult.agencyLocationUnitMapping, servicePointRequest);
+  @Override
+  public int countAgencies(ShadowLocationRefreshBody requestBody) {
+    return groupByAgency(prepareLocationsFromRequest(requestBody)).size();
+  }
+
+  private void checkFeatureEnabled() {
+    if (!dcbFeatureProperties.isFlexibleCirculationRulesEnabled()) {
+      log.info("checkFeatureEnabled:: {}", INACTIVE_FEATURE_MESSAGE);
+      throw new ServiceException(INACTIVE_FEATURE_MESSAGE);
+    }
+  }
+
+  private static RefreshShadowLocationResponse toResponse(List<ShadowLocationAgencyResult> agencyResults) {
+    var locationUnits = new RefreshLocationUnitsStatus();
+    var locationStatuses = new ArrayList<RefreshLocationStatus>();
+    agencyResults.forEach(agencyResult -> {
+      locationUnits.addInstitutionsItem(agencyResult.institutionStatus());
+      locationUnits.addCampusesItem(agencyResult.campusStatus());
+      locationUnits.addLibrariesItem(agencyResult.libraryStatus());
+      locationStatuses.addAll(agencyResult.locationStatuses());
+    });
 
     var response = new RefreshShadowLocationResponse()
-      .locationUnits(locationUnitsResult.locationUnits)
+      .locationUnits(locationUnits)
       .locations(locationStatuses);
 
     log.info("createShadowLocations:: shadow locations created: {}", locationStatuses.size());
     return response;
   }
 
-  private LocationUnitsResult createLocationUnits(Set<DcbAgencyKey> agencies) {
-    RefreshLocationUnitsStatus locationUnits = new RefreshLocationUnitsStatus();
-    Map<DcbAgencyKey, LocationAgenciesIds> agencyLocationUnitMapping = new HashMap<>();
+  /**
+   * Creates location units and locations of agencies, that are not completed yet, up to the configured number of
+   * agencies in parallel. The result of each agency is passed to the listener as soon as the agency is processed.
+   *
+   * @return results of processed agencies in the order of the given map
+   */
+  private List<ShadowLocationAgencyResult> refreshAgencies(
+    Map<DcbAgencyKey, List<DcbLocation>> locationsGroupedByAgency, Set<Integer> completedAgencies,
+    AtomicReference<ServicePointRequest> servicePointRequest, Consumer<ShadowLocationAgencyResult> agencyListener) {
+    var agencies = new ArrayList<IndexedAgency>();
+    var agencyIndex = 0;
+    for (var entry : locationsGroupedByAgency.entrySet()) {
+      if (!completedAgencies.contains(agencyIndex)) {
+        agencies.add(new IndexedAgency(agencyIndex, entry.getKey(), entry.getValue()));
+      }
+      agencyIndex++;
+    }
 
-    agencies.forEach(agencyKey -> {
-      log.debug("createLocationUnits:: Creating units for agency: {} - {}",
-        agencyKey.agencyCode(), agencyKey.agencyName());
+    if (agencies.isEmpty()) {
+      return List.of();
+    }
 
-      var institutionResult = createInstitution(agencyKey);
-      locationUnits.addInstitutionsItem(institutionResult.locationUnitsStatus);
+    var existingEntities = prefetchExistingEntities();
+    Function<IndexedAgency, ShadowLocationAgencyResult> agencyProcessor = agency -> {
+      var agencyResult = refreshAgency(agency, existingEntities, servicePointRequest);
+      agencyListener.accept(agencyResult);
+      return agencyResult;
+    };
 
-      var campusResult = createCampus(agencyKey, institutionResult.institution);
-      locationUnits.addCampusesItem(campusResult.locationUnitsStatus);
+    var concurrency = Math.min(refreshProperties.getConcurrency(), agencies.size());
+    if (concurrency <= 1) {
+      return agencies.stream().map(agencyProcessor).toList();
+    }
 
-      var libraryResult = createLibrary(agencyKey, campusResult.campus);
-      locationUnits.addLibrariesItem(libraryResult.locationUnitsStatus);
+    log.debug("refreshAgencies:: Refreshing {} agencies with concurrency: {}", agencies.size(), concurrency);
+    var context = (FolioExecutionContext) folioExecutionContext.getInstance();
+    try (var executor = Executors.newFixedThreadPool(concurrency,
+      Thread.ofPlatform().name("dcb-shadow-location-refresh-", 0).factory())) {
+      var agencyResults = agencies.stream()
+        .map(agency -> CompletableFuture.supplyAsync(() -> {
+          try (var ignored = new FolioExecutionContextSetter(context)) {
+            return agencyProcessor.apply(agency);
+          }
+        }, executor))
+        .toList();
+      return agencyResults.stream().map(CompletableFuture::join).toList();
+    }
+  }
 
-      agencyLocationUnitMapping.put(agencyKey, new LocationAgenciesIds(
-        getLocationUnitId(institutionResult.institution()),
-        getLocationUnitId(campusResult.campus()),
-        getLocationUnitId(libraryResult.library()))
-      );
-    });
+  private ShadowLocationAgencyResult refreshAgency(IndexedAgency agency, ExistingEntities existingEntities,
+    AtomicReference<ServicePointRequest> servicePointRequest) {
+    var agencyKey = agency.agencyKey();
+    log.debug("refreshAgency:: Creating units for agency: {} - {}", agencyKey.agencyCode(), agencyKey.agencyName());
+
+    var institutionResult = createInstitution(agencyKey, existingEntities);
+    var campusResult = createCampus(agencyKey, institutionResult.institution, existingEntities);
+    var libraryResult = createLibrary(agencyKey, campusResult.campus, existingEntities);
+    var locationAgenciesIds = new LocationAgenciesIds(
+      getLocationUnitId(institutionResult.institution()),
+      getLocationUnitId(campusResult.campus()),
+      getLocationUnitId(libraryResult.library()));
+
+    var locationStatuses = agency.locations().stream()
+      .map(location -> createShadowLocation(location, locationAgenciesIds, servicePointRequest, existingEntities))
+      .toList();
+
+    return new ShadowLocationAgencyResult(agency.index(), institutionResult.locationUnitsStatus,
+      campusResult.locationUnitsStatus, libraryResult.locationUnitsStatus, locationStatuses);
+  }
 
-    return new LocationUnitsResult(locationUnits, agencyLocationUnitMapping);
+  private ExistingEntities prefetchExistingEntities() {
+    if (!refreshProperties.isPrefetchEnabled()) {
+      return ExistingEntities.EMPTY;
+    }
+
+    var existingEntities = new ExistingEntities(
+      prefetchLocationUnits((limit, offset) ->
+        locationUnitClient.findInstitutionsByQuery(SHADOW_QUERY, true, limit, offset)),
+      prefetchLocationUnits((limit, offset) ->
+        locationUnitClient.findCampusesByQuery(SHADOW_QUERY, true, limit, offset)),
+      prefetchLocationUnits((limit, offset) ->
+        locationUnitClient.findLibrariesByQuery(SHADOW_QUERY, true, limit, offset)),
+      groupByNameAndCode(fetchAllPages(refreshProperties.getPageSize(), (limit, offset) ->
+        locationsClient.findLocationByQuery(SHADOW_QUERY, true, limit, offset)), Location::getName, Location::getCode));
+
+    log.info("prefetchExistingEntities:: Loaded existing shadow entities: institutions: {}, campuses: {}, "
+        + "libraries: {}, locations: {}", existingEntities.institutions().size(), existingEntities.campuses().size(),
+      existingEntities.libraries().size(), existingEntities.locations().size());
+    return existingEntities;
   }
 
-  private InstitutionResult createInstitution(DcbAgencyKey agencyKey) {
+  private Map<NameCode, LocationUnit> prefetchLocationUnits(
+    BiFunction<Integer, Integer, ResultList<LocationUnit>> pageFetcher) {
+    var locationUnits = fetchAllPages(refreshProperties.getPageSize(), pageFetcher);
+    return groupByNameAndCode(locationUnits, LocationUnit::getName, LocationUnit::getCode);
+  }
+
+  private InstitutionResult createInstitution(DcbAgencyKey agencyKey, ExistingEntities existingEntities) {
     try {
+      var existingInstitution = existingEntities.institutions().get(NameCode.of(agencyKey));
+      if (existingInstitution != null) {
+        log.info("createInstitution:: Institution already exists for agency: {} - {}",
+          agencyKey.agencyCode(), agencyKey.agencyName());
+        return new InstitutionResult(existingInstitution, skippedStatus(agencyKey.agencyCode()));
+      }
+
       var query = exactMatchByNameAndCode(agencyKey.agencyName(), agencyKey.agencyCode()).getQuery();
       var locationUnitResultList = locationUnitClient.findInstitutionsByQuery(query, true, 10, 0);
 
@@ -159,7 +285,8 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
     }
   }
 
-  private CampusResult createCampus(DcbAgencyKey agencyKey, LocationUnit institution) {
+  private CampusResult createCampus(DcbAgencyKey agencyKey, LocationUnit institution,
+    ExistingEntities existingEntities) {
     try {
       if (institution == null) {
         log.error("createCampus:: Institution is null for agency: {} - {}, cannot create campus",
@@ -174,6 +301,13 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
             .build());
       }
 
+      var existingCampus = existingEntities.campuses().get(NameCode.of(agencyKey));
+      if (existingCampus != null) {
+        log.info("createCampus:: campus already exists for agency: {} - {}",
+          agencyKey.agencyCode(), agencyKey.agencyName());
+        return new CampusResult(existingCampus, skippedStatus(agencyKey.agencyCode()));
+      }
+
       var searchQuery = exactMatchByNameAndCode(agencyKey.agencyName(), agencyKey.agencyCode()).getQuery();
       var locationUnitResultList = locationUnitClient.findCampusesByQuery(searchQuery, true, 10, 0);
 
@@ -220,7 +354,8 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
     }
   }
 
-  private LibraryResult createLibrary(DcbAgencyKey agencyKey, LocationUnit campus) {
+  private LibraryResult createLibrary(DcbAgencyKey agencyKey, LocationUnit campus,
+    ExistingEntities existingEntities) {
     try {
       if (campus == null) {
         log.error("createLibrary:: Campus is null for agency: {} - {}, cannot create library",
@@ -235,6 +370,13 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
             .build());
       }
 
+      var existingLibrary = existingEntities.libraries().get(NameCode.of(agencyKey));
+      if (existingLibrary != null) {
+        log.info("createLibrary:: library already exists for agency: {} - {}",
+          agencyKey.agencyCode(), agencyKey.agencyName());
+        return new LibraryResult(existingLibrary, skippedStatus(agencyKey.agencyCode()));
+      }
+
       var query = exactMatchByNameAndCode(agencyKey.agencyName(), agencyKey.agencyCode()).getQuery();
       var locationUnitResultList = locationUnitClient.findLibrariesByQuery(query, true, 10, 0);
 
@@ -281,28 +423,8 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
     }
   }
 
-  private List<RefreshLocationStatus> createShadowLocationEntries(
-    Map<DcbAgencyKey, List<DcbLocation>> locationsGroupedByAgency,
-    Map<DcbAgencyKey, LocationAgenciesIds> agencyLocationUnitMapping,
-    ServicePointRequest servicePointRequest) {
-
-    var locationStatuses = new ArrayList<RefreshLocationStatus>();
-    locationsGroupedByAgency.forEach((agencyKey, locationCodeNamePairs) -> {
-      log.debug("createShadowLocationEntries:: Processing agency: {} - {}",
-        agencyKey.agencyCode(), agencyKey.agencyName());
-
-      var locationAgenciesIds = agencyLocationUnitMapping.get(agencyKey);
-      locationCodeNamePairs.forEach(location -> {
-        RefreshLocationStatus status = createShadowLocation(location, locationAgenciesIds, servicePointRequest);
-        locationStatuses.add(status);
-      });
-    });
-
-    return locationStatuses;
-  }
-
-  private RefreshLocationStatus createShadowLocation(DcbLocation location,
-    LocationAgenciesIds agenciesIds, ServicePointRequest servicePointRequest) {
+  private RefreshLocationStatus createShadowLocation(DcbLocation location, LocationAgenciesIds agenciesIds,
+    AtomicReference<ServicePointRequest> servicePointRequest, ExistingEntities existingEntities) {
     var locationName = location.getName();
     var locationCode = location.getCode();
     try {
@@ -318,6 +440,11 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
           .build();
       }
 
+      if (existingEntities.locations().containsKey(new NameCode(locationName, locationCode))) {
+        log.info("createShadowLocation:: Location already exists: {} - {}, skipping...", locationCode, locationName);
+        return skippedStatus(locationCode);
+      }
+
       var searchQuery = exactMatchByNameAndCode(locationName, locationCode).getQuery();
       var locationDtoResultList = locationsClient.findLocationByQuery(searchQuery, true, 10, 0);
       if (!locationDtoResultList.getResult().isEmpty()) {
@@ -338,12 +465,12 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
         .institutionId(agenciesIds.institutionId())
         .campusId(agenciesIds.campusId())
         .libraryId(agenciesIds.libraryId())
-        .primaryServicePoint(servicePointRequest.getId())
-        .servicePointIds(singletonList(servicePointRequest.getId()))
+        .primaryServicePoint(servicePointRequest.get().getId())
+        .servicePointIds(singletonList(servicePointRequest.get().getId()))
         .isShadow(true)
         .build();
 
-      locationsClient.createLocation(shadowLocation);
+      createLocation(shadowLocation, servicePointRequest);
       log.debug("createShadowLocation:: Created shadow location: {} - {}",
         shadowLocation.getCode(), shadowLocation.getName());
       return RefreshLocationStatus.builder()
@@ -361,6 +488,35 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
     }
   }
 
+  /**
+   * Creates the shadow location. If the creation fails with 404 or 422 referencing the cached DCB service point, the
+   * service point is verified again and used for this and the following shadow locations of the refresh.
+   */
+  private void createLocation(Location shadowLocation, AtomicReference<ServicePointRequest> servicePointRequest) {
+    try {
+      locationsClient.createLocation(shadowLocation);
+    } catch (HttpClientErrorException.NotFound | HttpClientErrorException.UnprocessableContent e) {
+      var servicePointId = shadowLocation.getPrimaryServicePoint();
+      var errorResponse = e.getResponseBodyAsString();
+      if (!errorResponse.contains(servicePointId)) {
+        throw e;
+      }
+
+      dcbEntityServiceFacade.invalidateReferencedEntities(errorResponse);
+      var verifiedServicePoint = servicePointRequest.updateAndGet(current -> servicePointId.equals(current.getId())
+        ? dcbEntityServiceFacade.findOrCreateServicePoint() : current);
+      if (servicePointId.equals(verifiedServicePoint.getId())) {
+        throw e;
+      }
+
+      log.warn("createLocation:: Shadow location creation failed with cached DCB service point, "
+        + "retrying with verified one: {}", e.getMessage());
+      shadowLocation.setPrimaryServicePoint(verifiedServicePoint.getId());
+      shadowLocation.setServicePointIds(singletonList(verifiedServicePoint.getId()));
+      locationsClient.createLocation(shadowLocation);
+    }
+  }
+
   private static List<DcbLocation> prepareLocationsFromRequest(ShadowLocationRefreshBody requestBody) {
     var agencies = requestBody.getAgencies();
     var locationsFromAgencies = agencies.stream()
@@ -376,15 +532,28 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
     return allLocations;
   }
 
+  private static RefreshLocationStatus skippedStatus(String code) {
+    return RefreshLocationStatus.builder()
+      .code(code)
+      .status(RefreshLocationStatusType.SKIPPED)
+      .build();
+  }
+
+  private static <T> Map<NameCode, T> groupByNameAndCode(List<T> entities, Function<T, String> nameExtractor,
+    Function<T, String> codeExtractor) {
+    var result = new HashMap<NameCode, T>();
+    entities.forEach(entity -> result.putIfAbsent(
+      new NameCode(nameExtractor.apply(entity), codeExtractor.apply(entity)), entity));
+    return result;
+  }
+
   private static String getLocationUnitId(LocationUnit institutionResult) {
     return Optional.ofNullable(institutionResult)
       .map(LocationUnit::getId)
       .orElse(null);
   }
 
-  private record LocationUnitsResult(
-    RefreshLocationUnitsStatus locationUnits,
-    Map<DcbAgencyKey, LocationAgenciesIds> agencyLocationUnitMapping) {}
+  private record IndexedAgency(int index, DcbAgencyKey agencyKey, List<DcbLocation> locations) {}
 
   private record InstitutionResult(LocationUnit institution, RefreshLocationStatus locationUnitsStatus) {}
 
@@ -393,4 +562,23 @@ public class ShadowLocationServiceImpl implements ShadowLocationService {
   private record LibraryResult(LocationUnit library, RefreshLocationStatus locationUnitsStatus) {}
 
   private record LocationAgenciesIds(String institutionId, String campusId, String libraryId) {}
+
+  private record NameCode(String name, String code) {
+
+    static NameCode of(DcbAgencyKey agencyKey) {
+      return new NameCode(agencyKey.agencyName(), agencyKey.agencyCode());
+    }
+  }
+
+  /**
+   * Existing shadow location units and locations by name and code, loaded at the beginning of a refresh.
+   */
+  private record ExistingEntities(
+    Map<NameCode, LocationUnit> institutions,
+    Map<NameCode, LocationUnit> campuses,
+    Map<NameCode, LocationUnit> libraries,
+    Map<NameCode, Location> locations) {
+
+    static final ExistingEntities EMPTY = new ExistingEntities(Map.of(), Map.of(), Map.of(), Map.of());
+  }
 }
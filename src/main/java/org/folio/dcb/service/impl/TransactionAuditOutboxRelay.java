@@ -0,0 +1,143 @@
+package org.folio.dcb.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.TransactionAuditProperties;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.FolioModuleMetadata;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves transaction audit records from the outbox table to the audit table for the asynchronous audit mode.
+ *
+ * <p>The transaction write path only appends a record to the outbox and schedules a relay of the tenant after the
+ * commit. Relays run on a single background thread, a tenant is queued at most once, so the queue is bounded by the
+ * number of tenants. Records are moved with one {@code DELETE ... RETURNING} / {@code INSERT ... SELECT} statement per
+ * batch in the outbox sequence order, under a tenant advisory lock, so module instances never move records of the
+ * same tenant concurrently and records of a transaction reach the audit table in the order they were written.</p>
+ *
+ * <p>The outbox keeps records durable: records left by a failed relay or a stopped instance are moved by the next
+ * relay of the tenant, which is scheduled by the next audited write or the tenant initialization.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class TransactionAuditOutboxRelay {
+
+  private static final String RELAYED_METRIC = "dcb.transactions-audit.outbox.relayed";
+  private static final String LOCK_QUERY =
+    "SELECT pg_advisory_xact_lock(hashtext(current_schema() || '.transactions_audit_outbox'))";
+  private static final String MOVE_QUERY = """
+    WITH moved AS (
+      DELETE FROM transactions_audit_outbox
+      WHERE sequence_id IN (SELECT sequence_id FROM transactions_audit_outbox ORDER BY sequence_id LIMIT ?)
+      RETURNING *
+    )
+    INSERT INTO transactions_audit (id, action, transaction_id, before, after, patch, previous_audit_id,
+      error_message, created_by, created_date)
+    SELECT id, action, transaction_id, CAST(before AS jsonb), CAST(after AS jsonb), CAST(patch AS jsonb),
+      previous_audit_id, error_message, created_by, created_date
+    FROM moved
+    ORDER BY sequence_id""";
+
+  private final TransactionAuditProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final FolioExecutionContext folioExecutionContext;
+  private final FolioModuleMetadata folioModuleMetadata;
+  private final MeterRegistry meterRegistry;
+
+  private final Set<String> queuedTenants = ConcurrentHashMap.newKeySet();
+  private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(
+    Thread.ofPlatform().name("dcb-transactions-audit-relay").daemon().factory());
+
+  @PreDestroy
+  public void stop() {
+    relayExecutor.shutdownNow();
+  }
+
+  /**
+   * Schedules a relay of the current tenant after the commit of the current transaction, or immediately if there is
+   * no transaction.
+   */
+  public void scheduleRelay() {
+    var tenantId = folioExecutionContext.getTenantId();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      queueRelay(tenantId);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        queueRelay(tenantId);
+      }
+    });
+  }
+
+  /**
+   * Moves all audit records of the current tenant from the outbox table to the audit table.
+   *
+   * @return number of moved records
+   */
+  public int relay() {
+    var relayedRecords = 0;
+    int movedRecords;
+    do {
+      movedRecords = Objects.requireNonNullElse(transactionTemplate.execute(status -> moveBatch()), 0);
+      relayedRecords += movedRecords;
+    } while (movedRecords > 0 && movedRecords >= properties.getRelayBatchSize());
+
+    if (relayedRecords > 0) {
+      log.debug("relay:: {} transaction audit records moved from outbox", relayedRecords);
+      meterRegistry.counter(RELAYED_METRIC, "tenant", folioExecutionContext.getTenantId()).increment(relayedRecords);
+    }
+    return relayedRecords;
+  }
+
+  private int moveBatch() {
+    jdbcTemplate.execute(LOCK_QUERY);
+    return jdbcTemplate.update(MOVE_QUERY, properties.getRelayBatchSize());
+  }
+
+  private void queueRelay(String tenantId) {
+    if (tenantId == null || !queuedTenants.add(tenantId)) {
+      return;
+    }
+
+    try {
+      relayExecutor.execute(() -> relayTenant(tenantId));
+    } catch (RejectedExecutionException e) {
+      queuedTenants.remove(tenantId);
+      log.warn("queueRelay:: Transaction audit relay is stopped, records of tenant {} are kept in outbox", tenantId);
+    }
+  }
+
+  private void relayTenant(String tenantId) {
+    queuedTenants.remove(tenantId);
+    Map<String, Collection<String>> headers = Map.of(XOkapiHeaders.TENANT, List.of(tenantId));
+    try (var ignored = new FolioExecutionContextSetter(folioModuleMetadata, headers)) {
+      relay();
+    } catch (Exception e) {
+      log.warn("relayTenant:: Failed to move transaction audit records of tenant {} from outbox, "
+        + "they will be moved by the next relay", tenantId, e);
+    }
+  }
+}
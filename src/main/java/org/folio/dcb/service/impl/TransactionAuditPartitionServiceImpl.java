@@ -0,0 +1,211 @@
+package org.folio.dcb.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.dcb.config.TransactionAuditPartitionProperties;
+import org.folio.dcb.domain.dto.TransactionAuditPartitionMaintenanceResponse;
+import org.folio.dcb.service.TransactionAuditPartitionService;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains monthly range partitions of the {@code transactions_audit} table of the current tenant.
+ *
+ * <p>A partition is created for the current month and {@code premake-months} months ahead. Records written before a
+ * partition exists land in the default partition and are moved into the partition on its creation. Monthly partitions
+ * that ended before the retention period are exported to {@code <archive-directory>/<tenant>/<partition>.jsonl.gz}, if
+ * the directory is set, and detached. Detached partitions are kept in the database as standalone tables, so no record
+ * is lost if the archive directory is not durable; they are dropped by the operator once the archive is verified. The
+ * legacy partition (all records before the partitioning, with no lower bound) is never archived automatically.</p>
+ *
+ * <p>Partition DDL is built on the database side with {@code format()}, so table names are quoted as identifiers and
+ * partition bounds as {@code timestamptz} literals.</p>
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class TransactionAuditPartitionServiceImpl implements TransactionAuditPartitionService {
+
+  private static final String PARENT_TABLE = "transactions_audit";
+  private static final String DEFAULT_PARTITION = "transactions_audit_default";
+  private static final String PARTITION_PREFIX = "transactions_audit_p";
+  private static final String ARCHIVE_FILE_EXTENSION = ".jsonl.gz";
+  private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+  private static final int EXPORT_FETCH_SIZE = 1_000;
+
+  private static final String CREATE_TABLE_DDL_QUERY =
+    "SELECT format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', ?::text, ?::text)";
+  private static final String ATTACH_PARTITION_DDL_QUERY =
+    "SELECT format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', "
+      + "?::text, ?::text, ?::timestamptz, ?::timestamptz)";
+  private static final String DETACH_PARTITION_DDL_QUERY =
+    "SELECT format('ALTER TABLE %I DETACH PARTITION %I', ?::text, ?::text)";
+
+  private static final String PARTITIONS_QUERY = """
+    SELECT c.relname AS name,
+      (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \\(''([^'']+)''\\)'))[1]::timestamptz AS lower_bound,
+      (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \\(''([^'']+)''\\)'))[1]::timestamptz AS upper_bound
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'transactions_audit'::regclass
+    """;
+
+  private final TransactionAuditPartitionProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final FolioExecutionContext folioExecutionContext;
+
+  @Override
+  public List<String> createPartitions() {
+    log.debug("createPartitions:: creating transaction audit partitions for {} months ahead",
+      properties.getPremakeMonths());
+    var partitions = findPartitions();
+    var hasDefaultPartition = partitions.stream().anyMatch(partition -> DEFAULT_PARTITION.equals(partition.name()));
+    var currentMonth = getCurrentMonth();
+    var createdPartitions = new ArrayList<String>();
+    for (int month = 0; month <= properties.getPremakeMonths(); month++) {
+      var lowerBound = currentMonth.plusMonths(month);
+      if (partitions.stream().noneMatch(partition -> partition.covers(lowerBound))) {
+        createdPartitions.add(createPartition(lowerBound, lowerBound.plusMonths(1), hasDefaultPartition));
+      }
+    }
+    return createdPartitions;
+  }
+
+  @Override
+  public TransactionAuditPartitionMaintenanceResponse maintainPartitions() {
+    log.info("maintainPartitions:: maintaining transaction audit partitions for tenant: {}",
+      folioExecutionContext.getTenantId());
+    var createdPartitions = createPartitions();
+    var archivedPartitions = archivePartitions();
+    return TransactionAuditPartitionMaintenanceResponse.builder()
+      .createdPartitions(createdPartitions)
+      .archivedPartitions(archivedPartitions)
+      .build();
+  }
+
+  private List<String> archivePartitions() {
+    if (properties.getRetentionMonths() <= 0) {
+      return List.of();
+    }
+
+    var retentionStart = getCurrentMonth().minusMonths(properties.getRetentionMonths());
+    return findPartitions().stream()
+      .filter(partition -> partition.isMonthly() && !partition.upperBound().isAfter(retentionStart))
+      .map(partition -> archivePartition(partition.name()))
+      .filter(Objects::nonNull)
+      .toList();
+  }
+
+  private String createPartition(OffsetDateTime lowerBound, OffsetDateTime upperBound, boolean hasDefaultPartition) {
+    var name = PARTITION_PREFIX + PARTITION_SUFFIX_FORMAT.format(lowerBound);
+    transactionTemplate.executeWithoutResult(status -> {
+      executeDdl(CREATE_TABLE_DDL_QUERY, name, PARENT_TABLE);
+      if (hasDefaultPartition) {
+        var movedRecords = jdbcTemplate.update("""
+          WITH moved AS (
+            DELETE FROM %s WHERE created_date >= ? AND created_date < ? RETURNING *
+          )
+          INSERT INTO %s SELECT * FROM moved""".formatted(DEFAULT_PARTITION, name), lowerBound, upperBound);
+        log.debug("createPartition:: {} records moved from default partition to: {}", movedRecords, name);
+      }
+      executeDdl(ATTACH_PARTITION_DDL_QUERY, PARENT_TABLE, name, lowerBound, upperBound);
+    });
+    log.info("createPartition:: transaction audit partition created: {}", name);
+    return name;
+  }
+
+  private String archivePartition(String name) {
+    try {
+      if (StringUtils.isNotBlank(properties.getArchiveDirectory())) {
+        var archiveFile = exportPartition(name);
+        log.info("archivePartition:: transaction audit partition exported: {}, file: {}", name, archiveFile);
+      }
+
+      executeDdl(DETACH_PARTITION_DDL_QUERY, PARENT_TABLE, name);
+      log.info("archivePartition:: transaction audit partition detached: {}", name);
+      return name;
+    } catch (RuntimeException e) {
+      log.warn("archivePartition:: Failed to archive transaction audit partition: {}", name, e);
+      return null;
+    }
+  }
+
+  private void executeDdl(String ddlQuery, Object... arguments) {
+    jdbcTemplate.execute(jdbcTemplate.queryForObject(ddlQuery, String.class, arguments));
+  }
+
+  private Path exportPartition(String name) {
+    var directory = Path.of(properties.getArchiveDirectory(), folioExecutionContext.getTenantId());
+    var archiveFile = directory.resolve(name + ARCHIVE_FILE_EXTENSION);
+    try {
+      Files.createDirectories(directory);
+      try (var writer = new BufferedWriter(new OutputStreamWriter(
+        new GZIPOutputStream(Files.newOutputStream(archiveFile)), UTF_8))) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+          var statement = connection.prepareStatement("SELECT row_to_json(t)::text FROM %s t".formatted(name));
+          statement.setFetchSize(EXPORT_FETCH_SIZE);
+          return statement;
+        }, (RowCallbackHandler) resultSet -> writeLine(writer, resultSet.getString(1))));
+      }
+      return archiveFile;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to export transaction audit partition: " + name, e);
+    }
+  }
+
+  private List<AuditPartition> findPartitions() {
+    return jdbcTemplate.query(PARTITIONS_QUERY, (resultSet, rowNum) -> new AuditPartition(
+      resultSet.getString("name"),
+      resultSet.getObject("lower_bound", OffsetDateTime.class),
+      resultSet.getObject("upper_bound", OffsetDateTime.class)));
+  }
+
+  private static OffsetDateTime getCurrentMonth() {
+    return OffsetDateTime.now(UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+  }
+
+  private static void writeLine(Writer writer, String line) {
+    try {
+      writer.write(line);
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Partition of the audit table, bounds are null for {@code MINVALUE} and for the default partition.
+   */
+  private record AuditPartition(String name, OffsetDateTime lowerBound, OffsetDateTime upperBound) {
+
+    boolean isMonthly() {
+      return lowerBound != null && upperBound != null;
+    }
+
+    boolean covers(OffsetDateTime date) {
+      return upperBound != null && upperBound.isAfter(date) && (lowerBound == null || !lowerBound.isAfter(date));
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package org.folio.dcb.service.impl;
 
+import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.TransactionAuditProperties;
 import org.folio.dcb.domain.dto.DcbTransaction;
 import org.folio.dcb.domain.entity.TransactionAuditEntity;
+import org.folio.dcb.domain.mapper.TransactionAuditStateResolver;
 import org.folio.dcb.repository.TransactionAuditRepository;
 import org.folio.dcb.service.TransactionAuditService;
 import org.springframework.stereotype.Service;
@@ -18,11 +22,13 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
   private static final String DUPLICATE_ERROR_TRANSACTION_ID = "-1";
 
   private final TransactionAuditRepository transactionAuditRepository;
+  private final TransactionAuditStateResolver transactionAuditStateResolver;
+  private final TransactionAuditProperties transactionAuditProperties;
 
   @Override
   public void logErrorIfTransactionAuditExists(String id, String errorMsg) {
     log.debug("logTheErrorForExistedTransactionAudit:: dcbTransactionId = {}", id);
-    var auditExisting = transactionAuditRepository.findLatestTransactionAuditEntityByDcbTransactionId(id).orElse(null);
+    var auditExisting = findLatestTransactionAudit(id).orElse(null);
 
     if (auditExisting != null) {
       TransactionAuditEntity auditError = generateTrnAuditEntityFromTheFoundOneWithError(auditExisting, errorMsg);
@@ -44,7 +50,7 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
    */
   @Override
   public void logErrorIfTransactionAuditNotExists(String id, DcbTransaction transaction, String errorMsg) {
-    var auditExisting = transactionAuditRepository.findLatestTransactionAuditEntityByDcbTransactionId(id).orElse(null);
+    var auditExisting = findLatestTransactionAudit(id).orElse(null);
     var auditError = generateTrnAuditEntityByTrnEntityWithError(id, transaction, errorMsg);
 
     if (auditExisting != null) {
@@ -56,15 +62,35 @@ public class TransactionAuditServiceImpl implements TransactionAuditService {
     transactionAuditRepository.save(auditError);
   }
 
+  /**
+   * Finds the latest audit record of the transaction: in the asynchronous audit mode - in the outbox first, as the
+   * record of the latest transaction write may be not moved to the audit table yet, then by the latest audit pointer
+   * of the transaction, and then by the index of the audit table, which also covers transactions with error records
+   * only. The pointer skips error records, but an error record repeats the state of the record it follows, so the
+   * resolved state is the same.
+   */
+  private Optional<TransactionAuditEntity> findLatestTransactionAudit(String id) {
+    var outboxAudit = transactionAuditProperties.isAsyncEnabled()
+      ? transactionAuditRepository.findLatestOutboxTransactionAuditEntityByDcbTransactionId(id)
+      : Optional.<TransactionAuditEntity>empty();
+    return outboxAudit
+      .or(() -> transactionAuditRepository.findLatestTransactionAuditEntityByLatestAuditId(id))
+      .or(() -> transactionAuditRepository.findLatestTransactionAuditEntityByDcbTransactionId(id));
+  }
+
   private TransactionAuditEntity generateTrnAuditEntityFromTheFoundOneWithError(
     TransactionAuditEntity existed, String errorMsg) {
 
+    var existedAfter = existed.getAfter() == null && existed.getPatch() != null
+      ? transactionAuditStateResolver.resolveAfterStates(List.of(existed)).getFirst()
+      : existed.getAfter();
+
     TransactionAuditEntity auditError = new TransactionAuditEntity();
     auditError.setId(null);
     auditError.setTransactionId(existed.getTransactionId());
     auditError.setAction(ERROR_ACTION);
-    auditError.setBefore(existed.getAfter());
-    auditError.setAfter(existed.getAfter());
+    auditError.setBefore(existedAfter);
+    auditError.setAfter(existedAfter);
     auditError.setErrorMessage(errorMsg);
 
     return auditError;
@@ -1,6 +1,7 @@
 package org.folio.dcb.service.impl;
 
 import static org.apache.commons.lang3.BooleanUtils.isFalse;
+import static org.apache.commons.lang3.BooleanUtils.isNotFalse;
 import static org.apache.commons.lang3.BooleanUtils.isTrue;
 import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.LENDER;
 import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.EXPIRED;
@@ -9,6 +10,9 @@ import static org.folio.dcb.utils.TransactionDetailsUtil.rolesNotEqual;
 import static org.folio.dcb.utils.TransactionDetailsUtil.statusesNotEqual;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +20,7 @@ import lombok.extern.log4j.Log4j2;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.folio.dcb.domain.ResultList;
+import org.folio.dcb.domain.TransactionAuditCursor;
 import org.folio.dcb.domain.dto.DcbItem;
 import org.folio.dcb.domain.dto.DcbTransaction;
 import org.folio.dcb.domain.dto.DcbUpdateTransaction;
@@ -26,6 +31,7 @@ import org.folio.dcb.domain.dto.RenewalInfo;
 import org.folio.dcb.domain.dto.TransactionStatus;
 import org.folio.dcb.domain.dto.TransactionStatusResponse;
 import org.folio.dcb.domain.dto.TransactionStatusResponseCollection;
+import org.folio.dcb.domain.entity.TransactionAuditEntity;
 import org.folio.dcb.domain.entity.TransactionEntity;
 import org.folio.dcb.domain.mapper.TransactionMapper;
 import org.folio.dcb.exception.ResourceAlreadyExistException;
@@ -40,9 +46,13 @@ import org.folio.dcb.service.TransactionsService;
 import org.folio.dcb.utils.CqlQuery;
 import org.folio.spring.exception.NotFoundException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -67,6 +77,7 @@ public class TransactionsServiceImpl implements TransactionsService {
   private final BaseLibraryService baseLibraryService;
   private final CirculationClient circulationClient;
   private final CirculationLoanPolicyStorageClient circulationLoanPolicyStorageClient;
+  private final TransactionTemplate transactionTemplate;
 
   @Override
   public TransactionStatusResponse createCirculationRequest(String dcbTransactionId, DcbTransaction dcbTransaction) {
@@ -113,7 +124,8 @@ public class TransactionsServiceImpl implements TransactionsService {
   @Override
   public TransactionStatusResponse getTransactionStatusById(String dcbTransactionId) {
     log.debug("getTransactionStatusById:: id {} ", dcbTransactionId);
-    var transactionEntity = getTransactionEntityOrThrow(dcbTransactionId);
+    var transactionEntity = readOnlyTransactionTemplate("getTransactionStatusById")
+      .execute(transactionStatus -> getTransactionEntityOrThrow(dcbTransactionId));
     var loanRenewalDetails = getLoanRenewalDetails(transactionEntity);
     return generateTransactionStatusResponseFromTransactionEntity(transactionEntity, loanRenewalDetails);
   }
@@ -161,25 +173,64 @@ public class TransactionsServiceImpl implements TransactionsService {
   }
 
   @Override
-  public TransactionStatusResponseCollection getTransactionStatusList(
-    OffsetDateTime fromDate, OffsetDateTime toDate, Integer pageNumber, Integer pageSize) {
-
-    log.info("getTransactionStatusList:: fromDate {}, toDate {}, pageNumber {}, pageSize {}",
-      fromDate, toDate, pageNumber, pageSize);
-    var pageable = PageRequest.of(pageNumber, pageSize, Sort.by("created_Date"));
-    var txAuditEntityPage = transactionAuditRepository.findUpdatedTransactionsByDateRange(fromDate, toDate, pageable);
-    var transactionStatusResponseList = transactionMapper.mapToDto(txAuditEntityPage);
-    var totalRecords = (int) txAuditEntityPage.getTotalElements();
-    var maxPageNumber = pageSize >= totalRecords ? 0 : (int) Math.ceil((double) totalRecords / pageSize) - 1;
-    return TransactionStatusResponseCollection.builder()
-      .transactions(transactionStatusResponseList)
-      .totalRecords(totalRecords)
+  @Transactional(readOnly = true)
+  public TransactionStatusResponseCollection getTransactionStatusList(OffsetDateTime fromDate, OffsetDateTime toDate,
+    Integer pageNumber, Integer pageSize, String cursor, Boolean includeTotalRecords) {
+
+    log.info("getTransactionStatusList:: fromDate {}, toDate {}, pageNumber {}, pageSize {}, cursor {}, "
+      + "includeTotalRecords {}", fromDate, toDate, pageNumber, pageSize, cursor, includeTotalRecords);
+    if (cursor != null) {
+      return getTransactionStatusListAfter(fromDate, toDate, TransactionAuditCursor.decode(cursor), pageSize,
+        includeTotalRecords);
+    }
+
+    var pageable = PageRequest.of(pageNumber, pageSize, Sort.by("created_Date", "id"));
+    var collection = TransactionStatusResponseCollection.builder()
       .currentPageNumber(pageNumber)
+      .currentPageSize(pageSize);
+    Slice<TransactionAuditEntity> txAuditEntitySlice;
+    if (isNotFalse(includeTotalRecords)) {
+      var txAuditEntityPage = transactionAuditRepository.findUpdatedTransactionsByDateRange(fromDate, toDate, pageable);
+      var totalRecords = (int) txAuditEntityPage.getTotalElements();
+      var maxPageNumber = pageSize >= totalRecords ? 0 : (int) Math.ceil((double) totalRecords / pageSize) - 1;
+      collection.totalRecords(totalRecords).maximumPageNumber(maxPageNumber);
+      txAuditEntitySlice = txAuditEntityPage;
+    } else {
+      txAuditEntitySlice = transactionAuditRepository.findUpdatedTransactionSliceByDateRange(fromDate, toDate,
+        pageable);
+    }
+
+    var transactionAuditEntities = txAuditEntitySlice.getContent();
+    return collection
+      .transactions(transactionMapper.mapToDto(txAuditEntitySlice))
+      .nextCursor(txAuditEntitySlice.hasNext() ? getNextCursor(transactionAuditEntities) : null)
+      .build();
+  }
+
+  private TransactionStatusResponseCollection getTransactionStatusListAfter(OffsetDateTime fromDate,
+    OffsetDateTime toDate, TransactionAuditCursor cursor, Integer pageSize, Boolean includeTotalRecords) {
+
+    var transactionAuditEntities = transactionAuditRepository.findUpdatedTransactionsByDateRangeAfter(
+      fromDate, toDate, OffsetDateTime.ofInstant(cursor.createdDate(), ZoneOffset.UTC), cursor.id(), pageSize + 1);
+    var hasNext = transactionAuditEntities.size() > pageSize;
+    var pageContent = hasNext ? transactionAuditEntities.subList(0, pageSize) : transactionAuditEntities;
+    var totalRecords = Boolean.TRUE.equals(includeTotalRecords)
+      ? (int) transactionAuditRepository.countUpdatedTransactionsByDateRange(fromDate, toDate)
+      : null;
+
+    return TransactionStatusResponseCollection.builder()
+      .transactions(transactionMapper.mapToDto(pageContent))
       .currentPageSize(pageSize)
-      .maximumPageNumber(maxPageNumber)
+      .totalRecords(totalRecords)
+      .nextCursor(hasNext ? getNextCursor(pageContent) : null)
       .build();
   }
 
+  private static String getNextCursor(List<TransactionAuditEntity> transactionAuditEntities) {
+    return transactionAuditEntities.isEmpty() ? null
+      : TransactionAuditCursor.of(transactionAuditEntities.getLast()).encode();
+  }
+
   @Override
   public TransactionStatusResponse renewLoanByTransactionId(String dcbTransactionId) {
     log.info("renewLoanByTransactionId:: getting transaction by id {} ", dcbTransactionId);
@@ -221,10 +272,71 @@ public class TransactionsServiceImpl implements TransactionsService {
     setRenewalNumberForVirtualLoan(transactionEntity, 0);
   }
 
+  /**
+   * Moves a lender transaction through the chain of statuses up to the requested one.
+   *
+   * <p>Circulation actions of the steps are executed in order outside of a database transaction, with the status
+   * writes deferred, then the reached status is written once in a short database transaction, with an audit record
+   * per step. If a step fails, the steps completed before it are still written, as the failed step is not retried.</p>
+   *
+   * <p>If the transaction entity is changed concurrently, the write fails with an optimistic locking conflict after
+   * the circulation actions are executed, so only the status transition is re-applied.</p>
+   */
   private void processLenderRoleTransaction(TransactionStatus status, TransactionEntity transaction) {
-    statusProcessorService.lendingChainProcessor(transaction.getStatus(), status.getStatus())
-      .forEach(statusEnum -> lendingLibraryService.updateTransactionStatus(
-        transaction, TransactionStatus.builder().status(statusEnum).build()));
+    var statuses = statusProcessorService.lendingChainProcessor(transaction.getStatus(), status.getStatus());
+    var chainResult = baseLibraryService.executeWithDeferredWrites(() -> processLenderChain(transaction, statuses));
+    if (chainResult.fromStatus() != chainResult.toStatus()) {
+      writeLenderChain(transaction, chainResult);
+    }
+
+    if (chainResult.failure() != null) {
+      throw chainResult.failure();
+    }
+  }
+
+  /**
+   * Writes the status reached by a lender chain to the transaction, if it is not changed since it was loaded, and
+   * updates the version of the given entity.
+   */
+  private void writeLenderChain(TransactionEntity transaction, LenderChainResult chainResult) {
+    try {
+      var version = transactionTemplate.execute(transactionStatus -> {
+        var managedTransaction = transactionRepository.findById(transaction.getId())
+          .filter(loadedTransaction -> Objects.equals(loadedTransaction.getVersion(), transaction.getVersion()))
+          .orElseThrow(() -> new OptimisticLockingFailureException(
+            "Transaction is changed concurrently: " + transaction.getId()));
+        managedTransaction.setStatus(chainResult.toStatus());
+        managedTransaction.getIntermediateStatuses().clear();
+        managedTransaction.getIntermediateStatuses().addAll(chainResult.intermediateStatuses());
+        return transactionRepository.saveAndFlush(managedTransaction).getVersion();
+      });
+      transaction.setVersion(version);
+    } catch (OptimisticLockingFailureException e) {
+      baseLibraryService.retryStatusTransition(transaction.getId(), chainResult.fromStatus(), chainResult.toStatus(),
+        chainResult.intermediateStatuses(), e);
+    }
+  }
+
+  private LenderChainResult processLenderChain(TransactionEntity transaction,
+    List<TransactionStatus.StatusEnum> statuses) {
+    var loadedStatus = transaction.getStatus();
+    var intermediateStatuses = new ArrayList<TransactionStatus.StatusEnum>();
+    for (var statusEnum : statuses) {
+      var intermediateStatusAdded = transaction.getStatus() != loadedStatus
+        && intermediateStatuses.add(transaction.getStatus());
+      try {
+        lendingLibraryService.updateTransactionStatus(transaction,
+          TransactionStatus.builder().status(statusEnum).build());
+      } catch (RuntimeException e) {
+        log.warn("processLenderChain:: Transition of transaction {} to {} failed, completed steps are written",
+          transaction.getId(), statusEnum);
+        if (intermediateStatusAdded) {
+          intermediateStatuses.removeLast();
+        }
+        return new LenderChainResult(loadedStatus, transaction.getStatus(), List.copyOf(intermediateStatuses), e);
+      }
+    }
+    return new LenderChainResult(loadedStatus, transaction.getStatus(), List.copyOf(intermediateStatuses), null);
   }
 
   private void processBorrowerTransaction(TransactionStatus status, TransactionEntity transaction) {
@@ -299,6 +411,17 @@ public class TransactionsServiceImpl implements TransactionsService {
       .orElseThrow(() -> new NotFoundException(String.format("DCB Transaction was not found by id= %s ", txId)));
   }
 
+  /**
+   * Creates the template of a read-only transaction, that is opened on the read replica like the transactions of
+   * {@code @Transactional(readOnly = true)} methods, so the loan lookups of the caller are made outside of it.
+   */
+  private TransactionTemplate readOnlyTransactionTemplate(String methodName) {
+    var readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    readOnlyTemplate.setReadOnly(true);
+    readOnlyTemplate.setName(TransactionsServiceImpl.class.getName() + "." + methodName);
+    return readOnlyTemplate;
+  }
+
   private void checkTransactionExistsAndThrow(String dcbTransactionId) {
     if (transactionRepository.existsById(dcbTransactionId)) {
       throw new ResourceAlreadyExistException(
@@ -364,4 +487,12 @@ public class TransactionsServiceImpl implements TransactionsService {
   }
 
   private record LoanRenewalDetails(Integer loanRenewalCount, Integer renewalMaxCount, Boolean renewable) {}
+
+  /**
+   * Outcome of a lender status chain: the loaded and the reached status, the statuses passed in between, and the
+   * failure of the step that was not completed, if any.
+   */
+  private record LenderChainResult(TransactionStatus.StatusEnum fromStatus, TransactionStatus.StatusEnum toStatus,
+    List<TransactionStatus.StatusEnum> intermediateStatuses, RuntimeException failure) {
+  }
 }
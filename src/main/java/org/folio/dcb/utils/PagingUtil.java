@@ -0,0 +1,35 @@
+package org.folio.dcb.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.folio.dcb.domain.ResultList;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PagingUtil {
+
+  /**
+   * Fetches all records of a paged storage query.
+   *
+   * <p>Pages are requested one by one until a page has less records than the page size.</p>
+   *
+   * @param <T> - the type of records
+   * @param pageSize - the number of records requested per page
+   * @param pageFetcher - fetches a page by limit and offset
+   * @return all fetched records
+   */
+  public static <T> List<T> fetchAllPages(int pageSize, BiFunction<Integer, Integer, ResultList<T>> pageFetcher) {
+    var records = new ArrayList<T>();
+    var offset = 0;
+    while (true) {
+      var page = pageFetcher.apply(pageSize, offset).getResult();
+      records.addAll(page);
+      offset += pageSize;
+      if (page.size() < pageSize) {
+        return records;
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.folio.dcb.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.folio.dcb.support.types.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionExecution;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+  private static final String SERVICE_TRANSACTION = "org.folio.dcb.service.SettingService.getSettingById";
+  private static final String REPOSITORY_TRANSACTION =
+    "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+  private static final String CONNECTIONS_METRIC = "dcb.datasource.read-only.connections";
+
+  @Mock private DataSource primaryDataSource;
+  @Mock private DataSource replicaDataSource;
+  @Mock private Connection primaryConnection;
+  @Mock private Connection replicaConnection;
+  @Mock private Statement statement;
+  @Mock private ResultSet resultSet;
+  @Mock private TransactionExecution transaction;
+
+  private final ReadReplicaProperties properties = new ReadReplicaProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ReadReplicaRoutingDataSource.ReadOnlyTransactionListener listener =
+    new ReadReplicaRoutingDataSource.ReadOnlyTransactionListener();
+  private ReadReplicaRoutingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    properties.setMaxLag(Duration.ofSeconds(1));
+    dataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, properties, meterRegistry);
+  }
+
+  @Test
+  void getConnection_positive_readWriteTransaction() throws SQLException {
+    when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+    var connection = dataSource.getConnection();
+
+    assertThat(connection).isSameAs(primaryConnection);
+    verify(replicaDataSource, never()).getConnection();
+  }
+
+  @Test
+  void getConnection_positive_readOnlyTransactionOnReplica() throws SQLException {
+    mockReplicaLag(200);
+
+    var connection = getReadOnlyTransactionConnection(SERVICE_TRANSACTION);
+
+    assertThat(connection).isSameAs(replicaConnection);
+    assertThat(meterRegistry.get(CONNECTIONS_METRIC).tag("target", "replica").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void getConnection_positive_repositoryTransactionOnPrimary() throws SQLException {
+    when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+    var connection = getReadOnlyTransactionConnection(REPOSITORY_TRANSACTION);
+
+    assertThat(connection).isSameAs(primaryConnection);
+    verify(replicaDataSource, never()).getConnection();
+  }
+
+  @Test
+  void getConnection_positive_replicaLagExceeded() throws SQLException {
+    mockReplicaLag(5000);
+    when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+    var connection = getReadOnlyTransactionConnection(SERVICE_TRANSACTION);
+
+    assertThat(connection).isSameAs(primaryConnection);
+    assertThat(meterRegistry.get(CONNECTIONS_METRIC).tag("target", "primary").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void getConnection_positive_replicaUnavailable() throws SQLException {
+    when(replicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+    when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+    var connection = getReadOnlyTransactionConnection(SERVICE_TRANSACTION);
+
+    assertThat(connection).isSameAs(primaryConnection);
+  }
+
+  private Connection getReadOnlyTransactionConnection(String transactionName) throws SQLException {
+    when(transaction.isReadOnly()).thenReturn(true);
+    when(transaction.getTransactionName()).thenReturn(transactionName);
+    listener.beforeBegin(transaction);
+    try {
+      return dataSource.getConnection();
+    } finally {
+      listener.afterBegin(transaction, null);
+    }
+  }
+
+  private void mockReplicaLag(double lagMillis) throws SQLException {
+    when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+    when(replicaConnection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getDouble(1)).thenReturn(lagMillis);
+  }
+}
@@ -0,0 +1,99 @@
+package org.folio.dcb.domain.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.folio.dcb.domain.entity.TransactionAuditEntity;
+import org.folio.dcb.repository.TransactionAuditRepository;
+import org.folio.dcb.support.types.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class TransactionAuditStateResolverTest {
+
+  private static final String CREATED_STATE = """
+    {"id":"trn-1","status":"CREATED","itemBarcode":"b-1","patronGroup":"staff"}""";
+
+  @Mock private TransactionAuditRepository transactionAuditRepository;
+
+  private final JsonMapper jsonMapper = new JsonMapper();
+  private TransactionAuditStateResolver resolver;
+
+  @BeforeEach
+  void setUp() {
+    resolver = new TransactionAuditStateResolver(transactionAuditRepository, jsonMapper);
+  }
+
+  @Test
+  void createPatch_positive_containsChangedAndRemovedFieldsOnly() {
+    var before = (ObjectNode) jsonMapper.readTree("""
+      {"id":"trn-1","status":"OPEN","itemBarcode":"b-1","patronGroup":"staff","savedState":null}""");
+    var after = (ObjectNode) jsonMapper.readTree("""
+      {"id":"trn-1","status":"AWAITING_PICKUP","itemBarcode":"b-1","savedState":{"status":"OPEN"}}""");
+
+    var patch = TransactionAuditStateResolver.createPatch(before, after);
+
+    assertThat(patch).hasToString("{\"status\":\"AWAITING_PICKUP\",\"patronGroup\":null}");
+  }
+
+  @Test
+  void resolveAfterStates_positive_appliesPatchesToFullState() {
+    var created = fullAudit(CREATED_STATE);
+    var opened = deltaAudit(created, "{\"status\":\"OPEN\",\"patronGroup\":null}");
+    var awaitingPickup = deltaAudit(opened, "{\"status\":\"AWAITING_PICKUP\"}");
+    when(transactionAuditRepository.findAllByIdIn(Set.of(opened.getId()))).thenReturn(List.of(opened));
+    when(transactionAuditRepository.findAllByIdIn(Set.of(created.getId()))).thenReturn(List.of(created));
+
+    var states = resolver.resolveAfterStates(List.of(awaitingPickup));
+
+    assertThat(states).containsExactly(
+      "{\"id\":\"trn-1\",\"status\":\"AWAITING_PICKUP\",\"itemBarcode\":\"b-1\"}");
+  }
+
+  @Test
+  void resolveAfterStates_positive_reusesStatesResolvedInPage() {
+    var created = fullAudit(CREATED_STATE);
+    var opened = deltaAudit(created, "{\"status\":\"OPEN\"}");
+    var awaitingPickup = deltaAudit(opened, "{\"status\":\"AWAITING_PICKUP\"}");
+
+    var states = resolver.resolveAfterStates(List.of(created, opened, awaitingPickup));
+
+    assertThat(states).containsExactly(CREATED_STATE,
+      "{\"id\":\"trn-1\",\"status\":\"OPEN\",\"itemBarcode\":\"b-1\",\"patronGroup\":\"staff\"}",
+      "{\"id\":\"trn-1\",\"status\":\"AWAITING_PICKUP\",\"itemBarcode\":\"b-1\",\"patronGroup\":\"staff\"}");
+    verify(transactionAuditRepository, never()).findAllByIdIn(any());
+  }
+
+  @Test
+  void resolveAfterStates_negative_appliesPatchesToEmptyStateIfChainIsBroken() {
+    var opened = deltaAudit(fullAudit(CREATED_STATE), "{\"status\":\"OPEN\"}");
+    when(transactionAuditRepository.findAllByIdIn(Set.of(opened.getPreviousAuditId()))).thenReturn(List.of());
+
+    var states = resolver.resolveAfterStates(List.of(opened));
+
+    assertThat(states).containsExactly("{\"status\":\"OPEN\"}");
+  }
+
+  private static TransactionAuditEntity fullAudit(String after) {
+    return TransactionAuditEntity.builder().id(UUID.randomUUID()).transactionId("trn-1").action("CREATE")
+      .after(after).build();
+  }
+
+  private static TransactionAuditEntity deltaAudit(TransactionAuditEntity previous, String patch) {
+    return TransactionAuditEntity.builder().id(UUID.randomUUID()).transactionId("trn-1").action("UPDATE")
+      .patch(patch).previousAuditId(previous.getId()).build();
+  }
+}
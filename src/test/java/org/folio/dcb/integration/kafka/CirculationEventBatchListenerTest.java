@@ -0,0 +1,233 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.PICKUP;
+import static org.folio.dcb.integration.kafka.CirculationEventListener.CHECK_OUT_LOAN_LISTENER_ID;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_RECEIVED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_TRANSITIONED;
+import static org.folio.dcb.utils.EntityUtils.createTransactionEntity;
+import static org.folio.dcb.utils.EntityUtils.getMockDataAsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.service.impl.BaseLibraryService;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.service.impl.ProcessedEventLedger;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CirculationEventBatchListenerTest {
+
+  private static final String ITEM_ID = "8db107f5-12aa-479f-9c07-39e7c9cf2e4d";
+  private static final String CHECK_OUT_EVENT = getMockDataAsString("mockdata/kafka/check_out_dcb.json");
+  private static final String CHECK_IN_EVENT = getMockDataAsString("mockdata/kafka/loan_check_in.json");
+
+  @Mock private TransactionRepository transactionRepository;
+  @Mock private CirculationEventExecutor circulationEventExecutor;
+  @Mock private BaseLibraryService baseLibraryService;
+  @Mock private OpenTransactionIndex openTransactionIndex;
+  @Mock private CirculationEventRetryHandler circulationEventRetryHandler;
+  @Mock private ProcessedEventLedger processedEventLedger;
+
+  private final List<Map<TransactionEntity, StatusEnum>> savedUpdates = new ArrayList<>();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private CirculationEventBatchListener batchListener;
+
+  @BeforeEach
+  void setUp() {
+    batchListener = new CirculationEventBatchListener(transactionRepository, circulationEventExecutor,
+      baseLibraryService, openTransactionIndex, circulationEventRetryHandler, new FolioKafkaProperties(),
+      processedEventLedger, new CirculationEventMetrics(meterRegistry),
+      new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    lenient().when(circulationEventRetryHandler.withRetry(any(), anyString(), any()))
+      .thenAnswer(inv -> inv.getArgument(2));
+    lenient().when(processedEventLedger.skipProcessed(anyString(), any(), any()))
+      .thenAnswer(inv -> inv.getArgument(2));
+    lenient().when(circulationEventExecutor.execute(anyString(), isNull(), anyString(), isNull(), any(Runnable.class)))
+      .thenAnswer(inv -> {
+        try {
+          inv.<Runnable>getArgument(4).run();
+          return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+          return CompletableFuture.failedFuture(e);
+        }
+      });
+    lenient().when(openTransactionIndex.mayContainItem(anyString(), any())).thenReturn(true);
+  }
+
+  @Test
+  void handleLoanEvents_positive_singleLookupAndOrderedTransitionsForSameItem() {
+    mockBatchSave();
+    when(transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(any()))
+      .thenReturn(List.of(pickupTransaction(StatusEnum.AWAITING_PICKUP)));
+
+    batchListener.handleLoanEvents(List.of(consumerRecord("diku", CHECK_OUT_EVENT),
+      consumerRecord("diku", CHECK_IN_EVENT)));
+
+    verify(transactionRepository).findTransactionsByItemIdsAndStatusNotInClosed(any());
+    assertThat(savedUpdates).hasSize(2);
+    assertThat(savedUpdates.get(0).values()).containsExactly(StatusEnum.ITEM_CHECKED_OUT);
+    assertThat(savedUpdates.get(1).values()).containsExactly(StatusEnum.ITEM_CHECKED_IN);
+  }
+
+  @Test
+  void handleLoanEvents_positive_groupsEventsByTenant() {
+    mockBatchSave();
+    when(transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(any()))
+      .thenAnswer(inv -> List.of(pickupTransaction(StatusEnum.AWAITING_PICKUP)));
+
+    batchListener.handleLoanEvents(List.of(consumerRecord("diku", CHECK_OUT_EVENT),
+      consumerRecord("college", CHECK_OUT_EVENT)));
+
+    verify(circulationEventExecutor)
+      .execute(eq(CHECK_OUT_LOAN_LISTENER_ID), isNull(), eq("diku"), isNull(), any(Runnable.class));
+    verify(circulationEventExecutor)
+      .execute(eq(CHECK_OUT_LOAN_LISTENER_ID), isNull(), eq("college"), isNull(), any(Runnable.class));
+    verify(transactionRepository, times(2)).findTransactionsByItemIdsAndStatusNotInClosed(any());
+    assertThat(savedUpdates).hasSize(2);
+  }
+
+  @Test
+  void handleLoanEvents_positive_fallsBackToPerRecordProcessingOnBulkFailure() {
+    when(transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(any()))
+      .thenThrow(new IllegalStateException("Bulk lookup failed"))
+      .thenAnswer(inv -> List.of(pickupTransaction(StatusEnum.AWAITING_PICKUP)))
+      .thenAnswer(inv -> List.of(pickupTransaction(StatusEnum.ITEM_CHECKED_OUT)));
+    mockBatchSave();
+
+    batchListener.handleLoanEvents(List.of(consumerRecord("diku", CHECK_OUT_EVENT),
+      consumerRecord("diku", CHECK_IN_EVENT)));
+
+    verify(transactionRepository, times(3)).findTransactionsByItemIdsAndStatusNotInClosed(any());
+    assertThat(savedUpdates).hasSize(2);
+    assertThat(savedUpdates.get(0).values()).containsExactly(StatusEnum.ITEM_CHECKED_OUT);
+    assertThat(savedUpdates.get(1).values()).containsExactly(StatusEnum.ITEM_CHECKED_IN);
+  }
+
+  @Test
+  void handleLoanEvents_positive_failedEventIsPassedToRetryHandler() {
+    var failure = new IllegalStateException("Lookup failed");
+    when(transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(any())).thenThrow(failure);
+    when(circulationEventRetryHandler.withRetry(any(), eq("diku"), any())).thenAnswer(inv -> (Runnable) () -> {
+      try {
+        inv.<Runnable>getArgument(2).run();
+      } catch (RuntimeException e) {
+        circulationEventRetryHandler.handleFailure(inv.getArgument(0), "diku", e);
+      }
+    });
+
+    batchListener.handleLoanEvents(List.of(consumerRecord("diku", CHECK_OUT_EVENT)));
+
+    verify(circulationEventRetryHandler).handleFailure(any(), eq("diku"), eq(failure));
+    verifyNoInteractions(baseLibraryService);
+  }
+
+  @Test
+  void handleLoanEvents_negative_failureIsRethrownWhenRetryIsDisabled() {
+    when(transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(any()))
+      .thenThrow(new IllegalStateException("Lookup failed"));
+    var records = List.of(consumerRecord("diku", CHECK_OUT_EVENT));
+
+    assertThatThrownBy(() -> batchListener.handleLoanEvents(records))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Lookup failed");
+  }
+
+  @Test
+  void handleLoanEvents_positive_processedEventsAreSkippedAndNewOnesRecorded() {
+    mockBatchSave();
+    when(processedEventLedger.isEnabled()).thenReturn(true);
+    when(processedEventLedger.isProcessed("diku", "topic-0-0")).thenReturn(true);
+    when(processedEventLedger.isProcessed("diku", "topic-0-1")).thenReturn(false);
+    when(processedEventLedger.markProcessed("diku", "topic-0-1")).thenReturn(true);
+    when(transactionRepository.findTransactionsByItemIdsAndStatusNotInClosed(any()))
+      .thenReturn(List.of(pickupTransaction(StatusEnum.ITEM_CHECKED_OUT)));
+
+    batchListener.handleLoanEvents(List.of(consumerRecord("diku", CHECK_OUT_EVENT, 0L),
+      consumerRecord("diku", CHECK_IN_EVENT, 1L)));
+
+    assertThat(savedUpdates).hasSize(1);
+    assertThat(savedUpdates.getFirst().values()).containsExactly(StatusEnum.ITEM_CHECKED_IN);
+    verify(processedEventLedger).markProcessed("diku", "topic-0-1");
+    verify(processedEventLedger, never()).markProcessed("diku", "topic-0-0");
+    assertThat(meterRegistry.get("dcb.circulation.events").tags("stage", STAGE_RECEIVED).counter().count())
+      .isEqualTo(2.0);
+    assertThat(meterRegistry.get("dcb.circulation.events").tags("stage", STAGE_TRANSITIONED).counter().count())
+      .isEqualTo(1.0);
+  }
+
+  @Test
+  void handleLoanEvents_negative_recordWithoutTenantIsSkipped() {
+    var consumerRecord = new ConsumerRecord<String, String>("topic", 0, 0L, "key", CHECK_OUT_EVENT);
+
+    batchListener.handleLoanEvents(List.of(consumerRecord));
+
+    verifyNoInteractions(circulationEventExecutor, transactionRepository, baseLibraryService);
+  }
+
+  @Test
+  void handleLoanEvents_positive_eventsWithoutOpenTransactionsAreSkipped() {
+    when(openTransactionIndex.mayContainItem("diku", ITEM_ID)).thenReturn(false);
+
+    batchListener.handleLoanEvents(List.of(consumerRecord("diku", CHECK_OUT_EVENT),
+      consumerRecord("diku", CHECK_IN_EVENT)));
+
+    verifyNoInteractions(circulationEventExecutor, transactionRepository, baseLibraryService);
+  }
+
+  private void mockBatchSave() {
+    when(baseLibraryService.updateTransactionEntities(anyMap())).thenAnswer(inv -> {
+      Map<TransactionEntity, StatusEnum> updates = inv.getArgument(0);
+      savedUpdates.add(Map.copyOf(updates));
+      updates.forEach(TransactionEntity::setStatus);
+      return List.copyOf(updates.keySet());
+    });
+  }
+
+  private static TransactionEntity pickupTransaction(StatusEnum status) {
+    var transactionEntity = createTransactionEntity(PICKUP);
+    transactionEntity.setItemId(ITEM_ID);
+    transactionEntity.setStatus(status);
+    return transactionEntity;
+  }
+
+  private static ConsumerRecord<String, String> consumerRecord(String tenantId, String payload) {
+    return consumerRecord(tenantId, payload, 0L);
+  }
+
+  private static ConsumerRecord<String, String> consumerRecord(String tenantId, String payload, long offset) {
+    var consumerRecord = new ConsumerRecord<String, String>("topic", 0, offset, "key", payload);
+    consumerRecord.headers().add(XOkapiHeaders.TENANT, tenantId.getBytes(StandardCharsets.UTF_8));
+    return consumerRecord;
+  }
+}
@@ -0,0 +1,235 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.awaitility.Durations.FIVE_SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.TopicPartition;
+import org.folio.dcb.config.SystemUserContextProperties;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import tools.jackson.databind.ObjectMapper;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CirculationEventExecutorTest {
+
+  private static final String LISTENER_ID = "listener-id";
+  private static final TopicPartition PARTITION = new TopicPartition("topic", 0);
+
+  @Mock private SystemUserScopedExecutionService systemUserScopedExecutionService;
+  @Mock private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+  @Mock private MessageListenerContainer listenerContainer;
+  @Mock private FolioExecutionContext folioExecutionContext;
+
+  private final FolioKafkaProperties folioKafkaProperties = new FolioKafkaProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<String> processedEvents = new CopyOnWriteArrayList<>();
+  private final CountDownLatch blockingTaskLatch = new CountDownLatch(1);
+  private CirculationEventExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    var executorProperties = folioKafkaProperties.getExecutor();
+    executorProperties.setEnabled(true);
+    executorProperties.setPoolSize(1);
+    var systemUserContextCache = new SystemUserContextCache(new SystemUserContextProperties(),
+      systemUserScopedExecutionService, folioExecutionContext, new ObjectMapper(), meterRegistry);
+    executor = new CirculationEventExecutor(folioKafkaProperties, kafkaListenerEndpointRegistry,
+      systemUserContextCache, meterRegistry);
+    lenient().when(systemUserScopedExecutionService.executeSystemUserScoped(anyString(), any()))
+      .thenAnswer(inv -> inv.<Callable<?>>getArgument(1).call());
+  }
+
+  @AfterEach
+  void tearDown() {
+    blockingTaskLatch.countDown();
+    executor.stop();
+  }
+
+  @Test
+  void execute_positive_processesTenantsRoundRobin() throws InterruptedException {
+    executor.start();
+    var blockingTaskStarted = new CountDownLatch(1);
+    executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> {
+      blockingTaskStarted.countDown();
+      awaitBlockingTaskLatch();
+      processedEvents.add("diku-1");
+    });
+    assertThat(blockingTaskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    executor.execute(LISTENER_ID, PARTITION, "diku", "item-2", () -> processedEvents.add("diku-2"));
+    executor.execute(LISTENER_ID, PARTITION, "diku", "item-3", () -> processedEvents.add("diku-3"));
+    executor.execute(LISTENER_ID, PARTITION, "college", "item-1", () -> processedEvents.add("college-1"));
+    assertThat(meterRegistry.get("dcb.kafka.executor.queue.size").gauge().value()).isEqualTo(3.0);
+    assertThat(meterRegistry.get("dcb.kafka.executor.active").gauge().value()).isEqualTo(1.0);
+    blockingTaskLatch.countDown();
+
+    awaitProcessedEvents(4);
+    assertThat(processedEvents).containsExactly("diku-1", "diku-2", "college-1", "diku-3");
+    assertThat(meterRegistry.get("dcb.kafka.executor.task.duration").timer().count()).isEqualTo(4);
+  }
+
+  @Test
+  void execute_positive_pausesAndResumesListenerWhenQueueIsFull() throws InterruptedException {
+    folioKafkaProperties.getExecutor().setQueueCapacity(1);
+    when(kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID)).thenReturn(listenerContainer);
+    executor.start();
+    var blockingTaskStarted = new CountDownLatch(1);
+    executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> {
+      blockingTaskStarted.countDown();
+      awaitBlockingTaskLatch();
+      processedEvents.add("event-1");
+    });
+    assertThat(blockingTaskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> processedEvents.add("event-2"));
+
+    var listenerThread = Thread.ofPlatform().start(() ->
+      executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> processedEvents.add("event-3")));
+
+    verify(listenerContainer, timeout(5000)).pausePartition(PARTITION);
+    assertThat(listenerThread.isAlive()).isTrue();
+    blockingTaskLatch.countDown();
+    listenerThread.join(5000);
+
+    awaitProcessedEvents(3);
+    verify(listenerContainer, timeout(5000)).resumePartition(PARTITION);
+    assertThat(processedEvents).containsExactly("event-1", "event-2", "event-3");
+    assertThat(meterRegistry.get("dcb.kafka.executor.saturated").counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void execute_positive_queuesEventBeyondCapacityAfterSubmitTimeout() throws InterruptedException {
+    folioKafkaProperties.getExecutor().setQueueCapacity(1);
+    folioKafkaProperties.getExecutor().setSubmitTimeout(Duration.ofMillis(50));
+    executor.start();
+    var blockingTaskStarted = new CountDownLatch(1);
+    executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> {
+      blockingTaskStarted.countDown();
+      awaitBlockingTaskLatch();
+    });
+    assertThat(blockingTaskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> processedEvents.add("event-1"));
+
+    executor.execute(LISTENER_ID, PARTITION, "diku", null, () -> processedEvents.add("event-2"));
+    assertThat(processedEvents).isEmpty();
+    assertThat(meterRegistry.get("dcb.kafka.executor.queue.size").gauge().value()).isEqualTo(2.0);
+    blockingTaskLatch.countDown();
+
+    awaitProcessedEvents(2);
+    assertThat(processedEvents).containsExactly("event-1", "event-2");
+  }
+
+  @Test
+  void execute_positive_processesEventsOfSameKeyInOrderAndOtherKeysInParallel() throws InterruptedException {
+    folioKafkaProperties.getExecutor().setPoolSize(2);
+    executor.start();
+    var blockingTaskStarted = new CountDownLatch(1);
+    executor.execute(LISTENER_ID, PARTITION, "diku", "item-1", () -> {
+      blockingTaskStarted.countDown();
+      awaitBlockingTaskLatch();
+      processedEvents.add("item-1-check-out");
+    });
+    assertThat(blockingTaskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    executor.execute(LISTENER_ID, PARTITION, "diku", "item-1", () -> processedEvents.add("item-1-check-in"));
+    executor.execute(LISTENER_ID, PARTITION, "diku", "item-2", () -> processedEvents.add("item-2-check-out"));
+
+    awaitProcessedEvents(1);
+    assertThat(processedEvents).containsExactly("item-2-check-out");
+    blockingTaskLatch.countDown();
+    awaitProcessedEvents(3);
+    assertThat(processedEvents).containsExactly("item-2-check-out", "item-1-check-out", "item-1-check-in");
+  }
+
+  @Test
+  void execute_positive_completesFutureWhenEventIsProcessed() throws InterruptedException {
+    executor.start();
+    var blockingTaskStarted = new CountDownLatch(1);
+    var completion = executor.execute(LISTENER_ID, PARTITION, "diku", "item-1", () -> {
+      blockingTaskStarted.countDown();
+      awaitBlockingTaskLatch();
+    });
+    assertThat(blockingTaskStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(completion).isNotDone();
+    blockingTaskLatch.countDown();
+    assertThat(completion).succeedsWithin(FIVE_SECONDS);
+  }
+
+  @Test
+  void execute_negative_completesFutureExceptionallyWhenEventFails() {
+    executor.start();
+
+    var completion = executor.execute(LISTENER_ID, PARTITION, "diku", "item-1", () -> {
+      throw new IllegalStateException("Processing failed");
+    });
+
+    assertThat(completion).failsWithin(FIVE_SECONDS)
+      .withThrowableThat().havingRootCause().withMessage("Processing failed");
+  }
+
+  @Test
+  void execute_positive_processesEventInListenerThreadWhenDisabled() {
+    folioKafkaProperties.getExecutor().setEnabled(false);
+    executor.start();
+    var listenerThread = Thread.currentThread();
+
+    var completion = executor.execute(LISTENER_ID, PARTITION, "diku", "item",
+      () -> processedEvents.add(Thread.currentThread() == listenerThread ? "event" : "other-thread-event"));
+
+    assertThat(completion).isCompleted();
+    assertThat(processedEvents).containsExactly("event");
+    verify(systemUserScopedExecutionService).executeSystemUserScoped(eq("diku"), any());
+    verifyNoInteractions(kafkaListenerEndpointRegistry);
+    assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+
+  @Test
+  void execute_negative_returnsFailedFutureWhenDisabled() {
+    folioKafkaProperties.getExecutor().setEnabled(false);
+    executor.start();
+
+    var completion = executor.execute(LISTENER_ID, PARTITION, "diku", "item", () -> {
+      throw new IllegalStateException("Processing failed");
+    });
+
+    assertThat(completion).isCompletedExceptionally();
+  }
+
+  private void awaitBlockingTaskLatch() {
+    try {
+      blockingTaskLatch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitProcessedEvents(int expectedCount) {
+    await().atMost(FIVE_SECONDS).until(() -> processedEvents.size() == expectedCount);
+  }
+}
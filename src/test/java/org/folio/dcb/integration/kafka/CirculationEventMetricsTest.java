@@ -0,0 +1,59 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.LENDER;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_MATCHED;
+import static org.folio.dcb.integration.kafka.CirculationEventMetrics.STAGE_RECEIVED;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.support.types.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+
+@UnitTest
+class CirculationEventMetricsTest {
+
+  private static final String TENANT_ID = "diku";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CirculationEventMetrics circulationEventMetrics = new CirculationEventMetrics(meterRegistry);
+
+  @Test
+  void count_positive_tagsEventsByTenantTypeRoleAndStage() {
+    circulationEventMetrics.count(TENANT_ID, "loan", STAGE_RECEIVED);
+    circulationEventMetrics.count(TENANT_ID, "loan", TransactionEntity.builder().role(LENDER).build(),
+      STAGE_MATCHED);
+
+    assertThat(meterRegistry.get("dcb.circulation.events")
+      .tags("tenant", TENANT_ID, "type", "loan", "role", "none", "stage", STAGE_RECEIVED)
+      .counter().count()).isEqualTo(1.0);
+    assertThat(meterRegistry.get("dcb.circulation.events")
+      .tags("tenant", TENANT_ID, "type", "loan", "role", "LENDER", "stage", STAGE_MATCHED)
+      .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void recordParse_positive_returnsParsedValueAndRecordsTime() {
+    var result = circulationEventMetrics.recordParse("request", () -> "parsed");
+
+    assertThat(result).isEqualTo("parsed");
+    assertThat(meterRegistry.get("dcb.circulation.events.parse").tag("type", "request").timer().count())
+      .isEqualTo(1);
+  }
+
+  @Test
+  void recordEndToEnd_positive_recordsTimeFromEventTimestamp() {
+    var headers = new MessageHeaders(Map.of(KafkaHeaders.RECEIVED_TIMESTAMP, System.currentTimeMillis() - 5_000));
+
+    circulationEventMetrics.recordEndToEnd(TENANT_ID, "check-in", headers);
+    circulationEventMetrics.recordEndToEnd(TENANT_ID, "check-in", new MessageHeaders(Map.of()));
+
+    var timer = meterRegistry.get("dcb.circulation.events.end-to-end").tag("tenant", TENANT_ID).timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5_000);
+  }
+}
@@ -0,0 +1,195 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.awaitility.Durations.ONE_MINUTE;
+import static org.folio.dcb.domain.dto.DcbTransaction.RoleEnum.PICKUP;
+import static org.folio.dcb.utils.EntityUtils.getMockDataAsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import org.folio.dcb.config.SystemUserContextProperties;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.service.impl.BaseLibraryService;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.service.impl.ProcessedEventLedger;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.messaging.MessageHeaders;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Replays interleaved check-out/check-in streams of many items from several listener threads and verifies that
+ * transitions of every transaction are applied in the order of its events, while different items are processed in
+ * parallel.
+ */
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CirculationEventOrderingStressTest {
+
+  private static final String TENANT = "diku";
+  private static final String TEMPLATE_ITEM_ID = "8db107f5-12aa-479f-9c07-39e7c9cf2e4d";
+  private static final String CHECK_OUT_EVENT = getMockDataAsString("mockdata/kafka/check_out_dcb.json");
+  private static final String CHECK_IN_EVENT = getMockDataAsString("mockdata/kafka/loan_check_in.json");
+  private static final int ITEMS = 40;
+  private static final int LOAN_CYCLES = 25;
+  private static final int LISTENER_THREADS = 4;
+
+  @Mock private TransactionRepository transactionRepository;
+  @Mock private BaseLibraryService baseLibraryService;
+  @Mock private OpenTransactionIndex openTransactionIndex;
+  @Mock private ProcessedEventLedger processedEventLedger;
+  @Mock private SystemUserScopedExecutionService systemUserScopedExecutionService;
+  @Mock private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+  @Mock private FolioExecutionContext folioExecutionContext;
+
+  private final Map<String, StatusEnum> storedStatuses = new ConcurrentHashMap<>();
+  private final Map<String, List<StatusEnum>> appliedTransitions = new ConcurrentHashMap<>();
+  private final List<String> lostUpdates = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger activeUpdates = new AtomicInteger();
+  private final AtomicInteger maxActiveUpdates = new AtomicInteger();
+  private CirculationEventExecutor circulationEventExecutor;
+  private CirculationEventListener eventListener;
+
+  @BeforeEach
+  void setUp() {
+    var folioKafkaProperties = new FolioKafkaProperties();
+    folioKafkaProperties.getExecutor().setEnabled(true);
+    folioKafkaProperties.getExecutor().setPoolSize(8);
+    folioKafkaProperties.getExecutor().setQueueCapacity(100);
+    var meterRegistry = new SimpleMeterRegistry();
+    var systemUserContextCache = new SystemUserContextCache(new SystemUserContextProperties(),
+      systemUserScopedExecutionService, folioExecutionContext, new ObjectMapper(), meterRegistry);
+    circulationEventExecutor = new CirculationEventExecutor(folioKafkaProperties, kafkaListenerEndpointRegistry,
+      systemUserContextCache, meterRegistry);
+    circulationEventExecutor.start();
+    eventListener = new CirculationEventListener(transactionRepository, circulationEventExecutor,
+      baseLibraryService, openTransactionIndex, new CirculationEventRetryHandler(folioKafkaProperties, null),
+      folioKafkaProperties, processedEventLedger, new CirculationEventMetrics(meterRegistry));
+
+    when(openTransactionIndex.mayContainItem(anyString(), anyString())).thenReturn(true);
+    when(processedEventLedger.skipProcessed(anyString(), any(), any())).thenAnswer(inv -> inv.getArgument(2));
+    when(systemUserScopedExecutionService.executeSystemUserScoped(anyString(), any()))
+      .thenAnswer(inv -> inv.<Callable<?>>getArgument(1).call());
+    when(transactionRepository.findTransactionByItemIdAndStatusNotInClosed(any()))
+      .thenAnswer(inv -> Optional.of(loadTransaction(inv.getArgument(0).toString())));
+    doAnswer(inv -> {
+      storeTransaction(inv.getArgument(0), inv.getArgument(1));
+      return null;
+    }).when(baseLibraryService).updateTransactionEntity(any(), any());
+  }
+
+  @AfterEach
+  void tearDown() {
+    circulationEventExecutor.stop();
+  }
+
+  @Test
+  void handleLoanEvent_positive_interleavedStreamsKeepPerItemOrder() throws InterruptedException {
+    var itemIds = IntStream.range(0, ITEMS).mapToObj(i -> UUID.randomUUID().toString()).toList();
+    itemIds.forEach(itemId -> storedStatuses.put(itemId, StatusEnum.AWAITING_PICKUP));
+
+    var listenerThreads = IntStream.range(0, LISTENER_THREADS)
+      .mapToObj(partition -> Thread.ofPlatform().start(() -> replayPartition(partition, itemIds)))
+      .toList();
+    for (var listenerThread : listenerThreads) {
+      listenerThread.join();
+    }
+
+    var expectedTransitions = IntStream.range(0, LOAN_CYCLES)
+      .mapToObj(i -> List.of(StatusEnum.ITEM_CHECKED_OUT, StatusEnum.ITEM_CHECKED_IN))
+      .flatMap(List::stream)
+      .toList();
+    await().atMost(ONE_MINUTE).until(() -> appliedTransitions.values().stream()
+      .mapToInt(List::size).sum() == ITEMS * expectedTransitions.size());
+
+    assertThat(lostUpdates).isEmpty();
+    assertThat(appliedTransitions).hasSize(ITEMS)
+      .allSatisfy((itemId, transitions) -> assertThat(transitions).containsExactlyElementsOf(expectedTransitions));
+    assertThat(maxActiveUpdates.get()).isGreaterThan(1);
+  }
+
+  /**
+   * Replays interleaved loan streams of items assigned to a partition, the events of every item keep their order.
+   */
+  private void replayPartition(int partition, List<String> itemIds) {
+    var random = new Random(partition);
+    var events = new ArrayList<String>();
+    var streams = new ArrayList<List<String>>();
+    for (int i = partition; i < itemIds.size(); i += LISTENER_THREADS) {
+      var itemId = itemIds.get(i);
+      var stream = new ArrayList<String>();
+      for (int cycle = 0; cycle < LOAN_CYCLES; cycle++) {
+        stream.add(CHECK_OUT_EVENT.replace(TEMPLATE_ITEM_ID, itemId));
+        stream.add(CHECK_IN_EVENT.replace(TEMPLATE_ITEM_ID, itemId));
+      }
+      streams.add(stream);
+    }
+
+    while (!streams.isEmpty()) {
+      var streamIndex = random.nextInt(streams.size());
+      var stream = streams.get(streamIndex);
+      events.add(stream.removeFirst());
+      if (stream.isEmpty()) {
+        streams.remove(streamIndex);
+      }
+    }
+
+    var headers = new MessageHeaders(Map.of(XOkapiHeaders.TENANT, TENANT.getBytes(StandardCharsets.UTF_8)));
+    events.forEach(event -> eventListener.handleLoanEvent(event, headers));
+  }
+
+  private TransactionEntity loadTransaction(String itemId) {
+    return TransactionEntity.builder()
+      .id(itemId)
+      .itemId(itemId)
+      .role(PICKUP)
+      .status(storedStatuses.get(itemId))
+      .build();
+  }
+
+  private void storeTransaction(TransactionEntity transaction, StatusEnum status) {
+    var active = activeUpdates.incrementAndGet();
+    maxActiveUpdates.accumulateAndGet(active, Math::max);
+    try {
+      var loadedStatus = transaction.getStatus();
+      LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(200_000));
+      var storedStatus = storedStatuses.put(transaction.getItemId(), status);
+      if (storedStatus != loadedStatus) {
+        lostUpdates.add(transaction.getItemId());
+      }
+      appliedTransitions.computeIfAbsent(transaction.getItemId(), id -> Collections.synchronizedList(new ArrayList<>()))
+        .add(status);
+    } finally {
+      activeUpdates.decrementAndGet();
+    }
+  }
+}
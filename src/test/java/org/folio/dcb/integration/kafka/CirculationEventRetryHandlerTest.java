@@ -0,0 +1,159 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.EXCEPTION_CLASS_HEADER;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.ORIGINAL_TOPIC_HEADER;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.RETRY_ATTEMPT_HEADER;
+import static org.folio.dcb.integration.kafka.CirculationEventRetryHandler.RETRY_DUE_AT_HEADER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.folio.dcb.integration.kafka.CirculationEventRetryHandler.SourceEvent;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CirculationEventRetryHandlerTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String LOAN_TOPIC = "folio.diku.circulation.loan";
+  private static final String PAYLOAD = "{\"data\":{}}";
+
+  @Mock private ProducerFactory<String, String> producerFactory;
+  @Mock private Producer<String, String> producer;
+  @Captor private ArgumentCaptor<ProducerRecord<String, String>> producerRecordCaptor;
+
+  private final FolioKafkaProperties folioKafkaProperties = new FolioKafkaProperties();
+  private CirculationEventRetryHandler retryHandler;
+
+  @BeforeEach
+  void setUp() {
+    var retryProperties = folioKafkaProperties.getRetry();
+    retryProperties.setEnabled(true);
+    retryProperties.setTopic("folio.mod-dcb.circulation-events");
+    retryProperties.setInitialDelay(Duration.ofSeconds(10));
+    retryProperties.setMultiplier(3);
+    retryProperties.setMaxDelay(Duration.ofMinutes(1));
+    lenient().when(producerFactory.copyWithConfigurationOverride(any())).thenReturn(producerFactory);
+    lenient().when(producerFactory.createProducer()).thenReturn(producer);
+    lenient().when(producer.send(any(), any())).then(inv -> completeSend(inv.getArgument(0), inv.getArgument(1), null));
+    retryHandler = new CirculationEventRetryHandler(folioKafkaProperties, producerFactory);
+    retryHandler.init();
+  }
+
+  @Test
+  void withRetry_positive_publishesFailedEventToFirstRetryTopic() {
+    var sourceEvent = new SourceEvent(PAYLOAD, new MessageHeaders(Map.of(
+      KafkaHeaders.RECEIVED_TOPIC, LOAN_TOPIC,
+      KafkaHeaders.RECEIVED_KEY, "item-1")));
+    var startTime = System.currentTimeMillis();
+
+    retryHandler.withRetry(sourceEvent, TENANT_ID, () -> {
+      throw new IllegalStateException("Database is not available");
+    }).run();
+
+    verify(producer).send(producerRecordCaptor.capture(), any());
+    var producerRecord = producerRecordCaptor.getValue();
+    assertThat(producerRecord.topic()).isEqualTo("folio.mod-dcb.circulation-events.retry-1");
+    assertThat(producerRecord.key()).isEqualTo("item-1");
+    assertThat(producerRecord.value()).isEqualTo(PAYLOAD);
+    assertThat(header(producerRecord, XOkapiHeaders.TENANT)).isEqualTo(TENANT_ID);
+    assertThat(header(producerRecord, ORIGINAL_TOPIC_HEADER)).isEqualTo(LOAN_TOPIC);
+    assertThat(header(producerRecord, EXCEPTION_CLASS_HEADER)).isEqualTo(IllegalStateException.class.getName());
+    assertThat(header(producerRecord, RETRY_ATTEMPT_HEADER)).isEqualTo("1");
+    assertThat(Long.parseLong(header(producerRecord, RETRY_DUE_AT_HEADER)))
+      .isGreaterThanOrEqualTo(startTime + 10_000);
+  }
+
+  @Test
+  void withRetry_positive_publishesEventToDeadLetterTopicWhenAttemptsAreExhausted() {
+    var sourceEvent = new SourceEvent(PAYLOAD, new MessageHeaders(Map.of(
+      KafkaHeaders.RECEIVED_TOPIC, "folio.mod-dcb.circulation-events.retry-3",
+      ORIGINAL_TOPIC_HEADER, LOAN_TOPIC.getBytes(StandardCharsets.UTF_8),
+      RETRY_ATTEMPT_HEADER, "3".getBytes(StandardCharsets.UTF_8))));
+
+    retryHandler.withRetry(sourceEvent, TENANT_ID, () -> {
+      throw new IllegalStateException("Database is not available");
+    }).run();
+
+    verify(producer).send(producerRecordCaptor.capture(), any());
+    var producerRecord = producerRecordCaptor.getValue();
+    assertThat(producerRecord.topic()).isEqualTo("folio.mod-dcb.circulation-events.dlt");
+    assertThat(header(producerRecord, ORIGINAL_TOPIC_HEADER)).isEqualTo(LOAN_TOPIC);
+    assertThat(header(producerRecord, RETRY_ATTEMPT_HEADER)).isEqualTo("4");
+  }
+
+  @Test
+  void withRetry_negative_rethrowsFailureWhenRetryIsDisabled() {
+    folioKafkaProperties.getRetry().setEnabled(false);
+    var sourceEvent = new SourceEvent(PAYLOAD, new MessageHeaders(Map.of()));
+    var action = retryHandler.withRetry(sourceEvent, TENANT_ID, () -> {
+      throw new IllegalStateException("Database is not available");
+    });
+
+    assertThatThrownBy(action::run).isInstanceOf(IllegalStateException.class);
+    verifyNoInteractions(producer);
+  }
+
+  @Test
+  void withRetry_negative_propagatesPublishingFailure() {
+    var sourceEvent = new SourceEvent(PAYLOAD, new MessageHeaders(Map.of(KafkaHeaders.RECEIVED_TOPIC, LOAN_TOPIC)));
+    var processingFailure = new IllegalStateException("Database is not available");
+    doAnswer(inv -> completeSend(inv.getArgument(0), inv.getArgument(1), new TimeoutException("Send timed out")))
+      .when(producer).send(any(), any());
+    var action = retryHandler.withRetry(sourceEvent, TENANT_ID, () -> {
+      throw processingFailure;
+    });
+
+    assertThatThrownBy(action::run)
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Failed to publish event to topic: folio.mod-dcb.circulation-events.retry-1")
+      .satisfies(error -> assertThat(error.getSuppressed()).containsExactly(processingFailure));
+  }
+
+  @Test
+  void getDelay_positive_growsExponentiallyUpToMaxDelay() {
+    assertThat(retryHandler.getDelay(1)).isEqualTo(Duration.ofSeconds(10));
+    assertThat(retryHandler.getDelay(2)).isEqualTo(Duration.ofSeconds(30));
+    assertThat(retryHandler.getDelay(3)).isEqualTo(Duration.ofMinutes(1));
+    assertThat(retryHandler.getRetryTopics()).containsExactly("folio.mod-dcb.circulation-events.retry-1",
+      "folio.mod-dcb.circulation-events.retry-2", "folio.mod-dcb.circulation-events.retry-3");
+  }
+
+  private static CompletableFuture<RecordMetadata> completeSend(ProducerRecord<String, String> producerRecord,
+    Callback callback, Exception exception) {
+    var metadata = new RecordMetadata(new TopicPartition(producerRecord.topic(), 0), 0, 0, 0, 0, 0);
+    callback.onCompletion(metadata, exception);
+    return exception == null ? CompletableFuture.completedFuture(metadata) : CompletableFuture.failedFuture(exception);
+  }
+
+  private static String header(ProducerRecord<String, String> producerRecord, String name) {
+    return new String(producerRecord.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,143 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.folio.dcb.config.SystemUserContextProperties;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.ObjectMapper;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class SystemUserContextCacheTest {
+
+  private static final String TENANT_ID = "diku";
+
+  @Mock private SystemUserScopedExecutionService systemUserScopedExecutionService;
+  @Mock private FolioExecutionContext folioExecutionContext;
+
+  private final SystemUserContextProperties properties = new SystemUserContextProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<String> processedEvents = new ArrayList<>();
+  private SystemUserContextCache systemUserContextCache;
+
+  @BeforeEach
+  void setUp() {
+    properties.setCacheEnabled(true);
+    systemUserContextCache = new SystemUserContextCache(properties, systemUserScopedExecutionService,
+      folioExecutionContext, new ObjectMapper(), meterRegistry);
+    lenient().when(systemUserScopedExecutionService.executeSystemUserScoped(eq(TENANT_ID), any()))
+      .thenAnswer(inv -> inv.<Callable<?>>getArgument(1).call());
+    lenient().when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+  }
+
+  @AfterEach
+  void tearDown() {
+    systemUserContextCache.stop();
+  }
+
+  @Test
+  void execute_positive_reusesCachedContext() {
+    when(folioExecutionContext.getToken()).thenReturn(token(Instant.now().plus(Duration.ofHours(1))));
+    systemUserContextCache.start();
+
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-1"));
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-2"));
+
+    assertThat(processedEvents).containsExactly("event-1", "event-2");
+    verify(systemUserScopedExecutionService).executeSystemUserScoped(eq(TENANT_ID), any());
+    assertThat(acquisitions("prepare")).isEqualTo(1);
+    assertThat(acquisitions("cache")).isEqualTo(1);
+  }
+
+  @Test
+  void execute_positive_refreshesContextBeforeTokenExpiration() {
+    when(folioExecutionContext.getToken())
+      .thenReturn(token(Instant.now().plus(Duration.ofSeconds(3))))
+      .thenReturn(token(Instant.now().plus(Duration.ofHours(1))));
+    systemUserContextCache.start();
+
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-1"));
+
+    verify(systemUserScopedExecutionService, timeout(5000).times(2)).executeSystemUserScoped(eq(TENANT_ID), any());
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-2"));
+    assertThat(processedEvents).containsExactly("event-1", "event-2");
+    assertThat(acquisitions("cache")).isEqualTo(1);
+  }
+
+  @Test
+  void execute_positive_backsOffRefreshWhenTokenIsNotRenewed() {
+    when(folioExecutionContext.getToken()).thenReturn(token(Instant.now().plus(Duration.ofSeconds(4))));
+    systemUserContextCache.start();
+
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-1"));
+
+    verify(systemUserScopedExecutionService, after(3000).times(2)).executeSystemUserScoped(eq(TENANT_ID), any());
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-2"));
+    assertThat(processedEvents).containsExactly("event-1", "event-2");
+    assertThat(acquisitions("cache")).isEqualTo(1);
+  }
+
+  @Test
+  void execute_positive_preparesContextAgainAfterEviction() {
+    when(folioExecutionContext.getToken()).thenReturn("opaque-token");
+    systemUserContextCache.start();
+
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-1"));
+    systemUserContextCache.evict(TENANT_ID);
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-2"));
+
+    assertThat(processedEvents).containsExactly("event-1", "event-2");
+    verify(systemUserScopedExecutionService, times(2)).executeSystemUserScoped(eq(TENANT_ID), any());
+  }
+
+  @Test
+  void execute_positive_delegatesToSystemUserScopedExecutionWhenDisabled() {
+    properties.setCacheEnabled(false);
+    systemUserContextCache.start();
+
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-1"));
+    systemUserContextCache.execute(TENANT_ID, () -> processedEvents.add("event-2"));
+
+    assertThat(processedEvents).containsExactly("event-1", "event-2");
+    verify(systemUserScopedExecutionService, times(2)).executeSystemUserScoped(eq(TENANT_ID), any());
+    verifyNoInteractions(folioExecutionContext);
+    assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+
+  private long acquisitions(String source) {
+    return meterRegistry.get("dcb.system-user.context.acquisition").tag("source", source).timer().count();
+  }
+
+  private static String token(Instant expiresAt) {
+    var encoder = Base64.getUrlEncoder().withoutPadding();
+    var header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+    var payload = encoder.encodeToString(("{\"sub\":\"dcb-system-user\",\"exp\":" + expiresAt.getEpochSecond() + "}")
+      .getBytes(StandardCharsets.UTF_8));
+    return header + "." + payload + ".signature";
+  }
+}
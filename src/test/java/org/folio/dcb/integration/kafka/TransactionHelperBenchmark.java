@@ -0,0 +1,75 @@
+package org.folio.dcb.integration.kafka;
+
+import static org.folio.dcb.utils.EntityUtils.getMockDataAsString;
+
+import java.util.concurrent.TimeUnit;
+import org.folio.dcb.integration.kafka.model.CirculationEventPayload;
+import org.folio.dcb.integration.kafka.model.EventData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Compares streaming extraction of circulation event fields ({@link CirculationEventPayload}) with building a full
+ * Jackson tree of the payload, as it was done before by {@code KafkaEvent}.
+ *
+ * <p>The benchmark is not a part of the test phase, it is started with the {@link #main(String[])} method.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionHelperBenchmark {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Param({"check_out.json", "check_out_dcb.json", "loan_undefined.json", "request_sample.json", "check_in.json"})
+  private String payloadFile;
+
+  private String payload;
+
+  @Setup
+  public void setUp() {
+    payload = getMockDataAsString("mockdata/kafka/" + payloadFile);
+  }
+
+  @Benchmark
+  public CirculationEventPayload streamingExtraction() {
+    return CirculationEventPayload.parse(payload);
+  }
+
+  @Benchmark
+  public JsonNode treeExtraction() {
+    var dataNode = OBJECT_MAPPER.readTree(payload).get("data");
+    return dataNode != null ? dataNode.get("new") : null;
+  }
+
+  @Benchmark
+  public EventData parseLoanEvent() {
+    return TransactionHelper.parseLoanEvent(payload);
+  }
+
+  @Benchmark
+  public EventData parseRequestEvent() {
+    return TransactionHelper.parseRequestEvent(payload);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TransactionHelperBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -292,4 +292,59 @@ class TransactionHelperTest {
     assertThat(result.getItemId()).isEqualTo(itemId);
     assertThat(result.getLoanStatus()).isEqualTo(expectedStatus);
   }
+
+  @Test
+  void parseLoanEventShouldIgnoreFieldsOfOldLoanState() {
+    var payload = """
+      {
+        "type": "UPDATED",
+        "data": {
+          "old": {
+            "itemId": "8db107f5-12aa-479f-9c07-39e7c9cf2e4d",
+            "action": "checkedout",
+            "status": { "name": "Open" }
+          },
+          "new": {
+            "action": "renewed",
+            "status": { "name": "Open" }
+          }
+        }
+      }
+      """;
+
+    var result = TransactionHelper.parseLoanEvent(payload);
+
+    assertThat(result).isNull();
+  }
+
+  @Test
+  void parseRequestEventShouldReadNestedInstanceTitle() {
+    var payload = """
+      {
+        "type": "UPDATED",
+        "data": {
+          "new": {
+            "id": "3cc7715a-74c3-44d4-ad4e-35710fad402a",
+            "item": { "barcode": "DCB_ITEM", "status": { "name": "Paged" } },
+            "instance": { "identifiers": [ { "value": "0747-0088" } ], "title": "DCB_INSTANCE" },
+            "status": "Open - Awaiting pickup"
+          }
+        }
+      }
+      """;
+
+    var result = TransactionHelper.parseRequestEvent(payload);
+
+    assertThat(result).isNotNull();
+    assertThat(result.getRequestId()).isEqualTo("3cc7715a-74c3-44d4-ad4e-35710fad402a");
+    assertThat(result.getType()).isEqualTo(EventData.EventType.AWAITING_PICKUP);
+    assertThat(result.isDcb()).isTrue();
+  }
+
+  @Test
+  void parseLoanEventShouldReturnNullForMalformedPayload() {
+    var result = TransactionHelper.parseLoanEvent("{\"type\": \"UPDATED\", \"data\": {\"new\": {");
+
+    assertThat(result).isNull();
+  }
 }
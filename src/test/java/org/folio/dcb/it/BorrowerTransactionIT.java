@@ -32,6 +32,7 @@ import static org.folio.dcb.utils.EntityUtils.transactionStatus;
 import static org.folio.dcb.utils.EventDataProvider.expiredRequestMessage;
 import static org.folio.dcb.utils.EventDataProvider.itemCheckInMessage;
 import static org.folio.dcb.utils.JsonTestUtils.asJsonString;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
@@ -40,6 +41,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.jayway.jsonpath.JsonPath;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Map;
@@ -55,6 +57,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
 
 @IntegrationTest
 class BorrowerTransactionIT extends BaseTenantIntegrationTest {
@@ -496,6 +499,31 @@ class BorrowerTransactionIT extends BaseTenantIntegrationTest {
       .andExpect(jsonPath("$.maximumPageNumber", is(2)))
       .andExpect(jsonPath("$.transactions[*].status",
         containsInRelativeOrder("ITEM_CHECKED_OUT", "ITEM_CHECKED_IN")));
+
+    // Now read the same records page by page with keyset pagination and without the total count.
+    var firstPage = getDcbTransactionStatuses(Map.of("fromDate", startDate1, "toDate", endDate2, "pageSize", 2,
+      "includeTotalRecords", false))
+      .andExpect(jsonPath("$.totalRecords").doesNotExist())
+      .andExpect(jsonPath("$.transactions[*].status", contains("OPEN", "AWAITING_PICKUP")))
+      .andExpect(jsonPath("$.nextCursor").exists());
+
+    var secondPage = getDcbTransactionStatuses(Map.of("fromDate", startDate1, "toDate", endDate2, "pageSize", 2,
+      "cursor", getNextCursor(firstPage)))
+      .andExpect(jsonPath("$.totalRecords").doesNotExist())
+      .andExpect(jsonPath("$.transactions[*].status", contains("ITEM_CHECKED_OUT", "ITEM_CHECKED_IN")));
+
+    getDcbTransactionStatuses(Map.of("fromDate", startDate1, "toDate", endDate2, "pageSize", 2,
+      "cursor", getNextCursor(secondPage), "includeTotalRecords", true))
+      .andExpect(jsonPath("$.totalRecords", is(5)))
+      .andExpect(jsonPath("$.transactions[*].status", contains("CLOSED")))
+      .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void getTransactionStatusList_negative_invalidCursor() throws Exception {
+    var toDate = OffsetDateTime.now(ZoneOffset.UTC);
+    getDcbTransactionStatusesAttempt(Map.of("fromDate", toDate.minusDays(1), "toDate", toDate, "cursor", "invalid"))
+      .andExpect(status().isBadRequest());
   }
 
   @ParameterizedTest
@@ -534,6 +562,10 @@ class BorrowerTransactionIT extends BaseTenantIntegrationTest {
       .andExpect(jsonPath("$.status").value(CLOSED.getValue())));
   }
 
+  private static String getNextCursor(ResultActions resultActions) throws Exception {
+    return JsonPath.read(resultActions.andReturn().getResponse().getContentAsString(), "$.nextCursor");
+  }
+
   private static void verifyPostCirculationRequestCalledOnce(String requesterId) {
     verifyPostCirculationRequestCalledOnce(ITEM_ID, requesterId);
   }
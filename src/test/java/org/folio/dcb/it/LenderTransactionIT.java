@@ -120,6 +120,7 @@ class LenderTransactionIT extends BaseTenantIntegrationTest {
       .andExpect(jsonPath("$.item.locationCode").doesNotExist());
 
     auditEntityVerifier.assertThatLatestEntityIsNotDuplicate(DCB_TRANSACTION_ID);
+    auditEntityVerifier.assertThatLatestAuditPointerIsResolved(DCB_TRANSACTION_ID);
     verifyPostCirculationRequestCalledOnce(PAGE.getValue(), EXISTED_PATRON_ID);
   }
 
@@ -377,6 +378,10 @@ class LenderTransactionIT extends BaseTenantIntegrationTest {
     testJdbcHelper.saveDcbTransaction(DCB_TRANSACTION_ID, OPEN, lenderDcbTransaction());
     putDcbTransactionStatus(DCB_TRANSACTION_ID, transactionStatus(ITEM_CHECKED_IN))
       .andExpect(jsonPath("$.status").value("ITEM_CHECKED_IN"));
+
+    assertThat(auditEntityVerifier.getAuditEntities(DCB_TRANSACTION_ID))
+      .hasSize(3)
+      .allMatch(auditEntity -> "UPDATE".equals(auditEntity.getAction()));
   }
 
   @Test
@@ -0,0 +1,180 @@
+package org.folio.dcb.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.folio.dcb.support.postgres.PostgresContainerExtension.IMAGE_NAME;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.folio.dcb.config.ReadReplicaProperties;
+import org.folio.dcb.config.ReadReplicaRoutingDataSource;
+import org.folio.dcb.support.types.IntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+/**
+ * Verifies the routing of read-only transactions with a streaming replication setup: a primary database and a hot
+ * standby replica created from it with {@code pg_basebackup}.
+ */
+@IntegrationTest
+class ReadReplicaRoutingIT {
+
+  private static final String READ_ONLY_TRANSACTION = "org.folio.dcb.service.SettingService.getSettingById";
+  private static final String IN_RECOVERY_QUERY = "SELECT pg_is_in_recovery()";
+  private static final String REPLICATION_INIT_SCRIPT = """
+    #!/bin/bash
+    set -e
+    psql -v ON_ERROR_STOP=1 -U "$POSTGRES_USER" -d "$POSTGRES_DB" \
+      -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator'"
+    echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+    """;
+  private static final String REPLICA_START_SCRIPT = """
+    mkdir -p "$PGDATA"
+    until pg_basebackup -h primary -U replicator -D "$PGDATA" -R -X stream; do sleep 1; done
+    chown -R postgres:postgres "$PGDATA" && chmod 700 "$PGDATA"
+    exec "$(command -v su-exec || command -v gosu)" postgres postgres -c hot_standby=on
+    """;
+
+  private static final Network NETWORK = Network.newNetwork();
+
+  @SuppressWarnings("resource")
+  private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>(IMAGE_NAME)
+    .withNetwork(NETWORK)
+    .withNetworkAliases("primary")
+    .withDatabaseName("folio_test")
+    .withUsername("folio_admin")
+    .withPassword("qwerty123")
+    .withCopyToContainer(Transferable.of(REPLICATION_INIT_SCRIPT, 0755),
+      "/docker-entrypoint-initdb.d/replication.sh")
+    .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4", "-c", "fsync=off");
+
+  @SuppressWarnings("resource")
+  private static final GenericContainer<?> REPLICA = new GenericContainer<>(IMAGE_NAME)
+    .withNetwork(NETWORK)
+    .withExposedPorts(5432)
+    .withEnv("PGPASSWORD", "replicator")
+    .withEnv("PGDATA", "/var/lib/postgresql/data")
+    .withCommand("bash", "-c", REPLICA_START_SCRIPT)
+    .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+      .withStartupTimeout(Duration.ofMinutes(2)));
+
+  private final ReadReplicaProperties properties = new ReadReplicaProperties();
+  private ReadReplicaRoutingDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void beforeAll() {
+    PRIMARY.start();
+    REPLICA.start();
+  }
+
+  @AfterAll
+  static void afterAll() {
+    REPLICA.stop();
+    PRIMARY.stop();
+    NETWORK.close();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (dataSource != null) {
+      dataSource.close();
+    }
+  }
+
+  @Test
+  void readOnlyTransaction_positive_executedOnReplica() {
+    createDataSource(getReplicaJdbcUrl());
+
+    assertThat(queryInRecovery(true)).isTrue();
+    assertThat(queryInRecovery(false)).isFalse();
+  }
+
+  @Test
+  void readOnlyTransaction_positive_seesReplicatedWrites() {
+    createDataSource(getReplicaJdbcUrl());
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_check (id int)");
+    jdbcTemplate.update("INSERT INTO replica_check VALUES (1)");
+
+    await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+      assertThat(executeReadOnly("SELECT count(*) FROM replica_check", Long.class)).isEqualTo(1L));
+  }
+
+  @Test
+  void readOnlyTransaction_positive_fallsBackToPrimaryOnReplicaLag() {
+    createDataSource(getReplicaJdbcUrl());
+    var replicaJdbcTemplate = new JdbcTemplate(createPool(getReplicaJdbcUrl(), "folio_admin", "qwerty123"));
+    try {
+      replicaJdbcTemplate.execute("SELECT pg_wal_replay_pause()");
+      jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_check (id int)");
+      jdbcTemplate.update("INSERT INTO replica_check VALUES (2)");
+
+      await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(queryInRecovery(true)).isFalse());
+
+      replicaJdbcTemplate.execute("SELECT pg_wal_replay_resume()");
+      await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(queryInRecovery(true)).isTrue());
+    } finally {
+      replicaJdbcTemplate.execute("SELECT pg_wal_replay_resume()");
+      ((HikariDataSource) replicaJdbcTemplate.getDataSource()).close();
+    }
+  }
+
+  @Test
+  void readOnlyTransaction_positive_fallsBackToPrimaryOnReplicaFailure() {
+    createDataSource("jdbc:postgresql://localhost:1/folio_test");
+
+    assertThat(queryInRecovery(true)).isFalse();
+  }
+
+  private void createDataSource(String replicaJdbcUrl) {
+    properties.setMaxLag(Duration.ofMillis(500));
+    properties.setLagCheckInterval(Duration.ZERO);
+    var primaryDataSource = createPool(PRIMARY.getJdbcUrl(), PRIMARY.getUsername(), PRIMARY.getPassword());
+    var replicaDataSource = createPool(replicaJdbcUrl, PRIMARY.getUsername(), PRIMARY.getPassword());
+    dataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, properties,
+      new SimpleMeterRegistry());
+    jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  private Boolean queryInRecovery(boolean readOnly) {
+    return readOnly
+      ? executeReadOnly(IN_RECOVERY_QUERY, Boolean.class)
+      : jdbcTemplate.queryForObject(IN_RECOVERY_QUERY, Boolean.class);
+  }
+
+  private <T> T executeReadOnly(String query, Class<T> resultType) {
+    var transactionManager = new DataSourceTransactionManager(dataSource);
+    transactionManager.addListener(new ReadReplicaRoutingDataSource.ReadOnlyTransactionListener());
+    var transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    transactionTemplate.setName(READ_ONLY_TRANSACTION);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(query, resultType));
+  }
+
+  private static HikariDataSource createPool(String jdbcUrl, String username, String password) {
+    var pool = new HikariDataSource();
+    pool.setJdbcUrl(jdbcUrl);
+    pool.setUsername(username);
+    pool.setPassword(password);
+    pool.setConnectionTimeout(1_000);
+    pool.setInitializationFailTimeout(-1);
+    return pool;
+  }
+
+  private static String getReplicaJdbcUrl() {
+    return "jdbc:postgresql://%s:%d/folio_test".formatted(REPLICA.getHost(), REPLICA.getMappedPort(5432));
+  }
+}
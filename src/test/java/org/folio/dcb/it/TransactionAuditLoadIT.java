@@ -0,0 +1,150 @@
+package org.folio.dcb.it;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.AWAITING_PICKUP;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.CREATED;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.ITEM_CHECKED_IN;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.ITEM_CHECKED_OUT;
+import static org.folio.dcb.domain.dto.TransactionStatus.StatusEnum.OPEN;
+import static org.folio.dcb.utils.EntityUtils.TEST_TENANT;
+import static org.folio.dcb.utils.EntityUtils.createDcbTransactionByRole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.config.TransactionAuditProperties;
+import org.folio.dcb.domain.dto.DcbTransaction.RoleEnum;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.it.base.BaseTenantIntegrationTest;
+import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.support.types.IntegrationTest;
+import org.folio.spring.FolioModuleMetadata;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Load test of the transaction audit: concurrent status updates are executed with the synchronous and the
+ * asynchronous audit modes, the throughput of both modes is logged, and all audit records must reach the audit table
+ * in the order of the updates.
+ *
+ * <p>The load is set by the {@code dcb.load-test.transactions} and {@code dcb.load-test.threads} system
+ * properties.</p>
+ */
+@Log4j2
+@IntegrationTest
+class TransactionAuditLoadIT extends BaseTenantIntegrationTest {
+
+  private static final String SCHEMA = TEST_TENANT + "_mod_dcb";
+  private static final List<StatusEnum> STATUS_UPDATES = List.of(OPEN, AWAITING_PICKUP, ITEM_CHECKED_OUT,
+    ITEM_CHECKED_IN);
+
+  @Autowired private TransactionAuditProperties properties;
+  @Autowired private TransactionRepository transactionRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private FolioModuleMetadata folioModuleMetadata;
+
+  @AfterEach
+  void tearDown() {
+    properties.setAsyncEnabled(false);
+  }
+
+  @Test
+  void updateTransactionStatus_positive_synchronousAudit() throws Exception {
+    properties.setAsyncEnabled(false);
+    var transactionIds = createTransactions("sync");
+
+    var duration = updateStatuses(transactionIds);
+
+    logThroughput("synchronous", transactionIds, duration);
+    assertAuditRecords(transactionIds);
+  }
+
+  @Test
+  void updateTransactionStatus_positive_asynchronousAudit() throws Exception {
+    properties.setAsyncEnabled(true);
+    var transactionIds = createTransactions("async");
+
+    var duration = updateStatuses(transactionIds);
+
+    logThroughput("asynchronous", transactionIds, duration);
+    await().atMost(Duration.ofMinutes(1)).untilAsserted(() ->
+      assertThat(countRecords("transactions_audit_outbox")).isZero());
+    assertAuditRecords(transactionIds);
+  }
+
+  private List<String> createTransactions(String prefix) {
+    var transactionCount = Integer.getInteger("dcb.load-test.transactions", 200);
+    var transactionIds = IntStream.range(0, transactionCount).mapToObj(i -> prefix + "-load-" + i).toList();
+    transactionIds.forEach(id -> testJdbcHelper.saveDcbTransaction(id, CREATED,
+      createDcbTransactionByRole(RoleEnum.LENDER)));
+    return transactionIds;
+  }
+
+  private Duration updateStatuses(List<String> transactionIds) throws Exception {
+    var threads = Integer.getInteger("dcb.load-test.threads", 8);
+    var startTime = System.nanoTime();
+    try (var executor = Executors.newFixedThreadPool(threads)) {
+      var futures = new ArrayList<Future<?>>();
+      for (var transactionId : transactionIds) {
+        futures.add(executor.submit(() -> updateStatuses(transactionId)));
+      }
+      for (var future : futures) {
+        future.get(5, MINUTES);
+      }
+    }
+    return Duration.ofNanos(System.nanoTime() - startTime);
+  }
+
+  private void updateStatuses(String transactionId) {
+    try (var ignored = new FolioExecutionContextSetter(folioModuleMetadata, getHeaders())) {
+      for (var status : STATUS_UPDATES) {
+        transactionTemplate.executeWithoutResult(transactionStatus -> {
+          var transaction = transactionRepository.findById(transactionId).orElseThrow();
+          transaction.setStatus(status);
+          transactionRepository.save(transaction);
+        });
+      }
+    }
+  }
+
+  private void assertAuditRecords(List<String> transactionIds) {
+    var statuses = jdbcTemplate.queryForList("""
+      SELECT after ->> 'status' FROM %s.transactions_audit
+      WHERE transaction_id = ? AND action = 'UPDATE'
+      ORDER BY created_date""".formatted(SCHEMA), String.class, transactionIds.getFirst());
+    assertThat(statuses).containsExactlyElementsOf(STATUS_UPDATES.stream().map(StatusEnum::getValue).toList());
+    assertThat(countRecords("transactions_audit"))
+      .isEqualTo((long) transactionIds.size() * STATUS_UPDATES.size());
+  }
+
+  private long countRecords(String table) {
+    var count = jdbcTemplate.queryForObject("SELECT count(*) FROM %s.%s".formatted(SCHEMA, table), Long.class);
+    return count != null ? count : 0;
+  }
+
+  private static void logThroughput(String mode, List<String> transactionIds, Duration duration) {
+    var updates = transactionIds.size() * STATUS_UPDATES.size();
+    log.info("Audit mode: {}, status updates: {}, duration: {} ms, throughput: {} updates/s", mode, updates,
+      duration.toMillis(), updates * 1000L / Math.max(duration.toMillis(), 1));
+  }
+
+  private static Map<String, Collection<String>> getHeaders() {
+    var headers = new HashMap<String, Collection<String>>();
+    defaultHeaders().forEach(headers::put);
+    return headers;
+  }
+}
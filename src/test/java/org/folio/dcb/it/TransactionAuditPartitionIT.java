@@ -0,0 +1,82 @@
+package org.folio.dcb.it;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.dcb.utils.EntityUtils.TEST_TENANT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.folio.dcb.config.TransactionAuditPartitionProperties;
+import org.folio.dcb.it.base.BaseTenantIntegrationTest;
+import org.folio.dcb.support.types.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@IntegrationTest
+class TransactionAuditPartitionIT extends BaseTenantIntegrationTest {
+
+  private static final String SCHEMA = TEST_TENANT + "_mod_dcb";
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionAuditPartitionProperties properties;
+
+  @AfterEach
+  void tearDown() {
+    properties.setPremakeMonths(3);
+  }
+
+  @Test
+  void transactionsAudit_positive_isPartitionedByCreatedDate() {
+    var relationKind = jdbcTemplate.queryForObject(
+      "SELECT relkind::text FROM pg_class WHERE oid = '%s.transactions_audit'::regclass".formatted(SCHEMA),
+      String.class);
+
+    assertThat(relationKind).isEqualTo("p");
+    assertThat(getPartitions()).contains("transactions_audit_legacy", "transactions_audit_default",
+      partitionName(currentMonth().plusMonths(1)));
+  }
+
+  @Test
+  void maintainTransactionAuditPartitions_positive_movesRecordsFromDefaultPartition() throws Exception {
+    var month = currentMonth().plusMonths(5);
+    jdbcTemplate.update("""
+      INSERT INTO %s.transactions_audit (id, action, transaction_id, created_date)
+      VALUES (gen_random_uuid(), 'CREATE', 'partition-test', ?)""".formatted(SCHEMA), month.plusDays(3));
+    assertThat(countRecords("transactions_audit_default")).isEqualTo(1);
+    properties.setPremakeMonths(6);
+
+    mockMvc.perform(post("/dcb/admin/transactions-audit/partitions/maintenance").headers(defaultHeaders()))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.createdPartitions").isArray())
+      .andExpect(jsonPath("$.archivedPartitions").isEmpty());
+
+    assertThat(getPartitions()).contains(partitionName(month), partitionName(month.plusMonths(1)));
+    assertThat(countRecords("transactions_audit_default")).isZero();
+    assertThat(countRecords(partitionName(month))).isEqualTo(1);
+  }
+
+  private List<String> getPartitions() {
+    return jdbcTemplate.queryForList("""
+      SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = '%s.transactions_audit'::regclass""".formatted(SCHEMA), String.class);
+  }
+
+  private Integer countRecords(String table) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s.%s".formatted(SCHEMA, table), Integer.class);
+  }
+
+  private static OffsetDateTime currentMonth() {
+    return OffsetDateTime.now(UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+  }
+
+  private static String partitionName(OffsetDateTime month) {
+    return "transactions_audit_p" + DateTimeFormatter.ofPattern("yyyyMM").format(month);
+  }
+}
@@ -0,0 +1,119 @@
+package org.folio.dcb.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.dcb.utils.EntityUtils.TEST_TENANT;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.log4j.Log4j2;
+import org.folio.dcb.it.base.BaseTenantIntegrationTest;
+import org.folio.dcb.support.types.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Benchmark of the transaction lookups used for circulation events: the table is filled with closed transactions
+ * (and 1% of open ones) step by step, and the lookups must stay index scans that read the same small number of
+ * buffers at every table size.
+ *
+ * <p>Table sizes are set by the {@code dcb.benchmark.transaction-counts} system property, e.g.
+ * {@code -Ddcb.benchmark.transaction-counts=1000000,10000000,30000000} to check tens of millions of rows.</p>
+ */
+@Log4j2
+@IntegrationTest
+class TransactionLookupBenchmarkIT extends BaseTenantIntegrationTest {
+
+  private static final String TRANSACTION_COUNTS_PROPERTY = "dcb.benchmark.transaction-counts";
+  private static final String DEFAULT_TRANSACTION_COUNTS = "10000,100000,1000000";
+  private static final long MAX_BUFFERS_PER_LOOKUP = 32;
+  private static final String TABLE = TEST_TENANT + "_mod_dcb.transactions";
+
+  private static final Map<String, String> LOOKUPS = Map.of(
+    "findTransactionByItemIdAndStatusNotInClosed", """
+      SELECT * FROM %s WHERE item_id = :itemId
+        AND status NOT IN ('CLOSED', 'CANCELLED', 'ERROR', 'CREATED', 'OPEN')""".formatted(TABLE),
+    "findSingleTransactionsByItemIdAndStatusNotInClosed",
+    "SELECT * FROM %s WHERE item_id = :itemId AND status NOT IN ('CLOSED', 'CANCELLED', 'ERROR')".formatted(TABLE),
+    "findExpiredTransactionsByItemId",
+    "SELECT * FROM %s WHERE item_id = :expiredItemId AND status = 'EXPIRED'".formatted(TABLE),
+    "findTransactionByRequestIdAndStatusNotInClosed",
+    "SELECT * FROM %s WHERE request_id = :requestId AND status != 'CLOSED'".formatted(TABLE));
+
+  @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+  @Autowired private JsonMapper jsonMapper;
+
+  @Test
+  void transactionLookups_positive_costDoesNotGrowWithTableSize() {
+    var parameters = new MapSqlParameterSource()
+      .addValue("itemId", UUID.randomUUID(), Types.OTHER)
+      .addValue("requestId", UUID.randomUUID(), Types.OTHER)
+      .addValue("expiredItemId", UUID.randomUUID(), Types.OTHER);
+    insertTransaction("benchmark-open", "itemId", "requestId", "AWAITING_PICKUP", parameters);
+    insertTransaction("benchmark-expired", "expiredItemId", "requestId", "EXPIRED", parameters);
+
+    var insertedCount = 0L;
+    for (var transactionCount : getTransactionCounts()) {
+      insertTransactions(insertedCount + 1, transactionCount);
+      insertedCount = transactionCount;
+      jdbcTemplate.getJdbcTemplate().execute("ANALYZE " + TABLE);
+
+      for (var lookup : LOOKUPS.entrySet()) {
+        var plan = explain(lookup.getValue(), parameters);
+        var rootNode = jsonMapper.readTree(plan).get(0);
+        var buffers = rootNode.get("Plan").get("Shared Hit Blocks").asLong()
+          + rootNode.get("Plan").get("Shared Read Blocks").asLong();
+        log.info("Lookup: {}, transactions: {}, execution time: {} ms, buffers: {}", lookup.getKey(),
+          transactionCount, rootNode.get("Execution Time").asDouble(), buffers);
+
+        assertThat(plan).as(lookup.getKey()).doesNotContain("\"Seq Scan\"");
+        assertThat(buffers).as(lookup.getKey()).isLessThanOrEqualTo(MAX_BUFFERS_PER_LOOKUP);
+      }
+    }
+  }
+
+  private String explain(String query, MapSqlParameterSource parameters) {
+    //noinspection SqlSourceToSinkFlow
+    return jdbcTemplate.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + query, parameters,
+      String.class);
+  }
+
+  private void insertTransaction(String id, String itemIdParameter, String requestIdParameter, String status,
+    MapSqlParameterSource parameters) {
+    //noinspection SqlSourceToSinkFlow
+    jdbcTemplate.update("""
+      INSERT INTO %s (id, item_id, request_id, item_title, item_barcode, service_point_id, service_point_name,
+        pickup_library_code, material_type, lending_library_code, patron_id, patron_group, patron_barcode, status,
+        role)
+      VALUES ('%s', :%s, :%s, 'title', 'barcode', 'sp', 'sp', 'code', 'book', 'code', gen_random_uuid(), 'staff',
+        'barcode', '%s', 'LENDER')""".formatted(TABLE, id, itemIdParameter, requestIdParameter, status), parameters);
+  }
+
+  private void insertTransactions(long fromNumber, long toNumber) {
+    //noinspection SqlSourceToSinkFlow
+    jdbcTemplate.update("""
+      INSERT INTO %s (id, item_id, request_id, item_title, item_barcode, service_point_id, service_point_name,
+        pickup_library_code, material_type, lending_library_code, patron_id, patron_group, patron_barcode, status,
+        role)
+      SELECT 'benchmark-' || n, gen_random_uuid(), gen_random_uuid(), 'title', 'barcode-' || n, 'sp', 'sp', 'code',
+        'book', 'code', gen_random_uuid(), 'staff', 'barcode',
+        CAST(CASE WHEN n %% 100 = 0 THEN 'AWAITING_PICKUP' ELSE 'CLOSED' END AS %s_mod_dcb.StatusEnum), 'LENDER'
+      FROM generate_series(CAST(:fromNumber AS bigint), CAST(:toNumber AS bigint)) n""".formatted(TABLE, TEST_TENANT),
+      new MapSqlParameterSource()
+        .addValue("fromNumber", fromNumber)
+        .addValue("toNumber", toNumber));
+  }
+
+  private static List<Long> getTransactionCounts() {
+    return Arrays.stream(System.getProperty(TRANSACTION_COUNTS_PROPERTY, DEFAULT_TRANSACTION_COUNTS).split(","))
+      .map(String::trim)
+      .map(Long::parseLong)
+      .sorted()
+      .toList();
+  }
+}
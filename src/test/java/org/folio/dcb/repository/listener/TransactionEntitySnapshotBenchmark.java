@@ -0,0 +1,116 @@
+package org.folio.dcb.repository.listener;
+
+import static org.folio.dcb.utils.EntityUtils.createTransactionEntity;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SerializationUtils;
+import org.folio.dcb.domain.dto.DcbTransaction.RoleEnum;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of the transaction state snapshot used by {@link TransactionAuditEntityListener}: a Java
+ * serialization clone made on every entity load, as it was done before by the {@code @PostLoad} callback, with the
+ * snapshot built from the Hibernate loaded state only for an entity that is about to be updated.
+ *
+ * <p>The benchmark is not a part of the test phase, it is started with the {@link #main(String[])} method. Run it
+ * with {@code -prof gc} to see the allocation rate per operation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionEntitySnapshotBenchmark {
+
+  private TransactionEntity transactionEntity;
+  private Object[] loadedState;
+
+  @Setup
+  public void setUp() {
+    transactionEntity = createTransactionEntity(RoleEnum.LENDER);
+    transactionEntity.setStatus(StatusEnum.OPEN);
+    transactionEntity.setSelfBorrowing(false);
+    transactionEntity.setCreatedDate(OffsetDateTime.now());
+    transactionEntity.setCreatedBy(UUID.randomUUID());
+    transactionEntity.setUpdatedDate(OffsetDateTime.now());
+    transactionEntity.setUpdatedBy(UUID.randomUUID());
+    transactionEntity.setLatestAuditId(UUID.randomUUID());
+    transactionEntity.setLatestAuditCreatedDate(LocalDateTime.now());
+    loadedState = toLoadedState(transactionEntity);
+  }
+
+  @Benchmark
+  public TransactionEntity serializationCloneOnLoad() {
+    return SerializationUtils.clone(transactionEntity);
+  }
+
+  @Benchmark
+  public TransactionEntity noSnapshotOnLoad() {
+    return transactionEntity;
+  }
+
+  /**
+   * Builds the snapshot from the loaded state values the same way as {@code EntityPersister.setValues} does: a new
+   * instance with every persistent property set from the array.
+   */
+  @Benchmark
+  public TransactionEntity loadedStateSnapshotOnUpdate() {
+    var snapshot = new TransactionEntity();
+    snapshot.setCreatedDate((OffsetDateTime) loadedState[0]);
+    snapshot.setCreatedBy((UUID) loadedState[1]);
+    snapshot.setUpdatedDate((OffsetDateTime) loadedState[2]);
+    snapshot.setUpdatedBy((UUID) loadedState[3]);
+    snapshot.setItemId((String) loadedState[4]);
+    snapshot.setItemTitle((String) loadedState[5]);
+    snapshot.setItemBarcode((String) loadedState[6]);
+    snapshot.setServicePointId((String) loadedState[7]);
+    snapshot.setServicePointName((String) loadedState[8]);
+    snapshot.setMaterialType((String) loadedState[9]);
+    snapshot.setPickupLibraryCode((String) loadedState[10]);
+    snapshot.setLendingLibraryCode((String) loadedState[11]);
+    snapshot.setPatronId((String) loadedState[12]);
+    snapshot.setPatronGroup((String) loadedState[13]);
+    snapshot.setPatronBarcode((String) loadedState[14]);
+    snapshot.setRequestId((UUID) loadedState[15]);
+    snapshot.setStatus((StatusEnum) loadedState[16]);
+    snapshot.setRole((RoleEnum) loadedState[17]);
+    snapshot.setSelfBorrowing((Boolean) loadedState[18]);
+    snapshot.setItemLocationCode((String) loadedState[19]);
+    snapshot.setLatestAuditId((UUID) loadedState[20]);
+    snapshot.setLatestAuditCreatedDate((LocalDateTime) loadedState[21]);
+    snapshot.setId(transactionEntity.getId());
+    return snapshot;
+  }
+
+  private static Object[] toLoadedState(TransactionEntity entity) {
+    return new Object[] {
+      entity.getCreatedDate(), entity.getCreatedBy(), entity.getUpdatedDate(), entity.getUpdatedBy(),
+      entity.getItemId(), entity.getItemTitle(), entity.getItemBarcode(), entity.getServicePointId(),
+      entity.getServicePointName(), entity.getMaterialType(), entity.getPickupLibraryCode(),
+      entity.getLendingLibraryCode(), entity.getPatronId(), entity.getPatronGroup(), entity.getPatronBarcode(),
+      entity.getRequestId(), entity.getStatus(), entity.getRole(), entity.getSelfBorrowing(),
+      entity.getItemLocationCode(), entity.getLatestAuditId(), entity.getLatestAuditCreatedDate()};
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TransactionEntitySnapshotBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -22,6 +22,7 @@ import static org.folio.dcb.utils.EntityUtils.createTransactionStatus;
 import static org.folio.dcb.utils.EntityUtils.createUser;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -32,7 +33,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.folio.dcb.config.TransactionRetryConfiguration;
 import org.folio.dcb.domain.ResultList;
 import org.folio.dcb.domain.dto.TransactionStatus;
 import org.folio.dcb.domain.dto.TransactionStatusResponse;
@@ -45,11 +51,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class BaseLibraryServiceTest {
 
+  private static final String WRITE_CONFLICTS_METRIC = "dcb.transaction.write.conflicts";
+
   @InjectMocks private BaseLibraryService baseLibraryService;
   @Mock private TransactionRepository transactionRepository;
   @Mock private UserService userService;
@@ -58,6 +68,8 @@ class BaseLibraryServiceTest {
   @Mock private CirculationService circulationService;
   @Mock private TransactionMapper transactionMapper;
   @Mock private ItemService itemService;
+  @Spy private SimpleMeterRegistry meterRegistry;
+  @Spy private TransactionRetryConfiguration transactionRetryConfiguration;
 
   @Test
   void updateTransactionWithWrongStatusTest() {
@@ -103,6 +115,123 @@ class BaseLibraryServiceTest {
     verify(circulationService, timeout(1)).checkInByBarcode(any(), any());
   }
 
+  @Test
+  void updateTransactionEntity_positive_suppressesNoOpTransition() {
+    var transactionEntity = createTransactionEntity();
+    transactionEntity.setStatus(TransactionStatus.StatusEnum.AWAITING_PICKUP);
+
+    baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.AWAITING_PICKUP);
+
+    verify(transactionRepository, never()).save(any());
+    assertEquals(1.0, meterRegistry.counter("dcb.transaction.status.transitions.suppressed",
+      "status", "AWAITING_PICKUP").count());
+  }
+
+  @Test
+  void updateTransactionEntity_positive_onlyChangesStatusWithDeferredWrites() {
+    var transactionEntity = createTransactionEntity();
+    transactionEntity.setStatus(TransactionStatus.StatusEnum.OPEN);
+
+    var result = baseLibraryService.executeWithDeferredWrites(() -> {
+      baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.AWAITING_PICKUP);
+      return transactionEntity.getStatus();
+    });
+    baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.ITEM_CHECKED_OUT);
+
+    assertEquals(TransactionStatus.StatusEnum.AWAITING_PICKUP, result);
+    verify(transactionRepository, times(1)).save(transactionEntity);
+  }
+
+  @Test
+  void updateTransactionEntity_positive_retriesConflictingTransition() {
+    var transactionEntity = createTransactionEntity();
+    transactionEntity.setStatus(TransactionStatus.StatusEnum.OPEN);
+    var currentTransaction = createTransactionEntity();
+    currentTransaction.setStatus(TransactionStatus.StatusEnum.OPEN);
+    currentTransaction.setUpdatedBy(UUID.randomUUID());
+    when(transactionRepository.save(transactionEntity)).thenThrow(new OptimisticLockingFailureException("conflict"));
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(currentTransaction));
+
+    baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.AWAITING_PICKUP);
+
+    verify(transactionRepository).save(currentTransaction);
+    assertEquals(TransactionStatus.StatusEnum.AWAITING_PICKUP, currentTransaction.getStatus());
+    assertEquals(1.0, meterRegistry.counter(WRITE_CONFLICTS_METRIC, "result", "retried").count());
+  }
+
+  @Test
+  void updateTransactionEntity_positive_skipsTransitionAppliedConcurrently() {
+    var transactionEntity = createTransactionEntity();
+    transactionEntity.setStatus(TransactionStatus.StatusEnum.OPEN);
+    var currentTransaction = createTransactionEntity();
+    currentTransaction.setStatus(TransactionStatus.StatusEnum.AWAITING_PICKUP);
+    currentTransaction.setUpdatedBy(UUID.randomUUID());
+    when(transactionRepository.save(transactionEntity)).thenThrow(new OptimisticLockingFailureException("conflict"));
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(currentTransaction));
+
+    baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.AWAITING_PICKUP);
+
+    verify(transactionRepository, never()).save(currentTransaction);
+    assertEquals(1.0, meterRegistry.counter(WRITE_CONFLICTS_METRIC, "result", "skipped").count());
+  }
+
+  @Test
+  void updateTransactionEntity_negative_statusChangedConcurrently() {
+    var transactionEntity = createTransactionEntity();
+    transactionEntity.setStatus(TransactionStatus.StatusEnum.OPEN);
+    var currentTransaction = createTransactionEntity();
+    currentTransaction.setStatus(TransactionStatus.StatusEnum.CANCELLED);
+    currentTransaction.setUpdatedBy(UUID.randomUUID());
+    var conflict = new OptimisticLockingFailureException("conflict");
+    when(transactionRepository.save(transactionEntity)).thenThrow(conflict);
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(currentTransaction));
+
+    var exception = assertThrows(OptimisticLockingFailureException.class, () ->
+      baseLibraryService.updateTransactionEntity(transactionEntity, TransactionStatus.StatusEnum.AWAITING_PICKUP));
+
+    assertEquals(conflict, exception);
+    verify(transactionRepository, never()).save(currentTransaction);
+    assertEquals(1.0, meterRegistry.counter(WRITE_CONFLICTS_METRIC, "result", "failed").count());
+  }
+
+  @Test
+  void retryStatusTransition_negative_conflictsOnEveryAttempt() {
+    var currentTransaction = createTransactionEntity();
+    currentTransaction.setStatus(TransactionStatus.StatusEnum.OPEN);
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(currentTransaction));
+    when(transactionRepository.save(currentTransaction)).thenAnswer(invocation -> {
+      currentTransaction.setStatus(TransactionStatus.StatusEnum.OPEN);
+      throw new OptimisticLockingFailureException("conflict");
+    });
+
+    assertThrows(OptimisticLockingFailureException.class, () -> baseLibraryService.retryStatusTransition(
+      DCB_TRANSACTION_ID, TransactionStatus.StatusEnum.OPEN, TransactionStatus.StatusEnum.AWAITING_PICKUP,
+      List.of(), new OptimisticLockingFailureException("conflict")));
+
+    verify(transactionRepository, times(3)).save(currentTransaction);
+    assertEquals(1.0, meterRegistry.counter(WRITE_CONFLICTS_METRIC, "result", "failed").count());
+  }
+
+  @Test
+  void updateTransactionEntities_positive_savesOnlyChangedTransactions() {
+    var unchangedTransaction = createTransactionEntity();
+    unchangedTransaction.setStatus(TransactionStatus.StatusEnum.EXPIRED);
+    var changedTransaction = createTransactionEntity();
+    changedTransaction.setId("changed-transaction");
+    changedTransaction.setCreatedBy(UUID.randomUUID());
+    changedTransaction.setStatus(TransactionStatus.StatusEnum.AWAITING_PICKUP);
+    when(transactionRepository.saveAll(List.of(changedTransaction))).thenReturn(List.of(changedTransaction));
+
+    var savedTransactions = baseLibraryService.updateTransactionEntities(Map.of(
+      unchangedTransaction, TransactionStatus.StatusEnum.EXPIRED,
+      changedTransaction, TransactionStatus.StatusEnum.ITEM_CHECKED_OUT));
+
+    assertEquals(List.of(changedTransaction), savedTransactions);
+    assertEquals(TransactionStatus.StatusEnum.ITEM_CHECKED_OUT, changedTransaction.getStatus());
+    assertTrue(meterRegistry.find("dcb.transaction.status.transitions.suppressed")
+      .tag("status", "EXPIRED").counter().count() > 0);
+  }
+
   @Test
   void createBorrowingTransactionTest() {
     var user = createUser();
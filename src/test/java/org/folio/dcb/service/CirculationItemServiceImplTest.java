@@ -1,14 +1,20 @@
 package org.folio.dcb.service;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.folio.dcb.domain.ResultList.asSinglePage;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
 
 import java.util.Collections;
 import java.util.UUID;
 import org.folio.dcb.config.DcbFeatureProperties;
+import org.folio.dcb.config.ShadowLocationCacheProperties;
 import org.folio.dcb.domain.ResultList;
 import org.folio.dcb.domain.dto.CirculationItem;
 import org.folio.dcb.domain.dto.CirculationItemCollection;
@@ -22,6 +28,7 @@ import org.folio.dcb.integration.invstorage.model.Location;
 import org.folio.dcb.integration.invstorage.model.LocationUnit;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
 import org.folio.dcb.service.impl.CirculationItemServiceImpl;
+import org.folio.dcb.service.impl.ShadowLocationCache;
 import org.folio.dcb.utils.CqlQuery;
 import org.folio.dcb.utils.DcbConstants;
 import org.junit.jupiter.api.AfterEach;
@@ -31,7 +38,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 
 @ExtendWith(MockitoExtension.class)
 class CirculationItemServiceImplTest {
@@ -50,6 +61,8 @@ class CirculationItemServiceImplTest {
   @Mock private DcbFeatureProperties dcbHubProperties;
   @Mock private LocationUnitClient locationUnitClient;
   @Mock private DcbEntityServiceFacade dcbEntityServiceFacade;
+  @Spy private ShadowLocationCache shadowLocationCache =
+    new ShadowLocationCache(null, null, new ShadowLocationCacheProperties(), null);
 
   @AfterEach
   void tearDown() {
@@ -315,6 +328,55 @@ class CirculationItemServiceImplTest {
     assertEquals(createdItem, result);
   }
 
+  @Test
+  void checkIfItemExistsAndCreate_positive_retriesWithVerifiedDcbEntities() {
+    when(dcbHubProperties.isFlexibleCirculationRulesEnabled()).thenReturn(false);
+    when(circulationItemClient.fetchItemByCqlQuery(any())).thenReturn(emptyCirculationItems());
+    when(dcbEntityServiceFacade.findOrCreateHolding()).thenReturn(dcbHolding());
+    when(dcbEntityServiceFacade.findOrCreateLocation()).thenReturn(dcbLocation());
+    when(dcbEntityServiceFacade.findOrCreateLoanType()).thenReturn(dcbLoanType());
+    when(dcbEntityServiceFacade.invalidateReferencedEntities(holdingNotFoundResponse())).thenReturn(true);
+    when(itemService.fetchItemMaterialTypeIdByMaterialTypeName(any())).thenReturn(randomUuid());
+
+    var createdItem = circulationItem();
+    when(circulationItemClient.createCirculationItem(any(), any()))
+      .thenThrow(dcbEntityError(UNPROCESSABLE_CONTENT, holdingNotFoundResponse()))
+      .thenReturn(createdItem);
+
+    var result = circulationItemService.checkIfItemExistsAndCreate(dcbItem(), TEST_SERVICE_POINT_ID);
+
+    assertEquals(createdItem, result);
+    verify(dcbEntityServiceFacade).invalidateReferencedEntities(holdingNotFoundResponse());
+    verify(dcbEntityServiceFacade, times(2)).findOrCreateHolding();
+    verify(dcbEntityServiceFacade, times(2)).findOrCreateLocation();
+    verify(dcbEntityServiceFacade, times(2)).findOrCreateLoanType();
+    verify(dcbHubProperties, times(2)).isFlexibleCirculationRulesEnabled();
+    verify(itemService, times(2)).fetchItemMaterialTypeIdByMaterialTypeName(any());
+  }
+
+  @Test
+  void checkIfItemExistsAndCreate_negative_notRetriedWithoutCachedDcbEntities() {
+    when(dcbHubProperties.isFlexibleCirculationRulesEnabled()).thenReturn(false);
+    when(circulationItemClient.fetchItemByCqlQuery(any())).thenReturn(emptyCirculationItems());
+    when(dcbEntityServiceFacade.findOrCreateHolding()).thenReturn(dcbHolding());
+    when(dcbEntityServiceFacade.findOrCreateLocation()).thenReturn(dcbLocation());
+    when(dcbEntityServiceFacade.findOrCreateLoanType()).thenReturn(dcbLoanType());
+    when(itemService.fetchItemMaterialTypeIdByMaterialTypeName(any())).thenReturn(randomUuid());
+    when(circulationItemClient.createCirculationItem(any(), any()))
+      .thenThrow(dcbEntityError(NOT_FOUND, holdingNotFoundResponse()));
+
+    var dcbItem = dcbItem();
+    assertThrows(HttpClientErrorException.NotFound.class,
+      () -> circulationItemService.checkIfItemExistsAndCreate(dcbItem, TEST_SERVICE_POINT_ID));
+
+    verify(dcbEntityServiceFacade).invalidateReferencedEntities(holdingNotFoundResponse());
+    verify(dcbEntityServiceFacade).findOrCreateHolding();
+    verify(dcbEntityServiceFacade).findOrCreateLocation();
+    verify(dcbEntityServiceFacade).findOrCreateLoanType();
+    verify(dcbHubProperties).isFlexibleCirculationRulesEnabled();
+    verify(itemService).fetchItemMaterialTypeIdByMaterialTypeName(any());
+  }
+
   @Test
   void checkIfItemExistsAndCreate_positive_lendingLibraryCode() {
     var randomUuid = randomUuid();
@@ -459,6 +521,15 @@ class CirculationItemServiceImplTest {
       .build();
   }
 
+  private static String holdingNotFoundResponse() {
+    return "Holdings record with id " + TEST_HOLDING_ID + " not found";
+  }
+
+  private static HttpClientErrorException dcbEntityError(HttpStatus status, String responseBody) {
+    return HttpClientErrorException.create(status, status.getReasonPhrase(), HttpHeaders.EMPTY,
+      responseBody.getBytes(UTF_8), UTF_8);
+  }
+
   private static InventoryHolding dcbHolding() {
     return InventoryHolding.builder().id(TEST_HOLDING_ID).build();
   }
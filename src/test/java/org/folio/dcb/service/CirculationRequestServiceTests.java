@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.dcb.utils.EntityUtils.createCirculationRequest;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
@@ -56,6 +58,34 @@ class CirculationRequestServiceTests {
     assertThat(result).isNull();
   }
 
+  @Test
+  void reverifyCancellationReason_positive_setsVerifiedCancellationReason() {
+    var cachedReasonId = UUID.randomUUID();
+    var errorResponse = "Cancellation reason with id " + cachedReasonId + " not found";
+    var request = createCirculationRequest();
+    request.setCancellationReasonId(cachedReasonId);
+    var verifiedReason = new CancellationReasonClient.CancellationReason();
+    verifiedReason.setId(UUID.randomUUID().toString());
+    when(dcbEntityServiceFacade.invalidateReferencedEntities(errorResponse)).thenReturn(true);
+    when(dcbEntityServiceFacade.findOrCreateCancellationReason()).thenReturn(verifiedReason);
+
+    var result = circulationRequestService.reverifyCancellationReason(request, errorResponse);
+
+    assertThat(result).isTrue();
+    assertThat(request.getCancellationReasonId()).isEqualTo(UUID.fromString(verifiedReason.getId()));
+  }
+
+  @Test
+  void reverifyCancellationReason_negative_cancellationReasonNotReferenced() {
+    var request = createCirculationRequest();
+    when(dcbEntityServiceFacade.invalidateReferencedEntities("Request not found")).thenReturn(false);
+
+    var result = circulationRequestService.reverifyCancellationReason(request, "Request not found");
+
+    assertThat(result).isFalse();
+    verify(dcbEntityServiceFacade, never()).findOrCreateCancellationReason();
+  }
+
   @Test
   void fetchRequestById_positive() {
     var circulationRequest = createCirculationRequest();
@@ -1,5 +1,6 @@
 package org.folio.dcb.service;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.UUID.randomUUID;
 import static org.folio.dcb.utils.EntityUtils.createCirculationRequest;
 import static org.folio.dcb.utils.EntityUtils.createTransactionEntity;
@@ -7,8 +8,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
 
 import java.util.UUID;
 import org.folio.dcb.domain.dto.CirculationRequest;
@@ -22,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.HttpClientErrorException;
 
 @ExtendWith(MockitoExtension.class)
@@ -88,4 +93,34 @@ class CirculationServiceTest {
     assertThrows(CirculationRequestException.class, () ->
       circulationService.cancelRequest(transactionEntity, false));
   }
+
+  @Test
+  void cancelRequest_positive_retriesWithVerifiedCancellationReason() {
+    var request = createCirculationRequest();
+    var errorResponse = "Cancellation reason not found";
+    var error = HttpClientErrorException.create(UNPROCESSABLE_CONTENT, "Unprocessable Content", HttpHeaders.EMPTY,
+      errorResponse.getBytes(UTF_8), UTF_8);
+    when(circulationRequestService.getCancellationRequestIfOpenOrNull(anyString())).thenReturn(request);
+    when(circulationClient.updateRequest(request.getId(), request)).thenThrow(error).thenReturn(null);
+    when(circulationRequestService.reverifyCancellationReason(request, errorResponse)).thenReturn(true);
+
+    circulationService.cancelRequest(createTransactionEntity(), false);
+
+    verify(circulationClient, times(2)).updateRequest(request.getId(), request);
+  }
+
+  @Test
+  void cancelRequest_negative_notRetriedWithoutReverifiedCancellationReason() {
+    var transactionEntity = createTransactionEntity();
+    var request = createCirculationRequest();
+    var error = HttpClientErrorException.create(NOT_FOUND, "Not Found", HttpHeaders.EMPTY,
+      "Request not found".getBytes(UTF_8), UTF_8);
+    when(circulationRequestService.getCancellationRequestIfOpenOrNull(anyString())).thenReturn(request);
+    when(circulationClient.updateRequest(request.getId(), request)).thenThrow(error);
+    when(circulationRequestService.reverifyCancellationReason(request, "Request not found")).thenReturn(false);
+
+    assertThrows(CirculationRequestException.class, () ->
+      circulationService.cancelRequest(transactionEntity, false));
+    verify(circulationClient).updateRequest(request.getId(), request);
+  }
 }
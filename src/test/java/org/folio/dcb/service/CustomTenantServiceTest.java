@@ -6,6 +6,8 @@ import static org.mockito.Mockito.verify;
 import org.folio.dcb.integration.kafka.KafkaService;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
 import org.folio.dcb.service.impl.CustomTenantService;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.service.impl.TransactionAuditOutboxRelay;
 import org.folio.spring.service.PrepareSystemUserService;
 import org.folio.tenant.domain.dto.TenantAttributes;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,10 @@ class CustomTenantServiceTest {
   @Mock private KafkaService kafkaService;
   @Mock private PrepareSystemUserService systemUserService;
   @Mock private DcbEntityServiceFacade dcbEntityServiceFacade;
+  @Mock private OpenTransactionIndex openTransactionIndex;
+  @Mock private TransactionAuditPartitionService transactionAuditPartitionService;
+  @Mock private TransactionAuditOutboxRelay transactionAuditOutboxRelay;
+  @Mock private ShadowLocationRefreshJobService shadowLocationRefreshJobService;
 
   @Test
   void shouldInitTenant() {
@@ -30,5 +36,8 @@ class CustomTenantServiceTest {
 
     service.createOrUpdateTenant(new TenantAttributes());
     verify(systemUserService).setupSystemUser();
+    verify(transactionAuditPartitionService).createPartitions();
+    verify(transactionAuditOutboxRelay).relay();
+    verify(shadowLocationRefreshJobService).resumeStaleJobs();
   }
 }
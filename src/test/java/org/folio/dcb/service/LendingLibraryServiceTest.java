@@ -22,7 +22,6 @@ import java.util.UUID;
 import org.folio.dcb.domain.dto.TransactionStatus;
 import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
 import org.folio.dcb.domain.dto.TransactionStatusResponse;
-import org.folio.dcb.repository.TransactionRepository;
 import org.folio.dcb.service.impl.BaseLibraryService;
 import org.folio.dcb.service.impl.CirculationServiceImpl;
 import org.folio.dcb.service.impl.LendingLibraryServiceImpl;
@@ -38,7 +37,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class LendingLibraryServiceTest {
 
   @InjectMocks private LendingLibraryServiceImpl lendingLibraryService;
-  @Mock private TransactionRepository transactionRepository;
   @Mock private UserServiceImpl userService;
   @Mock private RequestServiceImpl requestService;
   @Mock private CirculationServiceImpl circulationService;
@@ -80,8 +78,8 @@ class LendingLibraryServiceTest {
 
     lendingLibraryService.updateTransactionStatus(dcbTransaction, awaitingPickupStatus);
 
-    assertThat(dcbTransaction.getStatus()).isEqualTo(TransactionStatus.StatusEnum.AWAITING_PICKUP);
     verify(circulationService).checkInByBarcode(dcbTransaction);
+    verify(baseLibraryService).updateTransactionEntity(dcbTransaction, StatusEnum.AWAITING_PICKUP);
   }
 
   @Test
@@ -94,7 +92,7 @@ class LendingLibraryServiceTest {
     lendingLibraryService.updateTransactionStatus(dcbTransaction, checkedOutStatus);
 
     verify(circulationService).checkOutByBarcode(dcbTransaction);
-    assertThat(dcbTransaction.getStatus()).isEqualTo(TransactionStatus.StatusEnum.ITEM_CHECKED_OUT);
+    verify(baseLibraryService).updateTransactionEntity(dcbTransaction, StatusEnum.ITEM_CHECKED_OUT);
   }
 
   @Test
@@ -103,7 +101,7 @@ class LendingLibraryServiceTest {
     dcbTransaction.setStatus(TransactionStatus.StatusEnum.ITEM_CHECKED_OUT);
     var checkedInStatus = TransactionStatus.builder().status(StatusEnum.ITEM_CHECKED_IN).build();
     lendingLibraryService.updateTransactionStatus(dcbTransaction, checkedInStatus);
-    assertThat(dcbTransaction.getStatus()).isEqualTo(TransactionStatus.StatusEnum.ITEM_CHECKED_IN);
+    verify(baseLibraryService).updateTransactionEntity(dcbTransaction, StatusEnum.ITEM_CHECKED_IN);
   }
 
   @Test
@@ -132,7 +130,6 @@ class LendingLibraryServiceTest {
 
     lendingLibraryService.updateTransactionStatus(dcbTransaction, transactionStatus);
 
-    assertThat(dcbTransaction.getStatus()).isEqualTo(OPEN);
-    verify(transactionRepository).save(dcbTransaction);
+    verify(baseLibraryService).updateTransactionEntity(dcbTransaction, OPEN);
   }
 }
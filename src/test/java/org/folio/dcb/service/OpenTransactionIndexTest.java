@@ -0,0 +1,221 @@
+package org.folio.dcb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.awaitility.Durations.FIVE_SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import org.folio.dcb.config.TransactionIndexProperties;
+import org.folio.dcb.domain.dto.TransactionStatus.StatusEnum;
+import org.folio.dcb.domain.entity.TransactionEntity;
+import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.repository.TransactionRepository.TransactionKeys;
+import org.folio.dcb.service.impl.OpenTransactionIndex;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OpenTransactionIndexTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String ITEM_ID = UUID.randomUUID().toString();
+  private static final String REQUEST_ID = UUID.randomUUID().toString();
+  private static final long VERIFY_TIMEOUT_MILLIS = 5_000;
+
+  @Mock private TransactionRepository transactionRepository;
+  @Mock private SystemUserScopedExecutionService systemUserScopedExecutionService;
+
+  private final TransactionIndexProperties properties = new TransactionIndexProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private OpenTransactionIndex openTransactionIndex;
+
+  @BeforeEach
+  void setUp() {
+    properties.setEnabled(true);
+    openTransactionIndex = new OpenTransactionIndex(properties, transactionRepository,
+      systemUserScopedExecutionService, meterRegistry);
+    lenient().when(systemUserScopedExecutionService.executeSystemUserScoped(eq(TENANT_ID), any()))
+      .thenAnswer(inv -> inv.<Callable<?>>getArgument(1).call());
+  }
+
+  @AfterEach
+  void tearDown() {
+    openTransactionIndex.stop();
+  }
+
+  @Test
+  void mayContainItem_positive_loadsIndexInBackgroundOnFirstLookup() {
+    var unknownItemId = UUID.randomUUID().toString();
+    when(transactionRepository.findOpenTransactionKeys())
+      .thenReturn(List.of(transactionKeys("tx-1", ITEM_ID, REQUEST_ID, true)));
+    when(transactionRepository.findTransactionKeysUpdatedSince(any())).thenReturn(List.of());
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, unknownItemId)).isTrue();
+    await().atMost(FIVE_SECONDS).until(() -> !openTransactionIndex.mayContainItem(TENANT_ID, unknownItemId));
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    assertThat(openTransactionIndex.mayContainRequest(TENANT_ID, REQUEST_ID)).isTrue();
+
+    verify(transactionRepository).findOpenTransactionKeys();
+    assertThat(lookups("item", "hit")).isEqualTo(1.0);
+    assertThat(lookups("item", "miss")).isEqualTo(1.0);
+    assertThat(meterRegistry.get("dcb.transaction.index.size").tag("key", "item").gauge().value()).isEqualTo(1.0);
+  }
+
+  @Test
+  void mayContainItem_positive_catchesUpTransactionsOfOtherInstancesOnMiss() {
+    when(transactionRepository.findOpenTransactionKeys()).thenReturn(List.of());
+    when(transactionRepository.findTransactionKeysUpdatedSince(any()))
+      .thenReturn(List.of(transactionKeys("tx-1", ITEM_ID, REQUEST_ID, true)));
+    openTransactionIndex.load(TENANT_ID);
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    assertThat(openTransactionIndex.mayContainRequest(TENANT_ID, REQUEST_ID)).isTrue();
+
+    verify(transactionRepository).findTransactionKeysUpdatedSince(any());
+    assertThat(lookups("item", "hit")).isEqualTo(1.0);
+    assertThat(lookups("request", "hit")).isEqualTo(1.0);
+  }
+
+  @Test
+  void mayContainItem_negative_catchUpRemovesTransactionsInTerminalStatus() {
+    var otherItemId = UUID.randomUUID().toString();
+    when(transactionRepository.findOpenTransactionKeys())
+      .thenReturn(List.of(transactionKeys("tx-1", ITEM_ID, REQUEST_ID, true)));
+    when(transactionRepository.findTransactionKeysUpdatedSince(any()))
+      .thenReturn(List.of(transactionKeys("tx-1", ITEM_ID, REQUEST_ID, false)));
+    openTransactionIndex.load(TENANT_ID);
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, otherItemId)).isFalse();
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isFalse();
+    assertThat(lookups("item", "miss")).isEqualTo(2.0);
+  }
+
+  @Test
+  void mayContainItem_positive_returnsTrueIfCatchUpFails() {
+    when(transactionRepository.findOpenTransactionKeys()).thenReturn(List.of());
+    when(transactionRepository.findTransactionKeysUpdatedSince(any()))
+      .thenThrow(new IllegalStateException("Connection failed"));
+    openTransactionIndex.load(TENANT_ID);
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    assertThat(meterRegistry.find("dcb.transaction.index.lookups").counter()).isNull();
+  }
+
+  @Test
+  void track_positive_addsAndRemovesTransactions() {
+    when(transactionRepository.findOpenTransactionKeys()).thenReturn(List.of());
+    when(transactionRepository.findTransactionKeysUpdatedSince(any())).thenReturn(List.of());
+    var transaction = transactionEntity(StatusEnum.CREATED);
+    openTransactionIndex.load(TENANT_ID);
+
+    openTransactionIndex.track(TENANT_ID, transaction);
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    assertThat(openTransactionIndex.mayContainRequest(TENANT_ID, REQUEST_ID)).isTrue();
+
+    transaction.setStatus(StatusEnum.CANCELLED);
+    openTransactionIndex.track(TENANT_ID, transaction);
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isFalse();
+    assertThat(openTransactionIndex.mayContainRequest(TENANT_ID, REQUEST_ID)).isFalse();
+  }
+
+  @Test
+  void track_positive_keepsTransactionsTrackedBeforeFirstLoad() {
+    when(transactionRepository.findOpenTransactionKeys()).thenReturn(List.of());
+
+    openTransactionIndex.track(TENANT_ID, transactionEntity(StatusEnum.CREATED));
+    openTransactionIndex.load(TENANT_ID);
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    verify(transactionRepository, never()).findTransactionKeysUpdatedSince(any());
+  }
+
+  @Test
+  void mayContainItem_positive_reloadsStaleIndexInBackground() {
+    properties.setRefreshInterval(Duration.ZERO);
+    when(transactionRepository.findOpenTransactionKeys())
+      .thenReturn(List.of())
+      .thenReturn(List.of(transactionKeys("tx-1", ITEM_ID, REQUEST_ID, true)));
+    when(transactionRepository.findTransactionKeysUpdatedSince(any())).thenReturn(List.of());
+
+    openTransactionIndex.load(TENANT_ID);
+
+    await().atMost(FIVE_SECONDS).until(() -> openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID));
+    verify(transactionRepository, atLeast(2)).findOpenTransactionKeys();
+  }
+
+  @Test
+  void mayContainItem_positive_returnsTrueIfIndexCannotBeLoaded() {
+    when(transactionRepository.findOpenTransactionKeys()).thenThrow(new IllegalStateException("Connection failed"));
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    verify(transactionRepository, timeout(VERIFY_TIMEOUT_MILLIS)).findOpenTransactionKeys();
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+  }
+
+  @Test
+  void mayContainItem_positive_disabledIndex() {
+    properties.setEnabled(false);
+
+    assertThat(openTransactionIndex.mayContainItem(TENANT_ID, ITEM_ID)).isTrue();
+    openTransactionIndex.track(TENANT_ID, transactionEntity(StatusEnum.CREATED));
+
+    verifyNoInteractions(transactionRepository, systemUserScopedExecutionService);
+  }
+
+  private double lookups(String key, String result) {
+    return meterRegistry.get("dcb.transaction.index.lookups").tag("key", key).tag("result", result).counter().count();
+  }
+
+  private static TransactionEntity transactionEntity(StatusEnum status) {
+    return TransactionEntity.builder()
+      .id("tx-1")
+      .itemId(ITEM_ID)
+      .requestId(UUID.fromString(REQUEST_ID))
+      .status(status)
+      .build();
+  }
+
+  private static TransactionKeys transactionKeys(String id, String itemId, String requestId, boolean open) {
+    return new TransactionKeys() {
+      @Override
+      public String getId() {
+        return id;
+      }
+
+      @Override
+      public String getItemId() {
+        return itemId;
+      }
+
+      @Override
+      public String getRequestId() {
+        return requestId;
+      }
+
+      @Override
+      public Boolean getOpen() {
+        return open;
+      }
+    };
+  }
+}
@@ -7,13 +7,17 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.folio.dcb.config.ReferenceDataCacheProperties;
 import org.folio.dcb.integration.users.GroupClient;
 import org.folio.dcb.service.impl.PatronGroupServiceImpl;
+import org.folio.dcb.service.impl.ReferenceDataCache;
 import org.folio.spring.exception.NotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,6 +25,8 @@ class PatronGroupServiceTest {
 
   @InjectMocks private PatronGroupServiceImpl patronGroupService;
   @Mock private GroupClient groupClient;
+  @Spy private ReferenceDataCache referenceDataCache =
+    new ReferenceDataCache(new ReferenceDataCacheProperties(), null, new SimpleMeterRegistry());
 
   @Test
   void fetchPatronGroupIdByNameTest() {
@@ -0,0 +1,150 @@
+package org.folio.dcb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.dcb.config.ProcessedEventLedgerProperties;
+import org.folio.dcb.repository.ProcessedEventRepository;
+import org.folio.dcb.service.impl.ProcessedEventLedger;
+import org.folio.dcb.support.types.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventLedgerTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String EVENT_KEY = "folio.diku.circulation.loan-0-42";
+
+  @Mock private ProcessedEventRepository processedEventRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private final ProcessedEventLedgerProperties properties = new ProcessedEventLedgerProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ProcessedEventLedger processedEventLedger;
+
+  @BeforeEach
+  void setUp() {
+    properties.setEnabled(true);
+    processedEventLedger = new ProcessedEventLedger(properties, processedEventRepository,
+      new TransactionTemplate(transactionManager), meterRegistry);
+  }
+
+  @Test
+  void getEventKey_positive_buildsKeyFromEventPosition() {
+    var headers = new MessageHeaders(Map.of(
+      KafkaHeaders.RECEIVED_TOPIC, "folio.diku.circulation.loan",
+      KafkaHeaders.RECEIVED_PARTITION, 0,
+      KafkaHeaders.OFFSET, 42L));
+
+    assertThat(ProcessedEventLedger.getEventKey(headers)).isEqualTo(EVENT_KEY);
+    assertThat(ProcessedEventLedger.getEventKey(new MessageHeaders(Map.of()))).isNull();
+  }
+
+  @Test
+  void skipProcessed_positive_runsActionAndRecordsEvent() {
+    var counter = new AtomicInteger();
+    when(processedEventRepository.insertIfAbsent(eq(EVENT_KEY), any(OffsetDateTime.class))).thenReturn(1);
+
+    processedEventLedger.skipProcessed(TENANT_ID, EVENT_KEY, counter::incrementAndGet).run();
+
+    assertThat(counter).hasValue(1);
+    verify(processedEventRepository, never()).existsById(any());
+    assertThat(lookups("miss")).isEqualTo(1.0);
+  }
+
+  @Test
+  void skipProcessed_positive_skipsDuplicateFromMemoryWithoutDatabaseLookup() {
+    var counter = new AtomicInteger();
+    when(processedEventRepository.insertIfAbsent(eq(EVENT_KEY), any(OffsetDateTime.class))).thenReturn(1);
+
+    processedEventLedger.skipProcessed(TENANT_ID, EVENT_KEY, counter::incrementAndGet).run();
+    processedEventLedger.skipProcessed(TENANT_ID, EVENT_KEY, counter::incrementAndGet).run();
+
+    assertThat(counter).hasValue(1);
+    verify(processedEventRepository, times(1)).insertIfAbsent(eq(EVENT_KEY), any(OffsetDateTime.class));
+    assertThat(lookups("cache")).isEqualTo(1.0);
+  }
+
+  @Test
+  void skipProcessed_positive_skipsDuplicateRecordedInDatabase() {
+    var counter = new AtomicInteger();
+    when(processedEventRepository.insertIfAbsent(eq(EVENT_KEY), any(OffsetDateTime.class))).thenReturn(0);
+
+    processedEventLedger.skipProcessed(TENANT_ID, EVENT_KEY, counter::incrementAndGet).run();
+
+    assertThat(counter).hasValue(0);
+    assertThat(processedEventLedger.isProcessed(TENANT_ID, EVENT_KEY)).isFalse();
+    assertThat(lookups("database")).isEqualTo(1.0);
+  }
+
+  @Test
+  void skipProcessed_negative_rollsBackEventRecordIfActionFails() {
+    when(processedEventRepository.insertIfAbsent(eq(EVENT_KEY), any(OffsetDateTime.class))).thenReturn(1);
+    Runnable failingAction = () -> {
+      throw new IllegalStateException("Database is not available");
+    };
+
+    var action = processedEventLedger.skipProcessed(TENANT_ID, EVENT_KEY, failingAction);
+
+    assertThatThrownBy(action::run).isInstanceOf(IllegalStateException.class);
+    verify(transactionManager).rollback(any());
+    verify(transactionManager, never()).commit(any());
+  }
+
+  @Test
+  void skipProcessed_positive_returnsActionAsIsWhenDisabled() {
+    properties.setEnabled(false);
+    Runnable action = () -> {};
+
+    assertThat(processedEventLedger.skipProcessed(TENANT_ID, EVENT_KEY, action)).isSameAs(action);
+    assertThat(processedEventLedger.skipProcessed(TENANT_ID, null, action)).isSameAs(action);
+    verifyNoInteractions(processedEventRepository);
+  }
+
+  @Test
+  void cleanupIfNeeded_positive_removesExpiredEventsAfterCleanupInterval() {
+    properties.setCleanupInterval(Duration.ZERO);
+
+    processedEventLedger.cleanupIfNeeded(TENANT_ID);
+    processedEventLedger.cleanupIfNeeded(TENANT_ID);
+
+    verify(processedEventRepository, times(1)).deleteProcessedBefore(any(OffsetDateTime.class));
+  }
+
+  @Test
+  void isProcessed_positive_evictsLeastRecentlyUsedEvents() {
+    properties.setCacheSize(1);
+    when(processedEventRepository.insertIfAbsent(any(), any(OffsetDateTime.class))).thenReturn(1);
+
+    processedEventLedger.markProcessed(TENANT_ID, "event-1");
+    processedEventLedger.markProcessed(TENANT_ID, "event-2");
+
+    assertThat(processedEventLedger.isProcessed(TENANT_ID, "event-1")).isFalse();
+    assertThat(processedEventLedger.isProcessed(TENANT_ID, "event-2")).isTrue();
+  }
+
+  private double lookups(String result) {
+    return meterRegistry.counter("dcb.processed-event.ledger.lookups", "tenant", TENANT_ID, "result", result).count();
+  }
+}
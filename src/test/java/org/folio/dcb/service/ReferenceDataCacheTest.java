@@ -0,0 +1,177 @@
+package org.folio.dcb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.dcb.service.impl.ReferenceDataCache.MATERIAL_TYPES;
+import static org.folio.dcb.service.impl.ReferenceDataCache.PATRON_GROUPS;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.dcb.config.ReferenceDataCacheProperties;
+import org.folio.dcb.service.impl.ReferenceDataCache;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String MATERIAL_TYPE_ID = "1a54b431-2e4f-452d-9cae-9cee66c9a892";
+
+  @Mock private FolioExecutionContext folioExecutionContext;
+
+  private final ReferenceDataCacheProperties properties = new ReferenceDataCacheProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger loads = new AtomicInteger();
+  private ReferenceDataCache referenceDataCache;
+
+  @BeforeEach
+  void setUp() {
+    properties.setEnabled(true);
+    referenceDataCache = new ReferenceDataCache(properties, folioExecutionContext, meterRegistry);
+  }
+
+  @Test
+  void get_positive_cachedAfterFirstLookup() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+
+    var first = referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+    var second = referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+
+    assertThat(first).contains(MATERIAL_TYPE_ID);
+    assertThat(second).contains(MATERIAL_TYPE_ID);
+    assertThat(loads).hasValue(1);
+    assertThat(lookups(MATERIAL_TYPES, "miss")).isEqualTo(1.0);
+    assertThat(lookups(MATERIAL_TYPES, "hit")).isEqualTo(1.0);
+  }
+
+  @Test
+  void get_positive_notFoundRecordCachedForNegativeTtl() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+
+    referenceDataCache.get(PATRON_GROUPS, "unknown", this::loadNothing);
+    var result = referenceDataCache.get(PATRON_GROUPS, "unknown", this::loadNothing);
+
+    assertThat(result).isEmpty();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void get_positive_notFoundRecordLoadedAgainAfterNegativeTtl() {
+    properties.setNegativeTtl(Duration.ZERO);
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+
+    referenceDataCache.get(PATRON_GROUPS, "unknown", this::loadNothing);
+    referenceDataCache.get(PATRON_GROUPS, "unknown", this::loadNothing);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void get_positive_cacheDisabled() {
+    properties.setEnabled(false);
+
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+    var result = referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+
+    assertThat(result).contains(MATERIAL_TYPE_ID);
+    assertThat(loads).hasValue(2);
+    assertThat(meterRegistry.find("dcb.reference-data.cache.lookups").counter()).isNull();
+  }
+
+  @Test
+  void get_positive_recordsCachedPerTenant() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID, "college");
+
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void get_negative_failedLoadNotCached() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    Runnable failedLookup = () -> referenceDataCache.get(MATERIAL_TYPES, "book", () -> {
+      loads.incrementAndGet();
+      throw new IllegalStateException("Service unavailable");
+    });
+
+    assertThatThrownBy(failedLookup::run).isInstanceOf(IllegalStateException.class);
+    var result = referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+
+    assertThat(result).contains(MATERIAL_TYPE_ID);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void get_positive_concurrentLookupsLoadOnce() throws Exception {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    var loadStarted = new CountDownLatch(1);
+    var releaseLoad = new CountDownLatch(1);
+
+    try (var executor = Executors.newFixedThreadPool(2)) {
+      var first = executor.submit(() -> referenceDataCache.get(MATERIAL_TYPES, "book", () -> {
+        loadStarted.countDown();
+        awaitQuietly(releaseLoad);
+        return loadMaterialType();
+      }));
+      assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      var second = executor.submit(() -> referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType));
+      releaseLoad.countDown();
+
+      assertThat(first.get(5, TimeUnit.SECONDS)).contains(MATERIAL_TYPE_ID);
+      assertThat(second.get(5, TimeUnit.SECONDS)).contains(MATERIAL_TYPE_ID);
+    }
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void invalidate_positive_removesRecordsOfCurrentTenantOnly() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID, "college", TENANT_ID, TENANT_ID, "college");
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+
+    referenceDataCache.invalidate();
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+    referenceDataCache.get(MATERIAL_TYPES, "book", this::loadMaterialType);
+
+    assertThat(loads).hasValue(3);
+  }
+
+  private Optional<String> loadMaterialType() {
+    loads.incrementAndGet();
+    return Optional.of(MATERIAL_TYPE_ID);
+  }
+
+  private Optional<String> loadNothing() {
+    loads.incrementAndGet();
+    return Optional.empty();
+  }
+
+  private double lookups(String cacheName, String result) {
+    return meterRegistry.get("dcb.reference-data.cache.lookups")
+      .tags("cache", cacheName, "tenant", TENANT_ID, "result", result)
+      .counter().count();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package org.folio.dcb.service;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
 
 import java.util.UUID;
 import org.folio.dcb.domain.dto.CirculationRequest;
@@ -18,6 +21,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.HttpClientErrorException;
 
 @ExtendWith(MockitoExtension.class)
 class RequestServiceImplTest {
@@ -48,4 +53,29 @@ class RequestServiceImplTest {
     verify(circulationClient).createRequest(any());
     assertEquals(expectedRequest, request);
   }
+
+  @Test
+  void createHoldItemRequest_ShouldRetryWithVerifiedHolding_WhenRequestCreationFails() {
+    var randomUuid = UUID.randomUUID().toString();
+    var user = User.builder().username("username").id(randomUuid).barcode("barcode").build();
+    var item = DcbItem.builder().title("title").id(randomUuid).build();
+
+    var dcbHolding = InventoryHolding.builder().id(randomUuid).build();
+    when(dcbEntityServiceFacade.findOrCreateHolding()).thenReturn(dcbHolding);
+    var errorResponse = "Holdings record with id " + randomUuid + " not found";
+    when(dcbEntityServiceFacade.invalidateReferencedEntities(errorResponse)).thenReturn(true);
+
+    var expectedRequest = CirculationRequest.builder().id("requestId").build();
+    when(circulationClient.createRequest(any()))
+      .thenThrow(HttpClientErrorException.create(UNPROCESSABLE_CONTENT, "Unprocessable Content", HttpHeaders.EMPTY,
+        errorResponse.getBytes(UTF_8), UTF_8))
+      .thenReturn(expectedRequest);
+
+    var request = requestService.createHoldItemRequest(user, item, "pickupPointId");
+
+    verify(dcbEntityServiceFacade, times(2)).findOrCreateHolding();
+    verify(dcbEntityServiceFacade).invalidateReferencedEntities(errorResponse);
+    verify(circulationClient, times(2)).createRequest(any());
+    assertEquals(expectedRequest, request);
+  }
 }
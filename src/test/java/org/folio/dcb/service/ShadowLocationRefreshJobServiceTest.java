@@ -0,0 +1,289 @@
+package org.folio.dcb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.folio.dcb.domain.dto.RefreshJobStatusType.IN_PROGRESS;
+import static org.folio.dcb.domain.dto.RefreshLocationStatusType.ERROR;
+import static org.folio.dcb.domain.dto.RefreshLocationStatusType.SKIPPED;
+import static org.folio.dcb.domain.dto.RefreshLocationStatusType.SUCCESS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import org.folio.dcb.config.ShadowLocationRefreshJobProperties;
+import org.folio.dcb.domain.ShadowLocationAgencyResult;
+import org.folio.dcb.domain.dto.DcbAgency;
+import org.folio.dcb.domain.dto.RefreshLocationEntityType;
+import org.folio.dcb.domain.dto.RefreshLocationStatus;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshBody;
+import org.folio.dcb.domain.dto.ShadowLocationRefreshJobStatus;
+import org.folio.dcb.domain.entity.ShadowLocationRefreshJobEntity;
+import org.folio.dcb.domain.entity.ShadowLocationRefreshJobStatusEntity;
+import org.folio.dcb.exception.ServiceException;
+import org.folio.dcb.repository.ShadowLocationRefreshJobRepository;
+import org.folio.dcb.repository.ShadowLocationRefreshJobStatusRepository;
+import org.folio.dcb.service.impl.ShadowLocationRefreshJobServiceImpl;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.exception.NotFoundException;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ShadowLocationRefreshJobServiceTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final UUID JOB_ID = UUID.randomUUID();
+  private static final long VERIFY_TIMEOUT_MILLIS = 5_000;
+
+  @Mock private ShadowLocationService shadowLocationService;
+  @Mock private ShadowLocationRefreshJobRepository jobRepository;
+  @Mock private ShadowLocationRefreshJobStatusRepository jobStatusRepository;
+  @Mock private FolioExecutionContext folioExecutionContext;
+  @Mock private SystemUserScopedExecutionService systemUserScopedExecutionService;
+  @Captor private ArgumentCaptor<ShadowLocationRefreshJobEntity> jobCaptor;
+  @Captor private ArgumentCaptor<List<ShadowLocationRefreshJobStatusEntity>> statusesCaptor;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ShadowLocationRefreshJobProperties properties = new ShadowLocationRefreshJobProperties();
+  private ShadowLocationRefreshJobServiceImpl jobService;
+
+  @BeforeEach
+  void setUp() {
+    var transactionManager = mock(PlatformTransactionManager.class);
+    lenient().when(transactionManager.getTransaction(any())).then(inv -> new SimpleTransactionStatus());
+    var transactionTemplate = new TransactionTemplate(transactionManager);
+    jobService = new ShadowLocationRefreshJobServiceImpl(shadowLocationService, jobRepository, jobStatusRepository,
+      properties, transactionTemplate, folioExecutionContext, systemUserScopedExecutionService, objectMapper);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jobService.stop();
+  }
+
+  @Test
+  void startJob_positive_runsJobInBackground() {
+    var requestBody = refreshBody();
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(shadowLocationService.countAgencies(requestBody)).thenReturn(1);
+    when(jobRepository.save(jobCaptor.capture())).then(inv -> inv.getArgument(0));
+    when(jobRepository.findById(any())).then(inv -> Optional.of(jobCaptor.getValue()));
+    when(jobRepository.incrementProgress(any(), any(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+    when(jobRepository.insertCompletedAgency(any(), anyInt())).thenReturn(1);
+    when(jobStatusRepository.findCompletedAgencyIndexes(any())).thenReturn(List.of());
+    mockSystemUserScopedExecution();
+    doAnswer(inv -> {
+      inv.<Consumer<ShadowLocationAgencyResult>>getArgument(2).accept(agencyResult());
+      return null;
+    }).when(shadowLocationService).createShadowLocations(eq(requestBody), eq(Set.of()), any());
+
+    var job = jobService.startJob(requestBody);
+
+    var ownerId = jobCaptor.getValue().getOwnerId();
+    assertThat(job.getStatus()).isEqualTo(IN_PROGRESS);
+    assertThat(job.getAgenciesTotal()).isEqualTo(1);
+    assertThat(ownerId).isNotNull();
+    verify(jobRepository, timeout(VERIFY_TIMEOUT_MILLIS)).updateStatus(job.getId(), ownerId, "COMPLETED", null);
+    verify(jobRepository).incrementProgress(job.getId(), ownerId, 1, 1, 1);
+    verify(jobRepository).insertCompletedAgency(job.getId(), 0);
+    verify(jobStatusRepository).saveAll(statusesCaptor.capture());
+    assertThat(statusesCaptor.getValue())
+      .extracting(ShadowLocationRefreshJobStatusEntity::getType, ShadowLocationRefreshJobStatusEntity::getCode,
+        ShadowLocationRefreshJobStatusEntity::getStatus)
+      .containsExactly(
+        tuple(RefreshLocationEntityType.INSTITUTION, "AG-1", SUCCESS),
+        tuple(RefreshLocationEntityType.CAMPUS, "AG-1", SUCCESS),
+        tuple(RefreshLocationEntityType.LIBRARY, "AG-1", SUCCESS),
+        tuple(RefreshLocationEntityType.LOCATION, "LOC-1", SUCCESS),
+        tuple(RefreshLocationEntityType.LOCATION, "LOC-2", SKIPPED),
+        tuple(RefreshLocationEntityType.LOCATION, "LOC-3", ERROR));
+    assertThat(jobCaptor.getValue().getRequestBody()).isEqualTo(objectMapper.writeValueAsString(requestBody));
+  }
+
+  @Test
+  void startJob_positive_jobFailed() {
+    var requestBody = refreshBody();
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(jobRepository.save(jobCaptor.capture())).then(inv -> inv.getArgument(0));
+    when(jobRepository.findById(any())).then(inv -> Optional.of(jobCaptor.getValue()));
+    when(jobRepository.existsByIdAndOwnerId(any(), any())).thenReturn(true);
+    when(jobStatusRepository.findCompletedAgencyIndexes(any())).thenReturn(List.of());
+    mockSystemUserScopedExecution();
+    doThrow(new ServiceException("Feature is disabled"))
+      .when(shadowLocationService).createShadowLocations(eq(requestBody), eq(Set.of()), any());
+
+    var job = jobService.startJob(requestBody);
+
+    var ownerId = jobCaptor.getValue().getOwnerId();
+    verify(jobRepository, timeout(VERIFY_TIMEOUT_MILLIS))
+      .updateStatus(job.getId(), ownerId, "FAILED", "Feature is disabled");
+    verify(jobStatusRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void startJob_negative_jobClaimedByAnotherRun() {
+    var requestBody = refreshBody();
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(jobRepository.save(jobCaptor.capture())).then(inv -> inv.getArgument(0));
+    when(jobRepository.findById(any())).then(inv -> Optional.of(jobCaptor.getValue()));
+    when(jobRepository.incrementProgress(any(), any(), anyInt(), anyInt(), anyInt())).thenReturn(0);
+    when(jobRepository.existsByIdAndOwnerId(any(), any())).thenReturn(false);
+    when(jobStatusRepository.findCompletedAgencyIndexes(any())).thenReturn(List.of());
+    mockSystemUserScopedExecution();
+    doAnswer(inv -> {
+      inv.<Consumer<ShadowLocationAgencyResult>>getArgument(2).accept(agencyResult());
+      return null;
+    }).when(shadowLocationService).createShadowLocations(eq(requestBody), eq(Set.of()), any());
+
+    var job = jobService.startJob(requestBody);
+
+    verify(jobRepository, timeout(VERIFY_TIMEOUT_MILLIS)).existsByIdAndOwnerId(job.getId(),
+      jobCaptor.getValue().getOwnerId());
+    verify(jobRepository, never()).insertCompletedAgency(any(), anyInt());
+    verify(jobRepository, never()).updateStatus(any(), any(), any(), any());
+    verify(jobStatusRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void startJob_positive_agencyAlreadyRecorded() {
+    var requestBody = refreshBody();
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(jobRepository.save(jobCaptor.capture())).then(inv -> inv.getArgument(0));
+    when(jobRepository.findById(any())).then(inv -> Optional.of(jobCaptor.getValue()));
+    when(jobRepository.incrementProgress(any(), any(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+    when(jobRepository.insertCompletedAgency(any(), anyInt())).thenReturn(0);
+    when(jobStatusRepository.findCompletedAgencyIndexes(any())).thenReturn(List.of());
+    mockSystemUserScopedExecution();
+    doAnswer(inv -> {
+      inv.<Consumer<ShadowLocationAgencyResult>>getArgument(2).accept(agencyResult());
+      return null;
+    }).when(shadowLocationService).createShadowLocations(eq(requestBody), eq(Set.of()), any());
+
+    var job = jobService.startJob(requestBody);
+
+    verify(jobRepository, timeout(VERIFY_TIMEOUT_MILLIS))
+      .updateStatus(job.getId(), jobCaptor.getValue().getOwnerId(), "COMPLETED", null);
+    verify(jobStatusRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void resumeStaleJobs_positive_resumesFromCompletedAgencies() {
+    var requestBody = refreshBody();
+    var otherJobId = UUID.randomUUID();
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(jobRepository.findStaleJobIds(any())).thenReturn(List.of(JOB_ID, otherJobId));
+    var jobEntity = jobEntity(requestBody);
+    when(jobRepository.claimStaleJob(eq(JOB_ID), any(), any())).then(inv -> {
+      jobEntity.setOwnerId(inv.getArgument(1));
+      return 1;
+    });
+    when(jobRepository.claimStaleJob(eq(otherJobId), any(), any())).thenReturn(0);
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(jobEntity));
+    when(jobStatusRepository.findCompletedAgencyIndexes(JOB_ID)).thenReturn(List.of(0, 1));
+    mockSystemUserScopedExecution();
+
+    var resumedJobs = jobService.resumeStaleJobs();
+
+    assertThat(resumedJobs).isEqualTo(1);
+    verify(jobRepository, timeout(VERIFY_TIMEOUT_MILLIS))
+      .updateStatus(JOB_ID, jobEntity.getOwnerId(), "COMPLETED", null);
+    verify(shadowLocationService).createShadowLocations(eq(requestBody), eq(Set.of(0, 1)), any());
+    verify(jobRepository, never()).findById(otherJobId);
+  }
+
+  @Test
+  void getJobStatuses_positive() {
+    var statusEntity = ShadowLocationRefreshJobStatusEntity.builder()
+      .jobId(JOB_ID).type(RefreshLocationEntityType.LOCATION).code("LOC-1").status(ERROR).cause("error").build();
+    when(jobRepository.existsById(JOB_ID)).thenReturn(true);
+    when(jobStatusRepository.findByJobIdOrderBySequenceId(eq(JOB_ID), any(Pageable.class)))
+      .thenReturn(new PageImpl<>(List.of(statusEntity), Pageable.ofSize(1), 5));
+
+    var result = jobService.getJobStatuses(JOB_ID, 1, 0);
+
+    assertThat(result.getTotalRecords()).isEqualTo(5);
+    assertThat(result.getResult()).containsExactly(new ShadowLocationRefreshJobStatus()
+      .type(RefreshLocationEntityType.LOCATION).code("LOC-1").status(ERROR).cause("error"));
+  }
+
+  @Test
+  void getJobStatuses_negative_jobNotFound() {
+    when(jobRepository.existsById(JOB_ID)).thenReturn(false);
+
+    assertThatThrownBy(() -> jobService.getJobStatuses(JOB_ID, 10, 0))
+      .isInstanceOf(NotFoundException.class)
+      .hasMessage("Shadow location refresh job not found by id: " + JOB_ID);
+    verify(jobStatusRepository, never()).findByJobIdOrderBySequenceId(any(), any());
+  }
+
+  @Test
+  void getJobById_negative_jobNotFound() {
+    when(jobRepository.findById(JOB_ID)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> jobService.getJobById(JOB_ID))
+      .isInstanceOf(NotFoundException.class)
+      .hasMessage("Shadow location refresh job not found by id: " + JOB_ID);
+  }
+
+  private void mockSystemUserScopedExecution() {
+    when(systemUserScopedExecutionService.executeSystemUserScoped(eq(TENANT_ID), any()))
+      .then(inv -> inv.<Callable<?>>getArgument(1).call());
+  }
+
+  private ShadowLocationRefreshJobEntity jobEntity(ShadowLocationRefreshBody requestBody) {
+    return ShadowLocationRefreshJobEntity.builder()
+      .id(JOB_ID)
+      .status(IN_PROGRESS)
+      .requestBody(objectMapper.writeValueAsString(requestBody))
+      .agenciesTotal(3)
+      .agenciesCompleted(2)
+      .ownerId(UUID.randomUUID())
+      .createdDate(OffsetDateTime.now())
+      .updatedDate(OffsetDateTime.now())
+      .build();
+  }
+
+  private static ShadowLocationRefreshBody refreshBody() {
+    return new ShadowLocationRefreshBody().addAgenciesItem(new DcbAgency().code("AG-1").name("Agency 1"));
+  }
+
+  private static ShadowLocationAgencyResult agencyResult() {
+    var agencyStatus = new RefreshLocationStatus().code("AG-1").status(SUCCESS);
+    return new ShadowLocationAgencyResult(0, agencyStatus, agencyStatus, agencyStatus, List.of(
+      new RefreshLocationStatus().code("LOC-1").status(SUCCESS),
+      new RefreshLocationStatus().code("LOC-2").status(SKIPPED),
+      new RefreshLocationStatus().code("LOC-3").status(ERROR).cause("error")));
+  }
+}
@@ -0,0 +1,99 @@
+package org.folio.dcb.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.folio.dcb.config.TransactionAuditProperties;
+import org.folio.dcb.service.impl.TransactionAuditOutboxRelay;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.FolioModuleMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class TransactionAuditOutboxRelayTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String RELAYED_METRIC = "dcb.transactions-audit.outbox.relayed";
+
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private FolioExecutionContext folioExecutionContext;
+  @Mock private FolioModuleMetadata folioModuleMetadata;
+
+  private final TransactionAuditProperties properties = new TransactionAuditProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private TransactionAuditOutboxRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    properties.setRelayBatchSize(2);
+    var transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    relay = new TransactionAuditOutboxRelay(properties, jdbcTemplate, transactionTemplate, folioExecutionContext,
+      folioModuleMetadata, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    relay.stop();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void relay_positive_movesBatchesUntilOutboxIsDrained() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(2, 2, 1);
+
+    var result = relay.relay();
+
+    assertThat(result).isEqualTo(5);
+    verify(jdbcTemplate, times(3)).execute(startsWith("SELECT pg_advisory_xact_lock"));
+    verify(jdbcTemplate, times(3)).update(startsWith("WITH moved AS"), eq(2));
+    assertThat(meterRegistry.get(RELAYED_METRIC).tag("tenant", TENANT_ID).counter().count()).isEqualTo(5);
+  }
+
+  @Test
+  void relay_positive_emptyOutbox() {
+    when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(0);
+
+    var result = relay.relay();
+
+    assertThat(result).isZero();
+    verify(jdbcTemplate).update(anyString(), eq(2));
+    assertThat(meterRegistry.find(RELAYED_METRIC).counter()).isNull();
+  }
+
+  @Test
+  void scheduleRelay_positive_relaysTenantAfterCommit() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(1);
+    TransactionSynchronizationManager.initSynchronization();
+
+    relay.scheduleRelay();
+    verify(jdbcTemplate, never()).update(anyString(), eq(2));
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+    verify(jdbcTemplate, timeout(5000)).update(startsWith("WITH moved AS"), eq(2));
+  }
+}
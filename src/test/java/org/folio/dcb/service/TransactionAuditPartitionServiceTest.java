@@ -0,0 +1,200 @@
+package org.folio.dcb.service;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.folio.dcb.config.TransactionAuditPartitionProperties;
+import org.folio.dcb.service.impl.TransactionAuditPartitionServiceImpl;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class TransactionAuditPartitionServiceTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+  private static final OffsetDateTime CURRENT_MONTH =
+    OffsetDateTime.now(UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+
+  @TempDir private Path archiveDirectory;
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private FolioExecutionContext folioExecutionContext;
+
+  private final TransactionAuditPartitionProperties properties = new TransactionAuditPartitionProperties();
+  private TransactionAuditPartitionServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    var transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    service = new TransactionAuditPartitionServiceImpl(properties, jdbcTemplate, transactionTemplate,
+      folioExecutionContext);
+    lenient().when(jdbcTemplate.queryForObject(startsWith("SELECT format("), eq(String.class), any(Object[].class)))
+      .thenAnswer(invocation -> formatDdl(invocation.getArgument(0), (Object[]) invocation.getRawArguments()[2]));
+  }
+
+  @Test
+  void createPartitions_positive_createsMissingMonthsAndMovesRecordsFromDefaultPartition() {
+    properties.setPremakeMonths(2);
+    mockPartitions(new Object[] {"transactions_audit_legacy", null, CURRENT_MONTH.plusMonths(1)},
+      new Object[] {"transactions_audit_default", null, null});
+
+    var createdPartitions = service.createPartitions();
+
+    var expectedPartitions = List.of(partitionName(CURRENT_MONTH.plusMonths(1)),
+      partitionName(CURRENT_MONTH.plusMonths(2)));
+    assertThat(createdPartitions).isEqualTo(expectedPartitions);
+    for (var partition : expectedPartitions) {
+      verify(jdbcTemplate).execute("CREATE TABLE %s (LIKE transactions_audit INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+        .formatted(partition));
+      verify(jdbcTemplate).update(eq("""
+        WITH moved AS (
+          DELETE FROM transactions_audit_default WHERE created_date >= ? AND created_date < ? RETURNING *
+        )
+        INSERT INTO %s SELECT * FROM moved""".formatted(partition)), any(Object[].class));
+    }
+    verify(jdbcTemplate).execute("ALTER TABLE transactions_audit ATTACH PARTITION %s FOR VALUES FROM (%s) TO (%s)"
+      .formatted(expectedPartitions.getFirst(), CURRENT_MONTH.plusMonths(1), CURRENT_MONTH.plusMonths(2)));
+  }
+
+  @Test
+  void maintainPartitions_positive_exportsAndDetachesPartitionsOlderThanRetention() throws Exception {
+    var expiredPartition = partitionName(CURRENT_MONTH.minusMonths(3));
+    properties.setPremakeMonths(0);
+    properties.setRetentionMonths(2);
+    properties.setArchiveDirectory(archiveDirectory.toString());
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    mockPartitions(new Object[] {expiredPartition, CURRENT_MONTH.minusMonths(3), CURRENT_MONTH.minusMonths(2)},
+      new Object[] {partitionName(CURRENT_MONTH.minusMonths(2)), CURRENT_MONTH.minusMonths(2),
+        CURRENT_MONTH.minusMonths(1)},
+      new Object[] {"transactions_audit_legacy", null, CURRENT_MONTH.plusMonths(1)});
+    var resultSet = mock(ResultSet.class);
+    when(resultSet.getString(1)).thenReturn("{\"action\":\"CREATE\"}", "{\"action\":\"UPDATE\"}");
+    doAnswer(invocation -> {
+      RowCallbackHandler rowCallbackHandler = invocation.getArgument(1);
+      rowCallbackHandler.processRow(resultSet);
+      rowCallbackHandler.processRow(resultSet);
+      return null;
+    }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+    var response = service.maintainPartitions();
+
+    assertThat(response.getCreatedPartitions()).isEmpty();
+    assertThat(response.getArchivedPartitions()).containsExactly(expiredPartition);
+    verify(jdbcTemplate).execute("ALTER TABLE transactions_audit DETACH PARTITION " + expiredPartition);
+    verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+    assertThat(readArchive(archiveDirectory.resolve(TENANT_ID).resolve(expiredPartition + ".jsonl.gz")))
+      .isEqualTo("{\"action\":\"CREATE\"}\n{\"action\":\"UPDATE\"}\n");
+  }
+
+  @Test
+  void maintainPartitions_positive_detachesPartitionsWithoutArchiveDirectory() {
+    var expiredPartition = partitionName(CURRENT_MONTH.minusMonths(2));
+    properties.setPremakeMonths(0);
+    properties.setRetentionMonths(1);
+    mockPartitions(new Object[] {expiredPartition, CURRENT_MONTH.minusMonths(2), CURRENT_MONTH.minusMonths(1)},
+      new Object[] {"transactions_audit_legacy", null, CURRENT_MONTH.plusMonths(1)});
+
+    var response = service.maintainPartitions();
+
+    assertThat(response.getArchivedPartitions()).containsExactly(expiredPartition);
+    verify(jdbcTemplate).execute("ALTER TABLE transactions_audit DETACH PARTITION " + expiredPartition);
+    verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+  }
+
+  @Test
+  void maintainPartitions_positive_doesNotArchiveLegacyPartition() {
+    properties.setPremakeMonths(0);
+    properties.setRetentionMonths(1);
+    mockPartitions(new Object[] {"transactions_audit_legacy", null, CURRENT_MONTH.minusMonths(6)},
+      new Object[] {partitionName(CURRENT_MONTH), CURRENT_MONTH, CURRENT_MONTH.plusMonths(1)});
+
+    var response = service.maintainPartitions();
+
+    assertThat(response.getArchivedPartitions()).isEmpty();
+    verify(jdbcTemplate, never()).execute(anyString());
+  }
+
+  @Test
+  void maintainPartitions_positive_keepsPartitionsIfRetentionIsDisabled() {
+    properties.setPremakeMonths(0);
+    mockPartitions(new Object[] {partitionName(CURRENT_MONTH.minusMonths(24)), CURRENT_MONTH.minusMonths(24),
+      CURRENT_MONTH.minusMonths(23)}, new Object[] {"transactions_audit_legacy", null, CURRENT_MONTH.plusMonths(1)});
+
+    var response = service.maintainPartitions();
+
+    assertThat(response.getCreatedPartitions()).isEmpty();
+    assertThat(response.getArchivedPartitions()).isEmpty();
+    verify(jdbcTemplate, never()).execute(anyString());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void mockPartitions(Object[]... partitions) {
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+      RowMapper<Object> rowMapper = invocation.getArgument(1);
+      var result = new ArrayList<>();
+      for (var partition : partitions) {
+        var resultSet = mock(ResultSet.class);
+        when(resultSet.getString("name")).thenReturn((String) partition[0]);
+        when(resultSet.getObject("lower_bound", OffsetDateTime.class)).thenReturn((OffsetDateTime) partition[1]);
+        when(resultSet.getObject("upper_bound", OffsetDateTime.class)).thenReturn((OffsetDateTime) partition[2]);
+        result.add(rowMapper.mapRow(resultSet, result.size()));
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Emulates {@code format()} of the DDL query: the template is taken from the first string literal of the query.
+   */
+  private static String formatDdl(String ddlQuery, Object[] arguments) {
+    var template = ddlQuery.substring(ddlQuery.indexOf('\'') + 1, ddlQuery.indexOf('\'', ddlQuery.indexOf('\'') + 1));
+    var result = template;
+    for (var argument : arguments) {
+      result = result.replaceFirst("%[IL]", String.valueOf(argument));
+    }
+    return result;
+  }
+
+  private static String partitionName(OffsetDateTime month) {
+    return "transactions_audit_p" + SUFFIX_FORMAT.format(month);
+  }
+
+  private static String readArchive(Path archiveFile) throws IOException {
+    try (var inputStream = new GZIPInputStream(Files.newInputStream(archiveFile))) {
+      return new String(inputStream.readAllBytes());
+    }
+  }
+}
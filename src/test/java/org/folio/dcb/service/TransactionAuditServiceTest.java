@@ -8,12 +8,16 @@ import static org.folio.dcb.utils.EntityUtils.borrowerDcbTransaction;
 import static org.folio.dcb.utils.EntityUtils.createDcbTransactionByRole;
 import static org.folio.dcb.utils.EntityUtils.createTransactionAuditEntity;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
+import org.folio.dcb.config.TransactionAuditProperties;
 import org.folio.dcb.domain.entity.TransactionAuditEntity;
+import org.folio.dcb.domain.mapper.TransactionAuditStateResolver;
 import org.folio.dcb.domain.mapper.TransactionMapper;
 import org.folio.dcb.repository.TransactionAuditRepository;
 import org.folio.dcb.service.impl.TransactionAuditServiceImpl;
@@ -32,6 +36,8 @@ class TransactionAuditServiceTest {
   @InjectMocks private TransactionAuditServiceImpl transactionAuditService;
   @Mock private TransactionMapper transactionMapper;
   @Mock private TransactionAuditRepository repository;
+  @Mock private TransactionAuditStateResolver transactionAuditStateResolver;
+  @Mock private TransactionAuditProperties transactionAuditProperties;
 
   @Test
   void logTheErrorForExistedTransactionAuditTest() {
@@ -42,6 +48,75 @@ class TransactionAuditServiceTest {
     verify(repository).save(any());
   }
 
+  @Test
+  void logErrorIfTransactionAuditExists_positive_readsOutboxInAsyncMode() {
+    var outboxAudit = createTransactionAuditEntity();
+    outboxAudit.setAfter("{\"status\":\"AWAITING_PICKUP\"}");
+    var auditCaptor = ArgumentCaptor.forClass(TransactionAuditEntity.class);
+    when(transactionAuditProperties.isAsyncEnabled()).thenReturn(true);
+    when(repository.findLatestOutboxTransactionAuditEntityByDcbTransactionId(DCB_TRANSACTION_ID))
+      .thenReturn(Optional.of(outboxAudit));
+
+    transactionAuditService.logErrorIfTransactionAuditExists(DCB_TRANSACTION_ID, "error_message");
+
+    verify(repository).save(auditCaptor.capture());
+    verify(repository, never()).findLatestTransactionAuditEntityByLatestAuditId(any());
+    assertThat(auditCaptor.getValue().getBefore()).isEqualTo("{\"status\":\"AWAITING_PICKUP\"}");
+  }
+
+  @Test
+  void logErrorIfTransactionAuditExists_positive_fallsBackToAuditTableWhenOutboxIsEmpty() {
+    when(transactionAuditProperties.isAsyncEnabled()).thenReturn(true);
+    when(repository.findLatestOutboxTransactionAuditEntityByDcbTransactionId(DCB_TRANSACTION_ID))
+      .thenReturn(Optional.empty());
+    when(repository.findLatestTransactionAuditEntityByLatestAuditId(DCB_TRANSACTION_ID))
+      .thenReturn(Optional.of(createTransactionAuditEntity()));
+
+    transactionAuditService.logErrorIfTransactionAuditExists(DCB_TRANSACTION_ID, "error_message");
+
+    var inOrder = inOrder(repository);
+    inOrder.verify(repository).findLatestOutboxTransactionAuditEntityByDcbTransactionId(DCB_TRANSACTION_ID);
+    inOrder.verify(repository).findLatestTransactionAuditEntityByLatestAuditId(DCB_TRANSACTION_ID);
+    inOrder.verify(repository).save(any());
+  }
+
+  @Test
+  void logErrorIfTransactionAuditExists_positive_usesLatestAuditIdPointer() {
+    var existingAudit = createTransactionAuditEntity();
+    existingAudit.setAfter("{\"status\":\"OPEN\"}");
+    var auditCaptor = ArgumentCaptor.forClass(TransactionAuditEntity.class);
+    when(repository.findLatestTransactionAuditEntityByLatestAuditId(DCB_TRANSACTION_ID))
+      .thenReturn(Optional.of(existingAudit));
+
+    transactionAuditService.logErrorIfTransactionAuditExists(DCB_TRANSACTION_ID, "error_message");
+
+    verify(repository).save(auditCaptor.capture());
+    verify(repository, never()).findLatestTransactionAuditEntityByDcbTransactionId(any());
+    var savedAudit = auditCaptor.getValue();
+    assertThat(savedAudit.getAction()).isEqualTo("ERROR");
+    assertThat(savedAudit.getTransactionId()).isEqualTo(existingAudit.getTransactionId());
+    assertThat(savedAudit.getBefore()).isEqualTo(existingAudit.getAfter());
+    assertThat(savedAudit.getAfter()).isEqualTo(existingAudit.getAfter());
+  }
+
+  @Test
+  void logErrorIfTransactionAuditExists_positive_resolvesStateOfDeltaAudit() {
+    var existingAudit = createTransactionAuditEntity();
+    existingAudit.setAfter(null);
+    existingAudit.setPatch("{\"status\":\"OPEN\"}");
+    var resolvedState = "{\"id\":\"%s\",\"status\":\"OPEN\"}".formatted(DCB_TRANSACTION_ID);
+    var auditCaptor = ArgumentCaptor.forClass(TransactionAuditEntity.class);
+    when(repository.findLatestTransactionAuditEntityByLatestAuditId(DCB_TRANSACTION_ID))
+      .thenReturn(Optional.of(existingAudit));
+    when(transactionAuditStateResolver.resolveAfterStates(List.of(existingAudit))).thenReturn(List.of(resolvedState));
+
+    transactionAuditService.logErrorIfTransactionAuditExists(DCB_TRANSACTION_ID, "error_message");
+
+    verify(repository).save(auditCaptor.capture());
+    assertThat(auditCaptor.getValue().getBefore()).isEqualTo(resolvedState);
+    assertThat(auditCaptor.getValue().getAfter()).isEqualTo(resolvedState);
+  }
+
   @Test
   void logTheErrorForNotExistedTransactionAuditTest() {
     var transaction = createDcbTransactionByRole(LENDER);
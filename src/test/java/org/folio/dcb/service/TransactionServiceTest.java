@@ -22,16 +22,30 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import org.folio.dcb.config.TransactionAuditProperties;
+import org.folio.dcb.config.TransactionRetryConfiguration;
+import org.folio.dcb.domain.TransactionAuditCursor;
 import org.folio.dcb.domain.dto.DcbTransaction;
 import org.folio.dcb.domain.dto.DcbTransaction.RoleEnum;
 import org.folio.dcb.domain.dto.LoanPolicy;
@@ -51,10 +65,13 @@ import org.folio.dcb.integration.circstorage.CirculationLoanPolicyStorageClient;
 import org.folio.dcb.integration.circulation.CirculationClient;
 import org.folio.dcb.repository.TransactionAuditRepository;
 import org.folio.dcb.repository.TransactionRepository;
+import org.folio.dcb.repository.listener.TransactionAuditEntityListener;
 import org.folio.dcb.service.impl.BaseLibraryService;
 import org.folio.dcb.service.impl.LendingLibraryServiceImpl;
 import org.folio.dcb.service.impl.TransactionsServiceImpl;
+import org.folio.dcb.utils.BeanUtil;
 import org.folio.spring.exception.NotFoundException;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,7 +82,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
@@ -87,7 +111,8 @@ class TransactionServiceTest {
   void setUp() {
     transactionsService = new TransactionsServiceImpl(lendingLibraryService, borrowingPickupLibraryService,
       pickupLibraryService, borrowingLibraryService, transactionRepository, statusProcessorService, transactionMapper,
-      transactionAuditRepository, baseLibraryService, circulationClient, circulationLoanPolicyStorageClient);
+      transactionAuditRepository, baseLibraryService, circulationClient, circulationLoanPolicyStorageClient,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)));
   }
 
   @Test
@@ -211,6 +236,7 @@ class TransactionServiceTest {
     dcbTransactionEntity.setStatus(StatusEnum.OPEN);
     dcbTransactionEntity.setRole(LENDER);
 
+    mockDeferredWrites();
     when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(dcbTransactionEntity));
     when(statusProcessorService.lendingChainProcessor(StatusEnum.OPEN, ITEM_CHECKED_OUT))
       .thenReturn(List.of(StatusEnum.AWAITING_PICKUP, ITEM_CHECKED_OUT));
@@ -224,6 +250,124 @@ class TransactionServiceTest {
     verify(statusProcessorService).lendingChainProcessor(StatusEnum.OPEN, ITEM_CHECKED_OUT);
   }
 
+  @Test
+  void updateTransactionStatus_positive_lenderChainRecordsIntermediateStatuses() {
+    var dcbTransactionEntity = createTransactionEntity();
+    dcbTransactionEntity.setStatus(StatusEnum.OPEN);
+    dcbTransactionEntity.setRole(LENDER);
+    var itemCheckedOutStatus = TransactionStatus.builder().status(ITEM_CHECKED_OUT).build();
+
+    mockDeferredWrites();
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(dcbTransactionEntity));
+    when(statusProcessorService.lendingChainProcessor(StatusEnum.OPEN, ITEM_CHECKED_OUT))
+      .thenReturn(List.of(StatusEnum.AWAITING_PICKUP, ITEM_CHECKED_OUT));
+    doAnswer(invocation -> setStatus(invocation.getArgument(0), invocation.getArgument(1)))
+      .when(lendingLibraryService).updateTransactionStatus(any(), any());
+
+    transactionsService.updateTransactionStatus(DCB_TRANSACTION_ID, itemCheckedOutStatus);
+
+    assertThat(dcbTransactionEntity.getStatus()).isEqualTo(ITEM_CHECKED_OUT);
+    assertThat(dcbTransactionEntity.getIntermediateStatuses()).containsExactly(StatusEnum.AWAITING_PICKUP);
+  }
+
+  @Test
+  void updateTransactionStatus_positive_lenderChainWrittenOnceWithAuditRecordPerStep() {
+    var circulationService = mock(CirculationService.class);
+    var realBaseLibraryService = new BaseLibraryService(transactionRepository, circulationService,
+      mock(CirculationItemService.class), mock(UserService.class), mock(RequestService.class), transactionMapper,
+      mock(ItemService.class), new SimpleMeterRegistry(), new TransactionRetryConfiguration());
+    var realLendingLibraryService = new LendingLibraryServiceImpl(mock(UserService.class),
+      mock(RequestService.class), circulationService, realBaseLibraryService, mock(ServicePointService.class));
+    transactionsService = new TransactionsServiceImpl(realLendingLibraryService, borrowingPickupLibraryService,
+      pickupLibraryService, borrowingLibraryService, transactionRepository, statusProcessorService, transactionMapper,
+      transactionAuditRepository, realBaseLibraryService, circulationClient, circulationLoanPolicyStorageClient,
+      new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    var entityManager = mock(EntityManager.class);
+    when(entityManager.unwrap(SessionImplementor.class))
+      .thenReturn(mock(SessionImplementor.class, Mockito.RETURNS_DEEP_STUBS));
+    var beanUtil = mock(BeanUtil.class);
+    when(beanUtil.getBean(EntityManager.class)).thenReturn(entityManager);
+    var auditEntityListener = new TransactionAuditEntityListener(beanUtil, new ObjectMapper(),
+      new TransactionAuditProperties());
+    var dcbTransactionEntity = createTransactionEntity();
+    dcbTransactionEntity.setStatus(StatusEnum.OPEN);
+    dcbTransactionEntity.setRole(LENDER);
+
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(dcbTransactionEntity));
+    when(statusProcessorService.lendingChainProcessor(StatusEnum.OPEN, ITEM_CHECKED_OUT))
+      .thenReturn(List.of(AWAITING_PICKUP, ITEM_CHECKED_OUT));
+    when(transactionRepository.saveAndFlush(dcbTransactionEntity)).then(invocation -> {
+      auditEntityListener.onPreUpdate(invocation.getArgument(0));
+      return invocation.getArgument(0);
+    });
+
+    transactionsService.updateTransactionStatus(DCB_TRANSACTION_ID,
+      TransactionStatus.builder().status(ITEM_CHECKED_OUT).build());
+
+    var inOrder = Mockito.inOrder(circulationService);
+    inOrder.verify(circulationService).checkInByBarcode(dcbTransactionEntity);
+    inOrder.verify(circulationService).checkOutByBarcode(dcbTransactionEntity);
+    verify(transactionRepository).saveAndFlush(dcbTransactionEntity);
+    verify(transactionRepository, never()).save(any());
+    var auditCaptor = ArgumentCaptor.forClass(TransactionAuditEntity.class);
+    verify(entityManager, Mockito.times(2)).persist(auditCaptor.capture());
+    assertThat(auditCaptor.getAllValues()).extracting(TransactionAuditEntity::getAfter).satisfiesExactly(
+      after -> assertThat(after).contains("\"status\":\"AWAITING_PICKUP\""),
+      after -> assertThat(after).contains("\"status\":\"ITEM_CHECKED_OUT\""));
+    assertThat(dcbTransactionEntity.getStatus()).isEqualTo(ITEM_CHECKED_OUT);
+  }
+
+  @Test
+  void updateTransactionStatus_negative_lenderChainKeepsCompletedSteps() {
+    var dcbTransactionEntity = createTransactionEntity();
+    dcbTransactionEntity.setStatus(StatusEnum.CREATED);
+    dcbTransactionEntity.setRole(LENDER);
+    var awaitingPickupStatus = TransactionStatus.builder().status(StatusEnum.AWAITING_PICKUP).build();
+
+    mockDeferredWrites();
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(dcbTransactionEntity));
+    when(statusProcessorService.lendingChainProcessor(StatusEnum.CREATED, StatusEnum.AWAITING_PICKUP))
+      .thenReturn(List.of(StatusEnum.OPEN, StatusEnum.AWAITING_PICKUP));
+    doAnswer(invocation -> setStatus(invocation.getArgument(0), invocation.getArgument(1)))
+      .when(lendingLibraryService).updateTransactionStatus(dcbTransactionEntity,
+        TransactionStatus.builder().status(StatusEnum.OPEN).build());
+    doThrow(new IllegalStateException("check in failed"))
+      .when(lendingLibraryService).updateTransactionStatus(dcbTransactionEntity, awaitingPickupStatus);
+
+    assertThatThrownBy(() -> transactionsService.updateTransactionStatus(DCB_TRANSACTION_ID, awaitingPickupStatus))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("check in failed");
+    assertThat(dcbTransactionEntity.getStatus()).isEqualTo(StatusEnum.OPEN);
+    assertThat(dcbTransactionEntity.getIntermediateStatuses()).isEmpty();
+  }
+
+  @Test
+  void updateTransactionStatus_positive_lenderChainRetriesConflictOnCommit() {
+    var transactionManager = mock(PlatformTransactionManager.class);
+    var conflict = new OptimisticLockingFailureException("conflict");
+    doThrow(conflict).when(transactionManager).commit(any());
+    transactionsService = new TransactionsServiceImpl(lendingLibraryService, borrowingPickupLibraryService,
+      pickupLibraryService, borrowingLibraryService, transactionRepository, statusProcessorService, transactionMapper,
+      transactionAuditRepository, baseLibraryService, circulationClient, circulationLoanPolicyStorageClient,
+      new TransactionTemplate(transactionManager));
+    var dcbTransactionEntity = createTransactionEntity();
+    dcbTransactionEntity.setStatus(StatusEnum.OPEN);
+    dcbTransactionEntity.setRole(LENDER);
+    var itemCheckedOutStatus = TransactionStatus.builder().status(ITEM_CHECKED_OUT).build();
+
+    mockDeferredWrites();
+    when(transactionRepository.findById(DCB_TRANSACTION_ID)).thenReturn(Optional.of(dcbTransactionEntity));
+    when(statusProcessorService.lendingChainProcessor(StatusEnum.OPEN, ITEM_CHECKED_OUT))
+      .thenReturn(List.of(StatusEnum.AWAITING_PICKUP, ITEM_CHECKED_OUT));
+    doAnswer(invocation -> setStatus(invocation.getArgument(0), invocation.getArgument(1)))
+      .when(lendingLibraryService).updateTransactionStatus(any(), any());
+
+    transactionsService.updateTransactionStatus(DCB_TRANSACTION_ID, itemCheckedOutStatus);
+
+    verify(baseLibraryService).retryStatusTransition(DCB_TRANSACTION_ID, StatusEnum.OPEN, ITEM_CHECKED_OUT,
+      List.of(StatusEnum.AWAITING_PICKUP), conflict);
+  }
+
   @Test
   void updateTransactionEntityErrorTest() {
     var dcbTransactionEntity = createTransactionEntity();
@@ -283,6 +427,71 @@ class TransactionServiceTest {
     assertEquals(10, response.getTotalRecords());
   }
 
+  @Test
+  void getTransactionStatusList_positive_returnsNextCursorWithoutTotalRecords() {
+    var startDate = OffsetDateTime.now().minusDays(1L);
+    var endDate = OffsetDateTime.now();
+    var lastAudit = transactionAuditEntity(LocalDateTime.now().minusHours(1));
+    var pageable = PageRequest.of(0, 2, Sort.by("created_Date", "id"));
+    var slice = new SliceImpl<>(List.of(transactionAuditEntity(LocalDateTime.now().minusHours(2)), lastAudit),
+      pageable, true);
+    when(transactionAuditRepository.findUpdatedTransactionSliceByDateRange(startDate, endDate, pageable))
+      .thenReturn(slice);
+
+    var response = transactionsService.getTransactionStatusList(startDate, endDate, 0, 2, null, false);
+
+    assertThat(response.getTotalRecords()).isNull();
+    assertThat(response.getMaximumPageNumber()).isNull();
+    assertThat(response.getNextCursor()).isEqualTo(TransactionAuditCursor.of(lastAudit).encode());
+    verify(transactionAuditRepository, never()).findUpdatedTransactionsByDateRange(any(), any(), any());
+  }
+
+  @Test
+  void getTransactionStatusList_positive_returnsPageAfterCursor() {
+    var startDate = OffsetDateTime.now().minusDays(1L);
+    var endDate = OffsetDateTime.now();
+    var cursor = new TransactionAuditCursor(Instant.now().minusSeconds(3 * 3600), UUID.randomUUID());
+    var audits = List.of(transactionAuditEntity(LocalDateTime.now().minusHours(2)),
+      transactionAuditEntity(LocalDateTime.now().minusHours(1)));
+    when(transactionAuditRepository.findUpdatedTransactionsByDateRangeAfter(
+      startDate, endDate, OffsetDateTime.ofInstant(cursor.createdDate(), ZoneOffset.UTC), cursor.id(), 2))
+      .thenReturn(audits);
+    when(transactionAuditRepository.countUpdatedTransactionsByDateRange(startDate, endDate)).thenReturn(5L);
+
+    var response = transactionsService.getTransactionStatusList(startDate, endDate, 0, 1, cursor.encode(), true);
+
+    verify(transactionMapper).mapToDto(List.of(audits.getFirst()));
+    assertThat(response.getTotalRecords()).isEqualTo(5);
+    assertThat(response.getCurrentPageSize()).isEqualTo(1);
+    assertThat(response.getNextCursor()).isEqualTo(TransactionAuditCursor.of(audits.getFirst()).encode());
+  }
+
+  @Test
+  void getTransactionStatusList_positive_skipsTotalRecordsAfterCursorByDefault() {
+    var startDate = OffsetDateTime.now().minusDays(1L);
+    var endDate = OffsetDateTime.now();
+    var cursor = new TransactionAuditCursor(Instant.now().minusSeconds(3600), UUID.randomUUID());
+    when(transactionAuditRepository.findUpdatedTransactionsByDateRangeAfter(
+      startDate, endDate, OffsetDateTime.ofInstant(cursor.createdDate(), ZoneOffset.UTC), cursor.id(), 2))
+      .thenReturn(List.of());
+
+    var response = transactionsService.getTransactionStatusList(startDate, endDate, 0, 1, cursor.encode(), null);
+
+    assertThat(response.getTotalRecords()).isNull();
+    assertThat(response.getNextCursor()).isNull();
+    verify(transactionAuditRepository, never()).countUpdatedTransactionsByDateRange(any(), any());
+  }
+
+  @Test
+  void getTransactionStatusList_negative_invalidCursor() {
+    var startDate = OffsetDateTime.now().minusDays(1L);
+    var endDate = OffsetDateTime.now();
+
+    assertThatThrownBy(() -> transactionsService.getTransactionStatusList(startDate, endDate, 0, 1, "invalid", true))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Invalid cursor: invalid");
+  }
+
   @Test
   void shouldVerifyLocationCodeWhenCreatingCirculationRequest() {
     when(lendingLibraryService.createCirculation(any(), any())).thenReturn(createTransactionResponse());
@@ -417,4 +626,20 @@ class TransactionServiceTest {
     verifyNoInteractions(borrowingPickupLibraryService, statusProcessorService,
       lendingLibraryService, borrowingLibraryService);
   }
+
+  private void mockDeferredWrites() {
+    when(baseLibraryService.executeWithDeferredWrites(any())).then(inv -> inv.<Supplier<?>>getArgument(0).get());
+    lenient().when(transactionRepository.saveAndFlush(any())).then(inv -> inv.getArgument(0));
+  }
+
+  private static TransactionAuditEntity transactionAuditEntity(LocalDateTime createdDate) {
+    var transactionAuditEntity = TransactionAuditEntity.builder().id(UUID.randomUUID()).action("UPDATE").build();
+    transactionAuditEntity.setCreatedDate(createdDate);
+    return transactionAuditEntity;
+  }
+
+  private static Object setStatus(TransactionEntity transactionEntity, TransactionStatus transactionStatus) {
+    transactionEntity.setStatus(transactionStatus.getStatus());
+    return null;
+  }
 }
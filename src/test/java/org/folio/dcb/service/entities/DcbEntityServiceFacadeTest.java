@@ -2,19 +2,23 @@ package org.folio.dcb.service.entities;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import org.folio.dcb.config.DcbEntityCacheProperties;
 import org.folio.dcb.config.DcbFeatureProperties;
 import org.folio.dcb.integration.circstorage.model.LoanType;
 import org.folio.dcb.integration.invstorage.model.InventoryHolding;
 import org.folio.dcb.integration.invstorage.model.Location;
+import org.folio.spring.FolioExecutionContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +35,8 @@ class DcbEntityServiceFacadeTest {
   @Mock private DcbLocationService dcbLocationService;
   @Mock private DcbFeatureProperties dcbFeatureProperties;
   @Mock private DcbCancellationReasonService dcbCancellationReasonService;
+  @Mock private FolioExecutionContext folioExecutionContext;
+  @Spy private DcbEntityCacheProperties dcbEntityCacheProperties = new DcbEntityCacheProperties();
 
   @AfterEach
   void tearDown() {
@@ -127,6 +133,76 @@ class DcbEntityServiceFacadeTest {
     verify(dcbLoanTypeService).getDefaultValue();
   }
 
+  @Test
+  void findOrCreateHolding_positive_shouldVerifyOnceWhenCacheEnabled() {
+    dcbEntityCacheProperties.setEnabled(true);
+    when(dcbFeatureProperties.isDcbEntitiesRuntimeVerificationEnabled()).thenReturn(true);
+    when(folioExecutionContext.getTenantId()).thenReturn("diku");
+    when(dcbHoldingService.findOrCreateEntity()).thenReturn(dcbHolding());
+
+    var first = dcbEntityServiceFacade.findOrCreateHolding();
+    var second = dcbEntityServiceFacade.findOrCreateHolding();
+
+    assertThat(first).isEqualTo(dcbHolding());
+    assertThat(second).isEqualTo(dcbHolding());
+    verify(dcbFeatureProperties, times(2)).isDcbEntitiesRuntimeVerificationEnabled();
+    verify(dcbHoldingService).findOrCreateEntity();
+  }
+
+  @Test
+  void findOrCreateLocation_positive_shouldVerifyPerTenantWhenCacheEnabled() {
+    dcbEntityCacheProperties.setEnabled(true);
+    when(dcbFeatureProperties.isDcbEntitiesRuntimeVerificationEnabled()).thenReturn(true);
+    when(folioExecutionContext.getTenantId()).thenReturn("diku", "college");
+    when(dcbLocationService.findOrCreateEntity()).thenReturn(dcbLocation());
+
+    dcbEntityServiceFacade.findOrCreateLocation();
+    dcbEntityServiceFacade.findOrCreateLocation();
+
+    verify(dcbFeatureProperties, times(2)).isDcbEntitiesRuntimeVerificationEnabled();
+    verify(dcbLocationService, times(2)).findOrCreateEntity();
+  }
+
+  @Test
+  void invalidateVerifiedEntities_positive_shouldVerifyAgainAfterInvalidation() {
+    dcbEntityCacheProperties.setEnabled(true);
+    when(dcbFeatureProperties.isDcbEntitiesRuntimeVerificationEnabled()).thenReturn(true);
+    when(folioExecutionContext.getTenantId()).thenReturn("diku");
+    when(dcbLoanTypeService.findOrCreateEntity()).thenReturn(dcbLoanType());
+
+    dcbEntityServiceFacade.findOrCreateLoanType();
+    var invalidated = dcbEntityServiceFacade.invalidateVerifiedEntities();
+    var invalidatedAgain = dcbEntityServiceFacade.invalidateVerifiedEntities();
+    dcbEntityServiceFacade.findOrCreateLoanType();
+
+    assertThat(invalidated).isTrue();
+    assertThat(invalidatedAgain).isFalse();
+    verify(dcbFeatureProperties, times(2)).isDcbEntitiesRuntimeVerificationEnabled();
+    verify(dcbLoanTypeService, times(2)).findOrCreateEntity();
+  }
+
+  @Test
+  void invalidateReferencedEntities_positive_shouldVerifyAgainOnlyReferencedEntities() {
+    dcbEntityCacheProperties.setEnabled(true);
+    when(dcbFeatureProperties.isDcbEntitiesRuntimeVerificationEnabled()).thenReturn(true);
+    when(folioExecutionContext.getTenantId()).thenReturn("diku");
+    when(dcbHoldingService.findOrCreateEntity()).thenReturn(dcbHolding());
+    when(dcbLoanTypeService.findOrCreateEntity()).thenReturn(dcbLoanType());
+
+    dcbEntityServiceFacade.findOrCreateHolding();
+    dcbEntityServiceFacade.findOrCreateLoanType();
+    var unrelatedInvalidated = dcbEntityServiceFacade.invalidateReferencedEntities("Barcode already exists");
+    var invalidated = dcbEntityServiceFacade.invalidateReferencedEntities(
+      "Holdings record with id " + TEST_HOLDING_ID + " not found");
+    dcbEntityServiceFacade.findOrCreateHolding();
+    dcbEntityServiceFacade.findOrCreateLoanType();
+
+    assertThat(unrelatedInvalidated).isFalse();
+    assertThat(invalidated).isTrue();
+    verify(dcbHoldingService, times(2)).findOrCreateEntity();
+    verify(dcbLoanTypeService).findOrCreateEntity();
+  }
+
   private static InventoryHolding dcbHolding() {
     return InventoryHolding.builder()
       .id(TEST_HOLDING_ID)
@@ -0,0 +1,159 @@
+package org.folio.dcb.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.dcb.domain.ResultList.asSinglePage;
+import static org.folio.dcb.domain.ResultList.empty;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.dcb.config.ShadowLocationCacheProperties;
+import org.folio.dcb.integration.invstorage.LocationUnitClient;
+import org.folio.dcb.integration.invstorage.LocationsClient;
+import org.folio.dcb.integration.invstorage.model.Location;
+import org.folio.dcb.integration.invstorage.model.LocationUnit;
+import org.folio.dcb.support.types.UnitTest;
+import org.folio.spring.FolioExecutionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ShadowLocationCacheTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String SHADOW_QUERY = "isShadow==\"true\"";
+  private static final String LIBRARY_ID = "5b5bd0a1-1b3d-4cba-a2bd-9c4c59d3e3b1";
+  private static final String LOCATION_ID = "0f4a3f8d-0c47-4a5b-bd4a-1a7f0e6a4b52";
+  private static final String OTHER_LOCATION_ID = "c0b0a17e-5f84-4b8f-8a4f-3f1c1e5f2f1d";
+
+  @Mock private LocationsClient locationsClient;
+  @Mock private LocationUnitClient locationUnitClient;
+  @Mock private FolioExecutionContext folioExecutionContext;
+
+  private final ShadowLocationCacheProperties properties = new ShadowLocationCacheProperties();
+  private final AtomicInteger lookups = new AtomicInteger();
+  private ShadowLocationCache shadowLocationCache;
+
+  @BeforeEach
+  void setUp() {
+    properties.setEnabled(true);
+    properties.setPageSize(1);
+    shadowLocationCache = new ShadowLocationCache(locationsClient, locationUnitClient, properties,
+      folioExecutionContext);
+  }
+
+  @Test
+  void findLocationIdByCode_positive_loadedOnceWithPagedQueries() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    mockShadowLocations();
+
+    var first = shadowLocationCache.findLocationIdByCode("LOC", this::lookup);
+    var second = shadowLocationCache.findLocationIdByCode("LOC", this::lookup);
+    var byLibraryCode = shadowLocationCache.findLocationIdByLibraryCode("LIB", this::lookup);
+
+    assertThat(first).contains(LOCATION_ID);
+    assertThat(second).contains(LOCATION_ID);
+    assertThat(byLibraryCode).contains(LOCATION_ID);
+    assertThat(lookups).hasValue(0);
+    verify(locationsClient).findLocationByQuery(SHADOW_QUERY, true, 1, 0);
+    verify(locationsClient).findLocationByQuery(SHADOW_QUERY, true, 1, 1);
+    verify(locationsClient).findLocationByQuery(SHADOW_QUERY, true, 1, 2);
+    verify(locationUnitClient).findLibrariesByQuery(SHADOW_QUERY, true, 1, 1);
+  }
+
+  @Test
+  void findLocationIdByCode_positive_unknownCodeResolvedOnce() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    mockShadowLocations();
+
+    var first = shadowLocationCache.findLocationIdByCode("UNKNOWN", this::lookup);
+    var second = shadowLocationCache.findLocationIdByCode("UNKNOWN", this::lookup);
+
+    assertThat(first).isEmpty();
+    assertThat(second).isEmpty();
+    assertThat(lookups).hasValue(1);
+  }
+
+  @Test
+  void findLocationIdByCode_positive_cacheDisabled() {
+    properties.setEnabled(false);
+
+    var result = shadowLocationCache.findLocationIdByCode("LOC", () -> Optional.of(LOCATION_ID));
+
+    assertThat(result).contains(LOCATION_ID);
+    verifyNoInteractions(locationsClient, locationUnitClient, folioExecutionContext);
+  }
+
+  @Test
+  void findLocationIdByLibraryCode_positive_resolvedWithoutCacheOnLoadFailure() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 1, 0))
+      .thenThrow(new IllegalStateException("Service unavailable"));
+
+    var result = shadowLocationCache.findLocationIdByLibraryCode("LIB", () -> Optional.of(LOCATION_ID));
+
+    assertThat(result).contains(LOCATION_ID);
+  }
+
+  @Test
+  void reload_positive_replacesCachedLocations() {
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    mockShadowLocations();
+    shadowLocationCache.findLocationIdByCode("UNKNOWN", this::lookup);
+
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 1, 2))
+      .thenReturn(asSinglePage(location("UNKNOWN", OTHER_LOCATION_ID, null)));
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 1, 3)).thenReturn(empty());
+    shadowLocationCache.reload();
+    var result = shadowLocationCache.findLocationIdByCode("UNKNOWN", this::lookup);
+
+    assertThat(result).contains(OTHER_LOCATION_ID);
+    assertThat(lookups).hasValue(1);
+    verify(locationsClient, times(2)).findLocationByQuery(SHADOW_QUERY, true, 1, 0);
+  }
+
+  @Test
+  void findLocationIdByCode_positive_loadedAgainAfterTtl() {
+    properties.setTtl(Duration.ZERO);
+    shadowLocationCache = new ShadowLocationCache(locationsClient, locationUnitClient, properties,
+      folioExecutionContext);
+    when(folioExecutionContext.getTenantId()).thenReturn(TENANT_ID);
+    mockShadowLocations();
+
+    var first = shadowLocationCache.findLocationIdByCode("UNKNOWN", this::lookup);
+    var second = shadowLocationCache.findLocationIdByCode("UNKNOWN", this::lookup);
+
+    assertThat(first).isEmpty();
+    assertThat(second).isEmpty();
+    assertThat(lookups).hasValue(2);
+    verify(locationsClient, times(2)).findLocationByQuery(SHADOW_QUERY, true, 1, 0);
+  }
+
+  private void mockShadowLocations() {
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 1, 0))
+      .thenReturn(asSinglePage(location("LOC", LOCATION_ID, LIBRARY_ID)));
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 1, 1))
+      .thenReturn(asSinglePage(location("OTHER", OTHER_LOCATION_ID, null)));
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 1, 2)).thenReturn(empty());
+    when(locationUnitClient.findLibrariesByQuery(SHADOW_QUERY, true, 1, 0))
+      .thenReturn(asSinglePage(LocationUnit.builder().id(LIBRARY_ID).code("LIB").isShadow(true).build()));
+    when(locationUnitClient.findLibrariesByQuery(SHADOW_QUERY, true, 1, 1)).thenReturn(empty());
+  }
+
+  private Optional<String> lookup() {
+    lookups.incrementAndGet();
+    return Optional.empty();
+  }
+
+  private static Location location(String code, String id, String libraryId) {
+    return Location.builder().id(id).code(code).libraryId(libraryId).isShadow(true).build();
+  }
+}
@@ -10,17 +10,25 @@ import static org.folio.dcb.domain.ResultList.empty;
 import static org.folio.dcb.domain.dto.RefreshLocationStatusType.ERROR;
 import static org.folio.dcb.domain.dto.RefreshLocationStatusType.SKIPPED;
 import static org.folio.dcb.domain.dto.RefreshLocationStatusType.SUCCESS;
+import static org.folio.dcb.service.impl.ShadowLocationCache.SHADOW_QUERY;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.folio.dcb.config.DcbFeatureProperties;
+import org.folio.dcb.config.ShadowLocationRefreshProperties;
+import org.folio.dcb.domain.ShadowLocationAgencyResult;
 import org.folio.dcb.domain.dto.DcbAgency;
 import org.folio.dcb.domain.dto.DcbLocation;
 import org.folio.dcb.domain.dto.RefreshLocationStatus;
@@ -36,6 +44,7 @@ import org.folio.dcb.integration.invstorage.model.Location;
 import org.folio.dcb.integration.invstorage.model.LocationUnit;
 import org.folio.dcb.service.entities.DcbEntityServiceFacade;
 import org.folio.dcb.utils.CqlQuery;
+import org.folio.spring.FolioExecutionContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +52,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.springframework.http.HttpHeaders;
@@ -67,6 +77,9 @@ class ShadowLocationServiceImplTest {
   @Mock private LocationUnitClient locationUnitClient;
   @Mock private DcbFeatureProperties dcbFeatureProperties;
   @Mock private DcbEntityServiceFacade dcbEntityServiceFacade;
+  @Mock private ShadowLocationCache shadowLocationCache;
+  @Mock private FolioExecutionContext folioExecutionContext;
+  @Spy private ShadowLocationRefreshProperties refreshProperties = new ShadowLocationRefreshProperties();
   @Captor private ArgumentCaptor<Location> locCaptor;
   @Captor private ArgumentCaptor<LocationUnit> luCaptor;
 
@@ -114,6 +127,42 @@ class ShadowLocationServiceImplTest {
     verify(locationUnitClient).createCampus(any());
     verify(locationUnitClient).createLibrary(any());
     verify(locationsClient).createLocation(any());
+    verify(shadowLocationCache).reload();
+  }
+
+  @Test
+  void createShadowLocations_positive_retriesWithVerifiedServicePoint() {
+    var errorResponse = "Service point with id test-service-point not found";
+    var verifiedServicePoint = new ServicePointRequest().id("verified-service-point");
+    when(dcbFeatureProperties.isFlexibleCirculationRulesEnabled()).thenReturn(true);
+    when(dcbEntityServiceFacade.findOrCreateServicePoint()).thenReturn(servicePoint(), verifiedServicePoint);
+    when(dcbEntityServiceFacade.invalidateReferencedEntities(errorResponse)).thenReturn(true);
+    when(locationUnitClient.findInstitutionsByQuery(agencySql(), true, 10, 0)).thenReturn(empty());
+    when(locationUnitClient.findCampusesByQuery(agencySql(), true, 10, 0)).thenReturn(empty());
+    when(locationUnitClient.findLibrariesByQuery(agencySql(), true, 10, 0)).thenReturn(empty());
+    when(locationsClient.findLocationByQuery(locationSql(), true, 10, 0)).thenReturn(empty());
+
+    when(locationUnitClient.createInstitution(luCaptor.capture())).then(returningFirstArgument());
+    when(locationUnitClient.createCampus(luCaptor.capture())).then(returningFirstArgument());
+    when(locationUnitClient.createLibrary(luCaptor.capture())).then(returningFirstArgument());
+    when(locationsClient.createLocation(locCaptor.capture()))
+      .thenThrow(HttpClientErrorException.create(UNPROCESSABLE_CONTENT, "Unprocessable Content", HttpHeaders.EMPTY,
+        errorResponse.getBytes(UTF_8), UTF_8))
+      .then(returningFirstArgument());
+
+    var refreshRequest = refreshRequest(List.of(dcbLocation()), emptyList());
+    var result = dcbHubLocationService.createShadowLocations(refreshRequest);
+
+    assertThat(result.getLocations()).containsExactly(refreshLocationStatus(SUCCESS));
+    assertThat(locCaptor.getValue())
+      .extracting(Location::getPrimaryServicePoint, Location::getServicePointIds)
+      .containsExactly("verified-service-point", List.of("verified-service-point"));
+
+    verify(dcbEntityServiceFacade, times(2)).findOrCreateServicePoint();
+    verify(dcbEntityServiceFacade).invalidateReferencedEntities(errorResponse);
+    verify(locationsClient).findLocationByQuery(locationSql(), true, 10, 0);
+    verify(locationsClient, times(2)).createLocation(any());
+    verify(shadowLocationCache).reload();
   }
 
   @Test
@@ -227,6 +276,95 @@ class ShadowLocationServiceImplTest {
     verify(locationsClient, never()).createLocation(any());
   }
 
+  @Test
+  void createShadowLocations_positive_allEntitiesExistInPrefetchedShadowEntities() {
+    refreshProperties.setPrefetchEnabled(true);
+    when(dcbFeatureProperties.isFlexibleCirculationRulesEnabled()).thenReturn(true);
+    when(dcbEntityServiceFacade.findOrCreateServicePoint()).thenReturn(servicePoint());
+    when(locationUnitClient.findInstitutionsByQuery(SHADOW_QUERY, true, 500, 0))
+      .thenReturn(asSinglePage(institution()));
+    when(locationUnitClient.findCampusesByQuery(SHADOW_QUERY, true, 500, 0)).thenReturn(asSinglePage(campus()));
+    when(locationUnitClient.findLibrariesByQuery(SHADOW_QUERY, true, 500, 0)).thenReturn(asSinglePage(library()));
+    when(locationsClient.findLocationByQuery(SHADOW_QUERY, true, 500, 0)).thenReturn(asSinglePage(location()));
+
+    var refreshRequest = refreshRequest(List.of(dcbLocation()), emptyList());
+    var result = dcbHubLocationService.createShadowLocations(refreshRequest);
+
+    assertThat(result).isEqualTo(new RefreshShadowLocationResponse()
+      .addLocationsItem(refreshLocationStatus(SKIPPED))
+      .locationUnits(new RefreshLocationUnitsStatus()
+        .addInstitutionsItem(refreshAgencyStatus(SKIPPED))
+        .addCampusesItem(refreshAgencyStatus(SKIPPED))
+        .addLibrariesItem(refreshAgencyStatus(SKIPPED))));
+
+    verify(locationUnitClient, never()).findInstitutionsByQuery(agencySql(), true, 10, 0);
+    verify(locationsClient, never()).findLocationByQuery(locationSql(), true, 10, 0);
+    verify(locationsClient, never()).createLocation(any());
+  }
+
+  @Test
+  void createShadowLocations_positive_agenciesCreatedInParallel() {
+    refreshProperties.setConcurrency(2);
+    when(folioExecutionContext.getInstance()).thenReturn(folioExecutionContext);
+    when(dcbFeatureProperties.isFlexibleCirculationRulesEnabled()).thenReturn(true);
+    when(dcbEntityServiceFacade.findOrCreateServicePoint()).thenReturn(servicePoint());
+    when(locationUnitClient.findInstitutionsByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationUnitClient.findCampusesByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationUnitClient.findLibrariesByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationsClient.findLocationByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationUnitClient.createInstitution(any())).then(returningFirstArgument());
+    when(locationUnitClient.createCampus(any())).then(returningFirstArgument());
+    when(locationUnitClient.createLibrary(any())).then(returningFirstArgument());
+    when(locationsClient.createLocation(any())).then(returningFirstArgument());
+
+    var agencies = List.of(dcbAgency("Agency 1", "AG-1"), dcbAgency("Agency 2", "AG-2"), dcbAgency("Agency 3", "AG-3"));
+    var result = dcbHubLocationService.createShadowLocations(refreshRequest(emptyList(), agencies));
+
+    var expectedStatuses = List.of(
+      new RefreshLocationStatus().code("AG-1").status(SUCCESS),
+      new RefreshLocationStatus().code("AG-2").status(SUCCESS),
+      new RefreshLocationStatus().code("AG-3").status(SUCCESS));
+    assertThat(result).isEqualTo(new RefreshShadowLocationResponse()
+      .locations(expectedStatuses)
+      .locationUnits(new RefreshLocationUnitsStatus()
+        .institutions(expectedStatuses)
+        .campuses(expectedStatuses)
+        .libraries(expectedStatuses)));
+
+    verify(locationUnitClient, times(3)).createInstitution(any());
+    verify(locationsClient, times(3)).findLocationByQuery(anyString(), eq(true), eq(10), eq(0));
+    verify(locationsClient, times(3)).createLocation(any());
+  }
+
+  @Test
+  void createShadowLocations_positive_completedAgenciesSkipped() {
+    when(dcbFeatureProperties.isFlexibleCirculationRulesEnabled()).thenReturn(true);
+    when(dcbEntityServiceFacade.findOrCreateServicePoint()).thenReturn(servicePoint());
+    when(locationUnitClient.findInstitutionsByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationUnitClient.findCampusesByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationUnitClient.findLibrariesByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationsClient.findLocationByQuery(anyString(), eq(true), eq(10), eq(0))).thenReturn(empty());
+    when(locationUnitClient.createInstitution(luCaptor.capture())).then(returningFirstArgument());
+    when(locationUnitClient.createCampus(any())).then(returningFirstArgument());
+    when(locationUnitClient.createLibrary(any())).then(returningFirstArgument());
+    when(locationsClient.createLocation(any())).then(returningFirstArgument());
+
+    var agencyResults = new ArrayList<ShadowLocationAgencyResult>();
+    var agencies = List.of(dcbAgency("Agency 1", "AG-1"), dcbAgency("Agency 2", "AG-2"), dcbAgency("Agency 3", "AG-3"));
+    dcbHubLocationService.createShadowLocations(refreshRequest(emptyList(), agencies), Set.of(0, 2),
+      agencyResults::add);
+
+    var expectedStatus = new RefreshLocationStatus().code("AG-2").status(SUCCESS);
+    assertThat(agencyResults).containsExactly(new ShadowLocationAgencyResult(
+      1, expectedStatus, expectedStatus, expectedStatus, List.of(expectedStatus)));
+    assertThat(luCaptor.getAllValues()).extracting(LocationUnit::getCode).containsExactly("AG-2");
+    assertThat(dcbHubLocationService.countAgencies(refreshRequest(emptyList(), agencies))).isEqualTo(3);
+
+    verify(locationsClient).findLocationByQuery(anyString(), eq(true), eq(10), eq(0));
+    verify(locationsClient).createLocation(any());
+    verify(shadowLocationCache).reload();
+  }
+
   @Test
   void createShadowLocations_positive_failedToCreateInstitution() {
     when(dcbFeatureProperties.isFlexibleCirculationRulesEnabled()).thenReturn(true);
@@ -1,11 +1,13 @@
 package org.folio.dcb.support;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.folio.dcb.domain.entity.TransactionAuditEntity;
 import org.folio.dcb.repository.TransactionAuditRepository;
@@ -39,6 +41,16 @@ public class AuditEntityTestVerifier {
     }
   }
 
+  public void assertThatLatestAuditPointerIsResolved(String id) {
+    try (var ignored = new FolioExecutionContextSetter(folioModuleMetadata, headers)) {
+      var auditEntity = repository.findLatestTransactionAuditEntityByLatestAuditId(id).orElse(null);
+      assertNotNull(auditEntity);
+      var latestAuditEntity = repository.findLatestTransactionAuditEntityByDcbTransactionId(id).orElse(null);
+      assertNotNull(latestAuditEntity);
+      assertEquals(latestAuditEntity.getId(), auditEntity.getId());
+    }
+  }
+
   public TransactionAuditEntity getLatestAuditEntity(String id) {
     try (var ignored = new FolioExecutionContextSetter(folioModuleMetadata, headers)) {
       var entity = repository.findLatestTransactionAuditEntityByDcbTransactionId(id).orElse(null);
@@ -47,6 +59,14 @@ public class AuditEntityTestVerifier {
     }
   }
 
+  public List<TransactionAuditEntity> getAuditEntities(String id) {
+    try (var ignored = new FolioExecutionContextSetter(folioModuleMetadata, headers)) {
+      return repository.findAll().stream()
+        .filter(entity -> id.equals(entity.getTransactionId()))
+        .toList();
+    }
+  }
+
   public void assertEmpty() {
     try (var ignored = new FolioExecutionContextSetter(folioModuleMetadata, headers)) {
       var entity = repository.findAll();
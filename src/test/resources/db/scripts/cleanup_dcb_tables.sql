@@ -5,7 +5,12 @@ BEGIN
     EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.transactions CASCADE'';
     EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.settings CASCADE'';
     EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.transactions_audit CASCADE'';
+    EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.transactions_audit_outbox CASCADE'';
     EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.service_point_expiration_period CASCADE'';
+    EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.processed_event CASCADE'';
+    EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.shadow_location_refresh_job_status CASCADE'';
+    EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.shadow_location_refresh_job_agency CASCADE'';
+    EXECUTE ''TRUNCATE TABLE test_tenant_mod_dcb.shadow_location_refresh_job CASCADE'';
   END IF;
 END;
 ' LANGUAGE plpgsql;